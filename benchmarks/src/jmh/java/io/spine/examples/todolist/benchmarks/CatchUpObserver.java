@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.core.Subscribe;
+import io.spine.server.delivery.CatchUpId;
+import io.spine.server.delivery.event.CatchUpCompleted;
+import io.spine.server.event.AbstractEventSubscriber;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Waits for the projection catch-up processes to complete.
+ */
+final class CatchUpObserver extends AbstractEventSubscriber {
+
+    private final Set<CatchUpId> completed = new HashSet<>();
+
+    @Subscribe
+    synchronized void on(CatchUpCompleted event) {
+        completed.add(event.getId());
+        notifyAll();
+    }
+
+    /**
+     * Blocks until the catch-up with the given ID completes.
+     *
+     * @param id
+     *         the ID of the catch-up process
+     * @param timeoutMillis
+     *         the maximum time to wait
+     * @throws TimeoutException
+     *         if the catch-up did not complete in time
+     */
+    synchronized void await(CatchUpId id, long timeoutMillis)
+            throws InterruptedException, TimeoutException {
+        long deadline = currentTimeMillis() + timeoutMillis;
+        while (!completed.remove(id)) {
+            long remaining = deadline - currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("The catch-up " + id.getUuid() + " did not complete.");
+            }
+            wait(remaining);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.base.Production;
+import io.spine.base.Tests;
+import io.spine.examples.todolist.client.PipelineOptions;
+import io.spine.examples.todolist.client.TodoClient;
+import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.examples.todolist.server.Server.newServer;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the number of the commands posted per second by a single client thread with and
+ * without the command pipelining.
+ *
+ * <p>The server is configured the same way as the {@code LocalInMemoryServer}. Each invocation
+ * posts a series of commands and waits for all of them to be acknowledged.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CommandPipelineBenchmark {
+
+    private static final int COMMANDS = 1_000;
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public int postCommands(Endpoint endpoint) {
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[COMMANDS];
+        for (int i = 0; i < COMMANDS; i++) {
+            acks[i] = endpoint.client.post(createTaskInstance(TaskId.generate(),
+                                                              "Pipelined task"));
+        }
+        CompletableFuture.allOf(acks)
+                         .join();
+        return acks.length;
+    }
+
+    /**
+     * The in-memory application server and a client connected to it.
+     */
+    @State(Scope.Benchmark)
+    public static class Endpoint {
+
+        /**
+         * Whether the client pipelines the commands.
+         */
+        @Param({"false", "true"})
+        public boolean pipelined;
+
+        /**
+         * The number of the buffered commands which triggers sending them.
+         */
+        @Param("64")
+        public int batchSize;
+
+        private Server server;
+        private TodoClient client;
+
+        @Setup(Level.Trial)
+        public void startServer() throws IOException, InterruptedException {
+            ServerEnvironment.instance()
+                             .reset();
+            ServerEnvironment
+                    .when(Production.class)
+                    .use(InMemoryStorageFactory.newInstance())
+                    .use(InMemoryTransportFactory.newInstance());
+            ServerEnvironment
+                    .when(Tests.class)
+                    .use(InMemoryStorageFactory.newInstance())
+                    .use(InMemoryTransportFactory.newInstance());
+            int port = freePort();
+            server = newServer(port, TasksContextFactory.create());
+            CountDownLatch started = new CountDownLatch(1);
+            Thread serverThread = new Thread(() -> {
+                try {
+                    started.countDown();
+                    server.start();
+                } catch (IOException e) {
+                    throw illegalStateWithCauseOf(e);
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+            started.await();
+            TimeUnit.SECONDS.sleep(1);
+            if (pipelined) {
+                PipelineOptions options = PipelineOptions
+                        .newBuilder()
+                        .setMaxBatchSize(batchSize)
+                        .build();
+                client = TodoClient.pipelined(TodoClient.HOST, port, options);
+            } else {
+                client = TodoClient.instance(TodoClient.HOST, port);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stopServer() {
+            client.shutdown();
+            server.shutdown();
+            ServerEnvironment.instance()
+                             .reset();
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.core.Event;
+import io.spine.examples.todolist.rdbms.ConnectionProperties;
+import io.spine.examples.todolist.rdbms.ConnectionUrl;
+import io.spine.examples.todolist.rdbms.DbCredentials;
+import io.spine.examples.todolist.rdbms.RelationalStorage;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.event.TaskCreated;
+import io.spine.server.ContextSpec;
+import io.spine.server.event.EventStore;
+import io.spine.server.storage.StorageFactory;
+import io.spine.testing.server.TestEventFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.spine.base.Identifier.newUuid;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the write throughput of the {@code JdbcStorageFactory} set up by
+ * the {@link RelationalStorage}.
+ *
+ * <p>Each invocation stores {@link #EVENTS_PER_WRITE} events in the {@code EventStore},
+ * either one by one or as a single batch.
+ *
+ * <p>The database is H2 in the MySQL compatibility mode. The MySQL driver options, such as
+ * {@code rewriteBatchedStatements}, are not understood by H2, so the benchmark compares
+ * the batched and the one-by-one writes and the pool sizes only.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(8)
+@Fork(1)
+public class JdbcWriteBenchmark {
+
+    private static final int EVENTS_PER_WRITE = 100;
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_WRITE)
+    public void writeEvents(Storage storage) {
+        ImmutableList<Event> events = storage.newEvents();
+        if (storage.batched) {
+            storage.eventStore.appendAll(events);
+        } else {
+            events.forEach(storage.eventStore::append);
+        }
+    }
+
+    /**
+     * The event store over a new H2 database.
+     */
+    @State(Scope.Benchmark)
+    public static class Storage {
+
+        /**
+         * Whether the events are written in a single batch.
+         */
+        @Param({"false", "true"})
+        public boolean batched;
+
+        /**
+         * The maximum number of the connections in the pool.
+         */
+        @Param({"2", "8"})
+        public int poolSize;
+
+        private final TestEventFactory events = TestEventFactory.newInstance(getClass());
+        private StorageFactory storageFactory;
+        private EventStore eventStore;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ConnectionProperties properties = ConnectionProperties
+                    .newBuilder()
+                    .setDbName(newUuid())
+                    .setMaxPoolSize(poolSize)
+                    .setMinIdle(poolSize)
+                    .build();
+            DbCredentials credentials = DbCredentials
+                    .newBuilder()
+                    .setUsername("benchmark")
+                    .setPassword("benchmark")
+                    .build();
+            RelationalStorage storage = new RelationalStorage(new H2Url(properties), credentials);
+            storageFactory = storage.storageFactory();
+            eventStore = storageFactory.createEventStore(
+                    ContextSpec.singleTenant(JdbcWriteBenchmark.class.getSimpleName()));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            eventStore.close();
+            storageFactory.close();
+        }
+
+        private ImmutableList<Event> newEvents() {
+            ImmutableList.Builder<Event> result = ImmutableList.builder();
+            for (int i = 0; i < EVENTS_PER_WRITE; i++) {
+                TaskId id = TaskId.generate();
+                TaskCreated message = TaskCreated
+                        .newBuilder()
+                        .setTaskId(id)
+                        .build();
+                result.add(events.createEvent(message));
+            }
+            return result.build();
+        }
+    }
+
+    /**
+     * The URL of an in-memory H2 database in the MySQL compatibility mode.
+     */
+    private static final class H2Url extends ConnectionUrl {
+
+        private H2Url(ConnectionProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        protected String stringValue(ConnectionProperties properties) {
+            return "jdbc:h2:mem:" + properties.dbName() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceBlockingStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.ServerOptions;
+import io.spine.examples.todolist.tasks.TaskId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.examples.todolist.server.Server.newServer;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the latency distribution of the command posting under saturation.
+ *
+ * <p>The commands are posted by many more threads than there are processors, through the gRPC
+ * {@code CommandService} of the {@link Server}. The {@code p0.99} of the results shows the tail
+ * latency for the default gRPC executor and for the bounded one.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(256)
+public class ServerLoadBenchmark {
+
+    @Benchmark
+    public boolean postCommand(Endpoint endpoint) {
+        Command command = endpoint.requests.command()
+                                           .create(createTaskInstance(TaskId.generate(),
+                                                                      "Load test task"));
+        try {
+            Ack ack = endpoint.commands.post(command);
+            return ack.getStatus()
+                      .hasOk();
+        } catch (StatusRuntimeException e) {
+            // Rejected by the concurrency limit.
+            return false;
+        }
+    }
+
+    /**
+     * The application server with the Tasks context and a channel to it.
+     */
+    @State(Scope.Benchmark)
+    public static class Endpoint extends TasksContextState {
+
+        /**
+         * The number of the gRPC executor threads, {@code 0} for the default cached pool.
+         */
+        @Param({"0", "16"})
+        public int executorThreads;
+
+        /**
+         * The limit of the concurrent command posting calls, {@code 0} for no limit.
+         */
+        @Param({"0", "64"})
+        public int maxConcurrentCalls;
+
+        private Server server;
+        private ManagedChannel channel;
+        private CommandServiceBlockingStub commands;
+        private ActorRequestFactory requests;
+
+        @Setup(Level.Trial)
+        public void startServer() throws IOException, InterruptedException {
+            int port = freePort();
+            server = newServer(port, context(), options());
+            CountDownLatch started = new CountDownLatch(1);
+            Thread serverThread = new Thread(() -> {
+                try {
+                    started.countDown();
+                    server.start();
+                } catch (IOException e) {
+                    throw illegalStateWithCauseOf(e);
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+            started.await();
+            channel = ManagedChannelBuilder.forAddress("localhost", port)
+                                           .usePlaintext()
+                                           .build();
+            commands = CommandServiceGrpc.newBlockingStub(channel);
+            requests = ActorRequestFactory
+                    .newBuilder()
+                    .setActor(UserId.newBuilder()
+                                    .setValue(newUuid())
+                                    .vBuild())
+                    .build();
+            TimeUnit.SECONDS.sleep(1);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopServer() {
+            channel.shutdownNow();
+            server.shutdown();
+        }
+
+        private ServerOptions options() {
+            ServerOptions.Builder options = ServerOptions.newBuilder();
+            if (executorThreads > 0) {
+                options.setExecutorThreads(executorThreads);
+            }
+            if (maxConcurrentCalls > 0) {
+                options.setMaxConcurrentCalls(CommandServiceGrpc.SERVICE_NAME,
+                                              maxConcurrentCalls);
+            }
+            return options.build();
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.web.AsyncDispatch;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the throughput of a servlet endpoint served synchronously and asynchronously.
+ *
+ * <p>The endpoint runs in a local Jetty server with a small pool of the container threads.
+ * Like the {@code /command} endpoint of the web deployments, it posts a command to the Tasks
+ * context and then blocks for a while, as if writing the response to Firebase.
+ *
+ * <p>In the {@code sync} mode, the number of the requests served at once is limited by
+ * the container threads. In the asynchronous modes, the container threads only accept
+ * the requests, which are served by the {@link AsyncDispatch} executor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(128)
+public class ServletModeBenchmark {
+
+    @Benchmark
+    public int postCommand(Endpoint endpoint) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) endpoint.url.openConnection();
+        connection.setRequestMethod("POST");
+        int status = connection.getResponseCode();
+        try (InputStream body = status < 400
+                                ? connection.getInputStream()
+                                : connection.getErrorStream()) {
+            while (body != null && body.read() >= 0) {
+                // Drain the response, so that the connection is reused.
+            }
+        }
+        return status;
+    }
+
+    /**
+     * A Jetty server with the endpoint served in the selected mode.
+     */
+    @State(Scope.Benchmark)
+    public static class Endpoint extends TasksContextState {
+
+        /**
+         * The number of the container threads of the Jetty server.
+         */
+        private static final int CONTAINER_THREADS = 16;
+
+        /**
+         * The time the endpoint blocks after posting the command, in milliseconds.
+         */
+        private static final long FIREBASE_WRITE_MILLIS = 20;
+
+        /**
+         * The {@linkplain AsyncDispatch#of(String) mode} of serving the endpoint.
+         */
+        @Param({AsyncDispatch.SYNC, "64", AsyncDispatch.VIRTUAL})
+        public String mode;
+
+        private AsyncDispatch dispatch;
+        private Server server;
+        private URL url;
+
+        @Setup(Level.Trial)
+        public void startServer() throws Exception {
+            dispatch = AsyncDispatch.of(mode);
+            QueuedThreadPool threads = new QueuedThreadPool(CONTAINER_THREADS);
+            server = new Server(threads);
+            ServerConnector connector = new ServerConnector(server);
+            connector.setPort(0);
+            server.addConnector(connector);
+            ServletContextHandler handler = new ServletContextHandler();
+            ServletHolder holder = new ServletHolder(new CommandEndpoint(this));
+            holder.setAsyncSupported(true);
+            handler.addServlet(holder, "/command");
+            server.setHandler(handler);
+            server.start();
+            url = new URL("http://localhost:" + connector.getLocalPort() + "/command");
+        }
+
+        @TearDown(Level.Trial)
+        public void stopServer() throws Exception {
+            server.stop();
+            dispatch.shutdown();
+        }
+    }
+
+    /**
+     * The endpoint which posts a command and waits as if writing the response to Firebase.
+     */
+    @SuppressWarnings("serial") // The servlet is never serialized.
+    private static final class CommandEndpoint extends HttpServlet {
+
+        private final transient Endpoint endpoint;
+
+        private CommandEndpoint(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp)
+                throws ServletException, IOException {
+            endpoint.dispatch.serve(req, resp, this::handle);
+        }
+
+        private void handle(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            endpoint.post(createTaskInstance(TaskId.generate(), "Servlet load test task"));
+            try {
+                TimeUnit.MILLISECONDS.sleep(Endpoint.FIREBASE_WRITE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+            resp.setStatus(HttpServletResponse.SC_OK);
+            resp.getWriter()
+                .write("{}");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import static io.spine.base.Identifier.newUuid;
+
+/**
+ * The kinds of storage the benchmarks are run against.
+ */
+public enum StorageKind {
+
+    /**
+     * The in-memory storage, which is used by the local server.
+     */
+    IN_MEMORY {
+        @Override
+        StorageFactory createFactory() {
+            return InMemoryStorageFactory.newInstance();
+        }
+    },
+
+    /**
+     * The JDBC storage over an in-memory H2 database.
+     *
+     * <p>H2 runs in the MySQL compatibility mode to stay close to the RDBMS-based deployments.
+     */
+    JDBC {
+        @Override
+        StorageFactory createFactory() {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+            HikariDataSource dataSource = new HikariDataSource(config);
+            return JdbcStorageFactory
+                    .newBuilder()
+                    .setDataSource(dataSource)
+                    .build();
+        }
+    };
+
+    /**
+     * Creates a new storage factory of this kind.
+     *
+     * <p>Each call produces a factory backed by a separate empty database.
+     */
+    abstract StorageFactory createFactory();
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.UpdateTaskDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.createLabelInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the latency and the throughput of the basic task and label commands.
+ *
+ * <p>Each command is handled end-to-end: the aggregate part is loaded, the command is handled,
+ * the events are stored and delivered to the {@code TaskView} projection.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskCommandsBenchmark {
+
+    @Benchmark
+    public void createBasicTask(TasksContextState context) {
+        context.post(createTaskInstance(TaskId.generate(), "A benchmarked task"));
+    }
+
+    @Benchmark
+    public void createBasicLabel(TasksContextState context) {
+        context.post(createLabelInstance(LabelId.generate()));
+    }
+
+    @Benchmark
+    public void updateTaskDescription(TasksContextState context, ExistingTasks tasks) {
+        context.post(tasks.nextDescriptionUpdate());
+    }
+
+    @Benchmark
+    public void assignLabelToTask(TasksContextState context, ExistingTasks tasks) {
+        context.post(assignLabelToTaskInstance(tasks.next(), LabelId.generate()));
+    }
+
+    /**
+     * A pool of tasks created before the measurement, handed to the benchmark
+     * methods round-robin.
+     *
+     * <p>The state is per-thread, so the expected previous values of the tasks are
+     * always in sync with the stored ones.
+     */
+    @State(Scope.Thread)
+    public static class ExistingTasks {
+
+        private static final int POOL_SIZE = 100;
+
+        private final TaskId[] ids = new TaskId[POOL_SIZE];
+        private final String[] descriptions = new String[POOL_SIZE];
+        private int current;
+        private long revision;
+
+        @Setup(Level.Trial)
+        public void createTasks(TasksContextState context) {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                ids[i] = TaskId.generate();
+                descriptions[i] = "Pooled task #" + i;
+                context.post(createTaskInstance(ids[i], descriptions[i]));
+            }
+        }
+
+        TaskId next() {
+            current = (current + 1) % POOL_SIZE;
+            return ids[current];
+        }
+
+        /**
+         * Creates a command changing the description of the next task in the pool.
+         */
+        UpdateTaskDescription nextDescriptionUpdate() {
+            TaskId task = next();
+            String previous = descriptions[current];
+            revision++;
+            String updated = "Revision #" + revision;
+            descriptions[current] = updated;
+            return updateTaskDescriptionInstance(task, previous, updated);
+        }
+    }
+}
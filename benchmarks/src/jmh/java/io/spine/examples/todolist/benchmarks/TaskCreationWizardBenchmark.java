@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.examples.todolist.tasks.DescriptionChange;
+import io.spine.examples.todolist.tasks.LabelColor;
+import io.spine.examples.todolist.tasks.LabelDetails;
+import io.spine.examples.todolist.tasks.TaskCreationId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.AddLabels;
+import io.spine.examples.todolist.tasks.command.CompleteTaskCreation;
+import io.spine.examples.todolist.tasks.command.StartTaskCreation;
+import io.spine.examples.todolist.tasks.command.UpdateTaskDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.spine.examples.todolist.testdata.Given.newDescription;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the full task creation flow driven by the {@code TaskCreationWizard}.
+ *
+ * <p>A single operation starts the wizard, sets the task details, adds a new label and completes
+ * the creation. This involves the process manager, both task aggregate parts, the label aggregate
+ * and the projections.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskCreationWizardBenchmark {
+
+    @Benchmark
+    public void createTaskWithWizard(TasksContextState context) {
+        TaskCreationId process = TaskCreationId.generate();
+        context.post(start(process));
+        context.post(updateDetails(process));
+        context.post(addLabels(process));
+        context.post(complete(process));
+    }
+
+    private static StartTaskCreation start(TaskCreationId process) {
+        StartTaskCreation result = StartTaskCreation
+                .newBuilder()
+                .setId(process)
+                .setTaskId(TaskId.generate())
+                .vBuild();
+        return result;
+    }
+
+    private static UpdateTaskDetails updateDetails(TaskCreationId process) {
+        DescriptionChange change = DescriptionChange
+                .newBuilder()
+                .setNewValue(newDescription("Created with the wizard"))
+                .vBuild();
+        UpdateTaskDetails result = UpdateTaskDetails
+                .newBuilder()
+                .setId(process)
+                .setDescriptionChange(change)
+                .vBuild();
+        return result;
+    }
+
+    private static AddLabels addLabels(TaskCreationId process) {
+        LabelDetails label = LabelDetails
+                .newBuilder()
+                .setTitle("benchmark")
+                .setColor(LabelColor.BLUE)
+                .vBuild();
+        AddLabels result = AddLabels
+                .newBuilder()
+                .setId(process)
+                .addNewLabels(label)
+                .vBuild();
+        return result;
+    }
+
+    private static CompleteTaskCreation complete(TaskCreationId process) {
+        CompleteTaskCreation result = CompleteTaskCreation
+                .newBuilder()
+                .setId(process)
+                .vBuild();
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.server.BoundedContextBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.removeLabelFromTaskInstance;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the command latency of the task aggregate parts depending on the length
+ * of their history and the snapshot policy.
+ *
+ * <p>The benchmarked commands are rejected by the aggregate parts. This way, each command
+ * loads the aggregate part but does not extend its history, so the history length stays
+ * the same throughout the measurement.
+ *
+ * <p>Compare the results for the {@link History#snapshotTrigger snapshot trigger} which
+ * is larger than any history length, i.e. no snapshots at all, and the default one.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskReplayBenchmark {
+
+    private static final String ACTUAL_DESCRIPTION = "Actual description";
+
+    @Benchmark
+    public void loadTaskPart(History history) {
+        history.post(updateTaskDescriptionInstance(history.task,
+                                                   "Outdated description",
+                                                   ACTUAL_DESCRIPTION));
+    }
+
+    @Benchmark
+    public void loadTaskLabelsPart(History history) {
+        history.post(removeLabelFromTaskInstance(history.task, LabelId.generate()));
+    }
+
+    /**
+     * The Tasks context with a single task which has a long history.
+     */
+    @State(Scope.Benchmark)
+    public static class History extends TasksContextState {
+
+        /**
+         * The number of events in the history of each of the task aggregate parts.
+         */
+        @Param({"10", "100", "1000"})
+        public int historyLength;
+
+        /**
+         * The number of events after which a snapshot of a task aggregate part is stored.
+         */
+        @Param({"50", "100000"})
+        public int snapshotTrigger;
+
+        private TaskId task;
+
+        @Override
+        protected BoundedContextBuilder contextBuilder() {
+            return TasksContextFactory.builder(snapshotTrigger);
+        }
+
+        @Setup(Level.Trial)
+        public void populate() {
+            task = TaskId.generate();
+            String description = "Description #0";
+            post(createTaskInstance(task, description));
+            for (int i = 1; i < historyLength; i++) {
+                String newDescription = "Description #" + i;
+                post(updateTaskDescriptionInstance(task, description, newDescription));
+                description = newDescription;
+            }
+            post(updateTaskDescriptionInstance(task, description, ACTUAL_DESCRIPTION));
+            for (int i = 0; i < historyLength; i++) {
+                post(assignLabelToTaskInstance(task, LabelId.generate()));
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.delivery.CatchUpId;
+import io.spine.server.projection.ProjectionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeoutException;
+
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures the time it takes to rebuild all the {@code TaskView} projections from
+ * the event history.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskViewCatchUpBenchmark {
+
+    private static final long CATCH_UP_TIMEOUT = 600_000;
+
+    @Benchmark
+    public void catchUpAllTaskViews(History history)
+            throws InterruptedException, TimeoutException {
+        CatchUpId catchUp = history.taskViews()
+                                   .catchUp(Timestamp.getDefaultInstance(), null);
+        history.observer.await(catchUp, CATCH_UP_TIMEOUT);
+    }
+
+    /**
+     * The Tasks context with a pre-populated history of tasks.
+     */
+    @State(Scope.Benchmark)
+    public static class History extends TasksContextState {
+
+        /**
+         * The number of tasks in the history.
+         */
+        @Param({"100", "1000"})
+        public int tasks;
+
+        /**
+         * The number of updates of each task after it is created.
+         */
+        @Param({"10"})
+        public int updatesPerTask;
+
+        private final CatchUpObserver observer = new CatchUpObserver();
+
+        @Override
+        protected BoundedContextBuilder contextBuilder() {
+            return super.contextBuilder()
+                        .addEventDispatcher(observer);
+        }
+
+        @Setup(Level.Trial)
+        public void populate() {
+            for (int i = 0; i < tasks; i++) {
+                TaskId task = TaskId.generate();
+                String description = "Task #" + i;
+                post(createTaskInstance(task, description));
+                for (int update = 0; update < updatesPerTask; update++) {
+                    String newDescription = description + ", revision " + update;
+                    post(updateTaskDescriptionInstance(task, description, newDescription));
+                    description = newDescription;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked") // Ensured by the type of the projection state.
+        ProjectionRepository<TaskId, ?, TaskView> taskViews() {
+            return (ProjectionRepository<TaskId, ?, TaskView>)
+                    context().internalAccess()
+                             .findRepository(TaskView.class)
+                             .orElseThrow(() -> newIllegalStateException(
+                                     "`TaskView` repository is not registered."));
+        }
+    }
+}
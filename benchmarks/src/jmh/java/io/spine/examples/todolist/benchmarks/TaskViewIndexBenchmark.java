@@ -0,0 +1,255 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package io.spine.examples.todolist.benchmarks;
+
+import com.google.protobuf.Timestamp;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.base.CommandMessage;
+import io.spine.base.Production;
+import io.spine.base.Tests;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.rdbms.IndexAdvisor;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import io.spine.server.CommandService;
+import io.spine.server.QueryService;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.google.protobuf.util.Timestamps.fromMillis;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.client.Filters.eq;
+import static io.spine.client.Filters.ge;
+import static io.spine.client.Filters.lt;
+import static io.spine.examples.todolist.tasks.TaskStatus.OPEN;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDueDateInstance;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures the filtered reads of the {@code TaskView}s with and without the indexes
+ * created by the {@link IndexAdvisor}.
+ *
+ * <p>The {@code TaskView} table is created and filled by the JDBC storage of the Tasks context,
+ * so the indexes are advised for the real schema. The tasks are created through the commands
+ * on behalf of several owners, then some of them are completed or deleted. The reads go through
+ * the {@code QueryService}, so the filters are translated to SQL by the storage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskViewIndexBenchmark {
+
+    private static final String STATUS = "status";
+    private static final String DUE_DATE = "due_date";
+    private static final String OWNER = "owner";
+    private static final String ID = "id";
+
+    @Benchmark
+    public int openTasksDueThisWeek(TaskViews views) {
+        long now = views.now.toEpochMilli();
+        long weekLater = views.now.plus(Duration.ofDays(7))
+                                  .toEpochMilli();
+        Query query = views.requests
+                .query()
+                .select(TaskView.class)
+                .where(eq(STATUS, OPEN),
+                       ge(DUE_DATE, fromMillis(now)),
+                       lt(DUE_DATE, fromMillis(weekLater)))
+                .withMask(ID)
+                .build();
+        return views.read(query);
+    }
+
+    @Benchmark
+    public int openTasksOfOwner(TaskViews views) {
+        UserId owner = views.owners.get(views.owners.size() / 2);
+        Query query = views.requests
+                .query()
+                .select(TaskView.class)
+                .where(eq(OWNER, owner), eq(STATUS, OPEN))
+                .withMask(ID)
+                .build();
+        return views.read(query);
+    }
+
+    /**
+     * The Tasks context on the JDBC storage filled with the random tasks.
+     */
+    @State(Scope.Benchmark)
+    public static class TaskViews {
+
+        private static final int OWNERS = 100;
+        private static final Duration DUE_DATE_SPREAD = Duration.ofDays(365);
+
+        /**
+         * The number of the created tasks.
+         */
+        @Param("20000")
+        public int tasks;
+
+        /**
+         * Whether the advised indexes are created.
+         */
+        @Param({"false", "true"})
+        public boolean indexed;
+
+        private final Instant now = Instant.now();
+        private final List<UserId> owners = new ArrayList<>();
+        private final List<ActorRequestFactory> ownerRequests = new ArrayList<>();
+        private ActorRequestFactory requests;
+        private HikariDataSource dataSource;
+        private BoundedContext context;
+        private CommandService commandService;
+        private QueryService queryService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+            dataSource = new HikariDataSource(config);
+            StorageFactory storage = JdbcStorageFactory
+                    .newBuilder()
+                    .setDataSource(dataSource)
+                    .build();
+            ServerEnvironment.instance()
+                             .reset();
+            // JMH forks a JVM with the test utilities on the classpath, so the environment
+            // may be detected as either of the types.
+            ServerEnvironment.when(Production.class)
+                             .use(storage)
+                             .use(InMemoryTransportFactory.newInstance());
+            ServerEnvironment.when(Tests.class)
+                             .use(storage)
+                             .use(InMemoryTransportFactory.newInstance());
+            context = TasksContextFactory.create();
+            commandService = CommandService
+                    .newBuilder()
+                    .add(context)
+                    .build();
+            queryService = QueryService
+                    .newBuilder()
+                    .add(context)
+                    .build();
+            for (int i = 0; i < OWNERS; i++) {
+                UserId owner = UserId
+                        .newBuilder()
+                        .setValue("user-" + i)
+                        .vBuild();
+                owners.add(owner);
+                ownerRequests.add(ActorRequestFactory.newBuilder()
+                                                     .setActor(owner)
+                                                     .build());
+            }
+            requests = ownerRequests.get(0);
+            fill();
+            if (indexed && IndexAdvisor.forTasksContext()
+                                       .apply(dataSource)
+                                       .isEmpty()) {
+                throw newIllegalStateException("No indexes created for the `TaskView` table.");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            context.close();
+            ServerEnvironment.instance()
+                             .reset();
+            dataSource.close();
+        }
+
+        /**
+         * Creates the tasks with the random owners and due dates.
+         *
+         * <p>A half of the tasks stay open, the rest are either completed or deleted.
+         */
+        private void fill() {
+            Random random = new Random(42);
+            for (int i = 0; i < tasks; i++) {
+                ActorRequestFactory owner = ownerRequests.get(random.nextInt(OWNERS));
+                TaskId task = TaskId.generate();
+                long dueDate = now.toEpochMilli()
+                        + (long) (random.nextDouble() * DUE_DATE_SPREAD.toMillis());
+                post(owner, createTaskInstance(task, "Task #" + i));
+                post(owner, updateTaskDueDateInstance(task, Timestamp.getDefaultInstance(),
+                                                      fromMillis(dueDate)));
+                int outcome = random.nextInt(4);
+                if (outcome == 0) {
+                    post(owner, completeTaskInstance(task));
+                } else if (outcome == 1) {
+                    post(owner, deleteTaskInstance(task));
+                }
+            }
+        }
+
+        private void post(ActorRequestFactory owner, CommandMessage command) {
+            commandService.post(owner.command()
+                                     .create(command), noOpObserver());
+        }
+
+        private int read(Query query) {
+            MemoizingObserver<QueryResponse> observer = memoizingObserver();
+            queryService.read(query, observer);
+            return observer.firstResponse()
+                           .getMessageCount();
+        }
+    }
+}
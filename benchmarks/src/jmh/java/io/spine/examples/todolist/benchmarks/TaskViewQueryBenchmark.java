@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.examples.todolist.client.ReadOptions;
+import io.spine.examples.todolist.client.TodoClient;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.server.GrpcContainer;
+import io.spine.server.QueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import static io.spine.client.OrderBy.Direction.ASCENDING;
+import static io.spine.examples.todolist.client.ReadOptions.DUE_DATE;
+import static io.spine.examples.todolist.client.TodoClient.HOST;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Compares reading all the {@code TaskView}s as a single list with reading them page by page.
+ *
+ * <p>The queries go through the gRPC {@code QueryService}, as in the application. Run with
+ * the {@code gc} profiler to compare the memory footprint, i.e. {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskViewQueryBenchmark {
+
+    @Benchmark
+    public int readAsList(Tasks tasks) {
+        return tasks.client.taskViews()
+                           .size();
+    }
+
+    @Benchmark
+    public long readPaged(Tasks tasks) {
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .setPageSize(tasks.pageSize)
+                .build();
+        return tasks.client.taskViews(options)
+                           .count();
+    }
+
+    @Benchmark
+    public long readPagedByDueDate(Tasks tasks) {
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .setPageSize(tasks.pageSize)
+                .orderBy(DUE_DATE, ASCENDING)
+                .build();
+        return tasks.client.taskViews(options)
+                           .count();
+    }
+
+    /**
+     * The Tasks context served over gRPC with a number of pre-created tasks.
+     */
+    @State(Scope.Benchmark)
+    public static class Tasks extends TasksContextState {
+
+        /**
+         * The number of the tasks to read.
+         */
+        @Param({"1000", "10000"})
+        public int tasks;
+
+        /**
+         * The number of the task views in a page of the paged read.
+         */
+        @Param({"100", "1000"})
+        public int pageSize;
+
+        private GrpcContainer server;
+        private TodoClient client;
+
+        @Setup(Level.Trial)
+        public void startServer() throws IOException {
+            for (int i = 0; i < tasks; i++) {
+                post(createTaskInstance(TaskId.generate(), "Task #" + i));
+            }
+            int port = freePort();
+            QueryService queryService = QueryService
+                    .newBuilder()
+                    .add(context())
+                    .build();
+            server = GrpcContainer
+                    .atPort(port)
+                    .addService(queryService)
+                    .build();
+            server.start();
+            client = TodoClient.instance(HOST, port);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopServer() {
+            client.shutdown();
+            server.shutdown();
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.benchmarks;
+
+import io.spine.base.CommandMessage;
+import io.spine.base.Production;
+import io.spine.base.Tests;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.CommandService;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * The Tasks context shared by all the threads of a benchmark.
+ *
+ * <p>The context is created once per trial on top of the {@linkplain #storage selected storage}.
+ * The commands are posted through the {@code CommandService}, i.e. the same way the application
+ * server handles them.
+ */
+@State(Scope.Benchmark)
+public class TasksContextState {
+
+    /**
+     * The storage backing the context.
+     */
+    @Param({"IN_MEMORY", "JDBC"})
+    public StorageKind storage;
+
+    private BoundedContext context;
+    private CommandService commandService;
+    private ActorRequestFactory requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StorageFactory storageFactory = storage.createFactory();
+        ServerEnvironment environment = ServerEnvironment.instance();
+        environment.reset();
+        // JMH forks a JVM with the test utilities on the classpath, so the environment
+        // may be detected as either of the types.
+        ServerEnvironment
+                .when(Production.class)
+                .use(storageFactory)
+                .use(InMemoryTransportFactory.newInstance());
+        ServerEnvironment
+                .when(Tests.class)
+                .use(storageFactory)
+                .use(InMemoryTransportFactory.newInstance());
+        context = contextBuilder().build();
+        commandService = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+        requests = ActorRequestFactory
+                .newBuilder()
+                .setActor(benchmarkUser())
+                .build();
+    }
+
+    /**
+     * Creates the builder of the context under the benchmark.
+     *
+     * <p>By default, the context is the same one {@link TasksContextFactory#create()} produces.
+     * Descendants may override this method to tweak the context configuration.
+     */
+    protected BoundedContextBuilder contextBuilder() {
+        return TasksContextFactory.builder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        ServerEnvironment.instance()
+                         .reset();
+    }
+
+    /**
+     * Posts the given command to the context.
+     *
+     * <p>With the default delivery, the command is handled synchronously, so all the events
+     * it produces are stored and dispatched by the time this method returns.
+     */
+    public void post(CommandMessage message) {
+        Command command = requests.command()
+                                  .create(message);
+        commandService.post(command, noOpObserver());
+    }
+
+    /**
+     * Obtains the context under the benchmark.
+     */
+    public BoundedContext context() {
+        return context;
+    }
+
+    private static UserId benchmarkUser() {
+        UserId result = UserId
+                .newBuilder()
+                .setValue(newUuid())
+                .vBuild();
+        return result;
+    }
+}
@@ -27,18 +27,27 @@
 package io.spine.examples.todolist.cli.view;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
 import io.spine.examples.todolist.cli.Screen;
 import io.spine.examples.todolist.cli.action.Shortcut;
 import io.spine.examples.todolist.cli.action.TransitionAction;
 import io.spine.examples.todolist.cli.action.TransitionAction.TransitionActionProducer;
+import io.spine.examples.todolist.client.ReadOptions;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.view.LabelView;
 import io.spine.examples.todolist.tasks.view.TaskView;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static io.spine.examples.todolist.cli.AppConfig.getClient;
 import static io.spine.examples.todolist.cli.action.TransitionAction.transitionProducer;
+import static io.spine.examples.todolist.cli.view.ViewOfTask.labelTitles;
+import static java.util.stream.Collectors.toList;
 
 /**
  * A view of all tasks.
@@ -51,6 +60,14 @@ public final class TaskListView extends ActionListView {
 
     private static final String EMPTY_TASKS_LIST_MSG = "<no tasks>";
 
+    /**
+     * The maximum number of the tasks in the list.
+     */
+    private static final int MAX_TASKS = 100;
+
+    private static final String TRUNCATED_TASKS_LIST_MSG =
+            "<only the first " + MAX_TASKS + " tasks are shown>";
+
     @VisibleForTesting
     TaskListView() {
         super("My tasks list");
@@ -58,18 +75,30 @@ public final class TaskListView extends ActionListView {
 
     /**
      * Refreshes the tasks list and renders the view.
+     *
+     * <p>At most {@link #MAX_TASKS} tasks are read from the server.
      */
     @Override
     public void render(Screen screen) {
         clearActions();
 
-        List<TaskView> views = getClient().taskViews();
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .setPageSize(MAX_TASKS)
+                .setLimit(MAX_TASKS)
+                .build();
+        List<TaskView> views = getClient().taskViews(options)
+                                          .collect(toList());
+        Map<LabelId, LabelView> labels = getClient().labelViews(labelIdsOf(views));
         Collection<TransitionActionProducer<TaskListView, ViewOfTask>> producers =
-                taskActionProducersFor(views);
+                taskActionProducersFor(views, labels);
 
         if (producers.isEmpty()) {
             screen.println(EMPTY_TASKS_LIST_MSG);
         } else {
+            if (views.size() == MAX_TASKS) {
+                screen.println(TRUNCATED_TASKS_LIST_MSG);
+            }
             producers.forEach(this::addAction);
         }
         super.render(screen);
@@ -94,10 +123,27 @@ public final class TaskListView extends ActionListView {
     @VisibleForTesting
     static Collection<TransitionActionProducer<TaskListView, ViewOfTask>>
     taskActionProducersFor(List<TaskView> taskViews) {
+        return taskActionProducersFor(taskViews, ImmutableMap.of());
+    }
+
+    /**
+     * Creates the producers of the actions opening the given tasks.
+     *
+     * <p>The names of the actions include the titles of the task labels.
+     *
+     * @param taskViews
+     *         the tasks to open
+     * @param labels
+     *         the labels of all the tasks, by the label ID
+     * @return the new producers
+     */
+    @VisibleForTesting
+    static Collection<TransitionActionProducer<TaskListView, ViewOfTask>>
+    taskActionProducersFor(List<TaskView> taskViews, Map<LabelId, LabelView> labels) {
         Collection<TransitionActionProducer<TaskListView, ViewOfTask>> producers = newArrayList();
         for (int i = 0; i < taskViews.size(); i++) {
             TaskView task = taskViews.get(i);
-            producers.add(newOpenTaskViewProducer(task, i));
+            producers.add(newOpenTaskViewProducer(task, i, labels));
         }
         return producers;
     }
@@ -105,11 +151,33 @@ public final class TaskListView extends ActionListView {
     @VisibleForTesting
     static TransitionActionProducer<TaskListView, ViewOfTask>
     newOpenTaskViewProducer(TaskView task, int viewIndex) {
-        String name = task.getDescription()
-                          .getValue();
+        return newOpenTaskViewProducer(task, viewIndex, ImmutableMap.of());
+    }
+
+    private static TransitionActionProducer<TaskListView, ViewOfTask>
+    newOpenTaskViewProducer(TaskView task, int viewIndex, Map<LabelId, LabelView> labels) {
+        String description = task.getDescription()
+                                 .getValue();
+        String labelTitles = labelTitles(task.getLabelIdsList()
+                                             .getIdsList(), labels);
+        String name = labelTitles.isEmpty()
+                      ? description
+                      : description + " [" + labelTitles + ']';
         String shortcutValue = String.valueOf(viewIndex + 1);
         Shortcut shortcut = new Shortcut(shortcutValue);
         ViewOfTask destination = new ViewOfTask(task.getId());
         return transitionProducer(name, shortcut, destination);
     }
+
+    /**
+     * Collects the IDs of the labels of all the given tasks.
+     */
+    private static Set<LabelId> labelIdsOf(List<TaskView> views) {
+        Set<LabelId> result = new LinkedHashSet<>();
+        for (TaskView view : views) {
+            result.addAll(view.getLabelIdsList()
+                              .getIdsList());
+        }
+        return result;
+    }
 }
@@ -26,16 +26,21 @@
 
 package io.spine.examples.todolist.cli.view;
 
+import io.spine.examples.todolist.tasks.LabelId;
 import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.view.LabelView;
 import io.spine.examples.todolist.tasks.view.TaskView;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import static io.spine.examples.todolist.cli.AppConfig.getClient;
 import static io.spine.examples.todolist.cli.view.DateFormatter.format;
 import static io.spine.util.Exceptions.newIllegalStateException;
 import static java.lang.System.lineSeparator;
+import static java.util.stream.Collectors.joining;
 
 /**
  * An {@link EntityView} of a task.
@@ -47,6 +52,7 @@ final class ViewOfTask extends EntityView<TaskId, TaskView> {
     static final String DUE_DATE_VALUE = "Due date: ";
     static final String DESCRIPTION_VALUE = "Description: ";
     static final String PRIORITY_VALUE = "Priority: ";
+    static final String LABELS_VALUE = "Labels: ";
 
     ViewOfTask(TaskId id) {
         super(id, "My task details");
@@ -75,6 +81,38 @@ final class ViewOfTask extends EntityView<TaskId, TaskView> {
                                   .append(lineSeparator())
                                   .append(DUE_DATE_VALUE)
                                   .append(date)
+                                  .append(renderLabels(state))
                                   .toString();
     }
+
+    /**
+     * Renders the titles of the task labels.
+     *
+     * <p>All the labels are obtained in a single query.
+     *
+     * @return the rendered labels or an empty string if the task has no labels
+     */
+    private static String renderLabels(TaskView state) {
+        List<LabelId> ids = state.getLabelIdsList()
+                                 .getIdsList();
+        if (ids.isEmpty()) {
+            return "";
+        }
+        Map<LabelId, LabelView> labels = getClient().labelViews(ids);
+        return lineSeparator() + LABELS_VALUE + labelTitles(ids, labels);
+    }
+
+    /**
+     * Joins the titles of the labels with the given IDs.
+     *
+     * <p>The labels which are not found are omitted.
+     */
+    static String labelTitles(List<LabelId> ids, Map<LabelId, LabelView> labels) {
+        String result = ids.stream()
+                           .map(labels::get)
+                           .filter(Objects::nonNull)
+                           .map(LabelView::getTitle)
+                           .collect(joining(", "));
+        return result;
+    }
 }
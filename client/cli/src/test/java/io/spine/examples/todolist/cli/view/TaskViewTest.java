@@ -26,18 +26,25 @@
 
 package io.spine.examples.todolist.cli.view;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.examples.todolist.tasks.LabelId;
 import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.view.LabelView;
 import io.spine.examples.todolist.tasks.view.TaskView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.base.Time.currentTime;
 import static io.spine.examples.todolist.cli.view.DateFormatter.format;
 import static io.spine.examples.todolist.cli.view.ViewOfTask.DESCRIPTION_VALUE;
 import static io.spine.examples.todolist.cli.view.ViewOfTask.DUE_DATE_VALUE;
 import static io.spine.examples.todolist.cli.view.ViewOfTask.PRIORITY_VALUE;
+import static io.spine.examples.todolist.cli.view.ViewOfTask.labelTitles;
 import static io.spine.examples.todolist.tasks.TaskPriority.NORMAL;
 import static io.spine.examples.todolist.testdata.Given.newDescription;
 import static java.lang.System.lineSeparator;
@@ -82,4 +89,25 @@ class TaskViewTest extends ViewTest {
         assertThat(taskView.renderState(task))
              .isEqualTo(expectedResult);
     }
+
+    @Test
+    @DisplayName("render titles of the found labels")
+    void renderLabelTitles() {
+        LabelId urgent = LabelId.generate();
+        LabelId home = LabelId.generate();
+        LabelId missing = LabelId.generate();
+        Map<LabelId, LabelView> labels = ImmutableMap.of(urgent, label(urgent, "urgent"),
+                                                         home, label(home, "home"));
+
+        String titles = labelTitles(ImmutableList.of(home, missing, urgent), labels);
+        assertThat(titles).isEqualTo("home, urgent");
+    }
+
+    private static LabelView label(LabelId id, String title) {
+        return LabelView
+                .newBuilder()
+                .setId(id)
+                .setTitle(title)
+                .vBuild();
+    }
 }
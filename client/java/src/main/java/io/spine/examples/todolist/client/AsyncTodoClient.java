@@ -0,0 +1,360 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Message;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.spine.base.CommandMessage;
+import io.spine.base.EntityState;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.EntityStateWithVersion;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceFutureStub;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.client.grpc.QueryServiceGrpc.QueryServiceFutureStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.Task;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskLabel;
+import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.TaskView;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A non-blocking TodoList client.
+ *
+ * <p>Unlike {@link TodoClient}, does not wait for the server. Each call returns
+ * a {@code CompletableFuture} which is completed by the gRPC transport thread when the response
+ * arrives. So, a small number of threads may keep thousands of calls in flight.
+ *
+ * <p>The number of the calls in flight is limited. The calls made above the limit are queued
+ * and started as the previous calls complete. The queue is bounded as well: a call made when it
+ * is full fails fast, see {@link Builder#setMaxPending(int)}.
+ *
+ * <p>The client is thread-safe. All the callers may share a single instance, and with it,
+ * a single {@code ManagedChannel}. Several clients may also share a channel passed
+ * via {@link Builder#setChannel(ManagedChannel)}.
+ */
+public final class AsyncTodoClient {
+
+    /**
+     * The default maximum number of the calls in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    /**
+     * The default maximum number of the calls waiting for a slot in flight.
+     */
+    public static final int DEFAULT_MAX_PENDING = 4096;
+
+    private static final int SHUTDOWN_TIMEOUT = 10;
+
+    private final ManagedChannel channel;
+    private final boolean ownsChannel;
+    private final ActorRequestFactory requests;
+    private final CommandServiceFutureStub commands;
+    private final QueryServiceFutureStub queries;
+    private final InFlightLimit limit;
+
+    private AsyncTodoClient(Builder builder) {
+        this.ownsChannel = builder.channel == null;
+        this.channel = ownsChannel
+                       ? ManagedChannelBuilder.forAddress(builder.host, builder.port)
+                                              .usePlaintext()
+                                              .build()
+                       : builder.channel;
+        this.requests = ActorRequestFactory
+                .newBuilder()
+                .setActor(builder.actor)
+                .build();
+        this.commands = CommandServiceGrpc.newFutureStub(channel);
+        this.queries = QueryServiceGrpc.newFutureStub(channel);
+        this.limit = new InFlightLimit(builder.maxInFlight, builder.maxPending);
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code AsyncTodoClient} instances.
+     *
+     * @return new instance of {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Posts the given command to the {@code CommandService}.
+     *
+     * <p>The returned future is completed with the acknowledgement of the command. Its
+     * {@linkplain Ack#getStatus() status} tells if the command is accepted for the dispatching,
+     * or is invalid, e.g. does not pass the validation. The command is handled after
+     * the acknowledgement is sent, so the rejections thrown by the handler are not reported
+     * to the future. To observe them, subscribe to the rejection events.
+     *
+     * <p>The future is completed exceptionally if the call itself fails, or with
+     * {@link java.util.concurrent.RejectedExecutionException} if the client has too many
+     * calls waiting to be started.
+     *
+     * @param commandMessage
+     *         the command to post
+     * @return the future acknowledgement of the command
+     */
+    public CompletableFuture<Ack> postCommand(CommandMessage commandMessage) {
+        checkNotNull(commandMessage);
+        Command command = requests.command()
+                                  .create(commandMessage);
+        return limit.submit(() -> commands.post(command));
+    }
+
+    /**
+     * Obtains all {@linkplain TaskView task views}.
+     */
+    public CompletableFuture<List<TaskView>> taskViews() {
+        return all(TaskView.class);
+    }
+
+    /**
+     * Obtains all {@linkplain Task tasks}.
+     */
+    public CompletableFuture<List<Task>> tasks() {
+        return all(Task.class);
+    }
+
+    /**
+     * Obtains all {@linkplain TaskLabel labels}.
+     */
+    public CompletableFuture<List<TaskLabel>> labels() {
+        return all(TaskLabel.class);
+    }
+
+    /**
+     * Obtains the labels assigned to the task with the given ID.
+     *
+     * @param taskId
+     *         the task ID to search by
+     * @return the future labels of the specified task
+     */
+    public CompletableFuture<TaskLabels> labelsOf(TaskId taskId) {
+        TaskLabels noLabels = TaskLabels
+                .newBuilder()
+                .setTaskId(taskId)
+                .vBuild();
+        return byId(TaskLabels.class, taskId).thenApply(labels -> labels.orElse(noLabels));
+    }
+
+    /**
+     * Obtains the view of the label with the specified ID.
+     *
+     * <p>If there is no such label, the future is completed with an empty {@code Optional}.
+     *
+     * @param id
+     *         ID of the label to obtain
+     * @return the future view of the label
+     */
+    public CompletableFuture<Optional<LabelView>> labelView(LabelId id) {
+        return byId(LabelView.class, id);
+    }
+
+    /**
+     * Obtains the number of the calls started, but not completed yet.
+     */
+    public int inFlight() {
+        return limit.inFlight();
+    }
+
+    /**
+     * Shuts down the channel of the client.
+     *
+     * <p>A channel passed to the {@link Builder#setChannel(ManagedChannel) builder} is shared,
+     * and so is left open.
+     *
+     * @throws InterruptedException
+     *         if interrupted while waiting for the channel to terminate
+     */
+    public void shutdown() throws InterruptedException {
+        if (ownsChannel) {
+            channel.shutdown()
+                   .awaitTermination(SHUTDOWN_TIMEOUT, SECONDS);
+        }
+    }
+
+    private <S extends EntityState> CompletableFuture<List<S>> all(Class<S> type) {
+        Query query = requests.query()
+                              .all(type);
+        return read(query, type);
+    }
+
+    private <S extends EntityState> CompletableFuture<Optional<S>>
+    byId(Class<S> type, Message id) {
+        Query query = requests.query()
+                              .byIds(type, ImmutableSet.of(id));
+        return read(query, type).thenApply(states -> {
+            checkState(states.size() <= 1, "Too many %s-s with ID %s.",
+                       type.getSimpleName(), id);
+            return states.stream()
+                         .findFirst();
+        });
+    }
+
+    private <S extends EntityState> CompletableFuture<List<S>> read(Query query, Class<S> type) {
+        return limit.submit(() -> queries.read(query))
+                    .thenApply(response -> unpackAll(response, type));
+    }
+
+    private static <S extends EntityState> ImmutableList<S>
+    unpackAll(QueryResponse response, Class<S> type) {
+        Status status = response.getResponse()
+                                .getStatus();
+        if (status.hasError()) {
+            throw new IllegalStateException("The query failed: " + status.getError()
+                                                                         .getMessage());
+        }
+        ImmutableList<S> result =
+                response.getMessageList()
+                        .stream()
+                        .map(EntityStateWithVersion::getState)
+                        .map(state -> unpack(state, type))
+                        .collect(toImmutableList());
+        return result;
+    }
+
+    /**
+     * The builder of the {@code AsyncTodoClient} instances.
+     */
+    public static final class Builder {
+
+        private @Nullable ManagedChannel channel;
+        private String host = TodoClient.HOST;
+        private int port;
+        private @Nullable UserId actor;
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private int maxPending = DEFAULT_MAX_PENDING;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the channel to the server.
+         *
+         * <p>The channel is not shut down by the client, and so may be shared with other clients.
+         */
+        public Builder setChannel(ManagedChannel channel) {
+            this.channel = checkNotNull(channel);
+            return this;
+        }
+
+        /**
+         * Sets the address of the server.
+         *
+         * <p>The client opens its own channel to the server and shuts it down on
+         * {@linkplain #shutdown() shutdown}.
+         */
+        public Builder setAddress(String host, int port) {
+            checkNotNull(host);
+            checkArgument(port > 0, "The port must be positive, but was %s.", port);
+            this.host = host;
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the user on behalf of whom the calls are made.
+         *
+         * <p>If not set, a new user ID is generated.
+         */
+        public Builder setActor(UserId actor) {
+            this.actor = checkNotNull(actor);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the calls in flight.
+         *
+         * <p>If not set, {@link #DEFAULT_MAX_IN_FLIGHT} is used.
+         */
+        public Builder setMaxInFlight(int maxInFlight) {
+            checkArgument(maxInFlight > 0,
+                          "The in-flight limit must be positive, but was %s.", maxInFlight);
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the calls waiting for a slot in flight.
+         *
+         * <p>A call above this number is rejected instead of queued. Zero makes the client
+         * reject every call above the in-flight limit.
+         *
+         * <p>If not set, {@link #DEFAULT_MAX_PENDING} is used.
+         */
+        public Builder setMaxPending(int maxPending) {
+            checkArgument(maxPending >= 0,
+                          "The pending limit must not be negative, but was %s.", maxPending);
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        /**
+         * Creates a new {@code AsyncTodoClient}.
+         *
+         * <p>Either the channel or the address of the server must be set.
+         */
+        public AsyncTodoClient build() {
+            checkState(channel != null || port > 0,
+                       "Either the channel or the address of the server must be set.");
+            if (actor == null) {
+                actor = UserId
+                        .newBuilder()
+                        .setValue(newUuid())
+                        .vBuild();
+            }
+            return new AsyncTodoClient(this);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.base.EntityState;
+import io.spine.client.Client;
+import io.spine.client.Subscription;
+import io.spine.core.Ack;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.Task;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskLabel;
+import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.TaskStatus;
+import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.LabelledTaskView;
+import io.spine.examples.todolist.tasks.view.TaskView;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.spine.examples.todolist.client.EntityCache.readByIds;
+
+/**
+ * A TodoList client serving the reads from the memory.
+ *
+ * <p>On creation, the client subscribes to the task views, the tasks, the labels, the label
+ * views and the labels of the tasks, and then reads their current states page by page.
+ * The label views and the labels of the tasks have no column to order the pages by, so they
+ * are read by the IDs of the labels and the tasks read before them. Further on, the states
+ * are kept fresh by the subscription updates. So, reading a single state or all the states of
+ * a type does not make a network call. The states which no longer match the subscriptions,
+ * such as the erased views of the deleted drafts, are removed from the memory.
+ *
+ * <p>The updates arrive asynchronously. Hence, a state read right after posting a command
+ * may not reflect the command yet. The server publishes an update on the node which applied
+ * it. So, if several server nodes share the delivery of the signals, the client misses
+ * the updates applied by the nodes other than the one it is connected to.
+ *
+ * <p>The paged reads and {@link #myTasks(TaskStatus, int, int) myTasks} still query
+ * the server, as they depend on the server-side ordering and masks.
+ */
+final class CachingTodoClient implements SubscribingTodoClient {
+
+    private final TodoClientImpl delegate;
+    private final EntityCache<TaskId, TaskView> taskViews;
+    private final EntityCache<TaskId, Task> tasks;
+    private final EntityCache<LabelId, TaskLabel> labels;
+    private final EntityCache<LabelId, LabelView> labelViews;
+    private final EntityCache<TaskId, TaskLabels> taskLabels;
+    private final ImmutableList<Subscription> subscriptions;
+
+    /**
+     * Creates a new client and loads the current states.
+     *
+     * @param delegate
+     *         the client to post the commands and to load the states with
+     */
+    CachingTodoClient(TodoClientImpl delegate) {
+        this.delegate = delegate;
+        this.taskViews = new EntityCache<>(TaskView.class, TaskId.class, TaskView::getId);
+        this.tasks = new EntityCache<>(Task.class, TaskId.class, Task::getId);
+        this.labels = new EntityCache<>(TaskLabel.class, LabelId.class, TaskLabel::getId);
+        this.labelViews = new EntityCache<>(LabelView.class, LabelId.class, LabelView::getId);
+        this.taskLabels =
+                new EntityCache<>(TaskLabels.class, TaskId.class, TaskLabels::getTaskId);
+        Client client = delegate.client();
+        UserId user = delegate.user();
+        this.subscriptions = ImmutableList.of(
+                taskViews.load(client, user,
+                               () -> delegate.taskViews(allOf(TaskView.class))),
+                tasks.load(client, user,
+                           () -> delegate.tasks(allOf(Task.class))),
+                labels.load(client, user,
+                            () -> delegate.labels(allOf(TaskLabel.class))),
+                labelViews.load(client, user,
+                                () -> readByIds(client, user, LabelView.class, labels.ids())),
+                taskLabels.load(client, user,
+                                () -> readByIds(client, user, TaskLabels.class, tasks.ids()))
+        );
+    }
+
+    /**
+     * Creates a client sharing the cached states of the given one, but acting on behalf
+     * of another user.
+     */
+    private CachingTodoClient(CachingTodoClient origin, UserId user) {
+        this.delegate = origin.delegate.onBehalfOf(user);
+        this.taskViews = origin.taskViews;
+        this.tasks = origin.tasks;
+        this.labels = origin.labels;
+        this.labelViews = origin.labelViews;
+        this.taskLabels = origin.taskLabels;
+        this.subscriptions = ImmutableList.of();
+    }
+
+    @Override
+    public void postCommand(CommandMessage commandMessage) {
+        delegate.postCommand(commandMessage);
+    }
+
+    @Override
+    public CompletableFuture<Ack> post(CommandMessage commandMessage) {
+        return delegate.post(commandMessage);
+    }
+
+    @Override
+    public List<TaskView> taskViews() {
+        return taskViews.all();
+    }
+
+    @Override
+    public List<LabelledTaskView> labelledTasks() {
+        return delegate.labelledTasks();
+    }
+
+    @Override
+    public Stream<TaskView> taskViews(ReadOptions<TaskView> options) {
+        return delegate.taskViews(options);
+    }
+
+    @Override
+    public List<TaskView> myTasks(TaskStatus status, int page, int pageSize) {
+        return delegate.myTasks(status, page, pageSize);
+    }
+
+    @Override
+    public List<Task> tasks() {
+        return tasks.all();
+    }
+
+    @Override
+    public Stream<Task> tasks(ReadOptions<Task> options) {
+        return delegate.tasks(options);
+    }
+
+    @Override
+    public List<TaskLabel> labels() {
+        return labels.all();
+    }
+
+    @Override
+    public Stream<TaskLabel> labels(ReadOptions<TaskLabel> options) {
+        return delegate.labels(options);
+    }
+
+    @Override
+    public TaskLabels labelsOf(TaskId taskId) {
+        TaskLabels result = taskLabels.find(taskId)
+                                      .orElse(TaskLabels.newBuilder()
+                                                        .setTaskId(taskId)
+                                                        .vBuild());
+        return result;
+    }
+
+    @Override
+    public Map<TaskId, TaskLabels> labelsOf(Collection<TaskId> taskIds) {
+        ImmutableMap<TaskId, TaskLabels> result =
+                ImmutableSet.copyOf(taskIds)
+                            .stream()
+                            .collect(toImmutableMap(id -> id, this::labelsOf));
+        return result;
+    }
+
+    @Override
+    public Map<LabelId, LabelView> labelViews(Collection<LabelId> ids) {
+        ImmutableMap.Builder<LabelId, LabelView> result = ImmutableMap.builder();
+        for (LabelId id : ImmutableSet.copyOf(ids)) {
+            labelViews.find(id)
+                      .ifPresent(view -> result.put(id, view));
+        }
+        return result.build();
+    }
+
+    @Override
+    public Optional<LabelView> labelView(LabelId id) {
+        return labelViews.find(id);
+    }
+
+    @Nullable
+    @Override
+    public TaskLabel labelOr(LabelId id, @Nullable TaskLabel other) {
+        return labels.find(id)
+                     .orElse(other);
+    }
+
+    @Override
+    public Subscription subscribeToTasks(StreamObserver<TaskView> observer) {
+        return delegate.subscribeToTasks(observer);
+    }
+
+    @Override
+    public void unSubscribe(Subscription subscription) {
+        delegate.unSubscribe(subscription);
+    }
+
+    @Override
+    public SubscribingTodoClient onBehalfOf(UserId user) {
+        return new CachingTodoClient(this, user);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The resulting client does not share the cached states with this one. It loads
+     * and subscribes to the states of the tenant instead.
+     */
+    @Override
+    public SubscribingTodoClient forTenant(TenantId tenant) {
+        return new CachingTodoClient(delegate.forTenant(tenant));
+    }
+
+    @Override
+    public void shutdown() {
+        subscriptions.forEach(delegate::unSubscribe);
+        delegate.shutdown();
+    }
+
+    private static <S extends EntityState> ReadOptions<S> allOf(Class<S> type) {
+        return ReadOptions.newBuilder(type)
+                          .build();
+    }
+}
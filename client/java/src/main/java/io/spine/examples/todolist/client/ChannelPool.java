@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HostAndPort;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Arrays.asList;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The channels to the TodoList servers shared by the clients.
+ *
+ * <p>There is a single channel per set of the server addresses. The clients created with
+ * a pooled channel, e.g. via {@link TodoClient#instance(io.grpc.ManagedChannel)}, do not set up
+ * a new connection. So, creating a client per request is cheap.
+ *
+ * <p>A channel to several servers spreads the calls over all of them in the round-robin
+ * fashion. A channel which is not used for the {@linkplain Builder#setIdleTimeout(Duration) idle
+ * timeout} releases its connections and reconnects on the next call.
+ */
+public final class ChannelPool {
+
+    /**
+     * The default time after which an unused channel releases its connections.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final String SCHEME = "todolist";
+    private static final String ROUND_ROBIN = "round_robin";
+
+    private final Duration idleTimeout;
+    private final ConcurrentMap<ImmutableList<HostAndPort>, ManagedChannel> channels =
+            new ConcurrentHashMap<>();
+
+    private ChannelPool(Builder builder) {
+        this.idleTimeout = builder.idleTimeout;
+    }
+
+    /**
+     * Obtains the pool shared by the whole application.
+     */
+    public static ChannelPool shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code ChannelPool} instances.
+     *
+     * @return new instance of {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Obtains the channel to the server with the given address.
+     *
+     * @param host
+     *         the host of the server
+     * @param port
+     *         the port of the server
+     * @return the pooled channel
+     */
+    public ManagedChannel channel(String host, int port) {
+        return channel(HostAndPort.fromParts(host, port));
+    }
+
+    /**
+     * Obtains the channel balancing the calls over the servers with the given addresses.
+     *
+     * <p>The order of the addresses does not matter.
+     *
+     * @param addresses
+     *         the addresses of the servers
+     * @return the pooled channel
+     */
+    public ManagedChannel channel(HostAndPort... addresses) {
+        checkNotNull(addresses);
+        checkArgument(addresses.length > 0, "At least one server address must be passed.");
+        ImmutableList<HostAndPort> key =
+                ImmutableList.sortedCopyOf(comparing(HostAndPort::toString), asList(addresses));
+        ManagedChannel channel = channels.compute(key, (k, existing) ->
+                existing == null || existing.isShutdown()
+                ? newChannel(k)
+                : existing);
+        return channel;
+    }
+
+    /**
+     * Shuts down all the channels of the pool.
+     *
+     * <p>A channel obtained from the pool afterwards is a new one.
+     */
+    public void shutdown() {
+        channels.values()
+                .forEach(ManagedChannel::shutdown);
+        channels.clear();
+    }
+
+    private ManagedChannel newChannel(ImmutableList<HostAndPort> addresses) {
+        ManagedChannelBuilder<?> builder;
+        if (addresses.size() == 1) {
+            HostAndPort address = addresses.get(0);
+            builder = ManagedChannelBuilder.forAddress(address.getHost(), address.getPort());
+        } else {
+            builder = ManagedChannelBuilder
+                    .forTarget(SCHEME + ":///" + addresses.get(0))
+                    .nameResolverFactory(StaticNameResolver.factory(SCHEME, addresses));
+        }
+        ManagedChannel result = builder.defaultLoadBalancingPolicy(ROUND_ROBIN)
+                                       .idleTimeout(idleTimeout.toMillis(), MILLISECONDS)
+                                       .usePlaintext()
+                                       .build();
+        return result;
+    }
+
+    /**
+     * Holds the pool shared by the application.
+     */
+    private static final class Shared {
+
+        private static final ChannelPool INSTANCE = newBuilder().build();
+    }
+
+    /**
+     * The builder of the {@code ChannelPool} instances.
+     */
+    public static final class Builder {
+
+        private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the time after which an unused channel releases its connections.
+         */
+        public Builder setIdleTimeout(Duration idleTimeout) {
+            checkNotNull(idleTimeout);
+            checkArgument(!idleTimeout.isNegative() && !idleTimeout.isZero(),
+                          "The idle timeout must be positive, but was %s.", idleTimeout);
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Creates a new {@code ChannelPool}.
+         */
+        public ChannelPool build() {
+            return new ChannelPool(this);
+        }
+    }
+}
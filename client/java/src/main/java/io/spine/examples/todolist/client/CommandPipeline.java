@@ -0,0 +1,252 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceFutureStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Posts the commands without waiting for the previous ones to be acknowledged.
+ *
+ * <p>The commands are buffered until either the batch is full or the first buffered command
+ * waits for the {@linkplain PipelineOptions#maxDelay() maximum delay}. Then, the whole batch
+ * is started on the channel back to back, so the transport coalesces the writes of the batch
+ * into a few network flushes. The future of each command is completed when its
+ * acknowledgement arrives.
+ *
+ * <p>A batch is sent as separate unary calls, one per command, rather than as a single
+ * batched request. The number of the calls in flight is limited by
+ * the {@linkplain PipelineOptions#maxInFlight() options}. The commands above the limit wait
+ * for the previous calls to complete, and the commands above the
+ * {@linkplain PipelineOptions#maxPending() pending limit} are failed right away, so that
+ * a caller outpacing the server does not pile up the calls in memory.
+ *
+ * <p>The commands to the same target entity are sent one by one, in the order they are posted:
+ * a command is sent once the previous command to its target is acknowledged. The server
+ * handles the concurrent calls in any order, so otherwise the commands to an aggregate might be
+ * reordered. The target is identified by the first field of the command message, which is
+ * the ID of the target entity. The commands to different targets are sent concurrently.
+ */
+final class CommandPipeline {
+
+    private final CommandServiceFutureStub commands;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final ScheduledExecutorService timer;
+    private final InFlightLimit limit;
+    private final Set<CompletableFuture<Ack>> unacknowledged = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The future acknowledgement of the last posted command of each target.
+     *
+     * <p>A target is removed once its last command is acknowledged.
+     */
+    private final Map<Object, CompletableFuture<Ack>> lastByTarget = new ConcurrentHashMap<>();
+
+    private List<Buffered> buffer = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    CommandPipeline(CommandServiceFutureStub commands, PipelineOptions options) {
+        this.commands = commands;
+        this.maxBatchSize = options.maxBatchSize();
+        this.maxDelay = options.maxDelay();
+        this.limit = new InFlightLimit(options.maxInFlight(), options.maxPending());
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("command-pipeline-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+    }
+
+    /**
+     * Buffers the command for sending.
+     *
+     * @return the future acknowledgement of the command
+     */
+    CompletableFuture<Ack> post(Command command) {
+        CompletableFuture<Ack> result = new CompletableFuture<>();
+        List<Buffered> batch = null;
+        synchronized (this) {
+            checkState(!closed, "The command pipeline is closed.");
+            unacknowledged.add(result);
+            Object target = targetOf(command);
+            CompletableFuture<Ack> previous = lastByTarget.put(target, result);
+            buffer.add(new Buffered(command, target, previous, result));
+            if (buffer.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (buffer.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, maxDelay.toNanos(), NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+        return result;
+    }
+
+    /**
+     * Sends all the buffered commands at once.
+     */
+    void flush() {
+        List<Buffered> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        send(batch);
+    }
+
+    /**
+     * Sends the buffered commands and waits for all the commands to be acknowledged.
+     *
+     * <p>The commands posted after the pipeline is closed are rejected.
+     *
+     * @param timeout
+     *         the maximum time to wait for the acknowledgements
+     */
+    void close(Duration timeout) {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        timer.shutdownNow();
+        CompletableFuture<?>[] pending = unacknowledged.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(pending)
+                             .get(timeout.toMillis(), MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // The failures are reported via the futures of the commands.
+        }
+    }
+
+    /**
+     * Takes the buffered commands and cancels the timed flush.
+     *
+     * <p>Must be called under the lock.
+     */
+    private List<Buffered> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<Buffered> batch = buffer;
+        buffer = new ArrayList<>(maxBatchSize);
+        return batch;
+    }
+
+    private void send(List<Buffered> batch) {
+        for (Buffered buffered : batch) {
+            CompletableFuture<Ack> previous = buffered.previous;
+            if (previous == null || previous.isDone()) {
+                send(buffered);
+            } else {
+                previous.whenComplete((ack, failure) -> send(buffered));
+            }
+        }
+    }
+
+    /**
+     * Sends the command which does not wait for a previous command to its target anymore.
+     *
+     * <p>The command is sent even if the previous one has failed.
+     */
+    private void send(Buffered buffered) {
+        CompletableFuture<Ack> result = buffered.result;
+        limit.submit(() -> commands.post(buffered.command))
+             .whenComplete((ack, failure) -> {
+                 acknowledged(buffered);
+                 if (failure == null) {
+                     result.complete(ack);
+                 } else {
+                     result.completeExceptionally(failure);
+                 }
+             });
+    }
+
+    private void acknowledged(Buffered buffered) {
+        unacknowledged.remove(buffered.result);
+        lastByTarget.remove(buffered.target, buffered.result);
+    }
+
+    /**
+     * Obtains the ID of the entity the command is addressed to.
+     */
+    private static Object targetOf(Command command) {
+        Message message = unpack(command.getMessage());
+        FieldDescriptor idField = message.getDescriptorForType()
+                                         .getFields()
+                                         .get(0);
+        return message.getField(idField);
+    }
+
+    /**
+     * A command waiting to be sent along with its future acknowledgement.
+     */
+    private static final class Buffered {
+
+        private final Command command;
+        private final Object target;
+        private final @Nullable CompletableFuture<Ack> previous;
+        private final CompletableFuture<Ack> result;
+
+        private Buffered(Command command,
+                         Object target,
+                         @Nullable CompletableFuture<Ack> previous,
+                         CompletableFuture<Ack> result) {
+            this.command = command;
+            this.target = target;
+            this.previous = previous;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Streams;
+import com.google.protobuf.Message;
+import io.spine.base.EntityState;
+import io.spine.client.Client;
+import io.spine.client.Subscription;
+import io.spine.core.UserId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static io.spine.examples.todolist.client.ReadOptions.DEFAULT_PAGE_SIZE;
+
+/**
+ * The entity states of a single type kept in memory and updated by a subscription.
+ *
+ * <p>The subscription is posted before the initial read. So no update is missed between
+ * the two. The read states do not override the ones already received via the subscription,
+ * as the latter may be newer. The initial read is performed page by page, so that no query
+ * returns all the states at once.
+ *
+ * <p>The state of an entity which no longer matches the subscription, e.g. is deleted or
+ * archived, is removed from the cache. If such a removal arrives during the initial read,
+ * the ID is remembered, and the state read for it afterwards is skipped.
+ *
+ * @param <I>
+ *         the type of the entity ID
+ * @param <S>
+ *         the type of the entity state
+ */
+final class EntityCache<I extends Message, S extends EntityState> {
+
+    private final Class<S> type;
+    private final Class<I> idClass;
+    private final Function<S, I> idOf;
+    private final ConcurrentMap<I, S> states = new ConcurrentHashMap<>();
+
+    /**
+     * The IDs of the entities removed during the initial read.
+     */
+    private final Set<I> removedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param type
+     *         the type of the entity states to cache
+     * @param idClass
+     *         the type of the entity IDs
+     * @param idOf
+     *         the function obtaining the entity ID from the entity state
+     */
+    EntityCache(Class<S> type, Class<I> idClass, Function<S, I> idOf) {
+        this.type = type;
+        this.idClass = idClass;
+        this.idOf = idOf;
+    }
+
+    /**
+     * Subscribes to the updates of the states and reads their current values.
+     *
+     * @param client
+     *         the client to subscribe with
+     * @param user
+     *         the user on behalf of whom the subscription is made
+     * @param current
+     *         reads the current states; called after the subscription is posted
+     * @return the subscription to the state updates
+     */
+    Subscription load(Client client, UserId user, Supplier<Stream<S>> current) {
+        loading = true;
+        Subscription subscription =
+                client.onBehalfOf(user)
+                      .subscribeTo(type)
+                      .observe(this::put)
+                      .whenNoLongerMatching(idClass, this::remove)
+                      .post();
+        try (Stream<S> read = current.get()) {
+            read.forEach(this::putRead);
+        } finally {
+            loading = false;
+            removedDuringLoad.clear();
+        }
+        return subscription;
+    }
+
+    /**
+     * Reads the states with the given IDs page by page.
+     *
+     * <p>The returned stream queries the next page upon the previous one is consumed.
+     *
+     * @param client
+     *         the client to query the server with
+     * @param user
+     *         the user on behalf of whom the queries are performed
+     * @param type
+     *         the type of the states to read
+     * @param ids
+     *         the IDs of the states to read
+     */
+    static <S extends EntityState, I extends Message> Stream<S>
+    readByIds(Client client, UserId user, Class<S> type, Collection<I> ids) {
+        Iterable<List<I>> pages = Iterables.partition(ids, DEFAULT_PAGE_SIZE);
+        return Streams.stream(pages)
+                      .flatMap(page -> client.onBehalfOf(user)
+                                             .select(type)
+                                             .byId(page)
+                                             .run()
+                                             .stream());
+    }
+
+    /**
+     * Obtains the state of the entity with the given ID.
+     */
+    Optional<S> find(I id) {
+        return Optional.ofNullable(states.get(id));
+    }
+
+    /**
+     * Obtains the IDs of all the cached states.
+     */
+    ImmutableSet<I> ids() {
+        return ImmutableSet.copyOf(states.keySet());
+    }
+
+    /**
+     * Obtains all the cached states.
+     */
+    ImmutableList<S> all() {
+        return ImmutableList.copyOf(states.values());
+    }
+
+    private void put(S state) {
+        states.put(idOf.apply(state), state);
+    }
+
+    private void remove(I id) {
+        if (loading) {
+            removedDuringLoad.add(id);
+        }
+        states.remove(id);
+    }
+
+    /**
+     * Puts the state obtained by the initial read unless a newer state is received or
+     * the entity is removed via the subscription.
+     */
+    private void putRead(S state) {
+        I id = idOf.apply(state);
+        if (!removedDuringLoad.contains(id)) {
+            states.putIfAbsent(id, state);
+        }
+    }
+}
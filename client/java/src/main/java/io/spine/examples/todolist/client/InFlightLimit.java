@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.Futures.addCallback;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+/**
+ * Limits the number of the asynchronous calls in flight.
+ *
+ * <p>A call submitted when the limit is reached is not started, but queued. It is started when
+ * one of the calls in flight completes. So the submitting thread never blocks.
+ *
+ * <p>A completed call starts the next one on its own thread. If the next call completes right
+ * away too, e.g. when the channel is down, the call after it is started by the same loop rather
+ * than deeper in the stack. So a long queue of the failing calls does not overflow the stack.
+ *
+ * <p>The number of the queued calls is bounded too. A call submitted when the queue is full is
+ * rejected right away, so that a caller which outpaces the server learns about it instead of
+ * piling up the calls in memory.
+ */
+final class InFlightLimit {
+
+    private final int max;
+    private final int maxPending;
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * The calls to be started by the loop {@linkplain #release() running} higher in the stack of
+     * the current thread, if any.
+     */
+    private final ThreadLocal<Queue<Runnable>> starting = new ThreadLocal<>();
+
+    /**
+     * Creates a new limit.
+     *
+     * @param max
+     *         the maximum number of the calls in flight
+     * @param maxPending
+     *         the maximum number of the calls waiting to be started
+     */
+    InFlightLimit(int max, int maxPending) {
+        checkArgument(max > 0, "The in-flight limit must be positive, but was %s.", max);
+        checkArgument(maxPending >= 0,
+                      "The pending limit must not be negative, but was %s.", maxPending);
+        this.max = max;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Starts the call as soon as the limit allows.
+     *
+     * @param call
+     *         starts the call and returns its future
+     * @param <T>
+     *         the type of the call result
+     * @return the future result of the call, completed exceptionally with
+     *         {@link RejectedExecutionException} if both the calls in flight and the queue
+     *         are at their limits
+     */
+    <T> CompletableFuture<T> submit(Supplier<ListenableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> start(call, result);
+        boolean startNow;
+        synchronized (this) {
+            startNow = inFlight < max;
+            if (startNow) {
+                inFlight++;
+            } else if (pending.size() < maxPending) {
+                pending.add(start);
+            } else {
+                result.completeExceptionally(new RejectedExecutionException(
+                        "Too many calls: " + inFlight + " in flight, " + pending.size()
+                                + " pending."));
+                return result;
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the number of the started calls which are not completed yet.
+     */
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Obtains the number of the calls waiting to be started.
+     */
+    synchronized int pending() {
+        return pending.size();
+    }
+
+    private <T> void start(Supplier<ListenableFuture<T>> call, CompletableFuture<T> result) {
+        ListenableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            release();
+            result.completeExceptionally(e);
+            return;
+        }
+        addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(@Nullable T value) {
+                release();
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                release();
+                result.completeExceptionally(t);
+            }
+        }, directExecutor());
+    }
+
+    /**
+     * Passes the slot of a completed call to the next pending call, if any.
+     *
+     * <p>If the slot is released while a call is being started by this thread, the next call is
+     * left to the loop which starts that call.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = pending.poll();
+            if (next == null) {
+                inFlight--;
+            }
+        }
+        if (next == null) {
+            return;
+        }
+        Queue<Runnable> queue = starting.get();
+        if (queue != null) {
+            queue.add(next);
+            return;
+        }
+        queue = new ArrayDeque<>();
+        starting.set(queue);
+        try {
+            for (Runnable call = next; call != null; call = queue.poll()) {
+                call.run();
+            }
+        } finally {
+            starting.remove();
+        }
+    }
+}
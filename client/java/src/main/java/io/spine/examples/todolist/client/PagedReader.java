@@ -0,0 +1,286 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Streams;
+import com.google.protobuf.Message;
+import com.google.protobuf.ProtocolMessageEnum;
+import io.spine.base.EntityState;
+import io.spine.client.Client;
+import io.spine.client.Filter;
+import io.spine.client.OrderBy.Direction;
+import io.spine.client.QueryRequest;
+import io.spine.core.UserId;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.client.Filters.either;
+import static io.spine.client.Filters.eq;
+import static io.spine.client.Filters.ge;
+import static io.spine.client.Filters.le;
+import static io.spine.client.OrderBy.Direction.ASCENDING;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.Arrays.stream;
+
+/**
+ * Reads the entity states of a single type page by page.
+ *
+ * <p>The states are read in the order of a column, either the one set in the options, or
+ * the default column of the type, passed to the reader on construction. Each page is
+ * a separate query limited to the page size, which starts at the column value the previous
+ * page ended with. So, only the current page is held in memory, and the server never reads
+ * more than a page and the states sharing its last value.
+ *
+ * <p>The queries cannot filter by the entity ID. So, the states having the same value as
+ * the last state of the previous page are read once again, and skipped on the client. Hence,
+ * the order column should have the distinct values, like the list position of the task views.
+ * A page ordered by a column with few values, like the priority, is as large as the number of
+ * the states read with the current value.
+ *
+ * <p>The value of an enum column cannot be compared on the server, so the page query of
+ * an enum column selects the values not yet passed instead.
+ *
+ * @param <S>
+ *         the type of the entity state
+ */
+final class PagedReader<S extends EntityState> {
+
+    private static final String ID_FIELD = "id";
+    private static final String UNRECOGNIZED = "UNRECOGNIZED";
+
+    private final Client client;
+    private final UserId user;
+    private final Class<S> type;
+    private final Function<S, ? extends Message> idOf;
+    private final String defaultOrderColumn;
+
+    /**
+     * Creates a new reader.
+     *
+     * @param client
+     *         the client to query the server with
+     * @param user
+     *         the user on behalf of whom the queries are performed
+     * @param type
+     *         the type of the entity states to read
+     * @param idOf
+     *         the function obtaining the entity ID from the entity state
+     * @param defaultOrderColumn
+     *         the column to order the states by if the read options do not set the ordering
+     */
+    PagedReader(Client client,
+                UserId user,
+                Class<S> type,
+                Function<S, ? extends Message> idOf,
+                String defaultOrderColumn) {
+        this.client = client;
+        this.user = user;
+        this.type = type;
+        this.idOf = idOf;
+        this.defaultOrderColumn = defaultOrderColumn;
+    }
+
+    /**
+     * Reads the states according to the passed options.
+     *
+     * <p>The returned stream fetches the next page upon the previous one is consumed.
+     */
+    Stream<S> read(ReadOptions<S> options) {
+        Iterator<S> states = new PageIterator(options);
+        return Streams.stream(states);
+    }
+
+    /**
+     * Iterates over the states fetching them page by page.
+     */
+    private final class PageIterator extends AbstractIterator<S> {
+
+        private final String column;
+        private final Direction direction;
+        private final Method getter;
+        private final int pageSize;
+        private final int limit;
+        private final String[] mask;
+
+        /**
+         * The IDs of the read states having the {@link #lastValue}.
+         */
+        private final Set<Message> readWithLastValue = new HashSet<>();
+
+        /**
+         * The values of an enum column, all the states with which are read.
+         */
+        private final Set<Object> passedValues = new HashSet<>();
+
+        private @Nullable Object lastValue;
+        private int returned;
+        private boolean lastPage;
+        private Iterator<S> page = ImmutableList.<S>of().iterator();
+
+        private PageIterator(ReadOptions<S> options) {
+            super();
+            this.column = options.orderColumn()
+                                 .orElse(defaultOrderColumn);
+            this.direction = options.orderColumn()
+                                    .isPresent()
+                             ? options.orderDirection()
+                             : ASCENDING;
+            this.getter = getter(column);
+            this.pageSize = options.pageSize();
+            this.limit = options.limit();
+            this.mask = pageMask(options, column);
+        }
+
+        @Override
+        protected S computeNext() {
+            boolean limitReached = limit > 0 && returned >= limit;
+            if (limitReached) {
+                return endOfData();
+            }
+            while (!page.hasNext()) {
+                if (lastPage) {
+                    return endOfData();
+                }
+                page = nextPage();
+            }
+            returned++;
+            return page.next();
+        }
+
+        /**
+         * Fetches the next page, starting with the last value of the previous one.
+         *
+         * <p>The states of the last value read within the previous pages are skipped.
+         */
+        private Iterator<S> nextPage() {
+            int size = limit > 0
+                       ? Math.min(pageSize, limit - returned)
+                       : pageSize;
+            int requested = size + readWithLastValue.size();
+            QueryRequest<S> request = client.onBehalfOf(user)
+                                            .select(type)
+                                            .orderBy(column, direction)
+                                            .limit(requested);
+            if (mask.length > 0) {
+                request = request.withMask(mask);
+            }
+            request = startingFromLastValue(request);
+            ImmutableList<S> states = request.run();
+            lastPage = states.size() < requested;
+            List<S> result = new ArrayList<>(states.size());
+            for (S state : states) {
+                Object value = valueOf(state);
+                Message id = idOf.apply(state);
+                boolean sameValue = value.equals(lastValue);
+                if (sameValue && readWithLastValue.contains(id)) {
+                    continue;
+                }
+                if (!sameValue) {
+                    if (lastValue != null) {
+                        passedValues.add(lastValue);
+                    }
+                    lastValue = value;
+                    readWithLastValue.clear();
+                }
+                readWithLastValue.add(id);
+                result.add(state);
+            }
+            return result.iterator();
+        }
+
+        private QueryRequest<S> startingFromLastValue(QueryRequest<S> request) {
+            if (lastValue == null) {
+                return request;
+            }
+            if (lastValue instanceof ProtocolMessageEnum) {
+                Filter[] remaining = stream(lastValue.getClass()
+                                                     .getEnumConstants())
+                        .filter(value -> !passedValues.contains(value))
+                        .filter(value -> !UNRECOGNIZED.equals(((Enum<?>) value).name()))
+                        .map(value -> eq(column, value))
+                        .toArray(Filter[]::new);
+                return request.where(either(remaining[0], tail(remaining)));
+            }
+            Filter fromLast = direction == ASCENDING
+                              ? ge(column, lastValue)
+                              : le(column, lastValue);
+            return request.where(fromLast);
+        }
+
+        private Object valueOf(S state) {
+            try {
+                return getter.invoke(state);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+    }
+
+    /**
+     * Obtains the getter of the given column in the state type.
+     */
+    private Method getter(String column) {
+        String name = "get" + CaseFormat.LOWER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, column);
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static String[] pageMask(ReadOptions<?> options, String column) {
+        ImmutableList<String> mask = options.mask();
+        if (mask.isEmpty()) {
+            return new String[0];
+        }
+        Set<String> paths = new LinkedHashSet<>(mask);
+        paths.add(ID_FIELD);
+        paths.add(column);
+        return paths.toArray(new String[0]);
+    }
+
+    private static Filter[] tail(Filter[] filters) {
+        checkArgument(filters.length > 0);
+        Filter[] result = new Filter[filters.length - 1];
+        System.arraycopy(filters, 1, result, 0, result.length);
+        return result;
+    }
+}
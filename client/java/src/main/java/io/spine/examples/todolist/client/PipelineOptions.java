@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The options of the command pipelining.
+ *
+ * <p>A pipelined client does not wait for a command to be acknowledged before posting
+ * the next one. The commands are buffered and sent to the server back to back when either
+ * the {@linkplain #maxBatchSize() batch is full} or the {@linkplain #maxDelay() oldest command}
+ * waits long enough.
+ *
+ * <p>A batch is not a single request. Its commands are sent as separate unary calls, started
+ * one after another. The number of the calls in flight is {@linkplain #maxInFlight() limited},
+ * and so is the number of the {@linkplain #maxPending() calls waiting} for a slot.
+ *
+ * @see TodoClient#pipelined(String, int, PipelineOptions)
+ */
+public final class PipelineOptions {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(5);
+
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final int maxInFlight;
+    private final int maxPending;
+
+    private PipelineOptions(Builder builder) {
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelay = builder.maxDelay;
+        this.maxInFlight = builder.maxInFlight;
+        this.maxPending = builder.maxPending;
+    }
+
+    /**
+     * Obtains the options with the default batch size and delay.
+     */
+    public static PipelineOptions defaults() {
+        return newBuilder().build();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code PipelineOptions}.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Obtains the number of the buffered commands which triggers sending them.
+     */
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Obtains the maximum time a command is buffered before it is sent.
+     */
+    public Duration maxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Obtains the maximum number of the commands sent, but not acknowledged yet.
+     */
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Obtains the maximum number of the commands waiting for a slot in flight.
+     *
+     * <p>A command posted above this number is failed with
+     * {@link java.util.concurrent.RejectedExecutionException} instead of being queued.
+     */
+    public int maxPending() {
+        return maxPending;
+    }
+
+    /**
+     * A builder for the {@code PipelineOptions} instances.
+     */
+    public static final class Builder {
+
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private Duration maxDelay = DEFAULT_MAX_DELAY;
+        private int maxInFlight = AsyncTodoClient.DEFAULT_MAX_IN_FLIGHT;
+        private int maxPending = AsyncTodoClient.DEFAULT_MAX_PENDING;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of the buffered commands which triggers sending them.
+         *
+         * @param maxBatchSize
+         *         a positive batch size
+         * @return self for method chaining
+         */
+        public Builder setMaxBatchSize(int maxBatchSize) {
+            checkArgument(maxBatchSize > 0,
+                          "The batch size must be positive, but was %s.", maxBatchSize);
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time a command is buffered before it is sent.
+         *
+         * @param maxDelay
+         *         a positive delay
+         * @return self for method chaining
+         */
+        public Builder setMaxDelay(Duration maxDelay) {
+            checkNotNull(maxDelay);
+            checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(),
+                          "The delay must be positive, but was %s.", maxDelay);
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the commands sent, but not acknowledged yet.
+         *
+         * <p>If not set, {@link AsyncTodoClient#DEFAULT_MAX_IN_FLIGHT} is used.
+         *
+         * @param maxInFlight
+         *         a positive number of the commands
+         * @return self for method chaining
+         */
+        public Builder setMaxInFlight(int maxInFlight) {
+            checkArgument(maxInFlight > 0,
+                          "The in-flight limit must be positive, but was %s.", maxInFlight);
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the commands waiting for a slot in flight.
+         *
+         * <p>If not set, {@link AsyncTodoClient#DEFAULT_MAX_PENDING} is used.
+         *
+         * @param maxPending
+         *         a non-negative number of the commands
+         * @return self for method chaining
+         */
+        public Builder setMaxPending(int maxPending) {
+            checkArgument(maxPending >= 0,
+                          "The pending limit must not be negative, but was %s.", maxPending);
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code PipelineOptions}.
+         */
+        public PipelineOptions build() {
+            return new PipelineOptions(this);
+        }
+    }
+}
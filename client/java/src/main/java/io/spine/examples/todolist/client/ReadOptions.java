@@ -0,0 +1,258 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import io.spine.base.EntityState;
+import io.spine.client.OrderBy.Direction;
+import io.spine.option.OptionsProto;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.client.OrderBy.Direction.ASCENDING;
+import static io.spine.protobuf.Messages.defaultInstance;
+
+/**
+ * The options of a paged read of entity states.
+ *
+ * <p>The states are fetched from the server lazily, page by page, so only a single page of
+ * the states is kept in memory at a time.
+ *
+ * @param <S>
+ *         the type of the entity states to read
+ * @see TodoClient#taskViews(ReadOptions)
+ */
+public final class ReadOptions<S extends EntityState> {
+
+    /**
+     * The name of the {@code TaskView} column holding the task due date.
+     */
+    public static final String DUE_DATE = "due_date";
+
+    /**
+     * The name of the {@code TaskView} column holding the task priority.
+     */
+    public static final String PRIORITY = "priority";
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final Class<S> type;
+    private final int pageSize;
+    private final int limit;
+    private final @Nullable String orderColumn;
+    private final Direction orderDirection;
+    private final ImmutableList<String> mask;
+
+    private ReadOptions(Builder<S> builder) {
+        this.type = builder.type;
+        this.pageSize = builder.pageSize;
+        this.limit = builder.limit;
+        this.orderColumn = builder.orderColumn;
+        this.orderDirection = builder.orderDirection;
+        this.mask = builder.mask;
+    }
+
+    /**
+     * Obtains the options which read all the states of the given type in pages of
+     * the default size.
+     */
+    public static <S extends EntityState> ReadOptions<S> defaults(Class<S> type) {
+        return newBuilder(type).build();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code ReadOptions} of the states of
+     * the given type.
+     */
+    public static <S extends EntityState> Builder<S> newBuilder(Class<S> type) {
+        checkNotNull(type);
+        return new Builder<>(type);
+    }
+
+    /**
+     * Obtains the type of the states to read.
+     */
+    public Class<S> type() {
+        return type;
+    }
+
+    /**
+     * Obtains the maximum number of states fetched from the server in a single request.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Obtains the maximum total number of the states to read.
+     *
+     * @return the limit or {@code 0} if the number of states is not limited
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Obtains the name of the column to order the states by, if set.
+     */
+    public Optional<String> orderColumn() {
+        return Optional.ofNullable(orderColumn);
+    }
+
+    /**
+     * Obtains the direction of the ordering.
+     */
+    public Direction orderDirection() {
+        return orderDirection;
+    }
+
+    /**
+     * Obtains the paths of the fields to read.
+     *
+     * @return the field paths or an empty list if all the fields should be read
+     */
+    public ImmutableList<String> mask() {
+        return mask;
+    }
+
+    /**
+     * A builder for the {@code ReadOptions} instances.
+     *
+     * @param <S>
+     *         the type of the entity states to read
+     */
+    public static final class Builder<S extends EntityState> {
+
+        private final Class<S> type;
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        private int limit;
+        private @Nullable String orderColumn;
+        private Direction orderDirection = ASCENDING;
+        private ImmutableList<String> mask = ImmutableList.of();
+
+        /** Prevents direct instantiation. */
+        private Builder(Class<S> type) {
+            this.type = type;
+        }
+
+        /**
+         * Sets the maximum number of states fetched in a single request.
+         *
+         * @param pageSize
+         *         a positive page size
+         * @return self for method chaining
+         */
+        public Builder<S> setPageSize(int pageSize) {
+            checkArgument(pageSize > 0, "The page size must be positive, but was %s.", pageSize);
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total number of states to read.
+         *
+         * <p>The limit is applied on the server side. If the ordering is not set, the states are
+         * ordered by a column chosen by the reader, e.g. the list position of the task views.
+         *
+         * @param limit
+         *         a positive limit
+         * @return self for method chaining
+         */
+        public Builder<S> setLimit(int limit) {
+            checkArgument(limit > 0, "The limit must be positive, but was %s.", limit);
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the column to order the states by.
+         *
+         * <p>The column must be declared by the type of the states, see {@link #build()}.
+         *
+         * @param column
+         *         the name of the entity column, e.g. {@link #DUE_DATE} or {@link #PRIORITY}
+         * @param direction
+         *         the direction of the ordering
+         * @return self for method chaining
+         */
+        public Builder<S> orderBy(String column, Direction direction) {
+            checkNotNull(column);
+            checkNotNull(direction);
+            checkArgument(!column.isEmpty(), "The column name must not be empty.");
+            this.orderColumn = column;
+            this.orderDirection = direction;
+            return this;
+        }
+
+        /**
+         * Sets the paths of the fields to read.
+         *
+         * <p>The {@code id} field is always read, as the pages are fetched by the IDs.
+         *
+         * @param fieldPaths
+         *         the field paths, e.g. {@code "description"}
+         * @return self for method chaining
+         */
+        public Builder<S> withMask(String... fieldPaths) {
+            checkNotNull(fieldPaths);
+            this.mask = ImmutableList.copyOf(fieldPaths);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code ReadOptions}.
+         *
+         * @throws IllegalArgumentException
+         *         if the type of the states does not declare the order column
+         */
+        public ReadOptions<S> build() {
+            String column = orderColumn;
+            if (column != null) {
+                checkArgument(isColumn(type, column),
+                              "`%s` does not declare the column `%s`.",
+                              type.getSimpleName(), column);
+            }
+            return new ReadOptions<>(this);
+        }
+
+        /**
+         * Tells if the given field of the state type is marked as an entity column.
+         */
+        private static boolean isColumn(Class<? extends EntityState> type, String column) {
+            Descriptor descriptor = defaultInstance(type).getDescriptorForType();
+            FieldDescriptor field = descriptor.findFieldByName(column);
+            return field != null
+                    && field.getOptions()
+                            .getExtension(OptionsProto.column);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HostAndPort;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.Status;
+
+import javax.annotation.Nullable;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Resolves a channel target to a fixed list of the server addresses.
+ *
+ * <p>The host names are looked up on each resolution. So, a refresh requested by the channel,
+ * e.g. after a connection failure, picks up the DNS changes.
+ *
+ * <p>The lookups block, so they are made by a separate thread rather than by the caller, which
+ * is the synchronization context of the channel. The result is passed to the channel from
+ * that thread.
+ */
+final class StaticNameResolver extends NameResolver {
+
+    /**
+     * The threads looking up the host names, shared by all the resolvers.
+     */
+    private static final Executor LOOKUPS = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("name-resolver-%d")
+                                      .setDaemon(true)
+                                      .build()
+    );
+
+    private final ImmutableList<HostAndPort> addresses;
+    private final AtomicBoolean resolving = new AtomicBoolean();
+    private volatile @Nullable Listener2 listener;
+
+    private StaticNameResolver(ImmutableList<HostAndPort> addresses) {
+        super();
+        this.addresses = addresses;
+    }
+
+    /**
+     * Creates a factory of the resolvers of the given addresses.
+     *
+     * @param scheme
+     *         the URI scheme of the channel targets to resolve
+     * @param addresses
+     *         the addresses to resolve the targets to
+     */
+    static Factory factory(String scheme, ImmutableList<HostAndPort> addresses) {
+        return new Factory() {
+            @Override
+            public @Nullable NameResolver newNameResolver(URI targetUri, Args args) {
+                return scheme.equals(targetUri.getScheme())
+                       ? new StaticNameResolver(addresses)
+                       : null;
+            }
+
+            @Override
+            public String getDefaultScheme() {
+                return scheme;
+            }
+        };
+    }
+
+    @Override
+    public String getServiceAuthority() {
+        return addresses.get(0)
+                        .toString();
+    }
+
+    @Override
+    public void start(Listener2 listener) {
+        this.listener = listener;
+        resolve();
+    }
+
+    @Override
+    public void refresh() {
+        resolve();
+    }
+
+    @Override
+    public void shutdown() {
+        listener = null;
+    }
+
+    /**
+     * Starts the lookup of the addresses unless it is already in progress.
+     */
+    private void resolve() {
+        if (listener == null || !resolving.compareAndSet(false, true)) {
+            return;
+        }
+        LOOKUPS.execute(() -> {
+            try {
+                lookUp();
+            } finally {
+                resolving.set(false);
+            }
+        });
+    }
+
+    private void lookUp() {
+        Listener2 current = listener;
+        if (current == null) {
+            return;
+        }
+        ImmutableList<EquivalentAddressGroup> groups =
+                addresses.stream()
+                         .map(address -> new InetSocketAddress(address.getHost(),
+                                                               address.getPort()))
+                         .filter(address -> !address.isUnresolved())
+                         .map(EquivalentAddressGroup::new)
+                         .collect(toImmutableList());
+        if (groups.isEmpty()) {
+            current.onError(Status.UNAVAILABLE.withDescription(
+                    "None of the addresses is resolved: " + addresses));
+            return;
+        }
+        current.onResult(ResolutionResult.newBuilder()
+                                         .setAddresses(groups)
+                                         .build());
+    }
+}
@@ -26,8 +26,11 @@
 
 package io.spine.examples.todolist.client;
 
+import io.grpc.ManagedChannel;
 import io.grpc.stub.StreamObserver;
 import io.spine.client.Subscription;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
 import io.spine.examples.todolist.tasks.view.TaskView;
 
 /**
@@ -52,6 +55,12 @@ public interface SubscribingTodoClient extends TodoClient {
      */
     void unSubscribe(Subscription subscription);
 
+    @Override
+    SubscribingTodoClient onBehalfOf(UserId user);
+
+    @Override
+    SubscribingTodoClient forTenant(TenantId tenant);
+
     /**
      * Creates a new instance of {@code SubscribingTodoClient}.
      *
@@ -64,4 +73,35 @@ public interface SubscribingTodoClient extends TodoClient {
     static SubscribingTodoClient instance(String host, int port) {
         return new TodoClientImpl(host, port);
     }
+
+    /**
+     * Creates a new instance of {@code SubscribingTodoClient} using the given channel.
+     *
+     * <p>The channel is not shut down along with the client. The subscriptions made by
+     * the client are cancelled on its shutdown.
+     *
+     * @param channel
+     *         the channel to the server
+     * @return new subscribing TodoList client
+     */
+    static SubscribingTodoClient instance(ManagedChannel channel) {
+        return new TodoClientImpl(channel, false, null);
+    }
+
+    /**
+     * Creates a new instance of {@code SubscribingTodoClient} serving the reads from the memory.
+     *
+     * <p>The client reads the current states of the tasks and labels once, and then keeps them
+     * fresh via the subscriptions. The single-state and the full-list reads do not make network
+     * calls. The updates arrive asynchronously, so a read may not yet reflect a recent command.
+     *
+     * @param host
+     *         the host of the server to connect to
+     * @param port
+     *         the port of the server to connect to
+     * @return new caching TodoList client
+     */
+    static SubscribingTodoClient cached(String host, int port) {
+        return new CachingTodoClient(new TodoClientImpl(host, port));
+    }
 }
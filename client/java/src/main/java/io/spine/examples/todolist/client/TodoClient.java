@@ -26,18 +26,28 @@
 
 package io.spine.examples.todolist.client;
 
+import io.grpc.ManagedChannel;
 import io.spine.base.CommandMessage;
+import io.spine.core.Ack;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
 import io.spine.examples.todolist.tasks.LabelId;
 import io.spine.examples.todolist.tasks.Task;
 import io.spine.examples.todolist.tasks.TaskId;
 import io.spine.examples.todolist.tasks.TaskLabel;
 import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.TaskStatus;
 import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.LabelledTaskView;
 import io.spine.examples.todolist.tasks.view.TaskView;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * A client interface.
@@ -56,6 +66,19 @@ public interface TodoClient {
      */
     void postCommand(CommandMessage commandMessage);
 
+    /**
+     * Posts the given command to the {@code CommandService} and obtains its acknowledgement.
+     *
+     * <p>A {@linkplain #pipelined(String, int, PipelineOptions) pipelined} client returns
+     * at once, and the future is completed when the acknowledgement arrives. Otherwise, the call
+     * waits for the acknowledgement and returns a completed future.
+     *
+     * @param commandMessage
+     *         the command to post
+     * @return the future acknowledgement of the command
+     */
+    CompletableFuture<Ack> post(CommandMessage commandMessage);
+
     /**
      * Obtains all {@linkplain TaskView task views}.
      *
@@ -63,6 +86,49 @@ public interface TodoClient {
      */
     List<TaskView> taskViews();
 
+    /**
+     * Obtains all the {@linkplain LabelledTaskView tasks along with their labels}.
+     *
+     * <p>Each task carries the titles and the colors of its labels, so no further label lookup
+     * is needed to render it.
+     *
+     * @return all labelled task views
+     */
+    List<LabelledTaskView> labelledTasks();
+
+    /**
+     * Reads the {@linkplain TaskView task views} page by page.
+     *
+     * <p>Unlike {@link #taskViews()}, does not hold all the task views in memory. The next page
+     * is fetched from the server when the previous one is consumed.
+     *
+     * @param options
+     *         the page size, the ordering, the limit and the field mask of the read
+     * @return the lazily fetched task views
+     */
+    Stream<TaskView> taskViews(ReadOptions<TaskView> options);
+
+    /**
+     * Obtains a page of the tasks of the current user which have the given status.
+     *
+     * <p>The tasks are ordered by the priority, then by the due date. Finalized drafts are
+     * returned along with the open tasks.
+     *
+     * <p>The deep pages are costly. To serve the page {@code K} of the size {@code N},
+     * the IDs of all the {@code (K + 1) * N} tasks up to the end of the page are read, and
+     * the preceding ones are skipped. To go over all the tasks, use
+     * {@link #taskViews(ReadOptions)} instead.
+     *
+     * @param status
+     *         the status of the tasks to obtain
+     * @param page
+     *         the zero-based number of the page
+     * @param pageSize
+     *         the maximum number of tasks on a page
+     * @return the tasks of the requested page, or an empty list if there are no such tasks
+     */
+    List<TaskView> myTasks(TaskStatus status, int page, int pageSize);
+
     /**
      * Obtains all {@linkplain Task tasks} in the system.
      *
@@ -70,6 +136,17 @@ public interface TodoClient {
      */
     List<Task> tasks();
 
+    /**
+     * Reads the {@linkplain Task tasks} page by page.
+     *
+     * @param options
+     *         the page size, the ordering by the {@code created} column, the limit and
+     *         the field mask of the read
+     * @return the lazily fetched tasks
+     * @see #taskViews(ReadOptions)
+     */
+    Stream<Task> tasks(ReadOptions<Task> options);
+
     /**
      * Obtains all {@linkplain TaskLabel labels} in the system.
      *
@@ -77,6 +154,17 @@ public interface TodoClient {
      */
     List<TaskLabel> labels();
 
+    /**
+     * Reads the {@linkplain TaskLabel labels} page by page.
+     *
+     * @param options
+     *         the page size, the ordering by the {@code title} column, the limit and
+     *         the field mask of the read
+     * @return the lazily fetched labels
+     * @see #taskViews(ReadOptions)
+     */
+    Stream<TaskLabel> labels(ReadOptions<TaskLabel> options);
+
     /**
      * Obtains the labels assigned to the task with the given ID.
      *
@@ -86,6 +174,17 @@ public interface TodoClient {
      */
     TaskLabels labelsOf(TaskId taskId);
 
+    /**
+     * Obtains the labels assigned to each of the tasks with the given IDs.
+     *
+     * <p>All the tasks are looked up in a single query.
+     *
+     * @param taskIds
+     *         the IDs of the tasks to search by
+     * @return the labels of each of the specified tasks, by the task ID
+     */
+    Map<TaskId, TaskLabels> labelsOf(Collection<TaskId> taskIds);
+
     /**
      * Obtains an {@code Optional} containing the view of the label with the specified ID.
      *
@@ -97,6 +196,18 @@ public interface TodoClient {
      */
     Optional<LabelView> labelView(LabelId id);
 
+    /**
+     * Obtains the views of the labels with the specified IDs.
+     *
+     * <p>All the labels are looked up in a single query. The IDs which do not correspond to any
+     * label are absent in the resulting map.
+     *
+     * @param ids
+     *         IDs of the labels to obtain
+     * @return the views of the found labels, by the label ID
+     */
+    Map<LabelId, LabelView> labelViews(Collection<LabelId> ids);
+
     /**
      * Obtains a single {@link TaskLabel} by its ID.
      *
@@ -114,6 +225,34 @@ public interface TodoClient {
     @Nullable
     TaskLabel labelOr(LabelId id, @Nullable TaskLabel other);
 
+    /**
+     * Obtains a client acting on behalf of the given user.
+     *
+     * <p>The resulting client shares the connection with this one. So, it is cheap to obtain
+     * a client per call. Shutting down the resulting client has no effect.
+     *
+     * @param user
+     *         the user to make the requests on behalf of
+     * @return the client acting on behalf of the user
+     */
+    TodoClient onBehalfOf(UserId user);
+
+    /**
+     * Obtains a client working with the data of the given tenant.
+     *
+     * <p>The server must run a multi-tenant context. The commands, the queries and
+     * the subscriptions of the resulting client are handled within the tenant.
+     *
+     * <p>The resulting client shares the channel with this one, but unlike
+     * {@link #onBehalfOf(UserId)}, creates new stubs. So, it is better to obtain a client once
+     * per tenant. Shutting down the resulting client has no effect.
+     *
+     * @param tenant
+     *         the tenant to make the requests in
+     * @return the client of the tenant
+     */
+    TodoClient forTenant(TenantId tenant);
+
     /**
      * Shutdown the connection channel.
      */
@@ -133,4 +272,38 @@ public interface TodoClient {
     static TodoClient instance(String host, int port) {
         return new TodoClientImpl(host, port);
     }
+
+    /**
+     * Creates a new instance of {@code TodoClient} using the given channel.
+     *
+     * <p>The channel is not shut down along with the client. So, many clients may share
+     * a channel, e.g. one obtained from a {@link ChannelPool}.
+     *
+     * @param channel
+     *         the channel to the server
+     * @return new TodoList client
+     */
+    static TodoClient instance(ManagedChannel channel) {
+        return new TodoClientImpl(channel, false, null);
+    }
+
+    /**
+     * Creates a new instance of {@code TodoClient} which pipelines the commands.
+     *
+     * <p>The commands posted by the resulting client are buffered and sent without waiting for
+     * the previous commands to be acknowledged. The commands are sent when the batch is full
+     * or the buffered commands wait for long enough. The {@linkplain #shutdown() shutdown} sends
+     * the rest of the buffered commands.
+     *
+     * @param host
+     *         the host of the server to connect to
+     * @param port
+     *         the port of the server to connect to
+     * @param options
+     *         the size of the batch and the maximum delay of a command
+     * @return new pipelining TodoList client
+     */
+    static TodoClient pipelined(String host, int port, PipelineOptions options) {
+        return new TodoClientImpl(host, port, options);
+    }
 }
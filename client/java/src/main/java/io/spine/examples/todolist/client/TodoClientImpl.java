@@ -27,67 +27,259 @@
 package io.spine.examples.todolist.client;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Message;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import io.spine.base.CommandMessage;
 import io.spine.base.EntityState;
 import io.spine.base.Identifier;
+import io.spine.client.ActorRequestFactory;
 import io.spine.client.Client;
+import io.spine.client.CompositeFilter;
 import io.spine.client.Subscription;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceBlockingStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.TenantId;
 import io.spine.core.UserId;
 import io.spine.examples.todolist.tasks.LabelId;
 import io.spine.examples.todolist.tasks.Task;
 import io.spine.examples.todolist.tasks.TaskId;
 import io.spine.examples.todolist.tasks.TaskLabel;
 import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.TaskStatus;
 import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.LabelledTaskView;
 import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.logging.Logging;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Maps.uniqueIndex;
+import static com.google.common.primitives.Ints.saturatedCast;
 import static io.spine.base.Identifier.newUuid;
+import static io.spine.client.Filters.all;
+import static io.spine.client.Filters.either;
+import static io.spine.client.Filters.eq;
+import static io.spine.client.OrderBy.Direction.ASCENDING;
+import static io.spine.examples.todolist.tasks.TaskStatus.FINALIZED;
+import static io.spine.examples.todolist.tasks.TaskStatus.OPEN;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * An implementation of the TodoList gRPC client.
  */
-final class TodoClientImpl implements SubscribingTodoClient {
+final class TodoClientImpl implements SubscribingTodoClient, Logging {
 
     private static final int TIMEOUT = 10;
+    private static final String ID_FIELD = "id";
+    private static final String OWNER_COLUMN = "owner";
+    private static final String STATUS_COLUMN = "status";
+    private static final String LIST_POSITION_COLUMN = "list_position";
+    private static final String CREATED_COLUMN = "created";
+    private static final String TITLE_COLUMN = "title";
 
+    private final ManagedChannel channel;
     private final Client client;
     private final UserId user;
+    private final @Nullable TenantId tenant;
+    private final ActorRequestFactory requests;
+    private final CommandServiceBlockingStub commands;
+    private final @Nullable CommandPipeline pipeline;
+    private final PagedReader<TaskView> taskViewReader;
+    private final PagedReader<Task> taskReader;
+    private final PagedReader<TaskLabel> labelReader;
+
+    /**
+     * The Spine clients of the tenants by their IDs.
+     *
+     * <p>Shared by all the clients obtained from the same connection, so that a tenant has
+     * a single Spine client, which is shut down along with the connection.
+     */
+    private final Map<TenantId, Client> tenantClients;
+
+    /**
+     * Tells if this client owns the connection, i.e. is not obtained via
+     * {@link #onBehalfOf(UserId)} or {@link #forTenant(TenantId)}.
+     */
+    private final boolean ownsConnection;
+
+    /**
+     * Tells if the channel is shut down along with this client.
+     */
+    private final boolean ownsChannel;
 
     /**
      * Construct the client connecting to server at {@code host:port}.
      */
     TodoClientImpl(String host, int port) {
-        ManagedChannel channel = initChannel(host, port);
-        this.client = initClient(channel);
+        this(host, port, null);
+    }
+
+    /**
+     * Construct the client connecting to server at {@code host:port}.
+     *
+     * <p>If the pipeline options are passed, the commands are pipelined.
+     */
+    TodoClientImpl(String host, int port, @Nullable PipelineOptions pipelineOptions) {
+        this(initChannel(host, port), true, pipelineOptions);
+    }
+
+    /**
+     * Construct the client using the given channel.
+     *
+     * @param channel
+     *         the channel to the server
+     * @param ownsChannel
+     *         whether the channel is shut down along with this client
+     * @param pipelineOptions
+     *         the options of the command pipelining or {@code null} to post the commands
+     *         one by one
+     */
+    TodoClientImpl(ManagedChannel channel,
+                   boolean ownsChannel,
+                   @Nullable PipelineOptions pipelineOptions) {
+        this.channel = channel;
+        this.client = initClient(channel, null);
         this.user = userId();
+        this.tenant = null;
+        this.requests = requestFactory(user, null);
+        this.commands = CommandServiceGrpc.newBlockingStub(channel);
+        this.pipeline = pipelineOptions == null
+                        ? null
+                        : new CommandPipeline(CommandServiceGrpc.newFutureStub(channel),
+                                              pipelineOptions);
+        this.taskViewReader = taskViewReader(client, user);
+        this.taskReader = taskReader(client, user);
+        this.labelReader = labelReader(client, user);
+        this.tenantClients = new ConcurrentHashMap<>();
+        this.ownsConnection = true;
+        this.ownsChannel = ownsChannel;
     }
 
-    private static Client initClient(ManagedChannel channel) {
-        Client client = Client.usingChannel(channel)
-                              .shutdownTimout(TIMEOUT, SECONDS)
-                              .build();
-        return client;
+    /**
+     * Construct the client sharing the channel of the given one, but acting on behalf
+     * of another user or in another tenant.
+     *
+     * @param origin
+     *         the client to share the channel and the command pipeline with
+     * @param client
+     *         the Spine client of the tenant
+     * @param user
+     *         the user to act on behalf of
+     * @param tenant
+     *         the tenant to act in or {@code null} if the server is single-tenant
+     */
+    private TodoClientImpl(TodoClientImpl origin,
+                           Client client,
+                           UserId user,
+                           @Nullable TenantId tenant) {
+        this.channel = origin.channel;
+        this.client = client;
+        this.user = user;
+        this.tenant = tenant;
+        this.requests = requestFactory(user, tenant);
+        this.commands = origin.commands;
+        this.pipeline = origin.pipeline;
+        this.taskViewReader = taskViewReader(client, user);
+        this.taskReader = taskReader(client, user);
+        this.labelReader = labelReader(client, user);
+        this.tenantClients = origin.tenantClients;
+        this.ownsConnection = false;
+        this.ownsChannel = false;
     }
 
-    @SuppressWarnings("CheckReturnValue")
+    private static PagedReader<TaskView> taskViewReader(Client client, UserId user) {
+        return new PagedReader<>(client, user, TaskView.class, TaskView::getId,
+                                 LIST_POSITION_COLUMN);
+    }
+
+    private static PagedReader<Task> taskReader(Client client, UserId user) {
+        return new PagedReader<>(client, user, Task.class, Task::getId, CREATED_COLUMN);
+    }
+
+    private static PagedReader<TaskLabel> labelReader(Client client, UserId user) {
+        return new PagedReader<>(client, user, TaskLabel.class, TaskLabel::getId, TITLE_COLUMN);
+    }
+
+    private static Client initClient(ManagedChannel channel, @Nullable TenantId tenant) {
+        Client.Builder builder = Client.usingChannel(channel)
+                                       .shutdownTimout(TIMEOUT, SECONDS);
+        if (tenant != null) {
+            builder.forTenant(tenant);
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the commands are pipelined, the command is acknowledged asynchronously. The commands
+     * which fail to be sent or are not accepted by the server are logged then.
+     */
+    @SuppressWarnings({"CheckReturnValue", "FutureReturnValueIgnored"})
     // Rely on client shutdown for cancelling the subscriptions in this simple client.
+    // The pipelined commands are acknowledged before the shutdown completes.
     @Override
     public void postCommand(CommandMessage cmd) {
+        if (pipeline != null) {
+            pipeline.post(command(cmd))
+                    .whenComplete((ack, failure) -> logFailure(cmd, ack, failure));
+            return;
+        }
         client.onBehalfOf(user)
               .command(cmd)
               .postAndForget();
     }
 
+    private void logFailure(CommandMessage cmd, @Nullable Ack ack, @Nullable Throwable failure) {
+        String type = cmd.getClass()
+                         .getSimpleName();
+        if (failure != null) {
+            _warn().withCause(failure)
+                   .log("The `%s` command was not sent.", type);
+        } else if (ack != null && ack.getStatus()
+                                     .hasError()) {
+            _warn().log("The `%s` command was not accepted: %s",
+                        type, ack.getStatus()
+                                 .getError()
+                                 .getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Ack> post(CommandMessage cmd) {
+        Command command = command(cmd);
+        if (pipeline != null) {
+            return pipeline.post(command);
+        }
+        CompletableFuture<Ack> result = new CompletableFuture<>();
+        try {
+            result.complete(commands.post(command));
+        } catch (StatusRuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     @Override
     public List<TaskView> taskViews() {
         ImmutableList<TaskView> result =
@@ -97,16 +289,78 @@ final class TodoClientImpl implements SubscribingTodoClient {
         return result;
     }
 
+    @Override
+    public List<LabelledTaskView> labelledTasks() {
+        ImmutableList<LabelledTaskView> result =
+                client.onBehalfOf(user)
+                      .select(LabelledTaskView.class)
+                      .run();
+        return result;
+    }
+
+    @Override
+    public Stream<TaskView> taskViews(ReadOptions<TaskView> options) {
+        return taskViewReader.read(options);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The tasks are filtered by the owner and the status and ordered by
+     * the {@code list_position} column on the server. The query is limited to the end of
+     * the requested page and reads the {@code id} field only. The client queries do not support
+     * an offset, so the IDs of the preceding pages are skipped on the client. Then, the states
+     * of the page are fetched by the IDs.
+     */
+    @Override
+    public List<TaskView> myTasks(TaskStatus status, int page, int pageSize) {
+        checkArgument(page >= 0, "The page number must not be negative, but was %s.", page);
+        checkArgument(pageSize > 0, "The page size must be positive, but was %s.", pageSize);
+        long offset = (long) page * pageSize;
+        ImmutableList<TaskView> ids =
+                client.onBehalfOf(user)
+                      .select(TaskView.class)
+                      .where(all(eq(OWNER_COLUMN, user)), statusFilter(status))
+                      .orderBy(LIST_POSITION_COLUMN, ASCENDING)
+                      .limit(saturatedCast(offset + pageSize))
+                      .withMask(ID_FIELD)
+                      .run();
+        if (offset >= ids.size()) {
+            return ImmutableList.of();
+        }
+        ImmutableList<TaskId> pageIds = ids.subList((int) offset, ids.size())
+                                           .stream()
+                                           .map(TaskView::getId)
+                                           .collect(toImmutableList());
+        ImmutableMap<TaskId, TaskView> found =
+                findByIds(TaskView.class, pageIds, TaskView::getId);
+        ImmutableList<TaskView> result = pageIds.stream()
+                                                .filter(found::containsKey)
+                                                .map(found::get)
+                                                .collect(toImmutableList());
+        return result;
+    }
+
     @Override
     public List<Task> tasks() {
         return getByType(Task.class);
     }
 
+    @Override
+    public Stream<Task> tasks(ReadOptions<Task> options) {
+        return taskReader.read(options);
+    }
+
     @Override
     public List<TaskLabel> labels() {
         return getByType(TaskLabel.class);
     }
 
+    @Override
+    public Stream<TaskLabel> labels(ReadOptions<TaskLabel> options) {
+        return labelReader.read(options);
+    }
+
     @Override
     public TaskLabels labelsOf(TaskId taskId) {
         Optional<TaskLabels> labels = findById(TaskLabels.class, taskId);
@@ -116,6 +370,27 @@ final class TodoClientImpl implements SubscribingTodoClient {
         return result;
     }
 
+    @Override
+    public Map<TaskId, TaskLabels> labelsOf(Collection<TaskId> taskIds) {
+        ImmutableMap<TaskId, TaskLabels> found =
+                findByIds(TaskLabels.class, taskIds, TaskLabels::getTaskId);
+        ImmutableMap.Builder<TaskId, TaskLabels> result = ImmutableMap.builder();
+        for (TaskId taskId : ImmutableSet.copyOf(taskIds)) {
+            TaskLabels labels = found.get(taskId);
+            result.put(taskId, labels != null
+                               ? labels
+                               : TaskLabels.newBuilder()
+                                           .setTaskId(taskId)
+                                           .vBuild());
+        }
+        return result.build();
+    }
+
+    @Override
+    public Map<LabelId, LabelView> labelViews(Collection<LabelId> ids) {
+        return findByIds(LabelView.class, ids, LabelView::getId);
+    }
+
     @Override
     public Optional<LabelView> labelView(LabelId id) {
         Optional<LabelView> result = findById(LabelView.class, id);
@@ -146,8 +421,61 @@ final class TodoClientImpl implements SubscribingTodoClient {
     }
 
     @Override
+    public TodoClientImpl onBehalfOf(UserId user) {
+        checkNotNull(user);
+        return new TodoClientImpl(this, client, user, tenant);
+    }
+
+    @Override
+    public TodoClientImpl forTenant(TenantId tenant) {
+        checkNotNull(tenant);
+        Client tenantClient = tenantClients.computeIfAbsent(tenant, t -> initClient(channel, t));
+        return new TodoClientImpl(this, tenantClient, user, tenant);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A client obtained via {@link #onBehalfOf(UserId)} or {@link #forTenant(TenantId)}
+     * shares the connection with the client it is obtained from, and so does nothing
+     * on shutdown. The subscriptions made by the clients of all the tenants are cancelled
+     * along with the connection. A shared channel is left open, but
+     * the subscriptions made via it are cancelled.
+     */
+    @Override
+    @SuppressWarnings("CheckReturnValue")
     public void shutdown() {
-        client.shutdown();
+        if (!ownsConnection) {
+            return;
+        }
+        if (pipeline != null) {
+            pipeline.close(Duration.ofSeconds(TIMEOUT));
+        }
+        for (Client tenantClient : tenantClients.values()) {
+            tenantClient.subscriptions()
+                        .cancelAll();
+        }
+        tenantClients.clear();
+        if (ownsChannel) {
+            client.shutdown();
+        } else {
+            client.subscriptions()
+                  .cancelAll();
+        }
+    }
+
+    /**
+     * Obtains the Spine client used to reach the server.
+     */
+    Client client() {
+        return client;
+    }
+
+    /**
+     * Obtains the user on behalf of whom the requests are made.
+     */
+    UserId user() {
+        return user;
     }
 
     /**
@@ -183,6 +511,56 @@ final class TodoClientImpl implements SubscribingTodoClient {
         return result;
     }
 
+    /**
+     * Retrieves the entities with the given IDs in a single query.
+     *
+     * @param messageClass
+     *         the state class of the desired entities
+     * @param ids
+     *         the IDs of the entities
+     * @param idOf
+     *         the function obtaining the entity ID from the entity state
+     * @param <I>
+     *         the type of the entity IDs
+     * @param <S>
+     *         the entity state type
+     * @return the found entity states by their IDs
+     */
+    private <I extends Message, S extends EntityState> ImmutableMap<I, S>
+    findByIds(Class<S> messageClass, Collection<I> ids, Function<S, I> idOf) {
+        checkNotNull(ids);
+        if (ids.isEmpty()) {
+            // A query without IDs would select all the entities.
+            return ImmutableMap.of();
+        }
+        ImmutableList<S> messages =
+                client.onBehalfOf(user)
+                      .select(messageClass)
+                      .byId(ImmutableSet.copyOf(ids))
+                      .run();
+        ImmutableMap<I, S> result = uniqueIndex(messages, idOf::apply);
+        return result;
+    }
+
+    /**
+     * Obtains the filter of the task views which belong to the list of the given status.
+     *
+     * <p>The finalized drafts are listed along with the open tasks.
+     */
+    private static CompositeFilter statusFilter(TaskStatus status) {
+        switch (status) {
+            case DRAFT:
+            case COMPLETED:
+            case DELETED:
+                return either(eq(STATUS_COLUMN, status));
+            case FINALIZED:
+            case OPEN:
+                return either(eq(STATUS_COLUMN, OPEN), eq(STATUS_COLUMN, FINALIZED));
+            default:
+                throw new IllegalArgumentException("Unexpected task status: " + status);
+        }
+    }
+
     private static ManagedChannel initChannel(String host, int port) {
         ManagedChannel result = ManagedChannelBuilder.forAddress(host, port)
                                                      .usePlaintext()
@@ -190,6 +568,21 @@ final class TodoClientImpl implements SubscribingTodoClient {
         return result;
     }
 
+    private Command command(CommandMessage message) {
+        return requests.command()
+                       .create(message);
+    }
+
+    private static ActorRequestFactory requestFactory(UserId user, @Nullable TenantId tenant) {
+        ActorRequestFactory.Builder builder = ActorRequestFactory
+                .newBuilder()
+                .setActor(user);
+        if (tenant != null) {
+            builder.setTenantId(tenant);
+        }
+        return builder.build();
+    }
+
     private static UserId userId() {
         return UserId
                     .newBuilder()
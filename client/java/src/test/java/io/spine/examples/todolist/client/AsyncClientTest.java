@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.spine.core.Ack;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskDescription;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static io.spine.examples.todolist.client.TodoClient.HOST;
+import static java.util.stream.Collectors.toList;
+
+@DisplayName("Async Todo client should")
+class AsyncClientTest extends TodoClientTest {
+
+    private AsyncTodoClient client;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = AsyncTodoClient
+                .newBuilder()
+                .setAddress(HOST, DEFAULT_CLIENT_SERVICE_PORT)
+                .setMaxInFlight(4)
+                .build();
+    }
+
+    @AfterEach
+    void shutdownClient() throws InterruptedException {
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("acknowledge the posted command")
+    void acknowledge() {
+        Ack ack = client.postCommand(createBasicTask())
+                        .join();
+        assertThat(ack.getStatus()
+                      .hasOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("report the invalid command in the acknowledgement")
+    void invalidCommand() {
+        TaskDescription invalid = TaskDescription
+                .newBuilder()
+                .setValue("?!")
+                .build();
+        CreateBasicTask command = CreateBasicTask
+                .newBuilder()
+                .setId(TaskId.generate())
+                .setDescription(invalid)
+                .build();
+        Ack ack = client.postCommand(command)
+                        .join();
+        assertThat(ack.getStatus()
+                      .hasError()).isTrue();
+        assertThat(client.tasks()
+                         .join()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("post the commands above the in-flight limit")
+    void manyCommands() {
+        List<CreateBasicTask> commands = Stream
+                .generate(TodoClientTest::createBasicTask)
+                .limit(50)
+                .collect(toList());
+        CompletableFuture<?>[] acks = commands.stream()
+                                              .map(client::postCommand)
+                                              .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(acks)
+                         .join();
+
+        List<TaskView> views = client.taskViews()
+                                     .join();
+        List<TaskId> ids = views.stream()
+                                .map(TaskView::getId)
+                                .collect(toList());
+        List<TaskId> expected = commands.stream()
+                                        .map(CreateBasicTask::getId)
+                                        .collect(toList());
+        assertThat(ids).containsExactlyElementsIn(expected);
+        assertThat(client.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("obtain an empty view of a missing label")
+    void missingLabel() {
+        assertThat(client.labelView(LabelId.generate())
+                         .join()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("leave a shared channel open")
+    void sharedChannel() throws InterruptedException {
+        ManagedChannel channel = ManagedChannelBuilder.forAddress(HOST,
+                                                                  DEFAULT_CLIENT_SERVICE_PORT)
+                                                      .usePlaintext()
+                                                      .build();
+        AsyncTodoClient first = AsyncTodoClient
+                .newBuilder()
+                .setChannel(channel)
+                .build();
+        AsyncTodoClient second = AsyncTodoClient
+                .newBuilder()
+                .setChannel(channel)
+                .build();
+        first.postCommand(createBasicTask())
+             .join();
+        first.shutdown();
+
+        assertThat(channel.isShutdown()).isFalse();
+        assertThat(second.tasks()
+                         .join()).hasSize(1);
+        channel.shutdownNow();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.command.CreateBasicLabel;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.command.CreateDraft;
+import io.spine.examples.todolist.tasks.command.DeleteTask;
+import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static io.spine.examples.todolist.client.TodoClient.HOST;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Caching Todo client should")
+class CachingClientTest extends TodoClientTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+    private static final long POLL_MILLIS = 50;
+
+    private SubscribingTodoClient cached;
+
+    @AfterEach
+    void shutdownCached() {
+        if (cached != null) {
+            cached.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("load the existing states")
+    void loadExisting() {
+        CreateBasicTask createTask = createBasicTask();
+        client().postCommand(createTask);
+        CreateBasicLabel createLabel = createBasicLabel();
+        client().postCommand(createLabel);
+
+        cached = SubscribingTodoClient.cached(HOST, DEFAULT_CLIENT_SERVICE_PORT);
+
+        List<TaskView> views = cached.taskViews();
+        assertThat(views).hasSize(1);
+        assertThat(views.get(0)
+                        .getId()).isEqualTo(createTask.getId());
+        assertThat(cached.tasks()).hasSize(1);
+        assertThat(cached.labels()).hasSize(1);
+        assertThat(cached.labelView(createLabel.getLabelId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("apply the updates")
+    void applyUpdates() throws InterruptedException {
+        cached = SubscribingTodoClient.cached(HOST, DEFAULT_CLIENT_SERVICE_PORT);
+        assertThat(cached.taskViews()).isEmpty();
+
+        CreateBasicTask createTask = createBasicTask();
+        TaskId taskId = createTask.getId();
+        CreateBasicLabel createLabel = createBasicLabel();
+        LabelId labelId = createLabel.getLabelId();
+        cached.postCommand(createTask);
+        cached.postCommand(createLabel);
+        cached.postCommand(assignLabelToTask(taskId, labelId));
+
+        awaitUntil(() -> cached.labelsOf(taskId)
+                               .getLabelIdsList()
+                               .getIdsCount() == 1);
+        awaitUntil(() -> cached.labelView(labelId)
+                               .isPresent());
+        TaskLabels labels = cached.labelsOf(taskId);
+        assertThat(labels.getLabelIdsList()
+                         .getIdsList()).containsExactly(labelId);
+        Optional<LabelView> labelView = cached.labelView(labelId);
+        assertThat(labelView).isPresent();
+        assertThat(cached.labelOr(labelId, null)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("remove a deleted draft")
+    void removeDeletedDraft() throws InterruptedException {
+        cached = SubscribingTodoClient.cached(HOST, DEFAULT_CLIENT_SERVICE_PORT);
+        CreateDraft createDraft = createDraft();
+        TaskId taskId = createDraft.getId();
+        cached.postCommand(createDraft);
+        awaitUntil(() -> cached.taskViews()
+                               .size() == 1);
+
+        DeleteTask deleteTask = DeleteTask
+                .newBuilder()
+                .setId(taskId)
+                .vBuild();
+        cached.postCommand(deleteTask);
+        awaitUntil(() -> cached.taskViews()
+                               .isEmpty());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MILLIS);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.net.HostAndPort;
+import io.grpc.ManagedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ChannelPool should")
+class ChannelPoolTest {
+
+    private static final String HOST = "localhost";
+
+    private final ChannelPool pool = ChannelPool.newBuilder()
+                                                .build();
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("reuse the channel to the same address")
+    void reuse() {
+        ManagedChannel channel = pool.channel(HOST, 8484);
+        assertThat(pool.channel(HOST, 8484)).isSameInstanceAs(channel);
+        assertThat(pool.channel(HOST, 8485)).isNotSameInstanceAs(channel);
+    }
+
+    @Test
+    @DisplayName("reuse the channel to the same addresses in any order")
+    void reuseForAddresses() {
+        HostAndPort first = HostAndPort.fromParts(HOST, 8484);
+        HostAndPort second = HostAndPort.fromParts(HOST, 8485);
+        ManagedChannel channel = pool.channel(first, second);
+        assertThat(pool.channel(second, first)).isSameInstanceAs(channel);
+        assertThat(pool.channel(first)).isNotSameInstanceAs(channel);
+    }
+
+    @Test
+    @DisplayName("replace a channel which is shut down")
+    void replaceShutDown() {
+        ManagedChannel channel = pool.channel(HOST, 8484);
+        channel.shutdownNow();
+        ManagedChannel replacement = pool.channel(HOST, 8484);
+        assertThat(replacement).isNotSameInstanceAs(channel);
+        assertThat(replacement.isShutdown()).isFalse();
+    }
+
+    @Test
+    @DisplayName("shut down all the channels")
+    void shutdown() {
+        ManagedChannel channel = pool.channel(HOST, 8484);
+        pool.shutdown();
+        assertThat(channel.isShutdown()).isTrue();
+    }
+
+    @Test
+    @DisplayName("require at least one address")
+    void requireAddress() {
+        assertThrows(IllegalArgumentException.class, pool::channel);
+    }
+}
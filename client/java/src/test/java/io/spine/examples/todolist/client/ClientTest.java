@@ -26,7 +26,11 @@
 
 package io.spine.examples.todolist.client;
 
+import com.google.common.collect.ImmutableList;
+import io.grpc.ManagedChannel;
 import io.spine.client.Subscription;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
 import io.spine.examples.todolist.tasks.LabelId;
 import io.spine.examples.todolist.tasks.Task;
 import io.spine.examples.todolist.tasks.TaskId;
@@ -38,6 +42,8 @@ import io.spine.examples.todolist.tasks.command.CreateBasicTask;
 import io.spine.examples.todolist.tasks.command.CreateDraft;
 import io.spine.examples.todolist.tasks.command.FinalizeDraft;
 import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.LabelledTaskView;
+import io.spine.examples.todolist.tasks.view.TaskLabelSummary;
 import io.spine.examples.todolist.tasks.view.TaskView;
 import io.spine.grpc.MemoizingObserver;
 import io.spine.grpc.StreamObservers;
@@ -46,11 +52,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static io.spine.examples.todolist.client.TodoClient.HOST;
 import static io.spine.examples.todolist.tasks.LabelColor.DEFAULT;
 import static io.spine.examples.todolist.tasks.TaskStatus.DRAFT;
 import static io.spine.examples.todolist.tasks.TaskStatus.FINALIZED;
@@ -154,8 +164,86 @@ class ClientTest extends TodoClientTest {
                 .setColor(DEFAULT)
                 .vBuild();
 
-        assertThat(client.labelView(labelId))
-                .hasValue(expected);
+        Optional<LabelView> view = client.labelView(labelId);
+        assertThat(view)
+                .isPresent();
+        LabelView actual = view.get();
+        assertThat(actual.hasOwner())
+                .isTrue();
+        assertThat(actual.toBuilder()
+                         .clearOwner()
+                         .build())
+                .isEqualTo(expected);
+    }
+
+    @DisplayName("obtain the views of many labels at once")
+    @Test
+    void obtainLabelViews() {
+        CreateBasicLabel first = createBasicLabel();
+        CreateBasicLabel second = createBasicLabel();
+        client.postCommand(first);
+        client.postCommand(second);
+        LabelId missing = LabelId.generate();
+
+        Map<LabelId, LabelView> views =
+                client.labelViews(ImmutableList.of(first.getLabelId(),
+                                                   second.getLabelId(),
+                                                   missing));
+        assertThat(views.keySet())
+                .containsExactly(first.getLabelId(), second.getLabelId());
+        assertThat(client.labelViews(ImmutableList.of()))
+                .isEmpty();
+    }
+
+    @DisplayName("obtain the tasks along with the titles of their labels")
+    @Test
+    void obtainLabelledTasks() {
+        CreateBasicTask createTask = createBasicTask();
+        CreateBasicLabel createLabel = createBasicLabel();
+        TaskId taskId = createTask.getId();
+        LabelId labelId = createLabel.getLabelId();
+        client.postCommand(createTask);
+        client.postCommand(createLabel);
+        client.postCommand(assignLabelToTask(taskId, labelId));
+
+        List<LabelledTaskView> views = client.labelledTasks();
+        assertThat(views)
+                .hasSize(1);
+        LabelledTaskView view = views.get(0);
+        assertThat(view.getId())
+                .isEqualTo(taskId);
+        TaskLabelSummary expected = TaskLabelSummary
+                .newBuilder()
+                .setId(labelId)
+                .setTitle(createLabel.getLabelTitle())
+                .setColor(DEFAULT)
+                .build();
+        assertThat(view.getLabelList())
+                .containsExactly(expected);
+    }
+
+    @DisplayName("obtain the labels of many tasks at once")
+    @Test
+    void obtainLabelsOfTasks() {
+        CreateBasicTask labelled = createBasicTask();
+        CreateBasicTask plain = createBasicTask();
+        CreateBasicLabel createLabel = createBasicLabel();
+        client.postCommand(labelled);
+        client.postCommand(plain);
+        client.postCommand(createLabel);
+        LabelId labelId = createLabel.getLabelId();
+        client.postCommand(assignLabelToTask(labelled.getId(), labelId));
+
+        Map<TaskId, TaskLabels> labels =
+                client.labelsOf(ImmutableList.of(labelled.getId(), plain.getId()));
+        assertThat(labels.get(labelled.getId())
+                         .getLabelIdsList()
+                         .getIdsList())
+                .containsExactly(labelId);
+        assertThat(labels.get(plain.getId())
+                         .getLabelIdsList()
+                         .getIdsList())
+                .isEmpty();
     }
 
     @DisplayName("post a command and update the `TaskView` entity state ")
@@ -228,6 +316,54 @@ class ClientTest extends TodoClientTest {
         client.unSubscribe(subscription);
     }
 
+    @DisplayName("act on behalf of the given user")
+    @Test
+    void actOnBehalfOfUser() {
+        UserId user = UserId
+                .newBuilder()
+                .setValue(newUuid())
+                .vBuild();
+        client.onBehalfOf(user)
+              .postCommand(createBasicTask());
+
+        List<TaskView> views = client.taskViews();
+        assertThat(views).hasSize(1);
+        assertThat(views.get(0)
+                        .getOwner()).isEqualTo(user);
+    }
+
+    @DisplayName("leave a shared channel open on shutdown")
+    @Test
+    void leaveSharedChannelOpen() {
+        ChannelPool pool = ChannelPool.newBuilder()
+                                      .build();
+        ManagedChannel channel = pool.channel(HOST, DEFAULT_CLIENT_SERVICE_PORT);
+        TodoClient first = TodoClient.instance(channel);
+        first.postCommand(createBasicTask());
+        first.shutdown();
+
+        assertThat(channel.isShutdown()).isFalse();
+        TodoClient second = TodoClient.instance(pool.channel(HOST, DEFAULT_CLIENT_SERVICE_PORT));
+        assertThat(second.taskViews()).hasSize(1);
+        pool.shutdown();
+    }
+
+    @DisplayName("reuse the Spine client of a tenant")
+    @Test
+    void reuseTenantClient() {
+        TodoClientImpl impl = (TodoClientImpl) client;
+        TenantId tenant = TenantId
+                .newBuilder()
+                .setValue(newUuid())
+                .vBuild();
+        TodoClientImpl first = impl.forTenant(tenant);
+        TodoClientImpl second = impl.onBehalfOf(impl.user())
+                                    .forTenant(tenant);
+
+        assertThat(second.client()).isSameInstanceAs(first.client());
+        assertThat(first.client()).isNotSameInstanceAs(impl.client());
+    }
+
     /**
      * Obtains a {@code TaskView} that has the state that is expected after {@link CreateDraft}
      * command.
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("InFlightLimit should")
+class InFlightLimitTest {
+
+    @Test
+    @DisplayName("queue the calls above the limit")
+    void queue() {
+        InFlightLimit limit = new InFlightLimit(2, 3);
+        List<SettableFuture<Integer>> started = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(limit.submit(() -> {
+                SettableFuture<Integer> call = SettableFuture.create();
+                started.add(call);
+                return call;
+            }));
+        }
+        assertThat(started).hasSize(2);
+        assertThat(limit.inFlight()).isEqualTo(2);
+        assertThat(limit.pending()).isEqualTo(3);
+
+        started.get(0)
+               .set(42);
+        assertThat(results.get(0)
+                          .join()).isEqualTo(42);
+        assertThat(started).hasSize(3);
+        assertThat(limit.inFlight()).isEqualTo(2);
+        assertThat(limit.pending()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("reject the calls above the pending limit")
+    void rejectAbovePending() {
+        InFlightLimit limit = new InFlightLimit(1, 1);
+        limit.submit(SettableFuture::create);
+        limit.submit(SettableFuture::create);
+        CompletableFuture<String> rejected = limit.submit(() -> {
+            throw new IllegalStateException("The rejected call must not be started.");
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertThat(e.getCause()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(limit.inFlight()).isEqualTo(1);
+        assertThat(limit.pending()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("release the slot of a failed call")
+    void releaseFailed() {
+        InFlightLimit limit = new InFlightLimit(1, 1);
+        SettableFuture<String> call = SettableFuture.create();
+        CompletableFuture<String> failed = limit.submit(() -> call);
+        CompletableFuture<String> next = limit.submit(() -> SettableFuture.create());
+        assertThat(limit.pending()).isEqualTo(1);
+
+        call.setException(new IllegalStateException("Call failed."));
+        assertThat(failed.isCompletedExceptionally()).isTrue();
+        assertThat(next.isDone()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(1);
+        assertThat(limit.pending()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("release the slot of a call which failed to start")
+    void releaseNotStarted() {
+        InFlightLimit limit = new InFlightLimit(1, 1);
+        CompletableFuture<String> failed = limit.submit(() -> {
+            throw new IllegalStateException("Cannot start.");
+        });
+        assertThat(failed.isCompletedExceptionally()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("start a long queue of the failing calls without going deeper in the stack")
+    void startFailingInLoop() {
+        int queued = 10_000;
+        InFlightLimit limit = new InFlightLimit(1, queued);
+        SettableFuture<String> first = SettableFuture.create();
+        limit.submit(() -> first);
+        List<Integer> depths = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < queued; i++) {
+            results.add(limit.submit(() -> {
+                depths.add(Thread.currentThread()
+                                 .getStackTrace().length);
+                SettableFuture<String> call = SettableFuture.create();
+                call.setException(new IllegalStateException("The channel is down."));
+                return call;
+            }));
+        }
+
+        first.set("done");
+        assertThat(results.stream()
+                          .allMatch(CompletableFuture::isCompletedExceptionally)).isTrue();
+        assertThat(depths).hasSize(queued);
+        assertThat(depths.get(queued - 1)).isEqualTo(depths.get(1));
+        assertThat(limit.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive limit")
+    void positiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimit(0, 1));
+    }
+
+    @Test
+    @DisplayName("not accept a negative pending limit")
+    void nonNegativePending() {
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimit(1, -1));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.examples.todolist.tasks.Task;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.client.OrderBy.Direction.ASCENDING;
+import static io.spine.examples.todolist.client.ReadOptions.DUE_DATE;
+import static io.spine.examples.todolist.client.ReadOptions.PRIORITY;
+import static io.spine.examples.todolist.tasks.TaskStatus.OPEN;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Todo client paged read should")
+class PagedReadTest extends TodoClientTest {
+
+    private static final int TASK_COUNT = 5;
+
+    private SubscribingTodoClient client;
+    private ImmutableSet<TaskId> createdTasks;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = client();
+        ImmutableSet.Builder<TaskId> created = ImmutableSet.builder();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            CreateBasicTask command = createBasicTask();
+            client.postCommand(command);
+            created.add(command.getId());
+        }
+        createdTasks = created.build();
+    }
+
+    @Test
+    @DisplayName("read the states from all the pages")
+    void readAllPages() {
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .setPageSize(2)
+                .build();
+        ImmutableSet<TaskId> read = client.taskViews(options)
+                                          .map(TaskView::getId)
+                                          .collect(toImmutableSet());
+        assertThat(read)
+                .containsExactlyElementsIn(createdTasks);
+    }
+
+    @Test
+    @DisplayName("read each state once if the pages end with the same column value")
+    void readSameValueOnce() {
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .setPageSize(2)
+                .orderBy(PRIORITY, ASCENDING)
+                .build();
+        List<TaskId> read = client.taskViews(options)
+                                  .map(TaskView::getId)
+                                  .collect(toList());
+        assertThat(read)
+                .containsExactlyElementsIn(createdTasks);
+    }
+
+    @Test
+    @DisplayName("read no more states than the limit")
+    void limit() {
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .setPageSize(2)
+                .setLimit(3)
+                .build();
+        List<TaskView> read = client.taskViews(options)
+                                    .collect(toList());
+        assertThat(read)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("read no more states than the limit of a type without the ordering")
+    void limitUnordered() {
+        ReadOptions<Task> options = ReadOptions
+                .newBuilder(Task.class)
+                .setLimit(3)
+                .build();
+        List<Task> read = client.tasks(options)
+                                .collect(toList());
+        assertThat(read)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("not allow to order by a column the type does not declare")
+    void rejectUnknownColumn() {
+        ReadOptions.Builder<Task> builder = ReadOptions
+                .newBuilder(Task.class)
+                .orderBy(DUE_DATE, ASCENDING);
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("read only the masked fields")
+    void mask() {
+        ReadOptions<TaskView> options = ReadOptions
+                .newBuilder(TaskView.class)
+                .withMask("status")
+                .build();
+        List<TaskView> read = client.taskViews(options)
+                                    .collect(toList());
+        assertThat(read)
+                .hasSize(TASK_COUNT);
+        for (TaskView view : read) {
+            assertThat(view.getStatus())
+                    .isEqualTo(OPEN);
+            assertThat(view.hasDescription())
+                    .isFalse();
+        }
+    }
+}
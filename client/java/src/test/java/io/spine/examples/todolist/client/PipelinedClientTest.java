@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.core.Ack;
+import io.spine.examples.todolist.tasks.PriorityChange;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskPriority;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.command.UpdateTaskPriority;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static io.spine.examples.todolist.client.TodoClient.HOST;
+import static io.spine.examples.todolist.tasks.TaskPriority.HIGH;
+import static io.spine.examples.todolist.tasks.TaskPriority.LOW;
+import static io.spine.examples.todolist.tasks.TaskPriority.NORMAL;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Pipelined Todo client should")
+class PipelinedClientTest extends TodoClientTest {
+
+    private static final int BATCH_SIZE = 8;
+
+    /**
+     * The in-flight limit below the batch size, so that a batch waits for the slots.
+     */
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final ImmutableList<TaskPriority> PRIORITIES =
+            ImmutableList.of(HIGH, LOW, NORMAL);
+
+    private TodoClient client;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = pipelinedClient();
+    }
+
+    @AfterEach
+    void shutdownClient() {
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("acknowledge each of the pipelined commands")
+    void acknowledgeEach() {
+        List<CreateBasicTask> commands = createTasks(BATCH_SIZE * 3 + 1);
+        List<CompletableFuture<Ack>> acks = commands.stream()
+                                                    .map(client::post)
+                                                    .collect(toList());
+        for (CompletableFuture<Ack> ack : acks) {
+            assertThat(ack.join()
+                          .getStatus()
+                          .hasOk()).isTrue();
+        }
+        assertThat(taskIds(client.taskViews())).containsExactlyElementsIn(ids(commands));
+    }
+
+    @Test
+    @DisplayName("keep the order of the commands to the same task")
+    void keepOrderPerTask() {
+        CreateBasicTask createTask = createBasicTask();
+        TaskId taskId = createTask.getId();
+        List<CompletableFuture<Ack>> acks = new ArrayList<>();
+        acks.add(client.post(createTask));
+        TaskPriority previous = NORMAL;
+        for (int update = 0; update < BATCH_SIZE * 2 + 1; update++) {
+            TaskPriority next = PRIORITIES.get(update % PRIORITIES.size());
+            acks.add(client.post(updatePriority(taskId, previous, next)));
+            previous = next;
+        }
+        acks.forEach(CompletableFuture::join);
+
+        TaskView view = client.taskViews()
+                              .stream()
+                              .filter(v -> v.getId()
+                                            .equals(taskId))
+                              .findFirst()
+                              .orElseThrow(IllegalStateException::new);
+        assertThat(view.getPriority()).isEqualTo(previous);
+    }
+
+    @Test
+    @DisplayName("send an incomplete batch after the delay")
+    void sendAfterDelay() {
+        Ack ack = client.post(createBasicTask())
+                        .join();
+        assertThat(ack.getStatus()
+                      .hasOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("send the buffered commands on shutdown")
+    void sendOnShutdown() {
+        TodoClient pipelined = pipelinedClient();
+        List<CreateBasicTask> commands = createTasks(BATCH_SIZE - 1);
+        commands.forEach(pipelined::postCommand);
+        pipelined.shutdown();
+
+        List<TaskView> views = client().taskViews();
+        assertThat(taskIds(views)).containsExactlyElementsIn(ids(commands));
+    }
+
+    @Test
+    @DisplayName("not accept the commands after shutdown")
+    void rejectAfterShutdown() {
+        TodoClient pipelined = pipelinedClient();
+        pipelined.shutdown();
+        assertThrows(IllegalStateException.class, () -> pipelined.post(createBasicTask()));
+    }
+
+    private static TodoClient pipelinedClient() {
+        PipelineOptions options = PipelineOptions
+                .newBuilder()
+                .setMaxBatchSize(BATCH_SIZE)
+                .setMaxDelay(Duration.ofMillis(20))
+                .setMaxInFlight(MAX_IN_FLIGHT)
+                .build();
+        return TodoClient.pipelined(HOST, DEFAULT_CLIENT_SERVICE_PORT, options);
+    }
+
+    private static UpdateTaskPriority
+    updatePriority(TaskId taskId, TaskPriority previous, TaskPriority next) {
+        PriorityChange change = PriorityChange
+                .newBuilder()
+                .setPreviousValue(previous)
+                .setNewValue(next)
+                .build();
+        return UpdateTaskPriority
+                .newBuilder()
+                .setId(taskId)
+                .setPriorityChange(change)
+                .vBuild();
+    }
+
+    private static List<CreateBasicTask> createTasks(int count) {
+        return Stream.generate(TodoClientTest::createBasicTask)
+                     .limit(count)
+                     .collect(toList());
+    }
+
+    private static List<TaskId> ids(List<CreateBasicTask> commands) {
+        return commands.stream()
+                       .map(CreateBasicTask::getId)
+                       .collect(toList());
+    }
+
+    private static List<TaskId> taskIds(List<TaskView> views) {
+        return views.stream()
+                    .map(TaskView::getId)
+                    .collect(toList());
+    }
+}
@@ -31,8 +31,13 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.database.FirebaseDatabase;
 import io.spine.base.Production;
+import io.spine.examples.todolist.server.CallLimits;
+import io.spine.examples.todolist.server.ServerOptions;
+import io.spine.examples.todolist.server.metrics.Metrics;
 import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
 import io.spine.server.CommandService;
 import io.spine.server.QueryService;
 import io.spine.server.ServerEnvironment;
@@ -43,8 +48,15 @@ import io.spine.web.firebase.FirebaseCredentials;
 import io.spine.web.firebase.query.FirebaseQueryBridge;
 import io.spine.web.firebase.subscription.FirebaseSubscriptionBridge;
 
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+
 import static io.spine.examples.todolist.server.appengine.GoogleAuth.serviceAccountCredentials;
 import static io.spine.web.firebase.FirebaseClientFactory.remoteClient;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
 
 /**
  * The TodoList application.
@@ -55,6 +67,9 @@ final class Application {
     private final CommandService commandService;
     private final FirebaseQueryBridge queryBridge;
     private final FirebaseSubscriptionBridge subscriptionBridge;
+    private final Metrics metrics;
+    private final AsyncDispatch dispatch;
+    private final CallLimits limits;
 
     private static final Application INSTANCE = create();
 
@@ -68,20 +83,28 @@ final class Application {
     private Application(CommandService commandService,
                         QueryService queryService,
                         SubscriptionService subscriptionService,
-                        FirebaseClient firebaseClient) {
+                        FirebaseClient firebaseClient,
+                        Metrics metrics,
+                        AsyncDispatch dispatch,
+                        ServerOptions options) {
         this.commandService = commandService;
+        this.metrics = metrics;
+        this.dispatch = dispatch;
+        this.limits = new CallLimits(options);
         this.queryBridge = newQueryBridge(queryService, firebaseClient);
         this.subscriptionBridge = newSubscriptionBridge(subscriptionService, firebaseClient);
     }
 
     private static Application create() {
+        Metrics metrics = Metrics.newInstance();
         ServerEnvironment
                 .when(Production.class)
-                .use(Tracing.createTracing())
+                .use(metrics.tracing(Tracing.createTracing()))
                 .use(Storage.createStorage())
                 .use(InMemoryTransportFactory.newInstance());
 
-        BoundedContext context = TasksContextFactory.create();
+        BoundedContext context = metrics.instrument(contextBuilder())
+                                        .build();
         FluentLogger.Api info = logger.atInfo();
         info.log("Initializing Command/Query services.");
         CommandService commandService = CommandService
@@ -100,11 +123,75 @@ final class Application {
         Application application = new Application(commandService,
                                                   queryService,
                                                   subscriptionService,
-                                                  firebaseClient());
+                                                  firebaseClient(),
+                                                  metrics,
+                                                  newDispatch(),
+                                                  Configuration.instance()
+                                                               .serverOptions());
         info.log("Application initialized.");
         return application;
     }
 
+    /**
+     * Creates the builder of the Tasks context, which is multi-tenant if
+     * {@linkplain Configuration#multitenant() configured} so.
+     */
+    private static BoundedContextBuilder contextBuilder() {
+        boolean multitenant = Configuration.instance()
+                                           .multitenant();
+        return multitenant
+               ? TasksContextFactory.multitenantBuilder()
+               : TasksContextFactory.builder();
+    }
+
+    /**
+     * Creates the dispatch of the servlet requests in the
+     * {@linkplain Configuration#servletMode() configured} mode.
+     */
+    private static AsyncDispatch newDispatch() {
+        String mode = Configuration.instance()
+                                   .servletMode();
+        return AsyncDispatch.of(mode);
+    }
+
+    Metrics metrics() {
+        return metrics;
+    }
+
+    AsyncDispatch dispatch() {
+        return dispatch;
+    }
+
+    /**
+     * Serves the request to the given service in the {@linkplain #dispatch() dispatch mode}
+     * of the application.
+     *
+     * <p>If the {@linkplain Configuration#serverOptions() limit} of the concurrent calls to
+     * the service is reached, the request is answered with
+     * {@code 503 Service Unavailable} right away.
+     *
+     * @param serviceName
+     *         the full name of the gRPC service called by the endpoint
+     */
+    void serve(String serviceName,
+               HttpServletRequest request,
+               HttpServletResponse response,
+               AsyncDispatch.Endpoint endpoint) throws ServletException, IOException {
+        dispatch.serve(request, response, (req, resp) -> {
+            Optional<CallLimits.Permit> permit = limits.tryAcquire(serviceName);
+            if (!permit.isPresent()) {
+                resp.sendError(SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+            try {
+                endpoint.serve(req, resp);
+            } finally {
+                permit.get()
+                      .release();
+            }
+        });
+    }
+
     FirebaseQueryBridge queryBridge() {
         return queryBridge;
     }
@@ -117,6 +204,13 @@ final class Application {
         return subscriptionBridge;
     }
 
+    /**
+     * Creates the client of the Realtime Database.
+     *
+     * <p>Unlike the local Firebase server, the application does not coalesce the updates of
+     * the nodes. App Engine Standard does not guarantee that a background thread runs once
+     * the request is served, so the coalesced updates could stay unwritten.
+     */
     private static FirebaseClient firebaseClient() {
         FirebaseCredentials credentials =
                 FirebaseCredentials.fromGoogleCredentials(serviceAccountCredentials());
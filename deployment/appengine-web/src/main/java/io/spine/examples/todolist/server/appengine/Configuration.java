@@ -26,6 +26,9 @@
 
 package io.spine.examples.todolist.server.appengine;
 
+import io.spine.examples.todolist.server.ServerOptions;
+import io.spine.examples.todolist.web.AsyncDispatch;
+
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -44,6 +47,9 @@ public final class Configuration {
     private final String firebaseDatabaseUrl;
     private final String projectId;
     private final String serviceAccCredentialsResource;
+    private final boolean multitenant;
+    private final String servletMode;
+    private final ServerOptions serverOptions;
 
     private static final Configuration INSTANCE = new Configuration(readConfigFile());
 
@@ -62,6 +68,22 @@ public final class Configuration {
         this.projectId = Setting.APP_ENGINE_PROJECT_ID.valueFrom(properties);
         this.serviceAccCredentialsResource =
                 Setting.SERVICE_ACCOUNT_CREDENTIALS_RESOURCE.valueFrom(properties);
+        this.multitenant =
+                Boolean.parseBoolean(Setting.MULTITENANT.nullableValueFrom(properties));
+        String servletMode = Setting.SERVLET_MODE.nullableValueFrom(properties);
+        this.servletMode = servletMode != null
+                           ? servletMode
+                           : AsyncDispatch.SYNC;
+        this.serverOptions = serverOptions(properties);
+    }
+
+    private static ServerOptions serverOptions(Properties properties) {
+        ServerOptions.Builder options = ServerOptions.newBuilder();
+        String maxConcurrentCalls = Setting.MAX_CONCURRENT_CALLS.nullableValueFrom(properties);
+        if (maxConcurrentCalls != null) {
+            options.setDefaultMaxConcurrentCalls(Integer.parseInt(maxConcurrentCalls.trim()));
+        }
+        return options.build();
     }
 
     /**
@@ -85,6 +107,36 @@ public final class Configuration {
         return serviceAccCredentialsResource;
     }
 
+    /**
+     * Tells if the application serves many tenants.
+     *
+     * <p>If the setting is absent, the application is single-tenant.
+     */
+    boolean multitenant() {
+        return multitenant;
+    }
+
+    /**
+     * Retrieves the execution mode of the servlet endpoints.
+     *
+     * <p>If the setting is absent, the endpoints are served synchronously.
+     *
+     * @see AsyncDispatch#of(String)
+     */
+    String servletMode() {
+        return servletMode;
+    }
+
+    /**
+     * Retrieves the options of the services called by the servlet endpoints.
+     *
+     * <p>The endpoints call the services in-process, so only the limit of the concurrent
+     * calls to each service applies.
+     */
+    ServerOptions serverOptions() {
+        return serverOptions;
+    }
+
     private static Properties readConfigFile() {
         Properties properties = new Properties();
         try (InputStream stream = getResource()) {
@@ -118,7 +170,27 @@ public final class Configuration {
          */
         FIREBASE_DB_URL("firebase.database.url"),
 
-        APP_ENGINE_PROJECT_ID("app-engine.project-id");
+        APP_ENGINE_PROJECT_ID("app-engine.project-id"),
+
+        /**
+         * Whether the application serves many tenants, {@code true} or {@code false}.
+         *
+         * <p>The records of each tenant are stored in a separate Datastore namespace.
+         */
+        MULTITENANT("multitenant"),
+
+        /**
+         * How the servlet endpoints are served: {@code sync}, {@code virtual}, or
+         * the number of the threads serving the requests asynchronously.
+         */
+        SERVLET_MODE("servlet.mode"),
+
+        /**
+         * The maximum number of the concurrent calls to each service.
+         *
+         * <p>If absent, the calls are not limited.
+         */
+        MAX_CONCURRENT_CALLS("server.max-concurrent-calls");
 
         private final String key;
 
@@ -55,6 +55,10 @@ final class Storage {
     /**
      * Creates a new storage factory.
      *
+     * <p>The storages of a multi-tenant context keep the records of each tenant in
+     * a separate Datastore namespace. So, the queries of a tenant never scan the records of
+     * the others.
+     *
      * @return new storage factory
      */
     static StorageFactory createStorage() {
@@ -26,11 +26,15 @@
 
 package io.spine.examples.todolist.server.appengine;
 
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.web.command.CommandServlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static io.spine.examples.todolist.server.appengine.Application.application;
 
@@ -41,7 +45,9 @@ import static io.spine.examples.todolist.server.appengine.Application.applicatio
  *
  * <p>Handles {@code OPTIONS} requests for the purposes of CORS.
  */
-@WebServlet(name = TodoCommandServlet.NAME, value = "/command")
+@WebServlet(name = TodoCommandServlet.NAME,
+        value = "/command",
+        asyncSupported = true)
 @SuppressWarnings({"serial",
         "DuplicateStringLiteralInspection" /* Standard Spine endpoint for commands. */})
 public final class TodoCommandServlet extends CommandServlet {
@@ -52,6 +58,16 @@ public final class TodoCommandServlet extends CommandServlet {
         super(application().commandService());
     }
 
+    /**
+     * Serves the request in the {@linkplain AsyncDispatch mode} set for the application,
+     * within the limit of the concurrent calls to the service.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        application().serve(CommandServiceGrpc.SERVICE_NAME, req, resp, super::service);
+    }
+
     @Override
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) {
         // NO-OP.
@@ -26,12 +26,16 @@
 
 package io.spine.examples.todolist.server.appengine;
 
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.web.firebase.query.FirebaseQueryResponse;
 import io.spine.web.query.QueryServlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static io.spine.examples.todolist.server.appengine.Application.application;
 
@@ -42,7 +46,9 @@ import static io.spine.examples.todolist.server.appengine.Application.applicatio
  *
  * <p>Handles {@code OPTIONS} requests for the purposes of CORS.
  */
-@WebServlet(name = TodoQueryServlet.NAME, value = "/query")
+@WebServlet(name = TodoQueryServlet.NAME,
+        value = "/query",
+        asyncSupported = true)
 @SuppressWarnings({"serial",
         "DuplicateStringLiteralInspection" /* Standard Spine endpoint for queries. */})
 public final class TodoQueryServlet extends QueryServlet<FirebaseQueryResponse> {
@@ -53,6 +59,16 @@ public final class TodoQueryServlet extends QueryServlet<FirebaseQueryResponse>
         super(application().queryBridge());
     }
 
+    /**
+     * Serves the request in the {@linkplain AsyncDispatch mode} set for the application,
+     * within the limit of the concurrent calls to the service.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        application().serve(QueryServiceGrpc.SERVICE_NAME, req, resp, super::service);
+    }
+
     @Override
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) {
         // NO-OP.
@@ -26,12 +26,16 @@
 
 package io.spine.examples.todolist.server.appengine;
 
+import io.spine.client.grpc.SubscriptionServiceGrpc;
 import io.spine.core.Response;
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.web.subscription.servlet.SubscriptionCancelServlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static io.spine.examples.todolist.server.appengine.Application.application;
 
@@ -43,7 +47,9 @@ import static io.spine.examples.todolist.server.appengine.Application.applicatio
  *
  * <p>Handles {@code OPTIONS} requests for the purposes of CORS.
  */
-@WebServlet(name = TodoSubscriptionCancelServlet.NAME, value = "/subscription/cancel")
+@WebServlet(name = TodoSubscriptionCancelServlet.NAME,
+        value = "/subscription/cancel",
+        asyncSupported = true)
 @SuppressWarnings({"serial",
         "DuplicateStringLiteralInspection" /* Standard Spine endpoint for subscriptions. */})
 public final class TodoSubscriptionCancelServlet extends SubscriptionCancelServlet<Response> {
@@ -54,6 +60,16 @@ public final class TodoSubscriptionCancelServlet extends SubscriptionCancelServl
         super(application().subscriptionBridge());
     }
 
+    /**
+     * Serves the request in the {@linkplain AsyncDispatch mode} set for the application,
+     * within the limit of the concurrent calls to the service.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        application().serve(SubscriptionServiceGrpc.SERVICE_NAME, req, resp, super::service);
+    }
+
     @Override
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) {
         // NO-OP.
@@ -28,6 +28,7 @@ package io.spine.examples.todolist.server.firebaselocal;
 
 import io.spine.base.Production;
 import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.server.BoundedContext;
 import io.spine.server.CommandService;
 import io.spine.server.QueryService;
@@ -47,6 +48,7 @@ final class Application {
     private final CommandService commandService;
     private final FirebaseQueryBridge queryBridge;
     private final FirebaseSubscriptionBridge subscriptionBridge;
+    private final AsyncDispatch dispatch;
 
     private static final Application INSTANCE = create();
 
@@ -60,8 +62,10 @@ final class Application {
     private Application(CommandService commandService,
                         QueryService queryService,
                         SubscriptionService subscriptionService,
-                        FirebaseClient firebaseClient) {
+                        FirebaseClient firebaseClient,
+                        AsyncDispatch dispatch) {
         this.commandService = commandService;
+        this.dispatch = dispatch;
         this.queryBridge = newQueryBridge(queryService, firebaseClient);
         this.subscriptionBridge = newSubscriptionBridge(subscriptionService, firebaseClient);
     }
@@ -89,7 +93,8 @@ final class Application {
                 commandService,
                 queryService,
                 subscriptionService,
-                firebaseClient()
+                firebaseClient(),
+                AsyncDispatch.fromSystemProperties()
         );
         return application;
     }
@@ -106,6 +111,14 @@ final class Application {
         return subscriptionBridge;
     }
 
+    /**
+     * Returns the dispatch of the servlet requests in the mode set by
+     * the {@value AsyncDispatch#MODE} system property.
+     */
+    AsyncDispatch dispatch() {
+        return dispatch;
+    }
+
     private static FirebaseClient firebaseClient() {
         FirebaseClient client = FirebaseClients.client();
         return client;
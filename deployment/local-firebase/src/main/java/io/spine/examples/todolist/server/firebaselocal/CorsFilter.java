@@ -35,6 +35,8 @@ import javax.servlet.annotation.WebFilter;
  *
  * @see AllowAnyOriginFilter
  */
-@WebFilter(filterName = AllowAnyOriginFilter.NAME, urlPatterns = AllowAnyOriginFilter.ANY_URL)
+@WebFilter(filterName = AllowAnyOriginFilter.NAME,
+        urlPatterns = AllowAnyOriginFilter.ANY_URL,
+        asyncSupported = true)
 public final class CorsFilter extends AllowAnyOriginFilter {
 }
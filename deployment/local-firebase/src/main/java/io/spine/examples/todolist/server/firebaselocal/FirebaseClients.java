@@ -31,6 +31,7 @@ import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.database.FirebaseDatabase;
+import io.spine.examples.todolist.web.CoalescingFirebaseClient;
 import io.spine.net.Url;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.FirebaseClientFactory;
@@ -50,7 +51,8 @@ final class FirebaseClients {
             .setSpec("http://127.0.0.1:5000/")
             .vBuild();
 
-    private static final FirebaseClient client = createClient();
+    private static final FirebaseDatabase database = emulatorDatabase();
+    private static final CoalescingFirebaseClient client = createClient();
 
     /**
      * Prevents the utility class instantiation.
@@ -58,13 +60,37 @@ final class FirebaseClients {
     private FirebaseClients() {
     }
 
+    /**
+     * Returns the client which writes the updates of the nodes in batches.
+     *
+     * @see CoalescingFirebaseClient
+     */
     static FirebaseClient client() {
         return client;
     }
 
-    private static FirebaseClient createClient() {
-        FirebaseDatabase database = emulatorDatabase();
-        FirebaseClient client = FirebaseClientFactory.remoteClient(database);
+    /**
+     * Writes the pending updates of the {@linkplain #client() client} and stops
+     * its flush thread.
+     */
+    static void close() {
+        client.close();
+    }
+
+    /**
+     * Returns the database of the Firebase RDB emulator.
+     */
+    static FirebaseDatabase database() {
+        return database;
+    }
+
+    private static CoalescingFirebaseClient createClient() {
+        FirebaseClient remote = FirebaseClientFactory.remoteClient(database);
+        CoalescingFirebaseClient client = CoalescingFirebaseClient
+                .newBuilder()
+                .setDelegate(remote)
+                .setDatabase(database)
+                .build();
         return client;
     }
 
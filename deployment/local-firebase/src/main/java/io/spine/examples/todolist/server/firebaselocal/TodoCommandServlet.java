@@ -26,18 +26,21 @@
 
 package io.spine.examples.todolist.server.firebaselocal;
 
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.web.command.CommandServlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static io.spine.examples.todolist.server.firebaselocal.Application.application;
 
 /**
  * The {@code /command} endpoint of the TodoList system.
  */
-@WebServlet("/command")
+@WebServlet(value = "/command", asyncSupported = true)
 @SuppressWarnings("DuplicateStringLiteralInspection") // Standard Spine endpoint for commands.
 public final class TodoCommandServlet extends CommandServlet {
 
@@ -47,6 +50,16 @@ public final class TodoCommandServlet extends CommandServlet {
         super(application().commandService());
     }
 
+    /**
+     * Serves the request in the {@linkplain AsyncDispatch mode} set for the application.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        application().dispatch()
+                     .serve(req, resp, super::service);
+    }
+
     @Override
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) {
         // NO-OP.
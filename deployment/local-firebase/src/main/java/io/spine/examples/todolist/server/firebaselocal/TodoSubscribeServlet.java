@@ -26,19 +26,22 @@
 
 package io.spine.examples.todolist.server.firebaselocal;
 
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.web.firebase.subscription.FirebaseSubscription;
 import io.spine.web.subscription.servlet.SubscribeServlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static io.spine.examples.todolist.server.firebaselocal.Application.application;
 
 /**
  * The {@code /subscription/create} endpoint of the TodoList system.
  */
-@WebServlet("/subscription/create")
+@WebServlet(value = "/subscription/create", asyncSupported = true)
 @SuppressWarnings("DuplicateStringLiteralInspection") // Standard Spine endpoint for subscriptions.
 public final class TodoSubscribeServlet extends SubscribeServlet<FirebaseSubscription> {
 
@@ -48,6 +51,16 @@ public final class TodoSubscribeServlet extends SubscribeServlet<FirebaseSubscri
         super(application().subscriptionBridge());
     }
 
+    /**
+     * Serves the request in the {@linkplain AsyncDispatch mode} set for the application.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        application().dispatch()
+                     .serve(req, resp, super::service);
+    }
+
     @Override
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) {
         // NO-OP.
@@ -27,18 +27,21 @@
 package io.spine.examples.todolist.server.firebaselocal;
 
 import io.spine.core.Response;
+import io.spine.examples.todolist.web.AsyncDispatch;
 import io.spine.web.subscription.servlet.SubscriptionKeepUpServlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static io.spine.examples.todolist.server.firebaselocal.Application.application;
 
 /**
  * The {@code /subscription/keep-up} endpoint of the TodoList system.
  */
-@WebServlet("/subscription/keep-up")
+@WebServlet(value = "/subscription/keep-up", asyncSupported = true)
 @SuppressWarnings("DuplicateStringLiteralInspection") // Standard Spine endpoint for subscriptions.
 public class TodoSubscriptionKeepUpServlet extends SubscriptionKeepUpServlet<Response> {
 
@@ -48,6 +51,16 @@ public class TodoSubscriptionKeepUpServlet extends SubscriptionKeepUpServlet<Res
         super(application().subscriptionBridge());
     }
 
+    /**
+     * Serves the request in the {@linkplain AsyncDispatch mode} set for the application.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        application().dispatch()
+                     .serve(req, resp, super::service);
+    }
+
     @Override
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) {
         // NO-OP.
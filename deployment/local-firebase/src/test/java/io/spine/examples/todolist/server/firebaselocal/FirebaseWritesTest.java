@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.firebaselocal;
+
+import com.google.protobuf.StringValue;
+import io.spine.examples.todolist.web.CoalescingFirebaseClient;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.FirebaseClientFactory;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.StoredJson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.examples.todolist.server.firebaselocal.FirebaseClients.database;
+
+/**
+ * Compares the time of writing many updates to the Firebase RDB emulator one by one and
+ * coalesced.
+ *
+ * <p>Requires the emulator to run, see the {@code runEmulator} task. The test is run only
+ * if the {@value #EMULATOR_PROPERTY} system property is {@code true}.
+ */
+@EnabledIfSystemProperty(named = FirebaseWritesTest.EMULATOR_PROPERTY, matches = "true")
+@DisplayName("Writes to the Firebase emulator should")
+class FirebaseWritesTest {
+
+    static final String EMULATOR_PROPERTY = "todolist.firebase.emulator";
+
+    private static final int UPDATE_COUNT = 200;
+
+    @Test
+    @DisplayName("take less time when coalesced")
+    void coalesce() {
+        FirebaseClient remote = FirebaseClientFactory.remoteClient(database());
+        CoalescingFirebaseClient coalescing = CoalescingFirebaseClient
+                .newBuilder()
+                .setDelegate(remote)
+                .setDatabase(database())
+                .build();
+
+        long oneByOne = writeUpdates(remote, "one-by-one");
+        long coalesced = writeUpdates(coalescing, "coalesced");
+        coalescing.close();
+
+        assertThat(coalesced).isLessThan(oneByOne);
+    }
+
+    /**
+     * Writes the updates of the task views, as a bulk operation on the tasks does.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private static long writeUpdates(FirebaseClient client, String root) {
+        NodePath path = NodePath
+                .newBuilder()
+                .setValue(root + '/' + newUuid())
+                .build();
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATE_COUNT; i++) {
+            String task = newUuid();
+            NodeValue value = NodeValue.empty();
+            value.addChild(task, StoredJson.encode(StringValue.of(task)));
+            client.update(path, value);
+        }
+        Optional<NodeValue> written = client.fetchNode(path);
+        long elapsed = System.nanoTime() - start;
+        assertThat(written.isPresent()).isTrue();
+        return elapsed;
+    }
+}
@@ -28,7 +28,11 @@ package io.spine.examples.todolist.server.inmem;
 
 import io.spine.base.Production;
 import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.ServerOptions;
+import io.spine.examples.todolist.server.metrics.Metrics;
+import io.spine.examples.todolist.server.metrics.MetricsEndpoint;
 import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.server.BoundedContext;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
 import io.spine.server.transport.memory.InMemoryTransportFactory;
@@ -43,7 +47,12 @@ import static io.spine.examples.todolist.server.Server.newServer;
  * {@linkplain io.spine.server.storage.memory.InMemoryStorageFactory in-memory storage factory}.
  *
  * <p>The server exposes its {@code gRPC API} at
- * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default port}.
+ * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default port},
+ * tuned with the {@linkplain ServerOptions#fromSystemProperties() server options} set by
+ * the system properties.
+ *
+ * <p>The metrics are served on the {@linkplain MetricsEndpoint#portFromSystemProperties()
+ * configured port} while the server runs.
  */
 public final class LocalInMemoryServer {
 
@@ -54,12 +63,24 @@ public final class LocalInMemoryServer {
     }
 
     public static void main(String[] args) throws IOException {
+        Metrics metrics = Metrics.newInstance();
         ServerEnvironment
                 .when(Production.class)
                 .use(InMemoryStorageFactory.newInstance())
-                .use(InMemoryTransportFactory.newInstance());
+                .use(InMemoryTransportFactory.newInstance())
+                .use(metrics.tracing());
 
-        Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, TasksContextFactory.create());
-        server.start();
+        BoundedContext context = metrics.instrument(TasksContextFactory.builder())
+                                        .build();
+        MetricsEndpoint metricsEndpoint =
+                metrics.serve(MetricsEndpoint.portFromSystemProperties());
+        ServerOptions options = ServerOptions.fromSystemProperties()
+                                             .build();
+        Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, context, options);
+        try {
+            server.start();
+        } finally {
+            metricsEndpoint.stop();
+        }
     }
 }
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.spine.examples.todolist.rdbms.QueryCache.JdbcCall;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Locale;
+import javax.annotation.Nullable;
+import javax.sql.rowset.serial.SerialBlob;
+
+/**
+ * The rows of a query result kept in the {@link QueryCache}.
+ *
+ * <p>The rows are read from the result set as a whole. Each {@linkplain #toResultSet read}
+ * of the cached rows gets a separate read-only forward-only cursor.
+ */
+final class CachedRows {
+
+    /**
+     * The one-argument getters served from the cached rows.
+     *
+     * <p>The other getters, such as {@code getTimestamp(int, Calendar)}, are served by
+     * the uncached result set.
+     */
+    private static final ImmutableSet<String> CACHED_GETTERS = ImmutableSet.of(
+            "getObject", "getBytes", "getBlob", "getBinaryStream", "getString", "getBoolean",
+            "getInt", "getLong", "getShort", "getByte", "getDouble", "getFloat",
+            "getTimestamp", "getDate", "getTime", "getBigDecimal"
+    );
+
+    private final ImmutableMap<String, Integer> columns;
+    private final ImmutableList<Object[]> rows;
+
+    private CachedRows(ImmutableMap<String, Integer> columns, ImmutableList<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Reads all the rows of the given result set and closes it.
+     */
+    static CachedRows readAll(ResultSet resultSet) throws SQLException {
+        try (ResultSet source = resultSet) {
+            ResultSetMetaData metaData = source.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            ImmutableMap.Builder<String, Integer> columns = ImmutableMap.builder();
+            for (int i = 1; i <= columnCount; i++) {
+                columns.put(normalize(metaData.getColumnLabel(i)), i);
+            }
+            ImmutableList.Builder<Object[]> rows = ImmutableList.builder();
+            while (source.next()) {
+                Object[] row = new Object[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    row[i - 1] = value(source, i, metaData.getColumnType(i));
+                }
+                rows.add(row);
+            }
+            return new CachedRows(columns.buildKeepingLast(), rows.build());
+        }
+    }
+
+    private static @Nullable Object value(ResultSet source, int column, int type)
+            throws SQLException {
+        switch (type) {
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return source.getBytes(column);
+            case Types.CLOB:
+            case Types.NCLOB:
+                return source.getString(column);
+            default:
+                return source.getObject(column);
+        }
+    }
+
+    private static String normalize(String label) {
+        return label.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the number of the cached rows.
+     */
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Creates a new result set over the cached rows.
+     *
+     * @param query
+     *         runs the query once again against the database; used if the result set is read
+     *         in a way the cached rows do not support
+     */
+    ResultSet toResultSet(JdbcCall<ResultSet> query) {
+        Object result = Proxy.newProxyInstance(CachedRows.class.getClassLoader(),
+                                               new Class<?>[]{ResultSet.class},
+                                               new Cursor(query));
+        return (ResultSet) result;
+    }
+
+    /**
+     * A cursor over the cached rows implementing the reading methods of {@code ResultSet}.
+     *
+     * <p>Once a method the cached rows do not support is called, e.g. {@code getMetaData()} or
+     * {@code getObject(int, Class)}, the query is run against the database once again, and
+     * the new result set is moved to the current row. From then on, all the calls are passed
+     * to that result set.
+     */
+    private final class Cursor implements InvocationHandler {
+
+        private final JdbcCall<ResultSet> query;
+        private int row = -1;
+        private boolean closed;
+        private boolean wasNull;
+        private @Nullable ResultSet uncached;
+
+        private Cursor(JdbcCall<ResultSet> query) {
+            this.query = query;
+        }
+
+        @Override
+        @SuppressWarnings("OverlyComplexMethod") // A dispatch by the method name.
+        public @Nullable Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            if (uncached != null && method.getDeclaringClass() != Object.class) {
+                return call(uncached, method, args);
+            }
+            String name = method.getName();
+            switch (name) {
+                case "next":
+                    row++;
+                    return row < rows.size();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "wasNull":
+                    return wasNull;
+                case "findColumn":
+                    return column(args[0]);
+                case "getFetchSize":
+                    return 0;
+                case "setFetchSize":
+                case "clearWarnings":
+                case "getWarnings":
+                    return null;
+                case "getType":
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                case "getConcurrency":
+                    return ResultSet.CONCUR_READ_ONLY;
+                case "isWrapperFor":
+                    return false;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "CachedRows.Cursor{row=" + row + ", size=" + rows.size() + '}';
+                default:
+                    boolean cachedGetter = CACHED_GETTERS.contains(name)
+                            && args != null
+                            && args.length == 1;
+                    if (cachedGetter) {
+                        return get(name, args[0]);
+                    }
+                    return call(uncached(), method, args);
+            }
+        }
+
+        /**
+         * Runs the query against the database and moves the obtained result set to
+         * the current row.
+         */
+        private ResultSet uncached() throws SQLException {
+            if (closed) {
+                throw new SQLException("The result set is closed.");
+            }
+            ResultSet resultSet = query.call();
+            boolean onRow = true;
+            for (int i = 0; i <= row && onRow; i++) {
+                onRow = resultSet.next();
+            }
+            uncached = resultSet;
+            return resultSet;
+        }
+
+        private @Nullable Object get(String getter, Object column) throws SQLException {
+            if (closed) {
+                throw new SQLException("The result set is closed.");
+            }
+            if (row < 0 || row >= rows.size()) {
+                throw new SQLException("The cursor is not on a row.");
+            }
+            Object value = rows.get(row)[column(column) - 1];
+            wasNull = value == null;
+            return convert(getter, value);
+        }
+
+        private int column(Object column) throws SQLException {
+            if (column instanceof Integer) {
+                return (Integer) column;
+            }
+            Integer index = columns.get(normalize((String) column));
+            if (index == null) {
+                throw new SQLException("Unknown column `" + column + "`.");
+            }
+            return index;
+        }
+    }
+
+    private static @Nullable Object call(ResultSet target, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("OverlyComplexMethod") // A conversion by the getter name.
+    private static @Nullable Object convert(String getter, @Nullable Object value)
+            throws SQLException {
+        switch (getter) {
+            case "getObject":
+                return value instanceof byte[] ? ((byte[]) value).clone() : value;
+            case "getBytes":
+                return value == null ? null : ((byte[]) value).clone();
+            case "getBlob":
+                return value == null ? null : new SerialBlob((byte[]) value);
+            case "getBinaryStream":
+                return value == null ? null : new ByteArrayInputStream((byte[]) value);
+            case "getString":
+                return value == null ? null : String.valueOf(value);
+            case "getBoolean":
+                return value instanceof Number
+                       ? ((Number) value).intValue() != 0
+                       : Boolean.TRUE.equals(value);
+            case "getInt":
+                return number(value).intValue();
+            case "getLong":
+                return number(value).longValue();
+            case "getShort":
+                return number(value).shortValue();
+            case "getByte":
+                return number(value).byteValue();
+            case "getDouble":
+                return number(value).doubleValue();
+            case "getFloat":
+                return number(value).floatValue();
+            case "getTimestamp":
+            case "getDate":
+            case "getTime":
+            case "getBigDecimal":
+                return value;
+            default:
+                throw new IllegalArgumentException("Unexpected getter `" + getter + "`.");
+        }
+    }
+
+    private static Number number(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return (Number) value;
+    }
+}
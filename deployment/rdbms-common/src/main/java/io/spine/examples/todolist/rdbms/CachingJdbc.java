@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+/**
+ * Wraps the JDBC objects so that the entity reads are served from a {@link QueryCache}.
+ *
+ * <p>The wrappers are dynamic proxies, so any JDBC driver and connection pool is supported.
+ */
+final class CachingJdbc {
+
+    /** Prevents instantiation of this utility class. */
+    private CachingJdbc() {
+    }
+
+    /**
+     * Wraps the given data source.
+     */
+    static DataSource cached(DataSource dataSource, QueryCache cache) {
+        return proxy(DataSource.class, new SourceHandler(dataSource, cache));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        Object result = Proxy.newProxyInstance(CachingJdbc.class.getClassLoader(),
+                                               new Class<?>[]{type}, handler);
+        return type.cast(result);
+    }
+
+    private static @Nullable Object call(Object target, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wraps the connections obtained from the target.
+     */
+    private static final class SourceHandler implements InvocationHandler {
+
+        private final DataSource target;
+        private final QueryCache cache;
+
+        private SourceHandler(DataSource target, QueryCache cache) {
+            this.target = target;
+            this.cache = cache;
+        }
+
+        @Override
+        public @Nullable Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            Object result = call(target, method, args);
+            if (result instanceof Connection && method.getReturnType() == Connection.class) {
+                return proxy(Connection.class, new ConnectionHandler((Connection) result, cache));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Wraps the statements created by the target and keeps the invalidations to repeat when
+     * the current transaction completes.
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final QueryCache cache;
+        private final List<Runnable> pending = new ArrayList<>();
+
+        private ConnectionHandler(Connection target, QueryCache cache) {
+            this.target = target;
+            this.cache = cache;
+        }
+
+        @Override
+        public @Nullable Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            String name = method.getName();
+            Object result;
+            try {
+                result = call(target, method, args);
+            } finally {
+                boolean completesTransaction = "commit".equals(name)
+                        || "rollback".equals(name)
+                        || "close".equals(name)
+                        || "setAutoCommit".equals(name);
+                if (completesTransaction) {
+                    pending.forEach(Runnable::run);
+                    pending.clear();
+                }
+            }
+            if (result instanceof CallableStatement) {
+                SqlStatement sql = SqlStatement.parse((String) args[0]);
+                return proxy(CallableStatement.class, new StatementHandler(result, this, sql));
+            }
+            if (result instanceof PreparedStatement) {
+                SqlStatement sql = SqlStatement.parse((String) args[0]);
+                return proxy(PreparedStatement.class, new StatementHandler(result, this, sql));
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, new StatementHandler(result, this, null));
+            }
+            return result;
+        }
+
+        private boolean inTransaction() throws SQLException {
+            return !target.getAutoCommit();
+        }
+
+        /**
+         * Invalidates the entities written by the statement now and once again when
+         * the transaction completes.
+         */
+        private void written(SqlStatement statement, List<Map<Integer, Object>> parameters)
+                throws SQLException {
+            Runnable invalidation = () -> cache.invalidate(statement, parameters);
+            invalidation.run();
+            if (inTransaction()) {
+                pending.add(invalidation);
+            }
+        }
+    }
+
+    /**
+     * Tracks the parameters of the target statement, serves the entity reads from the cache,
+     * and invalidates the cache upon the writes.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final ConnectionHandler connection;
+        private final @Nullable SqlStatement prepared;
+        private final Map<Integer, Object> parameters = new HashMap<>();
+        private final List<Map<Integer, Object>> batch = new ArrayList<>();
+        private final List<SqlStatement> sqlBatch = new ArrayList<>();
+
+        private StatementHandler(Object target,
+                                 ConnectionHandler connection,
+                                 @Nullable SqlStatement prepared) {
+            this.target = target;
+            this.connection = connection;
+            this.prepared = prepared;
+        }
+
+        @Override
+        public @Nullable Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            String name = method.getName();
+            boolean hasArgs = args != null && args.length > 0;
+            if (name.startsWith("execute") && hasArgs && args[0] instanceof String) {
+                return executeSql(method, args, SqlStatement.parse((String) args[0]));
+            }
+            switch (name) {
+                case "executeQuery":
+                    return executeQuery(method);
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    return executePrepared(method);
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return executeBatch(method);
+                case "addBatch":
+                    if (hasArgs) {
+                        sqlBatch.add(SqlStatement.parse((String) args[0]));
+                    } else {
+                        batch.add(new HashMap<>(parameters));
+                    }
+                    break;
+                case "clearBatch":
+                    batch.clear();
+                    sqlBatch.clear();
+                    break;
+                case "clearParameters":
+                    parameters.clear();
+                    break;
+                default:
+                    boolean setsParameter = name.startsWith("set")
+                            && hasArgs
+                            && args.length >= 2
+                            && args[0] instanceof Integer;
+                    if (setsParameter && prepared != null) {
+                        Object value = "setNull".equals(name) ? null : args[1];
+                        parameters.put((Integer) args[0], value);
+                    }
+            }
+            return call(target, method, args);
+        }
+
+        private @Nullable Object executeSql(Method method, Object[] args, SqlStatement sql)
+                throws Throwable {
+            try {
+                return call(target, method, args);
+            } finally {
+                if (sql.isWrite()) {
+                    connection.written(sql, ImmutableList.of());
+                }
+            }
+        }
+
+        private @Nullable Object executeQuery(Method method) throws Throwable {
+            boolean cacheable = prepared != null
+                    && prepared.isCacheableQuery()
+                    && !ReplicaReads.active()
+                    && !connection.inTransaction();
+            if (!cacheable) {
+                return call(target, method, null);
+            }
+            return connection.cache.read(prepared, parameters,
+                                         () -> ((PreparedStatement) target).executeQuery());
+        }
+
+        private @Nullable Object executePrepared(Method method) throws Throwable {
+            try {
+                return call(target, method, null);
+            } finally {
+                if (prepared != null && prepared.isWrite()) {
+                    connection.written(prepared, ImmutableList.of(new HashMap<>(parameters)));
+                }
+            }
+        }
+
+        private @Nullable Object executeBatch(Method method) throws Throwable {
+            try {
+                return call(target, method, null);
+            } finally {
+                if (prepared != null && prepared.isWrite() && !batch.isEmpty()) {
+                    connection.written(prepared, new ArrayList<>(batch));
+                }
+                for (SqlStatement sql : sqlBatch) {
+                    if (sql.isWrite()) {
+                        connection.written(sql, ImmutableList.of());
+                    }
+                }
+                batch.clear();
+                sqlBatch.clear();
+            }
+        }
+    }
+}
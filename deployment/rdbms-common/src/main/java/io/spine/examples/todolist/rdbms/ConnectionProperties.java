@@ -32,15 +32,20 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.spine.base.Environment;
 import io.spine.base.EnvironmentType;
+import io.spine.examples.todolist.server.delivery.ShardedDelivery;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Properties;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static io.spine.util.Exceptions.newIllegalStateException;
@@ -61,6 +66,101 @@ public final class ConnectionProperties {
     @VisibleForTesting
     public static final String PASSWORD = "db.password";
 
+    /** The maximum number of the connections in the pool. */
+    public static final String POOL_MAX_SIZE = "db.pool.maxSize";
+
+    /** The minimum number of the idle connections kept in the pool. */
+    public static final String POOL_MIN_IDLE = "db.pool.minIdle";
+
+    /** The time in milliseconds to wait for a connection from the pool. */
+    public static final String POOL_CONNECTION_TIMEOUT = "db.pool.connectionTimeoutMs";
+
+    /**
+     * The time in milliseconds a connection may be out of the pool before it is reported
+     * as a possible leak.
+     */
+    public static final String POOL_LEAK_DETECTION_THRESHOLD = "db.pool.leakDetectionThresholdMs";
+
+    /**
+     * The maximum number of the entity queries kept in the {@link QueryCache}.
+     *
+     * <p>Each write of an entity drops its cached queries, and the next read goes to
+     * the database. So, the cache helps the read-mostly entities, such as the projections
+     * queried by the clients. The aggregates are read once per command and written right after,
+     * and are hardly ever served from the cache.
+     *
+     * <p>If not set, the cache is not used.
+     */
+    public static final String CACHE_MAX_SIZE = "db.cache.maxSize";
+
+    /** The time in milliseconds after which a cached query result is evicted. */
+    public static final String CACHE_EXPIRY = "db.cache.expireAfterMs";
+
+    /**
+     * Tells if the server is multi-tenant, {@code true} or {@code false}.
+     *
+     * <p>If {@code true}, the records of each tenant are kept in a separate
+     * {@linkplain TenantSchemas schema} of the database, and the {@link QueryCache} is not used.
+     */
+    public static final String MULTITENANT = "db.multitenant";
+
+    /**
+     * The maximum number of the messages relayed from the {@link JdbcTransportFactory outbox}
+     * in a single transaction.
+     */
+    public static final String TRANSPORT_BATCH_SIZE = "db.transport.batchSize";
+
+    /** The interval in milliseconds between the polls of an empty outbox. */
+    public static final String TRANSPORT_POLL_INTERVAL = "db.transport.pollIntervalMs";
+
+    /**
+     * The ID of the node relaying the outbox, recorded along with the messages it fails
+     * to relay.
+     *
+     * <p>The ID should stay the same across the restarts of the node, e.g. be the host name.
+     */
+    public static final String TRANSPORT_NODE_ID = "db.transport.nodeId";
+
+    /**
+     * The interval in milliseconds between the polls of the inbox shards, when several nodes
+     * {@linkplain ShardedDelivery share the delivery}.
+     *
+     * <p>While the polls find nothing to deliver, the interval grows. If not set,
+     * {@link ShardedDelivery#DEFAULT_POLL_INTERVAL} is used.
+     */
+    public static final String DELIVERY_POLL_INTERVAL = "db.delivery.pollIntervalMs";
+
+    /**
+     * The prefix of the properties passed to the JDBC driver as is, with the prefix removed.
+     *
+     * <p>For example, {@code db.driver.rewriteBatchedStatements=true} makes the MySQL driver
+     * send the batched inserts as a single multi-row statement.
+     */
+    public static final String DRIVER_PREFIX = "db.driver.";
+
+    /**
+     * The prefix of the properties of the read replica.
+     *
+     * <p>A replica property overrides the primary property with the same name without
+     * the {@code replica.} part, e.g. {@code db.replica.instance} overrides {@code db.instance}.
+     * The properties not overridden are the same as for the primary database.
+     *
+     * <p>The replica is used if {@code db.replica.instance} is set.
+     */
+    public static final String REPLICA_PREFIX = "db.replica.";
+
+    /**
+     * The maximum replication lag in milliseconds, after which the reads are routed back
+     * to the primary database.
+     */
+    public static final String REPLICA_MAX_LAG = "db.replica.maxLagMs";
+
+    /** The interval in milliseconds between the checks of the replication lag. */
+    public static final String REPLICA_LAG_CHECK_INTERVAL = "db.replica.lagCheckIntervalMs";
+
+    private static final String REPLICA_INSTANCE = REPLICA_PREFIX + "instance";
+    private static final String DB_PREFIX = "db.";
+
     private final ImmutableMap<String, String> properties;
     private final Class<? extends EnvironmentType> envType;
 
@@ -93,8 +193,13 @@ public final class ConnectionProperties {
      */
     public static ConnectionProperties fromSystemProperties() {
         ImmutableMap.Builder<String, String> properties = ImmutableMap.builder();
-        Stream.of(NAME, PASSWORD, PROTOCOL, INSTANCE, USERNAME)
+        Stream.of(NAME, PASSWORD, PROTOCOL, INSTANCE, USERNAME,
+                  POOL_MAX_SIZE, POOL_MIN_IDLE, POOL_CONNECTION_TIMEOUT,
+                  POOL_LEAK_DETECTION_THRESHOLD, CACHE_MAX_SIZE, CACHE_EXPIRY,
+                  MULTITENANT, TRANSPORT_BATCH_SIZE, TRANSPORT_POLL_INTERVAL,
+                  TRANSPORT_NODE_ID, DELIVERY_POLL_INTERVAL)
               .forEach(systemProperty -> insertIfSet(properties, systemProperty));
+        prefixedSystemOptions().forEach(systemProperty -> insertIfSet(properties, systemProperty));
         Class<? extends EnvironmentType> envType = Environment.instance()
                                                               .type();
         return new ConnectionProperties(properties.build(), envType);
@@ -175,6 +280,140 @@ public final class ConnectionProperties {
         return has(INSTANCE);
     }
 
+    /**
+     * Returns the maximum number of the connections in the pool, if set.
+     */
+    public OptionalInt maxPoolSize() {
+        return intValue(POOL_MAX_SIZE);
+    }
+
+    /**
+     * Returns the minimum number of the idle connections in the pool, if set.
+     */
+    public OptionalInt minIdle() {
+        return intValue(POOL_MIN_IDLE);
+    }
+
+    /**
+     * Returns the time in milliseconds to wait for a connection from the pool, if set.
+     */
+    public OptionalLong connectionTimeoutMillis() {
+        return longValue(POOL_CONNECTION_TIMEOUT);
+    }
+
+    /**
+     * Returns the time in milliseconds after which a connection out of the pool is reported
+     * as a possible leak, if set.
+     */
+    public OptionalLong leakDetectionThresholdMillis() {
+        return longValue(POOL_LEAK_DETECTION_THRESHOLD);
+    }
+
+    /**
+     * Returns the maximum number of the cached entity queries, if set.
+     */
+    public OptionalLong cacheMaxSize() {
+        return longValue(CACHE_MAX_SIZE);
+    }
+
+    /**
+     * Returns the time in milliseconds after which a cached query result is evicted, if set.
+     */
+    public OptionalLong cacheExpiryMillis() {
+        return longValue(CACHE_EXPIRY);
+    }
+
+    /**
+     * Tells if the server is multi-tenant.
+     *
+     * @see #MULTITENANT
+     */
+    public boolean multitenant() {
+        return has(MULTITENANT) && Boolean.parseBoolean(value(MULTITENANT).trim());
+    }
+
+    /**
+     * Returns the maximum number of the messages relayed from the outbox at once, if set.
+     */
+    public OptionalInt transportBatchSize() {
+        return intValue(TRANSPORT_BATCH_SIZE);
+    }
+
+    /**
+     * Returns the interval in milliseconds between the polls of an empty outbox, if set.
+     */
+    public OptionalLong transportPollIntervalMillis() {
+        return longValue(TRANSPORT_POLL_INTERVAL);
+    }
+
+    /**
+     * Returns the ID of the node relaying the outbox, if set.
+     */
+    public Optional<String> transportNodeId() {
+        return has(TRANSPORT_NODE_ID)
+               ? Optional.of(value(TRANSPORT_NODE_ID).trim())
+               : Optional.empty();
+    }
+
+    /**
+     * Returns the interval in milliseconds between the polls of the inbox shards, if set.
+     */
+    public OptionalLong deliveryPollIntervalMillis() {
+        return longValue(DELIVERY_POLL_INTERVAL);
+    }
+
+    /**
+     * Returns the properties passed to the JDBC driver.
+     *
+     * <p>The keys are stripped of the {@link #DRIVER_PREFIX}.
+     */
+    public ImmutableMap<String, String> driverProperties() {
+        ImmutableMap.Builder<String, String> result = ImmutableMap.builder();
+        properties.forEach((key, value) -> {
+            if (key.startsWith(DRIVER_PREFIX)) {
+                result.put(key.substring(DRIVER_PREFIX.length()), value);
+            }
+        });
+        return result.build();
+    }
+
+    /**
+     * Returns the properties of the read replica, if it is configured.
+     *
+     * @see #REPLICA_PREFIX
+     */
+    public Optional<ConnectionProperties> replica() {
+        if (!has(REPLICA_INSTANCE)) {
+            return Optional.empty();
+        }
+        Map<String, String> result = new HashMap<>();
+        properties.forEach((key, value) -> {
+            if (!key.startsWith(REPLICA_PREFIX)) {
+                result.put(key, value);
+            }
+        });
+        properties.forEach((key, value) -> {
+            if (key.startsWith(REPLICA_PREFIX)) {
+                result.put(DB_PREFIX + key.substring(REPLICA_PREFIX.length()), value);
+            }
+        });
+        return Optional.of(new ConnectionProperties(ImmutableMap.copyOf(result), envType));
+    }
+
+    /**
+     * Returns the maximum replication lag in milliseconds, if set.
+     */
+    public OptionalLong replicaMaxLagMillis() {
+        return longValue(REPLICA_MAX_LAG);
+    }
+
+    /**
+     * Returns the interval in milliseconds between the checks of the replication lag, if set.
+     */
+    public OptionalLong replicaLagCheckIntervalMillis() {
+        return longValue(REPLICA_LAG_CHECK_INTERVAL);
+    }
+
     /**
      * Returns a new {@code Builder} based on this instance.
      *
@@ -203,6 +442,18 @@ public final class ConnectionProperties {
                                key));
     }
 
+    private OptionalInt intValue(String key) {
+        return has(key)
+               ? OptionalInt.of(Integer.parseInt(value(key).trim()))
+               : OptionalInt.empty();
+    }
+
+    private OptionalLong longValue(String key) {
+        return has(key)
+               ? OptionalLong.of(Long.parseLong(value(key).trim()))
+               : OptionalLong.empty();
+    }
+
     private static Properties loadProperties(String propertiesFile) {
         Properties properties = new Properties();
         InputStream stream = ConnectionProperties.class.getClassLoader()
@@ -221,6 +472,15 @@ public final class ConnectionProperties {
         value.ifPresent(v -> mapBuilder.put(systemOptionKey, v));
     }
 
+    @SuppressWarnings("AccessOfSystemProperties")
+    private static Stream<String> prefixedSystemOptions() {
+        return System.getProperties()
+                     .stringPropertyNames()
+                     .stream()
+                     .filter(name -> name.startsWith(DRIVER_PREFIX)
+                             || name.startsWith(REPLICA_PREFIX));
+    }
+
     @SuppressWarnings("AccessOfSystemProperties")
     private static Optional<String> systemOption(String optionKey) {
         Optional<String> result = Optional.ofNullable(System.getProperty(optionKey));
@@ -301,6 +561,106 @@ public final class ConnectionProperties {
             return this;
         }
 
+        /** Sets the maximum number of the connections in the pool. */
+        public Builder setMaxPoolSize(int size) {
+            checkArgument(size > 0, "The pool size must be positive, but was %s.", size);
+            properties.put(POOL_MAX_SIZE, String.valueOf(size));
+            return this;
+        }
+
+        /** Sets the minimum number of the idle connections kept in the pool. */
+        public Builder setMinIdle(int count) {
+            checkArgument(count >= 0, "The idle count must not be negative, but was %s.", count);
+            properties.put(POOL_MIN_IDLE, String.valueOf(count));
+            return this;
+        }
+
+        /** Sets the time to wait for a connection from the pool. */
+        public Builder setConnectionTimeout(Duration timeout) {
+            checkNotNull(timeout);
+            properties.put(POOL_CONNECTION_TIMEOUT, String.valueOf(timeout.toMillis()));
+            return this;
+        }
+
+        /** Sets the time after which a connection out of the pool is reported as a leak. */
+        public Builder setLeakDetectionThreshold(Duration threshold) {
+            checkNotNull(threshold);
+            properties.put(POOL_LEAK_DETECTION_THRESHOLD, String.valueOf(threshold.toMillis()));
+            return this;
+        }
+
+        /** Enables the {@link QueryCache} with the given maximum number of the queries. */
+        public Builder setCacheMaxSize(long size) {
+            checkArgument(size > 0, "The cache size must be positive, but was %s.", size);
+            properties.put(CACHE_MAX_SIZE, String.valueOf(size));
+            return this;
+        }
+
+        /** Sets the time after which a cached query result is evicted. */
+        public Builder setCacheExpiry(Duration expiry) {
+            checkNotNull(expiry);
+            properties.put(CACHE_EXPIRY, String.valueOf(expiry.toMillis()));
+            return this;
+        }
+
+        /**
+         * Sets whether the server is multi-tenant.
+         *
+         * @see ConnectionProperties#MULTITENANT
+         */
+        public Builder setMultitenant(boolean multitenant) {
+            properties.put(MULTITENANT, String.valueOf(multitenant));
+            return this;
+        }
+
+        /** Sets the maximum number of the messages relayed from the outbox at once. */
+        public Builder setTransportBatchSize(int size) {
+            checkArgument(size > 0, "The batch size must be positive, but was %s.", size);
+            properties.put(TRANSPORT_BATCH_SIZE, String.valueOf(size));
+            return this;
+        }
+
+        /** Sets the interval between the polls of an empty outbox. */
+        public Builder setTransportPollInterval(Duration interval) {
+            checkNotNull(interval);
+            properties.put(TRANSPORT_POLL_INTERVAL, String.valueOf(interval.toMillis()));
+            return this;
+        }
+
+        /** Sets the ID of the node relaying the outbox. */
+        public Builder setTransportNodeId(String nodeId) {
+            checkNotNull(nodeId);
+            properties.put(TRANSPORT_NODE_ID, nodeId);
+            return this;
+        }
+
+        /** Sets the interval between the polls of the inbox shards. */
+        public Builder setDeliveryPollInterval(Duration interval) {
+            checkNotNull(interval);
+            properties.put(DELIVERY_POLL_INTERVAL, String.valueOf(interval.toMillis()));
+            return this;
+        }
+
+        /**
+         * Sets the property of the read replica, e.g. {@code instance} or {@code password}.
+         *
+         * @see ConnectionProperties#REPLICA_PREFIX
+         */
+        public Builder setReplicaProperty(String name, String value) {
+            checkNotNull(name);
+            checkNotNull(value);
+            properties.put(REPLICA_PREFIX + name, value);
+            return this;
+        }
+
+        /** Sets the property passed to the JDBC driver, e.g. {@code cachePrepStmts}. */
+        public Builder setDriverProperty(String name, String value) {
+            checkNotNull(name);
+            checkNotNull(value);
+            properties.put(DRIVER_PREFIX + name, value);
+            return this;
+        }
+
         /** Sets the environment type to the specified one. */
         public Builder setEnvType(Class<? extends EnvironmentType> envType) {
             checkNotNull(envType);
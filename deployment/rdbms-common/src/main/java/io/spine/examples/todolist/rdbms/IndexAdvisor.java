@@ -0,0 +1,359 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import io.spine.base.EntityState;
+import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.logging.Logging;
+import io.spine.type.TypeName;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Creates the secondary indexes on the entity columns of the JDBC tables.
+ *
+ * <p>The JDBC storage keeps the entity state as a serialized message and each
+ * {@code (column) = true} field of the state as a separate table column. The columns are not
+ * indexed, so the queries filtering by them scan the whole table.
+ *
+ * <p>The advisor creates the {@linkplain Builder#add(Class, String...) requested} indexes which
+ * do not exist yet. An existing index is reused if it starts with the same columns.
+ *
+ * <p>The table of the entities is the one named after the entity state type or after
+ * the projection class, e.g. {@code spine_examples_todolist_TaskView} or
+ * {@code io_spine_examples_todolist_server_tasks_task_TaskViewProjection} for the {@code TaskView}.
+ * The columns are matched by their names ignoring the case and the underscores. This way,
+ * the advisor does not depend on the naming conventions of a particular storage version.
+ *
+ * <p>The columns of the types which cannot be indexed as a whole, such as {@code BLOB} or
+ * {@code TEXT}, are skipped.
+ */
+public final class IndexAdvisor implements Logging {
+
+    private static final int MAX_NAME_LENGTH = 64;
+    private static final ImmutableSet<Integer> NOT_INDEXABLE = ImmutableSet.of(
+            Types.BLOB, Types.CLOB, Types.NCLOB,
+            Types.LONGVARBINARY, Types.LONGVARCHAR, Types.LONGNVARCHAR
+    );
+
+    private final ImmutableList<Index> indexes;
+
+    private IndexAdvisor(Builder builder) {
+        this.indexes = builder.indexes.build();
+    }
+
+    /**
+     * Creates a new builder of the advisor.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the advisor of the indexes used by the queries of the Tasks context.
+     *
+     * <p>The {@code TaskView} is queried by the status and the due date, e.g. for the open tasks
+     * due this week, by the owner and the status, and ordered by the priority. The
+     * {@code LabelView} is queried by the owner.
+     */
+    public static IndexAdvisor forTasksContext() {
+        return newBuilder()
+                .add(TaskView.class, "status", "due_date")
+                .add(TaskView.class, "owner", "status")
+                .add(TaskView.class, "priority")
+                .add(LabelView.class, "owner")
+                .build();
+    }
+
+    /**
+     * Creates the missing indexes in the given database.
+     *
+     * <p>The tables which do not exist yet are skipped. A failure to create an index is logged
+     * and does not prevent the creation of the other indexes.
+     *
+     * @return the names of the created indexes
+     * @throws IllegalStateException
+     *         if unable to read the database metadata
+     */
+    public ImmutableList<String> apply(DataSource dataSource) {
+        checkNotNull(dataSource);
+        ImmutableList.Builder<String> created = ImmutableList.builder();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            ImmutableList<String> tables = tables(metaData);
+            for (Index index : indexes) {
+                List<String> matching = tables.stream()
+                                              .filter(index::storedIn)
+                                              .collect(toList());
+                if (matching.isEmpty()) {
+                    _debug().log("No table for `%s`, skipping the index.", index.type);
+                }
+                for (String table : matching) {
+                    createIfMissing(connection, table, index).ifPresent(created::add);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to read the database metadata.", e);
+        }
+        return created.build();
+    }
+
+    private Optional<String> createIfMissing(Connection connection, String table, Index index)
+            throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, Column> columns = columns(metaData, table);
+        List<String> columnNames = new ArrayList<>();
+        for (String requested : index.columns) {
+            Column column = columns.get(normalize(requested));
+            if (column == null) {
+                _warn().log("No column `%s` in `%s`, skipping the index.", requested, table);
+                return Optional.empty();
+            }
+            if (NOT_INDEXABLE.contains(column.type)) {
+                _warn().log("The column `%s` of `%s` cannot be indexed.", column.name, table);
+                return Optional.empty();
+            }
+            columnNames.add(column.name);
+        }
+        if (isIndexed(metaData, table, columnNames)) {
+            return Optional.empty();
+        }
+        String quote = metaData.getIdentifierQuoteString()
+                               .trim();
+        String name = indexName(table, columnNames);
+        String sql = format("CREATE INDEX %s ON %s (%s)",
+                            quote + name + quote,
+                            quote + table + quote,
+                            columnNames.stream()
+                                       .map(column -> quote + column + quote)
+                                       .collect(joining(", ")));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+            _info().log("Created the index `%s` on `%s` %s.", name, table, columnNames);
+            return Optional.of(name);
+        } catch (SQLException e) {
+            _warn().withCause(e)
+                   .log("Unable to create the index `%s` on `%s`.", name, table);
+            return Optional.empty();
+        }
+    }
+
+    private static ImmutableList<String> tables(DatabaseMetaData metaData) throws SQLException {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        try (ResultSet tables = metaData.getTables(catalog(metaData), schema(metaData),
+                                                   "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                result.add(tables.getString("TABLE_NAME"));
+            }
+        }
+        return result.build();
+    }
+
+    private static Map<String, Column> columns(DatabaseMetaData metaData, String table)
+            throws SQLException {
+        Map<String, Column> result = new HashMap<>();
+        try (ResultSet columns = metaData.getColumns(catalog(metaData), schema(metaData),
+                                                     table, "%")) {
+            while (columns.next()) {
+                String name = columns.getString("COLUMN_NAME");
+                int type = columns.getInt("DATA_TYPE");
+                result.put(normalize(name), new Column(name, type));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tells if there is an index starting with the given columns.
+     */
+    private static boolean isIndexed(DatabaseMetaData metaData, String table, List<String> columns)
+            throws SQLException {
+        Map<String, Map<Short, String>> indexes = new HashMap<>();
+        try (ResultSet info = metaData.getIndexInfo(catalog(metaData), schema(metaData),
+                                                       table, false, true)) {
+            while (info.next()) {
+                String index = info.getString("INDEX_NAME");
+                String column = info.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    indexes.computeIfAbsent(index, i -> new TreeMap<>())
+                           .put(info.getShort("ORDINAL_POSITION"), column);
+                }
+            }
+        }
+        return indexes.values()
+                      .stream()
+                      .map(positions -> ImmutableList.copyOf(positions.values()))
+                      .anyMatch(indexed -> startsWith(indexed, columns));
+    }
+
+    /**
+     * Obtains the catalog of the connection, so that only its tables are advised.
+     */
+    private static String catalog(DatabaseMetaData metaData) throws SQLException {
+        return metaData.getConnection()
+                       .getCatalog();
+    }
+
+    /**
+     * Obtains the schema of the connection, so that the tables of the other schemas, e.g.
+     * of the {@linkplain TenantSchemas tenants}, are not advised.
+     */
+    private static @Nullable String schema(DatabaseMetaData metaData) throws SQLException {
+        return metaData.getConnection()
+                       .getSchema();
+    }
+
+    private static boolean startsWith(List<String> indexed, List<String> columns) {
+        if (indexed.size() < columns.size()) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!indexed.get(i)
+                        .equalsIgnoreCase(columns.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String indexName(String table, List<String> columns) {
+        String name = "idx_" + table + '_' + String.join("_", columns);
+        if (name.length() <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        String hash = Integer.toHexString(name.hashCode());
+        return name.substring(0, MAX_NAME_LENGTH - hash.length() - 1) + '_' + hash;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "")
+                   .replace(".", "")
+                   .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A requested index.
+     */
+    private static final class Index {
+
+        private static final Splitter NAME_PARTS = Splitter.on(CharMatcher.anyOf("_.$"))
+                                                           .omitEmptyStrings();
+
+        private final TypeName type;
+        private final ImmutableList<String> columns;
+
+        private Index(TypeName type, ImmutableList<String> columns) {
+            this.type = type;
+            this.columns = columns;
+        }
+
+        /**
+         * Tells if the table is named after the entity state type or the projection class.
+         */
+        private boolean storedIn(String table) {
+            String lastPart = Iterables.getLast(NAME_PARTS.split(table), "");
+            String simpleName = type.simpleName();
+            return lastPart.equalsIgnoreCase(simpleName)
+                    || lastPart.equalsIgnoreCase(simpleName + "Projection");
+        }
+    }
+
+    /**
+     * A table column.
+     */
+    private static final class Column {
+
+        private final String name;
+        private final int type;
+
+        private Column(String name, int type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    /**
+     * A builder of the {@code IndexAdvisor}.
+     */
+    public static final class Builder {
+
+        private final ImmutableList.Builder<Index> indexes = ImmutableList.builder();
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Requests an index on the given columns of the table storing the entities with
+         * the given state type.
+         *
+         * @param stateType
+         *         the type of the entity state
+         * @param columns
+         *         the names of the entity columns, e.g. {@code due_date}
+         */
+        public Builder add(Class<? extends EntityState> stateType, String... columns) {
+            checkNotNull(stateType);
+            checkArgument(columns.length > 0, "At least one column must be indexed.");
+            indexes.add(new Index(TypeName.of(stateType), ImmutableList.copyOf(columns)));
+            return this;
+        }
+
+        /**
+         * Creates a new {@code IndexAdvisor}.
+         */
+        public IndexAdvisor build() {
+            return new IndexAdvisor(this);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Duration;
+import com.google.protobuf.util.Durations;
+import com.google.protobuf.util.Timestamps;
+import io.spine.logging.Logging;
+import io.spine.server.NodeId;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.delivery.ShardProcessingSession;
+import io.spine.server.delivery.ShardSessionRecord;
+import io.spine.server.delivery.ShardedWorkRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A registry of the shards being processed, shared by the nodes via a relational database.
+ *
+ * <p>A node may process the messages of a shard only after it has
+ * {@linkplain #pickUp(ShardIndex, NodeId) picked up} the shard. A shard is picked up by
+ * a single node at a time. The node releases the shard when the messages are delivered.
+ *
+ * <p>Each shard is a row of the {@value #TABLE} table, which tells the node processing
+ * the shard, if any, and when the shard was picked up. A node picks up a shard by
+ * a conditional update of the row, so the database decides which node wins a race.
+ *
+ * <p>If a node crashes while processing a shard, the shard stays picked up until
+ * the {@linkplain #releaseExpiredSessions(Duration) expired sessions are released}.
+ */
+public final class JdbcShardedWorkRegistry implements ShardedWorkRegistry, Logging {
+
+    /**
+     * The name of the table of the shards.
+     */
+    public static final String TABLE = "todolist_shard_session";
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "shard_index INT NOT NULL, "
+                    + "of_total INT NOT NULL, "
+                    + "node_id VARCHAR(255), "
+                    + "picked_at BIGINT, "
+                    + "PRIMARY KEY (shard_index, of_total))";
+    private static final String INSERT =
+            "INSERT INTO " + TABLE + " (shard_index, of_total) VALUES (?, ?)";
+    private static final String PICK_UP =
+            "UPDATE " + TABLE + " SET node_id = ?, picked_at = ? "
+                    + "WHERE shard_index = ? AND of_total = ? AND node_id IS NULL";
+    private static final String RELEASE =
+            "UPDATE " + TABLE + " SET node_id = NULL, picked_at = NULL "
+                    + "WHERE shard_index = ? AND of_total = ? AND node_id = ?";
+    private static final String SELECT_EXPIRED =
+            "SELECT shard_index, of_total FROM " + TABLE
+                    + " WHERE node_id IS NOT NULL AND picked_at < ?";
+    private static final String RELEASE_EXPIRED =
+            "UPDATE " + TABLE + " SET node_id = NULL, picked_at = NULL "
+                    + "WHERE shard_index = ? AND of_total = ? AND picked_at < ?";
+
+    /**
+     * The SQL state class of the integrity constraint violations, such as a duplicate key.
+     */
+    private static final String CONSTRAINT_VIOLATION = "23";
+
+    private final DataSource dataSource;
+    private final Set<ShardIndex> known = ConcurrentHashMap.newKeySet();
+
+    private JdbcShardedWorkRegistry(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Creates a new registry in the given database.
+     *
+     * <p>Creates the table of the shards if it does not exist yet.
+     *
+     * @throws IllegalStateException
+     *         if unable to create the table
+     */
+    public static JdbcShardedWorkRegistry create(DataSource dataSource) {
+        checkNotNull(dataSource);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return new JdbcShardedWorkRegistry(dataSource);
+    }
+
+    @Override
+    public Optional<ShardProcessingSession> pickUp(ShardIndex index, NodeId nodeId) {
+        checkNotNull(index);
+        checkNotNull(nodeId);
+        long now = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            ensureRow(connection, index);
+            try (PreparedStatement statement = connection.prepareStatement(PICK_UP)) {
+                statement.setString(1, nodeId.getValue());
+                statement.setLong(2, now);
+                statement.setInt(3, index.getIndex());
+                statement.setInt(4, index.getOfTotal());
+                if (statement.executeUpdate() == 0) {
+                    return Optional.empty();
+                }
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        ShardSessionRecord record = ShardSessionRecord
+                .newBuilder()
+                .setIndex(index)
+                .setPickedBy(nodeId)
+                .setWhenLastPicked(Timestamps.fromMillis(now))
+                .vBuild();
+        return Optional.of(new Session(record));
+    }
+
+    /**
+     * Inserts the row of the shard unless it is known to exist.
+     *
+     * <p>If another node inserts the row concurrently, the duplicate key is ignored.
+     */
+    private void ensureRow(Connection connection, ShardIndex index) throws SQLException {
+        if (known.contains(index)) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            statement.setInt(1, index.getIndex());
+            statement.setInt(2, index.getOfTotal());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            String state = e.getSQLState();
+            if (state == null || !state.startsWith(CONSTRAINT_VIOLATION)) {
+                throw e;
+            }
+        }
+        known.add(index);
+    }
+
+    /**
+     * Releases the shards picked up earlier than the given period ago.
+     *
+     * <p>The period must be longer than it takes to deliver the messages of a shard. Otherwise,
+     * a shard may be picked up by another node while it is still being processed.
+     *
+     * @return the indexes of the released shards
+     */
+    @Override
+    public Iterable<ShardIndex> releaseExpiredSessions(Duration inactivityPeriod) {
+        checkNotNull(inactivityPeriod);
+        long threshold = System.currentTimeMillis() - Durations.toMillis(inactivityPeriod);
+        ImmutableList.Builder<ShardIndex> released = ImmutableList.builder();
+        try (Connection connection = dataSource.getConnection()) {
+            for (ShardIndex index : expired(connection, threshold)) {
+                try (PreparedStatement statement = connection.prepareStatement(RELEASE_EXPIRED)) {
+                    statement.setInt(1, index.getIndex());
+                    statement.setInt(2, index.getOfTotal());
+                    statement.setLong(3, threshold);
+                    if (statement.executeUpdate() > 0) {
+                        _warn().log("Released the expired session of the shard %d of %d.",
+                                    index.getIndex(), index.getOfTotal());
+                        released.add(index);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return released.build();
+    }
+
+    private static ImmutableList<ShardIndex> expired(Connection connection, long threshold)
+            throws SQLException {
+        ImmutableList.Builder<ShardIndex> result = ImmutableList.builder();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_EXPIRED)) {
+            statement.setLong(1, threshold);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    ShardIndex index = ShardIndex
+                            .newBuilder()
+                            .setIndex(rows.getInt(1))
+                            .setOfTotal(rows.getInt(2))
+                            .vBuild();
+                    result.add(index);
+                }
+            }
+        }
+        return result.build();
+    }
+
+    private void release(ShardSessionRecord record) {
+        ShardIndex index = record.getIndex();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RELEASE)) {
+            statement.setInt(1, index.getIndex());
+            statement.setInt(2, index.getOfTotal());
+            statement.setString(3, record.getPickedBy()
+                                         .getValue());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * A session of processing a shard, which releases the shard on completion.
+     */
+    private final class Session extends ShardProcessingSession {
+
+        private final ShardSessionRecord record;
+
+        private Session(ShardSessionRecord record) {
+            super(record);
+            this.record = record;
+        }
+
+        @Override
+        protected void complete() {
+            release(record);
+        }
+    }
+}
@@ -0,0 +1,524 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Any;
+import com.google.protobuf.Empty;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.core.Ack;
+import io.spine.core.Status;
+import io.spine.logging.Logging;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+import io.spine.server.transport.Subscriber;
+import io.spine.server.transport.TransportFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * A transport which passes the messages through an outbox table of a relational database.
+ *
+ * <p>A published message is inserted into the {@value #TABLE} table. The message is
+ * acknowledged once the row is written, so it survives a restart of the node. The rows are keyed
+ * by an identity column, so the database orders the messages as they are written, regardless of
+ * the clocks of the nodes.
+ *
+ * <p>Once {@linkplain #start() started}, a relay polls the outbox in batches and passes
+ * the messages to the subscribers of the node. A message is deleted from the outbox in the same
+ * transaction in which it is passed to the subscribers. If the node fails before
+ * the transaction is committed, the message is passed again, so the delivery is at least once.
+ *
+ * <p>A message which cannot be parsed, or which a subscriber fails to handle, is moved to
+ * the {@value #FAILED_TABLE} table along with the failure and the
+ * {@linkplain Builder#setNodeId(String) ID of the node}, so it does not hold back
+ * the messages after it.
+ *
+ * <p>The nodes sharing the database compete for the messages: each message is passed to
+ * the subscribers of a single node. Where the database supports it, the batch is selected
+ * with {@code FOR UPDATE SKIP LOCKED}, so the nodes take the different batches at the same
+ * time. Otherwise, a node waits until the batch locked by another node is relayed.
+ *
+ * <p>A single node is enough, as the transport only carries the messages between the bounded
+ * contexts. The node passes a message to the inbox of the receiving context, and the inbox is
+ * shared by the nodes through the storage, so the message reaches its target entity whichever
+ * node has relayed it.
+ */
+public final class JdbcTransportFactory implements TransportFactory, Logging {
+
+    /**
+     * The name of the outbox table.
+     */
+    public static final String TABLE = "todolist_outbox";
+
+    /**
+     * The name of the table keeping the messages which failed to be relayed.
+     */
+    public static final String FAILED_TABLE = "todolist_outbox_failed";
+
+    /**
+     * The default number of the messages relayed in a single transaction.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The default interval between the polls of an empty outbox.
+     */
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(200);
+
+    /**
+     * The node ID used if none is {@linkplain Builder#setNodeId(String) set}.
+     */
+    public static final String DEFAULT_NODE_ID = "default";
+
+    /**
+     * The maximum length of the failure stored along with a message which failed to be relayed.
+     */
+    private static final int MAX_FAILURE_LENGTH = 1024;
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "id %2$s PRIMARY KEY, "
+                    + "channel_id %1$s NOT NULL, "
+                    + "message %1$s NOT NULL)";
+    private static final String CREATE_FAILED_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + FAILED_TABLE + " ("
+                    + "id BIGINT NOT NULL PRIMARY KEY, "
+                    + "node_id VARCHAR(255) NOT NULL, "
+                    + "channel_id %1$s NOT NULL, "
+                    + "message %1$s NOT NULL, "
+                    + "failure VARCHAR(" + MAX_FAILURE_LENGTH + ") NOT NULL)";
+    private static final String INSERT =
+            "INSERT INTO " + TABLE + " (channel_id, message) VALUES (?, ?)";
+    private static final String SELECT_BATCH =
+            "SELECT id, channel_id, message FROM " + TABLE + " ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String SKIP_LOCKED = " SKIP LOCKED";
+    private static final String DELETE = "DELETE FROM " + TABLE + " WHERE id = ?";
+    private static final String INSERT_FAILED =
+            "INSERT INTO " + FAILED_TABLE + " (id, node_id, channel_id, message, failure) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final String nodeId;
+    private final String selectBatch;
+    private final int batchSize;
+    private final InMemoryTransportFactory local = InMemoryTransportFactory.newInstance();
+    private final Map<ChannelId, Publisher> localPublishers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService relay;
+    private final Duration pollInterval;
+
+    private JdbcTransportFactory(Builder builder, DataSource dataSource, boolean skipLocked) {
+        this.dataSource = dataSource;
+        this.nodeId = builder.nodeId;
+        this.batchSize = builder.batchSize;
+        this.pollInterval = builder.pollInterval;
+        this.selectBatch = skipLocked
+                           ? SELECT_BATCH + SKIP_LOCKED
+                           : SELECT_BATCH;
+        this.relay = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("outbox-relay-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+    }
+
+    /**
+     * Creates a new builder of the transport.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts relaying the messages of the outbox to the subscribers of this node.
+     *
+     * <p>The messages are relayed in the order the database has written them. The messages left
+     * in the outbox by a previous run are relayed first.
+     *
+     * <p>Call this method after the subscribers are created, so that the messages left by
+     * a previous run reach them.
+     */
+    public void start() {
+        long interval = pollInterval.toMillis();
+        relay.scheduleWithFixedDelay(this::relayAll, 0, interval, MILLISECONDS);
+    }
+
+    @Override
+    public Publisher createPublisher(ChannelId channelId) {
+        checkNotNull(channelId);
+        checkState(isOpen(), "The transport is closed.");
+        return new OutboxPublisher(channelId);
+    }
+
+    @Override
+    public Subscriber createSubscriber(ChannelId channelId) {
+        checkNotNull(channelId);
+        return local.createSubscriber(channelId);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return local.isOpen();
+    }
+
+    /**
+     * Stops the relay.
+     *
+     * <p>The messages remaining in the outbox are relayed after the restart.
+     */
+    @Override
+    public void close() throws Exception {
+        relay.shutdown();
+        relay.awaitTermination(1, MINUTES);
+        local.close();
+    }
+
+    /**
+     * Relays the batches of the messages until the outbox is drained.
+     *
+     * <p>A failure is logged, and the relay is retried after the poll interval.
+     */
+    private void relayAll() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to relay the messages of the outbox.");
+        }
+    }
+
+    /**
+     * Relays a single batch of the messages in a transaction.
+     *
+     * <p>The messages which fail to be relayed are moved to the {@value #FAILED_TABLE} table
+     * in the same transaction.
+     *
+     * @return the number of the messages taken from the outbox
+     */
+    private int relayBatch() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                ImmutableList<OutboxRecord> batch = select(connection);
+                try (PreparedStatement delete = connection.prepareStatement(DELETE);
+                     PreparedStatement moveAside = connection.prepareStatement(INSERT_FAILED)) {
+                    boolean failed = false;
+                    for (OutboxRecord record : batch) {
+                        try {
+                            pass(record);
+                        } catch (RuntimeException e) {
+                            _warn().withCause(e)
+                                   .log("Unable to relay the outbox message #%d. "
+                                                + "Moving it to `%s`.", record.id, FAILED_TABLE);
+                            addFailed(moveAside, record, e);
+                            failed = true;
+                        }
+                        delete.setLong(1, record.id);
+                        delete.addBatch();
+                    }
+                    if (failed) {
+                        moveAside.executeBatch();
+                    }
+                    if (!batch.isEmpty()) {
+                        delete.executeBatch();
+                    }
+                }
+                connection.commit();
+                return batch.size();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private ImmutableList<OutboxRecord> select(Connection connection) throws SQLException {
+        ImmutableList.Builder<OutboxRecord> result = ImmutableList.builder();
+        try (PreparedStatement statement = connection.prepareStatement(selectBatch)) {
+            statement.setInt(1, batchSize);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    result.add(new OutboxRecord(rows.getLong(1),
+                                                rows.getBytes(2),
+                                                rows.getBytes(3)));
+                }
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Passes the message to the subscribers of this node.
+     */
+    @SuppressWarnings("CheckReturnValue") // The local delivery acknowledges every message.
+    private void pass(OutboxRecord record) {
+        ChannelId channelId;
+        ExternalMessage message;
+        try {
+            channelId = ChannelId.parseFrom(record.channelId);
+            message = ExternalMessage.parseFrom(record.message);
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        Publisher publisher = localPublishers.computeIfAbsent(channelId, local::createPublisher);
+        publisher.publish(message.getId(), message);
+    }
+
+    private void addFailed(PreparedStatement moveAside, OutboxRecord record, Exception e)
+            throws SQLException {
+        String failure = String.valueOf(e);
+        if (failure.length() > MAX_FAILURE_LENGTH) {
+            failure = failure.substring(0, MAX_FAILURE_LENGTH);
+        }
+        moveAside.setLong(1, record.id);
+        moveAside.setString(2, nodeId);
+        moveAside.setBytes(3, record.channelId);
+        moveAside.setBytes(4, record.message);
+        moveAside.setString(5, failure);
+        moveAside.addBatch();
+    }
+
+    private void insert(ChannelId channelId, ExternalMessage message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            statement.setBytes(1, channelId.toByteArray());
+            statement.setBytes(2, message.toByteArray());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Tells if the database can skip the locked rows of a {@code SELECT ... FOR UPDATE}.
+     *
+     * <p>PostgreSQL supports it since 9.5, MySQL since 8.0.
+     */
+    private static boolean supportsSkipLocked(DatabaseMetaData metaData) throws SQLException {
+        String product = metaData.getDatabaseProductName();
+        int major = metaData.getDatabaseMajorVersion();
+        int minor = metaData.getDatabaseMinorVersion();
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return major > 9 || (major == 9 && minor >= 5);
+        }
+        if ("MySQL".equalsIgnoreCase(product)) {
+            return major >= 8;
+        }
+        return false;
+    }
+
+    /**
+     * Obtains the type of the key column, whose values the database generates in ascending order.
+     */
+    private static String identityType(DatabaseMetaData metaData) throws SQLException {
+        String product = metaData.getDatabaseProductName();
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return "BIGSERIAL";
+        }
+        if ("MySQL".equalsIgnoreCase(product)) {
+            return "BIGINT AUTO_INCREMENT";
+        }
+        return "BIGINT GENERATED BY DEFAULT AS IDENTITY";
+    }
+
+    /**
+     * Obtains the type of the binary columns in the database.
+     */
+    private static String binaryType(DatabaseMetaData metaData) throws SQLException {
+        String product = metaData.getDatabaseProductName();
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return "BYTEA";
+        }
+        if ("MySQL".equalsIgnoreCase(product)) {
+            return "LONGBLOB";
+        }
+        return "BLOB";
+    }
+
+    /**
+     * A publisher which writes the messages to the outbox.
+     */
+    private final class OutboxPublisher implements Publisher {
+
+        private final ChannelId id;
+
+        private OutboxPublisher(ChannelId id) {
+            this.id = id;
+        }
+
+        @Override
+        public Ack publish(Any messageId, ExternalMessage message) {
+            checkNotNull(messageId);
+            checkNotNull(message);
+            insert(id, message);
+            Status ok = Status
+                    .newBuilder()
+                    .setOk(Empty.getDefaultInstance())
+                    .build();
+            return Ack
+                    .newBuilder()
+                    .setMessageId(messageId)
+                    .setStatus(ok)
+                    .build();
+        }
+
+        @Override
+        public ChannelId id() {
+            return id;
+        }
+
+        @Override
+        public boolean isStale() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // The outbox is shared by the publishers and stays open.
+        }
+    }
+
+    /**
+     * A row of the outbox.
+     */
+    private static final class OutboxRecord {
+
+        private final long id;
+        private final byte[] channelId;
+        private final byte[] message;
+
+        private OutboxRecord(long id, byte[] channelId, byte[] message) {
+            this.id = id;
+            this.channelId = channelId;
+            this.message = message;
+        }
+    }
+
+    /**
+     * A builder of the {@code JdbcTransportFactory}.
+     */
+    public static final class Builder {
+
+        private @Nullable DataSource dataSource;
+        private String nodeId = DEFAULT_NODE_ID;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /** Sets the database of the outbox. */
+        public Builder setDataSource(DataSource dataSource) {
+            this.dataSource = checkNotNull(dataSource);
+            return this;
+        }
+
+        /**
+         * Sets the ID of the node recorded along with the messages which it fails to relay.
+         *
+         * <p>If not set, {@value #DEFAULT_NODE_ID} is used.
+         */
+        public Builder setNodeId(String nodeId) {
+            checkNotNull(nodeId);
+            checkArgument(!nodeId.trim().isEmpty(), "The node ID must not be blank.");
+            this.nodeId = nodeId;
+            return this;
+        }
+
+        /** Sets the maximum number of the messages relayed in a single transaction. */
+        public Builder setBatchSize(int batchSize) {
+            checkArgument(batchSize > 0,
+                          "The batch size must be positive, but was %s.", batchSize);
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /** Sets the interval between the polls of an empty outbox. */
+        public Builder setPollInterval(Duration pollInterval) {
+            checkNotNull(pollInterval);
+            checkArgument(!pollInterval.isNegative() && !pollInterval.isZero(),
+                          "The poll interval must be positive, but was %s.", pollInterval);
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /**
+         * Creates the transport.
+         *
+         * <p>Creates the outbox tables if they do not exist yet.
+         *
+         * @throws IllegalStateException
+         *         if the data source is not set, or if unable to create the tables
+         */
+        public JdbcTransportFactory build() {
+            DataSource dataSource = this.dataSource;
+            checkState(dataSource != null, "The data source is not set.");
+            boolean skipLocked;
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                DatabaseMetaData metaData = connection.getMetaData();
+                String binaryType = binaryType(metaData);
+                statement.execute(String.format(CREATE_TABLE, binaryType, identityType(metaData)));
+                statement.execute(String.format(CREATE_FAILED_TABLE, binaryType));
+                skipLocked = supportsSkipLocked(metaData);
+            } catch (SQLException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+            return new JdbcTransportFactory(this, dataSource, skipLocked);
+        }
+    }
+}
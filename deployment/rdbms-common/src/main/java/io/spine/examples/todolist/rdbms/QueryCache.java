@@ -0,0 +1,390 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A read-through cache of the entity reads of the JDBC storage.
+ *
+ * <p>The cache is applied to a {@code DataSource} by {@link #decorate(DataSource)}. It keeps
+ * the results of the queries selecting the rows of a single entity, such as the event history
+ * of an aggregate or the state of a projection, and serves the repeated queries from memory.
+ *
+ * <p>The writes go to the database as usual. Once an entity is written, its cached queries are
+ * invalidated, so the next read gets the new data. For the writes in a transaction, the cached
+ * queries are invalidated once again when the transaction is committed or rolled back.
+ * See {@link SqlStatement} for how the SQL statements are matched to the entities.
+ *
+ * <p>The cached queries are indexed by the table and the ID of the queried entity, so a write
+ * finds the queries to invalidate without scanning the cache. As a write drops the queries of
+ * the entity, the cache helps the read-mostly entities only.
+ *
+ * <p>Only the queries executed in the auto-commit mode and not routed to
+ * a {@linkplain ReplicatedStorage read replica} are cached. The queries running
+ * concurrently with a write to the same table are not cached, so the cache never keeps data
+ * older than the last write.
+ *
+ * <p>The cache is bounded by the {@linkplain Builder#setMaxSize(long) number of the queries}
+ * and by the {@linkplain Builder#setExpiry(Duration) time} since a query result is cached.
+ * The hits and the misses are available via {@link #stats()}.
+ */
+public final class QueryCache {
+
+    /**
+     * The default time after which a cached query result is evicted.
+     */
+    public static final Duration DEFAULT_EXPIRY = Duration.ofMinutes(1);
+
+    private final Cache<QueryKey, CachedRows> entries;
+
+    /**
+     * The keys of the cached queries by the table and the ID of the queried entity.
+     */
+    private final Map<String, Map<Object, Set<QueryKey>>> index = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> tableGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private QueryCache(Builder builder) {
+        this.entries = CacheBuilder
+                .newBuilder()
+                .maximumSize(builder.maxSize)
+                .expireAfterWrite(builder.expiry.toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .removalListener(this::unindex)
+                .build();
+    }
+
+    /**
+     * Creates a new builder of the cache.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the cache configured by the given properties.
+     *
+     * @return the new cache or {@code Optional.empty()} if the cache is not enabled
+     * @see ConnectionProperties#cacheMaxSize()
+     */
+    static Optional<QueryCache> from(ConnectionProperties properties) {
+        long maxSize = properties.cacheMaxSize()
+                                 .orElse(0L);
+        if (maxSize <= 0) {
+            return Optional.empty();
+        }
+        Builder builder = newBuilder().setMaxSize(maxSize);
+        properties.cacheExpiryMillis()
+                  .ifPresent(millis -> builder.setExpiry(Duration.ofMillis(millis)));
+        return Optional.of(builder.build());
+    }
+
+    /**
+     * Wraps the given data source so that the entity reads are served from this cache.
+     */
+    public DataSource decorate(DataSource dataSource) {
+        checkNotNull(dataSource);
+        return CachingJdbc.cached(dataSource, this);
+    }
+
+    /**
+     * Obtains the statistics of the cache hits and misses.
+     */
+    public CacheStats stats() {
+        return entries.stats();
+    }
+
+    /**
+     * Returns the cached entries, e.g. to be monitored.
+     */
+    Cache<?, ?> entries() {
+        return entries;
+    }
+
+    /**
+     * Runs the given query or serves its result from the cache.
+     *
+     * @param statement
+     *         the cacheable query
+     * @param parameters
+     *         the parameters of the query by their indexes
+     * @param query
+     *         runs the query against the database
+     */
+    ResultSet read(SqlStatement statement, Map<Integer, Object> parameters,
+                   JdbcCall<ResultSet> query) throws SQLException {
+        Integer idParameter = statement.idParameters()
+                                       .get(0);
+        if (parameters.get(idParameter) == null) {
+            return query.call();
+        }
+        QueryKey key = new QueryKey(statement, parameters);
+        CachedRows cached = entries.getIfPresent(key);
+        if (cached != null) {
+            return cached.toResultSet(query);
+        }
+        long before = generation(key.table);
+        CachedRows rows = CachedRows.readAll(query.call());
+        index.computeIfAbsent(key.table, t -> new ConcurrentHashMap<>())
+             .computeIfAbsent(key.id, id -> ConcurrentHashMap.newKeySet())
+             .add(key);
+        entries.put(key, rows);
+        if (generation(key.table) != before) {
+            entries.invalidate(key);
+        }
+        return rows.toResultSet(query);
+    }
+
+    /**
+     * Invalidates the cached queries of the entities written by the given statement.
+     *
+     * @param statement
+     *         the executed write
+     * @param parameters
+     *         the parameters of each execution of the statement
+     */
+    void invalidate(SqlStatement statement, Collection<Map<Integer, Object>> parameters) {
+        if (statement.isUnknownWrite()) {
+            generation.incrementAndGet();
+            entries.invalidateAll();
+            index.clear();
+            return;
+        }
+        String table = statement.table();
+        tableGenerations.computeIfAbsent(table, t -> new AtomicLong())
+                        .incrementAndGet();
+        Map<Object, Set<QueryKey>> tableIndex = index.get(table);
+        if (tableIndex == null) {
+            return;
+        }
+        List<Object> ids = writtenIds(statement, parameters);
+        if (ids.isEmpty()) {
+            Map<Object, Set<QueryKey>> removed = index.remove(table);
+            if (removed != null) {
+                removed.values()
+                       .forEach(entries::invalidateAll);
+            }
+        } else {
+            for (Object id : ids) {
+                Set<QueryKey> keys = tableIndex.remove(id);
+                if (keys != null) {
+                    entries.invalidateAll(keys);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the evicted or the invalidated query from the index.
+     *
+     * <p>A query replaced by a newer result of the same query stays indexed.
+     */
+    private void unindex(RemovalNotification<QueryKey, CachedRows> notification) {
+        if (notification.getCause() == RemovalCause.REPLACED) {
+            return;
+        }
+        QueryKey key = notification.getKey();
+        if (key == null) {
+            return;
+        }
+        Map<Object, Set<QueryKey>> tableIndex = index.get(key.table);
+        if (tableIndex == null) {
+            return;
+        }
+        tableIndex.computeIfPresent(key.id, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Obtains the IDs of the written entities, or an empty list if the written rows
+     * are not known.
+     */
+    private static List<Object> writtenIds(SqlStatement statement,
+                                           Collection<Map<Integer, Object>> parameters) {
+        if (!statement.isBoundWrite() || parameters.isEmpty()) {
+            return ImmutableList.of();
+        }
+        List<Object> result = new ArrayList<>();
+        for (Map<Integer, Object> execution : parameters) {
+            for (Integer index : statement.idParameters()) {
+                if (!execution.containsKey(index)) {
+                    return ImmutableList.of();
+                }
+                result.add(normalize(execution.get(index)));
+            }
+        }
+        return result;
+    }
+
+    private long generation(String table) {
+        AtomicLong tableGeneration = tableGenerations.computeIfAbsent(table,
+                                                                      t -> new AtomicLong());
+        return generation.get() + tableGeneration.get();
+    }
+
+    /**
+     * Converts a statement parameter to a value comparable with the other parameters.
+     *
+     * <p>Arrays are compared by their content, and integer numbers by their value regardless
+     * of the type.
+     */
+    static @Nullable Object normalize(@Nullable Object parameter) {
+        if (parameter instanceof byte[]) {
+            return ByteBuffer.wrap(((byte[]) parameter).clone());
+        }
+        if (parameter instanceof Integer
+                || parameter instanceof Short
+                || parameter instanceof Byte) {
+            return ((Number) parameter).longValue();
+        }
+        return parameter;
+    }
+
+    /**
+     * A JDBC call which may fail with an {@code SQLException}.
+     */
+    @FunctionalInterface
+    interface JdbcCall<T> {
+
+        T call() throws SQLException;
+    }
+
+    /**
+     * The key of a cached query: the SQL and the parameters of the query along with
+     * the queried entity.
+     */
+    private static final class QueryKey {
+
+        private final String table;
+        private final Object id;
+        private final String sql;
+        private final List<Object> parameters;
+
+        private QueryKey(SqlStatement statement, Map<Integer, Object> parameters) {
+            this.table = statement.table();
+            Object idParameter = parameters.get(statement.idParameters()
+                                                         .get(0));
+            this.id = checkNotNull(normalize(idParameter));
+            this.sql = statement.sql();
+            List<Object> values = new ArrayList<>(parameters.size());
+            parameters.keySet()
+                      .stream()
+                      .sorted()
+                      .forEach(index -> values.add(normalize(parameters.get(index))));
+            this.parameters = values;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) o;
+            return sql.equals(other.sql) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(sql, parameters);
+        }
+    }
+
+    /**
+     * A builder of the {@code QueryCache}.
+     */
+    public static final class Builder {
+
+        private long maxSize = 10_000;
+        private Duration expiry = DEFAULT_EXPIRY;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of the cached queries.
+         *
+         * <p>The default value is {@code 10 000}.
+         */
+        public Builder setMaxSize(long maxSize) {
+            checkArgument(maxSize > 0, "The cache size must be positive, but was %s.", maxSize);
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the time after which a cached query result is evicted.
+         *
+         * <p>The default value is {@link #DEFAULT_EXPIRY}.
+         */
+        public Builder setExpiry(Duration expiry) {
+            checkNotNull(expiry);
+            checkArgument(!expiry.isNegative() && !expiry.isZero(),
+                          "The expiry must be positive, but was %s.", expiry);
+            this.expiry = expiry;
+            return this;
+        }
+
+        /**
+         * Creates a new {@code QueryCache}.
+         */
+        public QueryCache build() {
+            return new QueryCache(this);
+        }
+    }
+}
@@ -30,26 +30,57 @@ import com.google.common.annotations.VisibleForTesting;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.spine.logging.Logging;
+import io.spine.server.delivery.ShardedWorkRegistry;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.jdbc.JdbcStorageFactory;
 
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * A storage factory backed by a relational database.
+ *
+ * <p>All the components created by the storage share a single connection pool, which is opened
+ * on the first use and released when the storage is {@linkplain #close() closed}. So
+ * the {@linkplain ConnectionProperties#maxPoolSize() pool size} bounds all the connections
+ * the node opens to the database.
  */
-public final class RelationalStorage implements Logging {
+public final class RelationalStorage implements AutoCloseable, Logging {
 
     private final ConnectionUrl connectionUrl;
     private final DbCredentials dbCredentials;
+    private final @Nullable QueryCache cache;
+    private final boolean multitenant;
+    private @Nullable HikariDataSource pool;
+    private @Nullable TenantSchemas tenantSchemas;
 
     /**
      * Creates a new relation storage using the specified connection URL and the specified
      * database credentials.
+     *
+     * <p>If the {@linkplain ConnectionProperties#cacheMaxSize() cache} is enabled in
+     * the connection properties, the entity reads are served from a {@link QueryCache}.
+     *
+     * <p>If the storage is {@linkplain ConnectionProperties#multitenant() multi-tenant},
+     * the records of each tenant are kept in a separate {@linkplain TenantSchemas schema}.
+     * The cache does not tell the tenants apart, so it is not used then.
      */
     public RelationalStorage(ConnectionUrl connectionUrl, DbCredentials dbCredentials) {
         this.connectionUrl = connectionUrl;
         this.dbCredentials = dbCredentials;
+        ConnectionProperties properties = connectionUrl.properties();
+        this.multitenant = properties.multitenant();
+        if (multitenant && properties.cacheMaxSize()
+                                     .isPresent()) {
+            _warn().log("The query cache is not used by a multi-tenant storage.");
+        }
+        this.cache = multitenant
+                     ? null
+                     : QueryCache.from(properties)
+                                 .orElse(null);
     }
 
     /**
@@ -59,21 +90,163 @@ public final class RelationalStorage implements Logging {
      *
      * @return a new {@code StorageFactory} instance
      */
-    StorageFactory storageFactory() {
+    public StorageFactory storageFactory() {
+        return storageFactory(UnaryOperator.identity());
+    }
+
+    /**
+     * Constructs the {@code StorageFactory} backed by a JDBC {@code DataSource} decorated
+     * with the given function.
+     *
+     * <p>If the cache is enabled, it wraps the decorated {@code DataSource}, so the decorator
+     * only sees the queries not served from the cache.
+     *
+     * @param decorator
+     *         the function wrapping the {@code DataSource}, e.g. to record metrics
+     * @return a new {@code StorageFactory} instance
+     */
+    public StorageFactory storageFactory(UnaryOperator<DataSource> decorator) {
+        return storageFactory(datasource(), decorator);
+    }
+
+    /**
+     * Constructs the {@code StorageFactory} backed by the given {@code DataSource}, decorated
+     * and cached the same way as the data source of this storage.
+     */
+    StorageFactory storageFactory(DataSource source, UnaryOperator<DataSource> decorator) {
+        DataSource dataSource = decorator.apply(source);
+        DataSource cached = cache != null
+                            ? cache.decorate(dataSource)
+                            : dataSource;
         return JdbcStorageFactory
                 .newBuilder()
-                .setDataSource(datasource())
+                .setDataSource(cached)
                 .build();
     }
 
-    private DataSource datasource() {
+    /**
+     * Creates the missing secondary indexes advised by the given advisor.
+     */
+    public void createIndexes(IndexAdvisor advisor) {
+        advisor.apply(pool());
+    }
+
+    /**
+     * Creates the registry of the shards being processed by the nodes sharing this storage.
+     *
+     * <p>The registry is shared by the tenants, so its connections are never switched to
+     * the schema of a tenant.
+     */
+    public ShardedWorkRegistry workRegistry() {
+        return JdbcShardedWorkRegistry.create(pool());
+    }
+
+    /**
+     * Creates the transport passing the messages through an outbox table of this storage.
+     *
+     * <p>The node ID, the batch size and the poll interval are taken from the
+     * {@linkplain ConnectionProperties#TRANSPORT_BATCH_SIZE connection properties}.
+     * The outbox is shared by the tenants, so the connections of the transport are never
+     * switched to the schema of a tenant.
+     */
+    public JdbcTransportFactory transportFactory() {
+        ConnectionProperties properties = connectionUrl.properties();
+        JdbcTransportFactory.Builder builder = JdbcTransportFactory
+                .newBuilder()
+                .setDataSource(pool());
+        properties.transportNodeId()
+                  .ifPresent(builder::setNodeId);
+        properties.transportBatchSize()
+                  .ifPresent(builder::setBatchSize);
+        properties.transportPollIntervalMillis()
+                  .ifPresent(millis -> builder.setPollInterval(Duration.ofMillis(millis)));
+        return builder.build();
+    }
+
+    /**
+     * Tells if the records of each tenant are kept in a separate schema.
+     */
+    public boolean multitenant() {
+        return multitenant;
+    }
+
+    /**
+     * Returns the cache of the entity reads, if it is enabled.
+     */
+    public Optional<QueryCache> cache() {
+        return Optional.ofNullable(cache);
+    }
+
+    /**
+     * Closes the connection pool of the storage.
+     *
+     * <p>The components created by the storage cannot be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            tenantSchemas = null;
+        }
+    }
+
+    /**
+     * Obtains the data source of the entity storages.
+     *
+     * <p>The connections of a multi-tenant storage are switched to the schema of the current
+     * tenant.
+     */
+    synchronized DataSource datasource() {
+        if (!multitenant) {
+            return pool();
+        }
+        if (tenantSchemas == null) {
+            tenantSchemas = new TenantSchemas(pool());
+        }
+        return tenantSchemas;
+    }
+
+    /**
+     * Obtains the connection pool of the storage, opening it on the first call.
+     *
+     * <p>The connections are never switched to the schema of a tenant, so the pool is used
+     * directly by the infrastructure shared by the whole cluster.
+     */
+    private synchronized HikariDataSource pool() {
+        if (pool == null) {
+            _debug().log("Connecting to the database. URL: `%s`", connectionUrl);
+            pool = new HikariDataSource(hikariConfig());
+        }
+        return pool;
+    }
+
+    /**
+     * Creates the configuration of the connection pool.
+     *
+     * <p>The pool and the driver tuning is taken from the {@linkplain ConnectionUrl#properties()
+     * connection properties}. The options which are not set keep the HikariCP defaults.
+     */
+    private HikariConfig hikariConfig() {
         HikariConfig config = new HikariConfig();
-        _debug().log("Connecting to the database. URL: `%s`", connectionUrl);
         config.setJdbcUrl(connectionUrl.toString());
         config.setUsername(dbCredentials.getUsername());
         config.setPassword(dbCredentials.getPassword());
-        DataSource dataSource = new HikariDataSource(config);
-        return dataSource;
+        ConnectionProperties properties = connectionUrl.properties();
+        properties.maxPoolSize()
+                  .ifPresent(config::setMaximumPoolSize);
+        properties.minIdle()
+                  .ifPresent(config::setMinimumIdle);
+        properties.connectionTimeoutMillis()
+                  .ifPresent(config::setConnectionTimeout);
+        properties.leakDetectionThresholdMillis()
+                  .ifPresent(config::setLeakDetectionThreshold);
+        properties.driverProperties()
+                  .forEach(config::addDataSourceProperty);
+        _debug().log("Connection pool: max size %s, min idle %s; driver properties: %s.",
+                     config.getMaximumPoolSize(), config.getMinimumIdle(),
+                     properties.driverProperties());
+        return config;
     }
 
     @VisibleForTesting
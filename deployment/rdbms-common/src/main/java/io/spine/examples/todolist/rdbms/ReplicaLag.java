@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Periodically checks the replication lag of a MySQL replica.
+ *
+ * <p>The replica is {@linkplain #acceptable() acceptable} for reads if its last check succeeded,
+ * the replication is running, and the replica is behind the primary by no more than
+ * the maximum lag. The check runs {@code SHOW SLAVE STATUS} and reads
+ * the {@code Seconds_Behind_Master} value, so the lag is known with the precision of a second.
+ *
+ * <p>The replica is not used until the first check succeeds.
+ */
+final class ReplicaLag implements Logging, AutoCloseable {
+
+    private static final String LAG_QUERY = "SHOW SLAVE STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean acceptable;
+
+    private ReplicaLag(DataSource replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("replica-lag-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+    }
+
+    /**
+     * Starts checking the lag of the given replica.
+     *
+     * @param replica
+     *         the replica data source
+     * @param maxLag
+     *         the maximum acceptable lag
+     * @param interval
+     *         the interval between the checks
+     */
+    static ReplicaLag start(DataSource replica, Duration maxLag, Duration interval) {
+        ReplicaLag result = new ReplicaLag(replica, maxLag);
+        result.scheduler.scheduleWithFixedDelay(result::check, 0, interval.toMillis(),
+                                                MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * Tells if the replica may serve the reads.
+     */
+    boolean acceptable() {
+        return acceptable;
+    }
+
+    /**
+     * Marks the replica as not acceptable until the next successful check.
+     *
+     * <p>Called when the replica fails to serve a read.
+     */
+    void reportFailure() {
+        acceptable = false;
+    }
+
+    private void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(LAG_QUERY)) {
+            boolean replicating = status.next();
+            long lagSeconds = replicating ? status.getLong(LAG_COLUMN) : 0;
+            boolean stopped = !replicating || status.wasNull();
+            boolean accept = !stopped && Duration.ofSeconds(lagSeconds)
+                                                 .compareTo(maxLag) <= 0;
+            if (accept != acceptable) {
+                _info().log("The read replica is %s; replicating: %s, lag: %d s.",
+                            accept ? "used" : "not used", !stopped, lagSeconds);
+            }
+            acceptable = accept;
+        } catch (SQLException | RuntimeException e) {
+            if (acceptable) {
+                _warn().withCause(e)
+                       .log("Unable to check the read replica. The reads go to the primary.");
+            }
+            acceptable = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
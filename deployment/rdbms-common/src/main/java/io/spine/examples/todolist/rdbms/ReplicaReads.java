@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.client.grpc.SubscriptionServiceGrpc;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the threads serving the read-only gRPC calls, so that their database reads may be
+ * routed to a replica.
+ *
+ * <p>The {@code QueryService} and the {@code SubscriptionService} read the projections,
+ * such as {@code TaskView} and {@code LabelView}, and never write to the storage. The calls
+ * to the other services, including the {@code CommandService}, are served by the primary
+ * database.
+ */
+final class ReplicaReads implements ServerInterceptor {
+
+    private static final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Tells if the current thread serves a read-only call.
+     */
+    static boolean active() {
+        return active.get();
+    }
+
+    /**
+     * Runs the given operation marking the current thread as serving a read-only call.
+     */
+    static <T> T run(Supplier<T> operation) {
+        boolean previous = active.get();
+        active.set(true);
+        try {
+            return operation.get();
+        } finally {
+            active.set(previous);
+        }
+    }
+
+    private static void run(Runnable operation) {
+        run(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call,
+                                                       Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String service = call.getMethodDescriptor()
+                             .getServiceName();
+        boolean readOnly = QueryServiceGrpc.SERVICE_NAME.equals(service)
+                || SubscriptionServiceGrpc.SERVICE_NAME.equals(service);
+        if (!readOnly) {
+            return next.startCall(call, headers);
+        }
+        ServerCall.Listener<Q> listener = run(() -> next.startCall(call, headers));
+        return new ReadOnlyListener<>(listener);
+    }
+
+    /**
+     * Marks the thread as serving a read-only call in each of the call callbacks.
+     *
+     * <p>gRPC may run the callbacks of the same call in different threads of the server
+     * executor, so the mark is set for each callback rather than for the call as a whole.
+     */
+    private static final class ReadOnlyListener<Q> extends SimpleForwardingServerCallListener<Q> {
+
+        private ReadOnlyListener(ServerCall.Listener<Q> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void onMessage(Q message) {
+            run(() -> super.onMessage(message));
+        }
+
+        @Override
+        public void onHalfClose() {
+            run(super::onHalfClose);
+        }
+
+        @Override
+        public void onCancel() {
+            run(super::onCancel);
+        }
+
+        @Override
+        public void onComplete() {
+            run(super::onComplete);
+        }
+
+        @Override
+        public void onReady() {
+            run(super::onReady);
+        }
+    }
+}
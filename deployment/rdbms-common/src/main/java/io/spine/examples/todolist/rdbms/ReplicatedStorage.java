@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import io.grpc.ServerInterceptor;
+import io.spine.server.storage.StorageFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A relational storage with a read replica.
+ *
+ * <p>The reads of the {@code QueryService} and the {@code SubscriptionService} calls, i.e.
+ * the reads of the {@code TaskView}, {@code LabelView} and the other projections, are served
+ * by the replica. All the other reads and all the writes, such as the appends of the aggregate
+ * events, go to the primary database.
+ *
+ * <p>The calls are recognized by the {@linkplain #readInterceptor() interceptor}, which must be
+ * added to the gRPC server.
+ *
+ * <p>The replica is used only while its replication lag is below
+ * the {@linkplain Builder#setMaxLag(Duration) maximum lag}. Otherwise, and if the replica is
+ * not available, the reads fall back to the primary. The lag is checked until the storage is
+ * {@linkplain #close() closed}.
+ */
+public final class ReplicatedStorage implements AutoCloseable {
+
+    /** The default maximum replication lag. */
+    public static final Duration DEFAULT_MAX_LAG = Duration.ofSeconds(5);
+
+    /** The default interval between the checks of the replication lag. */
+    public static final Duration DEFAULT_LAG_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+    private final RelationalStorage primary;
+    private final RelationalStorage replica;
+    private final Duration maxLag;
+    private final Duration lagCheckInterval;
+    private final List<ReplicaLag> lags = new CopyOnWriteArrayList<>();
+
+    private ReplicatedStorage(Builder builder) {
+        this.primary = builder.primary;
+        this.replica = builder.replica;
+        this.maxLag = builder.maxLag;
+        this.lagCheckInterval = builder.lagCheckInterval;
+    }
+
+    /**
+     * Creates a new builder of the storage.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the storage with the replication lag bounds specified by the given properties.
+     */
+    static ReplicatedStorage from(RelationalStorage primary,
+                                  RelationalStorage replica,
+                                  ConnectionProperties properties) {
+        Builder builder = newBuilder()
+                .setPrimary(primary)
+                .setReplica(replica);
+        properties.replicaMaxLagMillis()
+                  .ifPresent(millis -> builder.setMaxLag(Duration.ofMillis(millis)));
+        properties.replicaLagCheckIntervalMillis()
+                  .ifPresent(millis -> builder.setLagCheckInterval(Duration.ofMillis(millis)));
+        return builder.build();
+    }
+
+    /**
+     * Constructs the {@code StorageFactory} routing the read-only calls to the replica.
+     *
+     * @param decorator
+     *         the function wrapping the routing {@code DataSource}, e.g. to record metrics
+     * @return a new {@code StorageFactory} instance
+     */
+    public StorageFactory storageFactory(UnaryOperator<DataSource> decorator) {
+        checkNotNull(decorator);
+        DataSource replicaSource = replica.datasource();
+        ReplicaLag lag = ReplicaLag.start(replicaSource, maxLag, lagCheckInterval);
+        lags.add(lag);
+        DataSource routing = new RoutingDataSource(primary.datasource(), replicaSource, lag);
+        return primary.storageFactory(routing, decorator);
+    }
+
+    /**
+     * Creates the gRPC server interceptor marking the read-only calls.
+     */
+    public ServerInterceptor readInterceptor() {
+        return new ReplicaReads();
+    }
+
+    /**
+     * Stops checking the replication lag.
+     */
+    @Override
+    public void close() {
+        lags.forEach(ReplicaLag::close);
+        lags.clear();
+    }
+
+    /**
+     * A builder of the {@code ReplicatedStorage}.
+     */
+    public static final class Builder {
+
+        private RelationalStorage primary;
+        private RelationalStorage replica;
+        private Duration maxLag = DEFAULT_MAX_LAG;
+        private Duration lagCheckInterval = DEFAULT_LAG_CHECK_INTERVAL;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /** Sets the primary database serving the writes. */
+        public Builder setPrimary(RelationalStorage primary) {
+            this.primary = checkNotNull(primary);
+            return this;
+        }
+
+        /** Sets the replica serving the read-only calls. */
+        public Builder setReplica(RelationalStorage replica) {
+            this.replica = checkNotNull(replica);
+            return this;
+        }
+
+        /**
+         * Sets the maximum replication lag at which the replica still serves the reads.
+         *
+         * <p>The default value is {@link #DEFAULT_MAX_LAG}.
+         */
+        public Builder setMaxLag(Duration maxLag) {
+            checkNotNull(maxLag);
+            checkArgument(!maxLag.isNegative(), "The maximum lag must not be negative.");
+            this.maxLag = maxLag;
+            return this;
+        }
+
+        /**
+         * Sets the interval between the checks of the replication lag.
+         *
+         * <p>The default value is {@link #DEFAULT_LAG_CHECK_INTERVAL}.
+         */
+        public Builder setLagCheckInterval(Duration interval) {
+            checkNotNull(interval);
+            checkArgument(!interval.isNegative() && !interval.isZero(),
+                          "The lag check interval must be positive.");
+            this.lagCheckInterval = interval;
+            return this;
+        }
+
+        /**
+         * Creates a new {@code ReplicatedStorage}.
+         */
+        public ReplicatedStorage build() {
+            checkNotNull(primary, "The primary storage must be set.");
+            checkNotNull(replica, "The replica storage must be set.");
+            return new ReplicatedStorage(this);
+        }
+    }
+}
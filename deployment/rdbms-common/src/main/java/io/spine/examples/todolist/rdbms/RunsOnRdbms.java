@@ -26,17 +26,33 @@
 
 package io.spine.examples.todolist.rdbms;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import io.spine.base.Production;
 import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.ServerOptions;
+import io.spine.examples.todolist.server.delivery.ShardedDelivery;
+import io.spine.examples.todolist.server.metrics.Metrics;
+import io.spine.examples.todolist.server.metrics.MetricsEndpoint;
+import io.spine.examples.todolist.server.rebuild.ProjectionRebuild;
 import io.spine.examples.todolist.server.tasks.TasksContextFactory;
 import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
 import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.transport.TransportFactory;
 import io.spine.server.transport.memory.InMemoryTransportFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
 
+import static com.google.common.base.Preconditions.checkState;
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 import static io.spine.examples.todolist.server.Server.newServer;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 
 /**
  * An abstract base for To-Do List application servers that are backed by a relational storage.
@@ -47,23 +63,242 @@ import static io.spine.examples.todolist.server.Server.newServer;
  * properties}. This behavior can be changed by overriding {@code connectionProperties()} to,
  * for example, parse the configuration from a local file.
  *
- * <p>To run the server, use {@link #start()}.
+ * <p>The gRPC server is tuned with the {@linkplain ServerOptions#fromSystemProperties() server
+ * options} set by the system properties.
+ *
+ * <p>A read replica may be configured with the {@code db.replica.*} properties, see
+ * {@link ConnectionProperties#REPLICA_PREFIX}.
+ *
+ * <p>If the storage is {@linkplain ConnectionProperties#MULTITENANT multi-tenant}, the server
+ * runs a multi-tenant context, keeping the records of each tenant in a separate schema.
+ *
+ * <p>Several servers may run against the same storage, splitting the delivery of the signals
+ * between them, see {@link ShardedDelivery}. The query cache is not allowed then, as it is not
+ * invalidated by the writes of the other nodes. The subscription updates are published only
+ * by the node which applied them, so the subscribers of a node miss the updates applied by
+ * the other nodes. The messages between the contexts are passed
+ * through the {@linkplain JdbcTransportFactory outbox} kept in the same storage, so they are
+ * not lost if a server stops.
+ *
+ * <p>To run the server, use {@link #start()}. Once the storage tables are created, the server
+ * creates the {@linkplain IndexAdvisor#forTasksContext() indexes} used by the queries.
+ * To rebuild the projections from the event history instead, use
+ * {@link #rebuildProjections(int)}.
  */
 public abstract class RunsOnRdbms {
 
+    private static final String CACHE_NAME = "todolist.storage.cache";
+
     /**
      * Launches the To-Do List application server.
+     *
+     * <p>The metrics are served on the {@linkplain MetricsEndpoint#portFromSystemProperties()
+     * configured port}.
+     *
+     * <p>Returns once the server is stopped, having stopped serving the metrics, delivering
+     * the signals, relaying the outbox and checking the read replica, and having closed
+     * the context and the connection pools.
      */
     public final void start() throws IOException {
+        Metrics metrics = Metrics.newInstance();
+        ConnectionProperties properties = connectionProperties();
+        RelationalStorage storage = storage(properties);
+        Optional<ShardedDelivery> delivery = shardedDelivery(storage, properties);
+        checkCacheNotShared(storage, delivery.map(ShardedDelivery::nodeCount)
+                                             .orElse(1));
+        JdbcTransportFactory transport = storage.transportFactory();
+        Optional<RelationalStorage> replica = properties.replica()
+                                                        .map(this::storage);
+        Optional<ReplicatedStorage> replicated =
+                replica.map(r -> ReplicatedStorage.from(storage, r, properties));
+        ServerOptions.Builder options = ServerOptions.fromSystemProperties();
+        StorageFactory storageFactory;
+        if (replicated.isPresent()) {
+            storageFactory = replicated.get()
+                                       .storageFactory(metrics::timed);
+            options.addInterceptor(replicated.get()
+                                             .readInterceptor());
+        } else {
+            storageFactory = storage.storageFactory(metrics::timed);
+        }
+        configureEnvironment(storage, storageFactory, transport, metrics);
+        delivery.ifPresent(ShardedDelivery::install);
+        BoundedContext context = metrics.instrument(contextBuilder(storage))
+                                        .build();
+        try {
+            storage.createIndexes(IndexAdvisor.forTasksContext());
+            delivery.ifPresent(ShardedDelivery::start);
+            transport.start();
+            MetricsEndpoint metricsEndpoint =
+                    metrics.serve(MetricsEndpoint.portFromSystemProperties());
+            Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, context, options.build());
+            try {
+                server.start();
+            } finally {
+                metricsEndpoint.stop();
+            }
+        } finally {
+            try {
+                shutDown(delivery.orElse(null), transport, context);
+            } finally {
+                replicated.ifPresent(ReplicatedStorage::close);
+                replica.ifPresent(RelationalStorage::close);
+                storage.close();
+            }
+        }
+    }
+
+    /**
+     * Stops the delivery of the signals, then closes the transport and the context.
+     *
+     * <p>The transport and the context are closed even if stopping the preceding ones fails.
+     *
+     * @param delivery
+     *         the delivery split between the nodes, or {@code null} if the server runs
+     *         on a single node
+     * @param transport
+     *         the transport to close
+     * @param context
+     *         the context to close
+     *
+     * @throws IllegalStateException
+     *         if the transport or the context cannot be closed
+     */
+    @VisibleForTesting
+    static void shutDown(@Nullable ShardedDelivery delivery,
+                         JdbcTransportFactory transport,
+                         BoundedContext context) {
+        if (delivery != null) {
+            try {
+                delivery.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+        }
+        IllegalStateException failure = null;
+        for (AutoCloseable resource : ImmutableList.<AutoCloseable>of(transport, context)) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = illegalStateWithCauseOf(e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Rebuilds the projections of the To-Do List application from the event history.
+     *
+     * <p>The application server must not run against the same storage during the rebuild.
+     * If a previous rebuild has not completed, it is continued.
+     *
+     * <p>The rebuild reads and writes the primary database only, so a configured read replica
+     * is not used.
+     *
+     * <p>The rebuild of a multi-tenant storage is not supported yet.
+     *
+     * @param shardCount
+     *         the number of the shards replayed in parallel; continuing an unfinished rebuild
+     *         requires the same number as the one it was started with
+     * @throws IllegalStateException
+     *         if the storage is multi-tenant
+     */
+    public final void rebuildProjections(int shardCount) throws InterruptedException {
         ConnectionProperties properties = connectionProperties();
         RelationalStorage storage = storage(properties);
+        checkState(!storage.multitenant(),
+                   "The projections of a multi-tenant storage cannot be rebuilt.");
+        Metrics metrics = Metrics.newInstance();
+        configureEnvironment(storage, storage.storageFactory(metrics::timed),
+                             InMemoryTransportFactory.newInstance(), metrics);
+        ProjectionRebuild rebuild = ProjectionRebuild
+                .newBuilder()
+                .setShardCount(shardCount)
+                .build();
+        try {
+            rebuild.run(TasksContextFactory.builder());
+        } finally {
+            storage.close();
+        }
+    }
+
+    /**
+     * Creates the delivery of the signals split between several nodes, if the node is
+     * {@linkplain ShardedDelivery#fromSystemProperties() configured} so.
+     *
+     * <p>The nodes share the inbox and the shard registry kept in the relational storage.
+     * The interval between the polls of the inbox is set by
+     * the {@linkplain ConnectionProperties#DELIVERY_POLL_INTERVAL connection properties}.
+     */
+    private static Optional<ShardedDelivery>
+    shardedDelivery(RelationalStorage storage, ConnectionProperties properties) {
+        Optional<ShardedDelivery.Builder> configured = ShardedDelivery.fromSystemProperties();
+        if (!configured.isPresent()) {
+            return Optional.empty();
+        }
+        ShardedDelivery.Builder builder = configured.get();
+        OptionalLong pollInterval = properties.deliveryPollIntervalMillis();
+        if (pollInterval.isPresent()) {
+            builder.setPollInterval(Duration.ofMillis(pollInterval.getAsLong()));
+        }
+        ShardedDelivery delivery = builder.setWorkRegistry(storage.workRegistry())
+                                          .build();
+        return Optional.of(delivery);
+    }
+
+    /**
+     * Makes sure the query cache is not used when several nodes share the storage.
+     *
+     * <p>The cache of a node is not invalidated by the writes of the other nodes, so it would
+     * serve the stale entity states.
+     *
+     * @param nodeCount
+     *         the number of the nodes sharing the storage
+     * @throws IllegalStateException
+     *         if the cache is enabled and the storage is shared by several nodes
+     */
+    @VisibleForTesting
+    static void checkCacheNotShared(RelationalStorage storage, int nodeCount) {
+        checkState(nodeCount == 1 || !storage.cache()
+                                             .isPresent(),
+                   "The query cache cannot be used by several nodes. Unset `%s` or `%s`.",
+                   ConnectionProperties.CACHE_MAX_SIZE, ShardedDelivery.NODE_COUNT);
+    }
+
+    private static BoundedContextBuilder contextBuilder(RelationalStorage storage) {
+        return storage.multitenant()
+               ? TasksContextFactory.multitenantBuilder()
+               : TasksContextFactory.builder();
+    }
+
+    /**
+     * Configures the server environment to use the given storage factory and transport.
+     *
+     * @param storage
+     *         the relational storage, the cache of which is monitored
+     * @param storageFactory
+     *         the storage factory backed by the relational storage
+     * @param transport
+     *         the transport of the messages between the contexts
+     */
+    private static void configureEnvironment(RelationalStorage storage,
+                                             StorageFactory storageFactory,
+                                             TransportFactory transport,
+                                             Metrics metrics) {
+        storage.cache()
+               .ifPresent(cache -> metrics.monitor(CACHE_NAME, cache.entries()));
         ServerEnvironment
                 .when(Production.class)
-                .use(storage.storageFactory())
-                .use(InMemoryTransportFactory.newInstance());
-        BoundedContext context = TasksContextFactory.create();
-        Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, context);
-        server.start();
+                .use(storageFactory)
+                .use(metrics.tracing())
+                .use(transport);
     }
 
     /**
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static java.util.regex.Pattern.DOTALL;
+
+/**
+ * An SQL statement classified for the {@link QueryCache}.
+ *
+ * <p>The Spine JDBC storage identifies the rows of an entity or of an aggregate history by
+ * the {@value #ID_COLUMN} column. A statement is bound to an entity if the value of this column
+ * is passed as a parameter, e.g. {@code SELECT ... FROM t WHERE id = ?} or
+ * {@code INSERT INTO t (id, ...) VALUES (?, ...)}.
+ *
+ * <p>Only the queries bound to an entity are cached. A write bound to entities invalidates
+ * the cached queries of these entities; any other write invalidates the whole table.
+ */
+final class SqlStatement {
+
+    private static final String ID_COLUMN = "id";
+
+    private static final String NAME = "([`\"\\w.]+)";
+
+    private static final Pattern SELECT = compile("^select\\s.+?\\sfrom\\s+" + NAME + "(.*)$");
+    private static final Pattern INSERT = compile(
+            "^(?:insert|replace|merge)\\s+(?:ignore\\s+)?into\\s+" + NAME
+                    + "\\s*\\(([^)]*)\\)\\s*(?:key\\s*\\([^)]*\\)\\s*)?values\\s*(.*)$");
+    private static final Pattern UPDATE = compile("^update\\s+" + NAME + "\\s+set\\s(.*)$");
+    private static final Pattern DELETE = compile("^delete\\s+from\\s+" + NAME + "(.*)$");
+    private static final Pattern WHERE_ID = compile(
+            "\\s(?:where|and)\\s+(?:[`\"\\w]+\\.)?[`\"]?" + ID_COLUMN + "[`\"]?\\s*=\\s*\\?");
+    private static final Pattern NOT_BOUND = compile(
+            "\\s(?:or|join|union)\\s|\\sfor\\s+update\\b|\\sin\\s*\\(");
+    private static final Pattern VALUES_TUPLE = compile("^\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private final String sql;
+    private final Kind kind;
+    private final String table;
+    private final ImmutableList<Integer> idParameters;
+
+    private SqlStatement(String sql,
+                         Kind kind,
+                         String table,
+                         ImmutableList<Integer> idParameters) {
+        this.sql = sql;
+        this.kind = kind;
+        this.table = table;
+        this.idParameters = idParameters;
+    }
+
+    /**
+     * Classifies the given SQL.
+     */
+    static SqlStatement parse(String sql) {
+        String text = sql.trim();
+        Matcher select = SELECT.matcher(text);
+        if (select.matches()) {
+            return new SqlStatement(text, Kind.QUERY, tableName(select.group(1)),
+                                    whereId(text, select.start(2)));
+        }
+        Matcher insert = INSERT.matcher(text);
+        if (insert.matches()) {
+            return new SqlStatement(text, Kind.WRITE, tableName(insert.group(1)),
+                                    insertedIds(text, insert));
+        }
+        Matcher update = UPDATE.matcher(text);
+        if (update.matches()) {
+            return new SqlStatement(text, Kind.WRITE, tableName(update.group(1)),
+                                    whereId(text, update.start(2)));
+        }
+        Matcher delete = DELETE.matcher(text);
+        if (delete.matches()) {
+            return new SqlStatement(text, Kind.WRITE, tableName(delete.group(1)),
+                                    whereId(text, delete.start(2)));
+        }
+        return new SqlStatement(text, Kind.OTHER, "", ImmutableList.of());
+    }
+
+    /**
+     * Obtains the index of the ID parameter in the {@code WHERE} clause starting
+     * at {@code from}.
+     *
+     * <p>Returns an empty list if the clause may match more than one entity.
+     */
+    private static ImmutableList<Integer> whereId(String sql, int from) {
+        String tail = sql.substring(from);
+        if (NOT_BOUND.matcher(tail)
+                     .find()) {
+            return ImmutableList.of();
+        }
+        Matcher whereId = WHERE_ID.matcher(tail);
+        if (!whereId.find()) {
+            return ImmutableList.of();
+        }
+        int index = countParameters(sql.substring(0, from + whereId.end()));
+        return ImmutableList.of(index);
+    }
+
+    /**
+     * Obtains the indexes of the ID parameters of all the rows inserted by the statement.
+     *
+     * <p>Returns an empty list if any of the values is not a plain parameter.
+     */
+    private static ImmutableList<Integer> insertedIds(String sql, Matcher insert) {
+        String[] columns = insert.group(2)
+                                 .split(",");
+        int idColumn = -1;
+        for (int i = 0; i < columns.length; i++) {
+            if (ID_COLUMN.equals(tableName(columns[i].trim()))) {
+                idColumn = i;
+            }
+        }
+        if (idColumn < 0 || countParameters(sql.substring(0, insert.start(3))) > 0) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<Integer> result = ImmutableList.builder();
+        String values = insert.group(3)
+                              .trim();
+        int offset = 0;
+        while (!values.isEmpty()) {
+            Matcher tuple = VALUES_TUPLE.matcher(values);
+            if (!tuple.find() || countParameters(tuple.group()) != columns.length) {
+                return ImmutableList.of();
+            }
+            result.add(offset + idColumn + 1);
+            offset += columns.length;
+            values = values.substring(tuple.end())
+                           .trim();
+            if (values.startsWith(",")) {
+                values = values.substring(1)
+                               .trim();
+            } else if (!values.isEmpty()) {
+                return ImmutableList.of();
+            }
+        }
+        return result.build();
+    }
+
+    private static int countParameters(String sql) {
+        int result = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private static String tableName(String quoted) {
+        return quoted.replace("`", "")
+                     .replace("\"", "")
+                     .toLowerCase(Locale.ROOT);
+    }
+
+    private static Pattern compile(String regex) {
+        return Pattern.compile(regex, CASE_INSENSITIVE | DOTALL);
+    }
+
+    /**
+     * Returns the trimmed SQL of the statement.
+     */
+    String sql() {
+        return sql;
+    }
+
+    /**
+     * Tells if the statement is a query which may be cached.
+     */
+    boolean isCacheableQuery() {
+        return kind == Kind.QUERY && idParameters.size() == 1;
+    }
+
+    /**
+     * Tells if the statement may modify the data.
+     */
+    boolean isWrite() {
+        return kind != Kind.QUERY;
+    }
+
+    /**
+     * Tells if the statement modifies the rows of known entities in a known table.
+     */
+    boolean isBoundWrite() {
+        return kind == Kind.WRITE && !idParameters.isEmpty();
+    }
+
+    /**
+     * Tells if it is unknown which tables are modified by the statement.
+     */
+    boolean isUnknownWrite() {
+        return kind == Kind.OTHER;
+    }
+
+    /**
+     * Returns the lower-case name of the table, or an empty string for an unknown statement.
+     */
+    String table() {
+        return table;
+    }
+
+    /**
+     * Returns the 1-based indexes of the parameters holding the entity IDs.
+     */
+    ImmutableList<Integer> idParameters() {
+        return idParameters;
+    }
+
+    private enum Kind {
+        QUERY,
+        WRITE,
+        OTHER
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import io.spine.core.TenantId;
+import io.spine.logging.Logging;
+import io.spine.server.tenant.TenantFunction;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A data source keeping the records of each tenant in a separate database schema.
+ *
+ * <p>A connection obtained while a {@linkplain #currentTenant(TenantId) tenant is set} is switched to
+ * the schema of the tenant. The connections obtained outside of a tenant, e.g. to maintain
+ * the registry of the tenants, use the default schema of the database.
+ *
+ * <p>The JDBC storage creates its tables once, in the default schema. So, the first time
+ * a tenant is seen, its schema is created with the same tables, the same primary keys and
+ * the same indexes as in the default schema. The tables of the default schema must exist by
+ * then, i.e. the context must be built before it serves the requests of the tenants.
+ *
+ * <p>A connection switched to a tenant schema is switched back to the default schema when
+ * it is closed, before it is returned to the pool. The pools do not do so: e.g. HikariCP resets
+ * only the catalog of a connection. If the schema cannot be reset, the connection is aborted,
+ * so that the pool does not hand it out again.
+ *
+ * <p>For the databases which have no schemas, but several catalogs, such as MySQL, a catalog
+ * per tenant is used instead.
+ */
+final class TenantSchemas implements DataSource, Logging {
+
+    private static final String SCHEMA_PREFIX = "tenant_";
+    private static final int NAME_HASH_LENGTH = 16;
+    private static final String CLOSE = "close";
+
+    private final DataSource pool;
+    private final Supplier<Optional<TenantId>> currentTenant;
+    private final Set<String> provisioned = ConcurrentHashMap.newKeySet();
+    private volatile @Nullable Namespaces namespaces;
+
+    /**
+     * Creates a new instance switching the connections of the given pool to the schema
+     * of the tenant set in the current thread.
+     *
+     * <p>Must be called outside of a tenant request, so that the tenant reported when no tenant
+     * is set is known.
+     */
+    TenantSchemas(DataSource pool) {
+        this(pool, noTenantReportedAs(tenantOrDefault()));
+    }
+
+    /**
+     * Creates the supplier of the current tenant, which tells no tenant is set if the tenant
+     * is reported as the given one.
+     */
+    private static Supplier<Optional<TenantId>> noTenantReportedAs(TenantId noTenant) {
+        return () -> currentTenant(noTenant);
+    }
+
+    /**
+     * Creates a new instance switching the connections of the given pool to the schema
+     * of the tenant supplied by the given function.
+     */
+    TenantSchemas(DataSource pool, Supplier<Optional<TenantId>> currentTenant) {
+        this.pool = checkNotNull(pool);
+        this.currentTenant = checkNotNull(currentTenant);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Optional<TenantId> tenant = currentTenant.get();
+        Connection connection = pool.getConnection();
+        if (!tenant.isPresent()) {
+            return connection;
+        }
+        try {
+            Namespaces namespaces = switchTo(connection, schemaOf(tenant.get()));
+            return resettingOnClose(connection, namespaces);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtains the name of the schema of the given tenant.
+     *
+     * <p>The name is derived from a hash of the tenant ID, so it is a valid identifier
+     * whatever the ID is.
+     */
+    static String schemaOf(TenantId tenant) {
+        String hash = Hashing.sha256()
+                             .hashBytes(tenant.toByteArray())
+                             .toString();
+        return SCHEMA_PREFIX + hash.substring(0, NAME_HASH_LENGTH);
+    }
+
+    private Namespaces switchTo(Connection connection, String schema) throws SQLException {
+        Namespaces namespaces = namespaces(connection);
+        if (!provisioned.contains(schema)) {
+            provision(connection, namespaces, schema);
+        }
+        namespaces.use(connection, schema);
+        return namespaces;
+    }
+
+    /**
+     * Wraps the connection switched to a tenant schema, so that closing the wrapper switches
+     * the connection back to the default schema before closing it.
+     */
+    private Connection resettingOnClose(Connection connection, Namespaces namespaces) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (CLOSE.equals(method.getName()) && method.getParameterCount() == 0) {
+                release(connection, namespaces);
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                   new Class<?>[]{Connection.class},
+                                                   handler);
+    }
+
+    /**
+     * Switches the connection back to the default schema and closes it.
+     *
+     * <p>If the schema cannot be reset, the connection is aborted, so it is not reused with
+     * the schema of the tenant.
+     */
+    private void release(Connection connection, Namespaces namespaces) throws SQLException {
+        try {
+            if (!connection.isClosed()) {
+                namespaces.use(connection, namespaces.defaultName);
+            }
+        } catch (SQLException e) {
+            _warn().withCause(e)
+                   .log("Unable to reset the schema of a connection. Aborting the connection.");
+            connection.abort(Runnable::run);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Obtains the namespaces of the database, reading them from the first connection
+     * of a tenant.
+     */
+    private Namespaces namespaces(Connection connection) throws SQLException {
+        Namespaces result = namespaces;
+        if (result == null) {
+            result = new Namespaces(connection);
+            namespaces = result;
+        }
+        return result;
+    }
+
+    /**
+     * Creates the schema and copies the tables of the default schema into it.
+     *
+     * <p>The tables which already exist in the tenant schema are left intact. A failure is
+     * logged, and the provisioning is retried on the next connection of the tenant. This way,
+     * e.g. a read replica, which does not allow writes, still uses the schemas replicated from
+     * the primary database.
+     */
+    private void provision(Connection connection, Namespaces namespaces, String schema) {
+        try (Statement statement = connection.createStatement()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + namespaces.quoted(schema));
+            ImmutableList<String> existing = namespaces.tables(metaData, schema);
+            for (String table : namespaces.tables(metaData, namespaces.defaultName)) {
+                if (!existing.contains(table)) {
+                    copyTable(statement, metaData, namespaces, table, schema);
+                }
+            }
+            provisioned.add(schema);
+            _info().log("Provisioned the tenant schema `%s`.", schema);
+        } catch (SQLException e) {
+            _warn().withCause(e)
+                   .log("Unable to provision the tenant schema `%s`.", schema);
+        }
+    }
+
+    private static void copyTable(Statement statement,
+                                  DatabaseMetaData metaData,
+                                  Namespaces namespaces,
+                                  String table,
+                                  String schema) throws SQLException {
+        String source = namespaces.qualified(namespaces.defaultName, table);
+        String target = namespaces.qualified(schema, table);
+        statement.execute(format("CREATE TABLE %s AS SELECT * FROM %s WHERE 1 = 0",
+                                 target, source));
+        List<String> primaryKey = namespaces.primaryKey(metaData, table);
+        if (!primaryKey.isEmpty()) {
+            statement.execute(format("ALTER TABLE %s ADD PRIMARY KEY (%s)",
+                                     target, namespaces.columnList(primaryKey)));
+        }
+        Map<String, Index> indexes = namespaces.indexes(metaData, table);
+        for (Map.Entry<String, Index> entry : indexes.entrySet()) {
+            Index index = entry.getValue();
+            List<String> columns = index.columns();
+            if (columns.equals(primaryKey)) {
+                continue;
+            }
+            statement.execute(format("CREATE %sINDEX %s ON %s (%s)",
+                                     index.unique ? "UNIQUE " : "",
+                                     namespaces.quoted(entry.getKey()),
+                                     target,
+                                     namespaces.columnList(columns)));
+        }
+    }
+
+    /**
+     * Obtains the tenant set in the current thread.
+     *
+     * <p>The tenant is set by the multi-tenant context for the time of handling a request.
+     * Outside of a request, e.g. when the registry of the tenants is read, the current tenant is
+     * reported as the one of a single-tenant context, which is {@code noTenant}.
+     *
+     * @param noTenant
+     *         the tenant reported when no tenant is set
+     */
+    private static Optional<TenantId> currentTenant(TenantId noTenant) {
+        TenantId tenant = tenantOrDefault();
+        return tenant.equals(noTenant)
+               ? Optional.empty()
+               : Optional.of(tenant);
+    }
+
+    /**
+     * Obtains the tenant set in the current thread, or the tenant of a single-tenant context
+     * if none is set.
+     */
+    private static TenantId tenantOrDefault() {
+        TenantId result = new TenantFunction<TenantId>(false) {
+            @Override
+            public TenantId apply(TenantId tenant) {
+                return tenant;
+            }
+        }.execute();
+        return checkNotNull(result);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pool.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return pool.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        pool.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        pool.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return pool.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return pool.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        return pool.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        return type.isInstance(this) || pool.isWrapperFor(type);
+    }
+
+    /**
+     * The schemas or, if the database has no schemas, the catalogs of the database.
+     */
+    private static final class Namespaces {
+
+        private final boolean catalogs;
+        private final String defaultName;
+        private final String quote;
+
+        private Namespaces(Connection connection) throws SQLException {
+            DatabaseMetaData metaData = connection.getMetaData();
+            this.catalogs = !metaData.supportsSchemasInDataManipulation();
+            this.defaultName = catalogs
+                               ? connection.getCatalog()
+                               : connection.getSchema();
+            this.quote = metaData.getIdentifierQuoteString()
+                                 .trim();
+        }
+
+        private void use(Connection connection, String name) throws SQLException {
+            if (catalogs) {
+                connection.setCatalog(name);
+            } else {
+                connection.setSchema(name);
+            }
+        }
+
+        private String quoted(String name) {
+            return quote + name + quote;
+        }
+
+        private String qualified(String namespace, String table) {
+            return quoted(namespace) + '.' + quoted(table);
+        }
+
+        private String columnList(List<String> columns) {
+            return columns.stream()
+                          .map(this::quoted)
+                          .collect(joining(", "));
+        }
+
+        private ImmutableList<String> tables(DatabaseMetaData metaData, String namespace)
+                throws SQLException {
+            ImmutableList.Builder<String> result = ImmutableList.builder();
+            try (ResultSet tables = metaData.getTables(catalog(metaData, namespace),
+                                                       schema(namespace),
+                                                       "%", new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    result.add(tables.getString("TABLE_NAME"));
+                }
+            }
+            return result.build();
+        }
+
+        private List<String> primaryKey(DatabaseMetaData metaData, String table)
+                throws SQLException {
+            Map<Short, String> columns = new TreeMap<>();
+            try (ResultSet keys = metaData.getPrimaryKeys(catalog(metaData, defaultName),
+                                                          schema(defaultName),
+                                                          table)) {
+                while (keys.next()) {
+                    columns.put(keys.getShort("KEY_SEQ"), keys.getString("COLUMN_NAME"));
+                }
+            }
+            return new ArrayList<>(columns.values());
+        }
+
+        private Map<String, Index> indexes(DatabaseMetaData metaData, String table)
+                throws SQLException {
+            Map<String, Index> result = new LinkedHashMap<>();
+            try (ResultSet info = metaData.getIndexInfo(catalog(metaData, defaultName),
+                                                        schema(defaultName),
+                                                        table, false, true)) {
+                while (info.next()) {
+                    String index = info.getString("INDEX_NAME");
+                    String column = info.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        boolean unique = !info.getBoolean("NON_UNIQUE");
+                        result.computeIfAbsent(index, name -> new Index(unique))
+                              .positions
+                              .put(info.getShort("ORDINAL_POSITION"), column);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private String catalog(DatabaseMetaData metaData, String namespace) throws SQLException {
+            return catalogs
+                   ? namespace
+                   : metaData.getConnection()
+                             .getCatalog();
+        }
+
+        private @Nullable String schema(String namespace) {
+            return catalogs
+                   ? null
+                   : namespace;
+        }
+    }
+
+    /**
+     * An index of a table in the default schema.
+     */
+    private static final class Index {
+
+        private final boolean unique;
+        private final Map<Short, String> positions = new TreeMap<>();
+
+        private Index(boolean unique) {
+            this.unique = unique;
+        }
+
+        private List<String> columns() {
+            return new ArrayList<>(positions.values());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.cache.CacheStats;
+import io.spine.base.CommandMessage;
+import io.spine.base.Environment;
+import io.spine.base.Tests;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.rdbms.given.RdbmsTestEnv.TestServer;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.DescriptionChange;
+import io.spine.examples.todolist.tasks.TaskDescription;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.command.UpdateTaskDescription;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.projection.ProjectionRepository;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+@DisplayName("`RelationalStorage` with the query cache should")
+class CachedStorageTest {
+
+    private static final String DESCRIPTION = "Buy groceries";
+    private static final String NEW_DESCRIPTION = "Buy groceries and milk";
+    private static final UserId USER = UserId
+            .newBuilder()
+            .setValue("cache-user")
+            .build();
+
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(USER)
+            .build();
+
+    private RelationalStorage storage;
+    private QueryCache cache;
+    private BoundedContext context;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setDbName("tasks")
+                .setUsername("sa")
+                .setPassword("")
+                .setInstanceName(newUuid())
+                .setConnectionProtocol("jdbc:acme:")
+                .setCacheMaxSize(1_000)
+                .setEnvType(Tests.class)
+                .build();
+        storage = new TestServer(properties).storage(properties);
+        cache = storage.cache()
+                       .orElseThrow(IllegalStateException::new);
+        ServerEnvironment.when(Tests.class)
+                         .use(storage.storageFactory())
+                         .use(InMemoryTransportFactory.newInstance());
+        context = TasksContextFactory.create();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+        ServerEnvironment.instance()
+                         .reset();
+        Environment.instance()
+                   .reset();
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("load and store the aggregates of the Tasks context")
+    void storeAggregates() {
+        TaskId task = TaskId.generate();
+        post(createTask(task));
+        post(updateDescription(task));
+
+        assertThat(cache.stats()
+                        .requestCount()).isGreaterThan(0);
+        assertThat(descriptionOf(task)).isEqualTo(NEW_DESCRIPTION);
+    }
+
+    @Test
+    @DisplayName("serve the repeated projection reads from memory")
+    void serveProjectionReads() {
+        TaskId task = TaskId.generate();
+        post(createTask(task));
+
+        descriptionOf(task);
+        CacheStats before = cache.stats();
+        assertThat(descriptionOf(task)).isEqualTo(DESCRIPTION);
+        CacheStats after = cache.stats();
+
+        assertThat(after.hitCount()).isGreaterThan(before.hitCount());
+        assertThat(after.missCount()).isEqualTo(before.missCount());
+    }
+
+    @Test
+    @DisplayName("read the new state of a projection after a write")
+    void readAfterWrite() {
+        TaskId task = TaskId.generate();
+        post(createTask(task));
+        assertThat(descriptionOf(task)).isEqualTo(DESCRIPTION);
+
+        post(updateDescription(task));
+        assertThat(descriptionOf(task)).isEqualTo(NEW_DESCRIPTION);
+    }
+
+    private void post(CommandMessage command) {
+        context.commandBus()
+               .post(requests.command()
+                             .create(command), noOpObserver());
+    }
+
+    @SuppressWarnings("unchecked") // Ensured by the type of the projection state.
+    private String descriptionOf(TaskId id) {
+        ProjectionRepository<TaskId, ?, TaskView> repository =
+                (ProjectionRepository<TaskId, ?, TaskView>)
+                        context.internalAccess()
+                               .findRepository(TaskView.class)
+                               .orElseThrow(IllegalStateException::new);
+        return repository.find(id)
+                         .orElseThrow(IllegalStateException::new)
+                         .state()
+                         .getDescription()
+                         .getValue();
+    }
+
+    private static CreateBasicTask createTask(TaskId id) {
+        return CreateBasicTask
+                .newBuilder()
+                .setId(id)
+                .setDescription(description(DESCRIPTION))
+                .build();
+    }
+
+    private static UpdateTaskDescription updateDescription(TaskId id) {
+        DescriptionChange change = DescriptionChange
+                .newBuilder()
+                .setPreviousValue(description(DESCRIPTION))
+                .setNewValue(description(NEW_DESCRIPTION))
+                .build();
+        return UpdateTaskDescription
+                .newBuilder()
+                .setId(id)
+                .setDescriptionChange(change)
+                .build();
+    }
+
+    private static TaskDescription description(String value) {
+        return TaskDescription
+                .newBuilder()
+                .setValue(value)
+                .build();
+    }
+}
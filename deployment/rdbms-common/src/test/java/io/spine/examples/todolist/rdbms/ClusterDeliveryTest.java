@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.CommandMessage;
+import io.spine.client.Client;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.rdbms.given.ClusterNode;
+import io.spine.examples.todolist.tasks.PriorityChange;
+import io.spine.examples.todolist.tasks.TaskDescription;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskPriority;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.command.UpdateTaskPriority;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static java.util.Comparator.comparing;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@DisplayName("Several nodes sharing the storage should")
+class ClusterDeliveryTest {
+
+    private static final int TASK_COUNT = 24;
+    private static final int SHARD_COUNT = 8;
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    private static final UserId USER = UserId
+            .newBuilder()
+            .setValue("cluster-user")
+            .build();
+
+    private final List<Process> nodes = new ArrayList<>();
+    private final List<Client> clients = new ArrayList<>();
+    private Server database;
+
+    @BeforeEach
+    void startDatabase() throws SQLException, IOException {
+        database = Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists")
+                         .start();
+    }
+
+    @AfterEach
+    void stopCluster() throws InterruptedException {
+        stopNodes();
+        database.stop();
+    }
+
+    @Test
+    @DisplayName("produce the same task views as a single node")
+    void sameAsSingleNode() throws Exception {
+        ImmutableList<TaskView> single = runWorkload(1);
+        stopNodes();
+        ImmutableList<TaskView> cluster = runWorkload(3);
+
+        assertThat(single).hasSize(TASK_COUNT);
+        assertThat(cluster).containsExactlyElementsIn(single)
+                           .inOrder();
+    }
+
+    /**
+     * Starts the given number of nodes against a new database, posts the commands to them
+     * and waits until the task views are updated.
+     *
+     * <p>The commands of a task are posted to different nodes, so the task is handled by
+     * a node other than the one which received the command.
+     */
+    private ImmutableList<TaskView> runWorkload(int nodeCount) throws Exception {
+        String url = "jdbc:h2:tcp://localhost:" + database.getPort()
+                + "/mem:" + newUuid() + ";DB_CLOSE_DELAY=-1";
+        for (int node = 0; node < nodeCount; node++) {
+            startNode(url, node, nodeCount);
+        }
+        for (int task = 0; task < TASK_COUNT; task++) {
+            post(task, createTask(task));
+            post(task + 1, updatePriority(task));
+        }
+        return awaitViews();
+    }
+
+    private void startNode(String url, int index, int count) throws Exception {
+        int port = freePort();
+        File log = Files.createTempFile("cluster-node-" + index, ".log")
+                        .toFile();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java")
+                           .toString();
+        Process process = new ProcessBuilder(java,
+                                             "-cp", System.getProperty("java.class.path"),
+                                             ClusterNode.class.getName(),
+                                             url,
+                                             String.valueOf(index),
+                                             String.valueOf(count),
+                                             String.valueOf(SHARD_COUNT),
+                                             String.valueOf(port))
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        nodes.add(process);
+        awaitListening(port);
+        clients.add(Client.connectTo("localhost", port)
+                          .build());
+    }
+
+    @SuppressWarnings("CheckReturnValue") // The command is acknowledged on posting.
+    private void post(int node, CommandMessage command) {
+        clients.get(node % clients.size())
+               .onBehalfOf(USER)
+               .command(command)
+               .postAndForget();
+    }
+
+    /**
+     * Waits until all the task views are updated.
+     *
+     * <p>Fails the test if the views are not updated in time.
+     */
+    private ImmutableList<TaskView> awaitViews() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        long updated = 0;
+        while (System.currentTimeMillis() < deadline) {
+            List<TaskView> views = clients.get(0)
+                                          .onBehalfOf(USER)
+                                          .select(TaskView.class)
+                                          .run();
+            updated = views.stream()
+                           .filter(view -> view.getPriority() == expectedPriority(view))
+                           .count();
+            if (updated == TASK_COUNT) {
+                return views.stream()
+                            .sorted(comparing(view -> view.getId()
+                                                          .getUuid()))
+                            .collect(ImmutableList.toImmutableList());
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        return fail(String.format("Only %d of %d task views were updated in %d ms.",
+                                  updated, TASK_COUNT, TIMEOUT_MILLIS));
+    }
+
+    private void stopNodes() throws InterruptedException {
+        for (Client client : clients) {
+            client.shutdown();
+        }
+        clients.clear();
+        for (Process node : nodes) {
+            node.destroy();
+            node.waitFor(10, TimeUnit.SECONDS);
+        }
+        nodes.clear();
+    }
+
+    private static TaskId taskId(int task) {
+        return TaskId
+                .newBuilder()
+                .setUuid("task-" + task)
+                .build();
+    }
+
+    private static TaskPriority priority(int task) {
+        List<TaskPriority> priorities = ImmutableList.of(TaskPriority.HIGH,
+                                                         TaskPriority.NORMAL,
+                                                         TaskPriority.LOW);
+        return priorities.get(task % priorities.size());
+    }
+
+    private static TaskPriority expectedPriority(TaskView view) {
+        String id = view.getId()
+                        .getUuid();
+        int task = Integer.parseInt(id.substring(id.indexOf('-') + 1));
+        return priority(task);
+    }
+
+    private static CreateBasicTask createTask(int task) {
+        TaskDescription description = TaskDescription
+                .newBuilder()
+                .setValue("Task number " + task)
+                .build();
+        return CreateBasicTask
+                .newBuilder()
+                .setId(taskId(task))
+                .setDescription(description)
+                .build();
+    }
+
+    private static UpdateTaskPriority updatePriority(int task) {
+        PriorityChange change = PriorityChange
+                .newBuilder()
+                .setPreviousValue(TaskPriority.TP_UNDEFINED)
+                .setNewValue(priority(task))
+                .build();
+        return UpdateTaskPriority
+                .newBuilder()
+                .setId(taskId(task))
+                .setPriorityChange(change)
+                .build();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitListening(int port) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            try (Socket ignored = new Socket("localhost", port)) {
+                return;
+            } catch (IOException e) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+        }
+        throw new IllegalStateException("The node on the port " + port + " has not started.");
+    }
+}
@@ -29,6 +29,8 @@ package io.spine.examples.todolist.rdbms;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -75,4 +77,128 @@ class ConnectionPropertiesTest {
 
         assertThrows(IllegalStateException.class, properties::connectionProtocol);
     }
+
+    @Test
+    @DisplayName("read the pool and driver tuning from a resource file")
+    void readTuning() {
+        ConnectionProperties properties = ConnectionProperties.fromResourceFile(RESOURCE_FILE_NAME);
+        assertThat(properties.maxPoolSize()
+                             .getAsInt()).isEqualTo(16);
+        assertThat(properties.minIdle()
+                             .getAsInt()).isEqualTo(4);
+        assertThat(properties.connectionTimeoutMillis()
+                             .getAsLong()).isEqualTo(5_000L);
+        assertThat(properties.leakDetectionThresholdMillis()
+                             .getAsLong()).isEqualTo(60_000L);
+        assertThat(properties.driverProperties())
+                .containsExactly("cachePrepStmts", "true",
+                                 "rewriteBatchedStatements", "true");
+    }
+
+    @Test
+    @DisplayName("leave the pool tuning unset by default")
+    void noTuningByDefault() {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setDbName("db")
+                .build();
+        assertThat(properties.maxPoolSize()
+                             .isPresent()).isFalse();
+        assertThat(properties.connectionTimeoutMillis()
+                             .isPresent()).isFalse();
+        assertThat(properties.driverProperties()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("be single-tenant by default")
+    void singleTenantByDefault() {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setDbName("db")
+                .build();
+        assertThat(properties.multitenant()).isFalse();
+        assertThat(properties.toBuilder()
+                             .setMultitenant(true)
+                             .build()
+                             .multitenant()).isTrue();
+    }
+
+    @Test
+    @DisplayName("build the pool and driver tuning")
+    void buildTuning() {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setMaxPoolSize(8)
+                .setConnectionTimeout(Duration.ofSeconds(3))
+                .setDriverProperty("prepStmtCacheSize", "250")
+                .build();
+        assertThat(properties.maxPoolSize()
+                             .getAsInt()).isEqualTo(8);
+        assertThat(properties.connectionTimeoutMillis()
+                             .getAsLong()).isEqualTo(3_000L);
+        assertThat(properties.driverProperties())
+                .containsExactly("prepStmtCacheSize", "250");
+    }
+
+    @Test
+    @DisplayName("not allow a non-positive pool size")
+    void rejectBadPoolSize() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> ConnectionProperties.newBuilder()
+                                               .setMaxPoolSize(0));
+    }
+
+    @Test
+    @DisplayName("read the driver tuning from system properties")
+    @SuppressWarnings("AccessOfSystemProperties")
+    void driverFromSystemProps() {
+        String key = ConnectionProperties.DRIVER_PREFIX + "useServerPrepStmts";
+        System.setProperty(key, "true");
+        try {
+            ConnectionProperties properties = ConnectionProperties.fromSystemProperties();
+            assertThat(properties.driverProperties())
+                    .containsEntry("useServerPrepStmts", "true");
+        } finally {
+            System.clearProperty(key);
+        }
+    }
+
+    @Test
+    @DisplayName("override the primary properties with the replica ones")
+    void replicaProperties() {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setDbName("tasks")
+                .setInstanceName("primary")
+                .setUsername("writer")
+                .setPassword("secret")
+                .setReplicaProperty("instance", "replica")
+                .setReplicaProperty("username", "reader")
+                .setReplicaProperty("maxLagMs", "2000")
+                .build();
+        ConnectionProperties replica = properties.replica()
+                                                 .get();
+        assertThat(replica.instanceName()).isEqualTo("replica");
+        assertThat(replica.dbName()).isEqualTo("tasks");
+        assertThat(replica.credentials()
+                          .getUsername()).isEqualTo("reader");
+        assertThat(replica.credentials()
+                          .getPassword()).isEqualTo("secret");
+        assertThat(replica.replica()
+                          .isPresent()).isFalse();
+        assertThat(properties.replicaMaxLagMillis()
+                             .getAsLong()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("have no replica unless its instance is set")
+    void noReplica() {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setDbName("tasks")
+                .setReplicaProperty("username", "reader")
+                .build();
+        assertThat(properties.replica()
+                             .isPresent()).isFalse();
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.base.CommandMessage;
+import io.spine.base.Tests;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskDescription;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.CreateBasicLabel;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+@DisplayName("`IndexAdvisor` should")
+class IndexAdvisorTest {
+
+    private static final UserId USER = UserId
+            .newBuilder()
+            .setValue("index-user")
+            .build();
+
+    private HikariDataSource database;
+    private BoundedContext context;
+
+    /**
+     * Creates the tables of the Tasks context by the JDBC storage and writes a task and
+     * a label into them.
+     */
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        database = new HikariDataSource(config);
+        StorageFactory storage = JdbcStorageFactory
+                .newBuilder()
+                .setDataSource(database)
+                .build();
+        ServerEnvironment.when(Tests.class)
+                         .use(storage)
+                         .use(InMemoryTransportFactory.newInstance());
+        context = TasksContextFactory.create();
+        post(createTask());
+        post(createLabel());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+        ServerEnvironment.instance()
+                         .reset();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("create the indexes of the Tasks context in the tables of the JDBC storage")
+    void createIndexes() {
+        ImmutableList<String> created = IndexAdvisor.forTasksContext()
+                                                    .apply(database);
+
+        assertThat(created).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("not create the existing indexes again")
+    void skipExisting() {
+        IndexAdvisor advisor = IndexAdvisor.forTasksContext();
+        advisor.apply(database);
+
+        assertThat(advisor.apply(database)).isEmpty();
+    }
+
+    private void post(CommandMessage command) {
+        ActorRequestFactory requests = ActorRequestFactory
+                .newBuilder()
+                .setActor(USER)
+                .build();
+        context.commandBus()
+               .post(requests.command()
+                             .create(command), noOpObserver());
+    }
+
+    private static CreateBasicTask createTask() {
+        TaskDescription description = TaskDescription
+                .newBuilder()
+                .setValue("An indexed task")
+                .build();
+        return CreateBasicTask
+                .newBuilder()
+                .setId(TaskId.generate())
+                .setDescription(description)
+                .build();
+    }
+
+    private static CreateBasicLabel createLabel() {
+        return CreateBasicLabel
+                .newBuilder()
+                .setLabelId(LabelId.generate())
+                .setLabelTitle("An indexed label")
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.StringValue;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.grpc.stub.StreamObserver;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+import io.spine.server.transport.Subscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+
+@DisplayName("`JdbcTransportFactory` should")
+class JdbcTransportFactoryTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final ChannelId CHANNEL = ChannelId
+            .newBuilder()
+            .setIdentifier(pack(StringValue.of("task-events")))
+            .build();
+
+    private HikariDataSource database;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";DB_CLOSE_DELAY=-1");
+        database = new HikariDataSource(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("relay the published messages to the subscribers in batches")
+    void relayInBatches() throws Exception {
+        JdbcTransportFactory transport = transport();
+        Received received = subscribe(transport);
+        transport.start();
+        ImmutableList<ExternalMessage> messages = publish(transport, 7);
+
+        received.await(messages.size());
+        transport.close();
+
+        assertThat(received.messages).containsExactlyElementsIn(messages)
+                                     .inOrder();
+    }
+
+    @Test
+    @DisplayName("keep the messages published before a restart")
+    void surviveRestart() throws Exception {
+        JdbcTransportFactory stopped = transport();
+        ImmutableList<ExternalMessage> messages = publish(stopped, 3);
+        stopped.close();
+
+        JdbcTransportFactory restarted = transport();
+        Received received = subscribe(restarted);
+        restarted.start();
+
+        received.await(messages.size());
+        restarted.close();
+
+        assertThat(received.messages).containsExactlyElementsIn(messages)
+                                     .inOrder();
+    }
+
+    @Test
+    @DisplayName("move aside a message which fails to be relayed")
+    void moveAsideFailed() throws Exception {
+        JdbcTransportFactory transport = transport();
+        Received received = subscribe(transport);
+        ImmutableList<ExternalMessage> before = publish(transport, 1);
+        insertUnparsable();
+        ImmutableList<ExternalMessage> after = publish(transport, 2);
+        transport.start();
+
+        received.await(before.size() + after.size());
+        transport.close();
+
+        assertThat(received.messages).containsExactly(before.get(0), after.get(0), after.get(1))
+                                     .inOrder();
+        assertThat(count(JdbcTransportFactory.TABLE)).isEqualTo(0);
+        assertThat(count(JdbcTransportFactory.FAILED_TABLE)).isEqualTo(1);
+    }
+
+    private void insertUnparsable() throws SQLException {
+        byte[] garbage = {(byte) 0xFF};
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO " + JdbcTransportFactory.TABLE
+                             + " (channel_id, message) VALUES (?, ?)")) {
+            statement.setBytes(1, garbage);
+            statement.setBytes(2, garbage);
+            statement.executeUpdate();
+        }
+    }
+
+    private int count(String table) throws SQLException {
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    private JdbcTransportFactory transport() {
+        return JdbcTransportFactory
+                .newBuilder()
+                .setDataSource(database)
+                .setBatchSize(2)
+                .setPollInterval(Duration.ofMillis(20))
+                .build();
+    }
+
+    private static Received subscribe(JdbcTransportFactory transport) {
+        Subscriber subscriber = transport.createSubscriber(CHANNEL);
+        Received received = new Received();
+        subscriber.addObserver(received);
+        return received;
+    }
+
+    @SuppressWarnings("CheckReturnValue") // The outbox acknowledges every written message.
+    private static ImmutableList<ExternalMessage> publish(JdbcTransportFactory transport,
+                                                          int count) {
+        Publisher publisher = transport.createPublisher(CHANNEL);
+        ImmutableList.Builder<ExternalMessage> result = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            ExternalMessage message = ExternalMessage
+                    .newBuilder()
+                    .setId(pack(StringValue.of(newUuid())))
+                    .build();
+            publisher.publish(message.getId(), message);
+            result.add(message);
+        }
+        return result.build();
+    }
+
+    /**
+     * Remembers the messages passed to a subscriber.
+     */
+    private static final class Received implements StreamObserver<ExternalMessage> {
+
+        private final List<ExternalMessage> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onNext(ExternalMessage value) {
+            messages.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+
+        private void await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (messages.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+        }
+    }
+}
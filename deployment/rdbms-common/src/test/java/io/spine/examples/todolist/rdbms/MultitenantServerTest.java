@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.base.Tests;
+import io.spine.core.TenantId;
+import io.spine.examples.todolist.client.TodoClient;
+import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.TaskDescription;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.examples.todolist.server.Server.newServer;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+@DisplayName("A multi-tenant server on a relational storage should")
+class MultitenantServerTest {
+
+    private static final String HOST = "localhost";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(10);
+
+    private HikariDataSource database;
+    private Server server;
+    private TodoClient client;
+
+    @BeforeEach
+    void setUp() throws IOException, InterruptedException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";DB_CLOSE_DELAY=-1");
+        database = new HikariDataSource(config);
+        StorageFactory storage = JdbcStorageFactory
+                .newBuilder()
+                .setDataSource(new TenantSchemas(database))
+                .build();
+        ServerEnvironment.when(Tests.class)
+                         .use(storage)
+                         .use(InMemoryTransportFactory.newInstance());
+        BoundedContext context = TasksContextFactory.multitenantBuilder()
+                                                    .build();
+        int port = freePort();
+        server = newServer(port, context);
+        startServer(port);
+        client = TodoClient.instance(HOST, port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.shutdown();
+        ServerEnvironment.instance()
+                         .reset();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("keep the tasks of each tenant apart")
+    void isolateTenants() {
+        TodoClient first = client.forTenant(tenant("first"));
+        TodoClient second = client.forTenant(tenant("second"));
+        CreateBasicTask createTask = createTask();
+        first.postCommand(createTask);
+
+        List<TaskView> firstTasks = first.taskViews();
+        assertThat(firstTasks).hasSize(1);
+        assertThat(firstTasks.get(0)
+                             .getId()).isEqualTo(createTask.getId());
+        assertThat(second.taskViews()).isEmpty();
+    }
+
+    /**
+     * Starts the server in a separate thread and waits until it accepts the connections.
+     */
+    private void startServer(int port) throws InterruptedException {
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        });
+        serverThread.start();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try (Socket ignored = new Socket(HOST, port)) {
+                return;
+            } catch (IOException e) {
+                Thread.sleep(50);
+            }
+        }
+        throw newIllegalStateException("The server has not started on the port %d.", port);
+    }
+
+    private static CreateBasicTask createTask() {
+        TaskDescription description = TaskDescription
+                .newBuilder()
+                .setValue("A task of the first tenant")
+                .build();
+        return CreateBasicTask
+                .newBuilder()
+                .setId(TaskId.generate())
+                .setDescription(description)
+                .build();
+    }
+
+    private static TenantId tenant(String value) {
+        return TenantId
+                .newBuilder()
+                .setValue(value)
+                .build();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
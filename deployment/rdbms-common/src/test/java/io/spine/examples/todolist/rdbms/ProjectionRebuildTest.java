@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.base.Tests;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.rdbms.given.FailingInbox;
+import io.spine.examples.todolist.server.rebuild.ProjectionRebuild;
+import io.spine.examples.todolist.server.rebuild.RebuildProgress;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.TaskDescription;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`ProjectionRebuild` should")
+class ProjectionRebuildTest {
+
+    private static final int TASK_COUNT = 5;
+    private static final int SHARD_COUNT = 2;
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+    private static final UserId USER = UserId
+            .newBuilder()
+            .setValue("rebuild-user")
+            .build();
+
+    private HikariDataSource database;
+    private FailingInbox inbox;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";DB_CLOSE_DELAY=-1");
+        database = new HikariDataSource(config);
+        inbox = new FailingInbox(database);
+        StorageFactory storage = JdbcStorageFactory
+                .newBuilder()
+                .setDataSource(inbox.dataSource())
+                .build();
+        ServerEnvironment.when(Tests.class)
+                         .use(storage)
+                         .use(InMemoryTransportFactory.newInstance());
+        createTasks();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ServerEnvironment.instance()
+                         .reset();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("replay the event history to the projections")
+    void rebuild() throws InterruptedException {
+        ProjectionRebuild rebuild = newRebuild();
+        rebuild.run(TasksContextFactory.builder());
+
+        RebuildProgress progress = rebuild.progress();
+        assertThat(progress.hasFailed()).isFalse();
+        assertThat(progress.total()).isAtLeast(TASK_COUNT);
+    }
+
+    @Test
+    @DisplayName("stop and report the failure of a shard worker")
+    void reportFailure() {
+        inbox.fail();
+        ProjectionRebuild rebuild = newRebuild();
+
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class,
+                             () -> rebuild.run(TasksContextFactory.builder()));
+        assertThat(exception).hasCauseThat()
+                             .isNotNull();
+        assertThat(rebuild.progress()
+                          .hasFailed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("require an explicit shard count")
+    void requireShardCount() {
+        ProjectionRebuild.Builder builder = ProjectionRebuild.newBuilder();
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    private static ProjectionRebuild newRebuild() {
+        return ProjectionRebuild
+                .newBuilder()
+                .setShardCount(SHARD_COUNT)
+                .setBatchSize(2)
+                .setTimeout(TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Writes the event history of several tasks.
+     *
+     * <p>The context is run with the default delivery, which delivers the signals right away.
+     */
+    private static void createTasks() throws Exception {
+        BoundedContext context = TasksContextFactory.create();
+        ActorRequestFactory requests = ActorRequestFactory
+                .newBuilder()
+                .setActor(USER)
+                .build();
+        for (int task = 0; task < TASK_COUNT; task++) {
+            context.commandBus()
+                   .post(requests.command()
+                                 .create(createTask(task)), noOpObserver());
+        }
+        context.close();
+    }
+
+    private static CreateBasicTask createTask(int task) {
+        TaskDescription description = TaskDescription
+                .newBuilder()
+                .setValue("Task number " + task)
+                .build();
+        return CreateBasicTask
+                .newBuilder()
+                .setId(TaskId.generate())
+                .setDescription(description)
+                .build();
+    }
+}
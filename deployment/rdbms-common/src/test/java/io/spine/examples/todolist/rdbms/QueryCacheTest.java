@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+
+@DisplayName("`QueryCache` should")
+class QueryCacheTest {
+
+    private static final String SELECT = "SELECT state FROM entity WHERE id = ?";
+    private static final String UPDATE = "UPDATE entity SET state = ? WHERE id = ?";
+
+    private HikariDataSource database;
+    private QueryCache cache;
+    private DataSource cached;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        database = new HikariDataSource(config);
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE entity (id VARCHAR(64) PRIMARY KEY, state BLOB)");
+            statement.execute("INSERT INTO entity VALUES ('first', X'01'), ('second', X'02')");
+        }
+        cache = QueryCache.newBuilder()
+                          .setMaxSize(100)
+                          .build();
+        cached = cache.decorate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("serve the repeated entity reads from memory")
+    void serveRepeatedReads() throws SQLException {
+        assertThat(read("first")).isEqualTo(new byte[]{1});
+        assertThat(read("first")).isEqualTo(new byte[]{1});
+        assertThat(cache.stats()
+                        .hitCount()).isEqualTo(1);
+        assertThat(cache.stats()
+                        .missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("read the new state of a written entity")
+    void invalidateWritten() throws SQLException {
+        read("first");
+        write("first", new byte[]{3});
+        assertThat(read("first")).isEqualTo(new byte[]{3});
+    }
+
+    @Test
+    @DisplayName("keep the other entities cached on write")
+    void keepOthers() throws SQLException {
+        read("second");
+        write("first", new byte[]{3});
+        read("second");
+        assertThat(cache.stats()
+                        .hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invalidate the entity written in a transaction")
+    void invalidateOnCommit() throws SQLException {
+        read("first");
+        try (Connection connection = cached.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setBytes(1, new byte[]{4});
+                statement.setString(2, "first");
+                statement.executeUpdate();
+            }
+            connection.commit();
+        }
+        assertThat(read("first")).isEqualTo(new byte[]{4});
+    }
+
+    @Test
+    @DisplayName("invalidate all the entities on an unknown statement")
+    void invalidateOnUnknown() throws SQLException {
+        read("first");
+        try (Connection connection = cached.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE entity");
+        }
+        assertThat(read("first")).isNull();
+    }
+
+    @Test
+    @DisplayName("read the database once again for the calls the cached rows do not support")
+    void fallBackToDatabase() throws SQLException {
+        read("first");
+        try (Connection connection = cached.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setString(1, "first");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getMetaData()
+                                    .getColumnCount()).isEqualTo(1);
+                assertThat(resultSet.getObject(1, byte[].class)).isEqualTo(new byte[]{1});
+                assertThat(resultSet.next()).isFalse();
+            }
+        }
+        assertThat(cache.stats()
+                        .hitCount()).isEqualTo(1);
+    }
+
+    private byte[] read(String id) throws SQLException {
+        try (Connection connection = cached.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setString(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next()
+                       ? resultSet.getBytes("state")
+                       : null;
+            }
+        }
+    }
+
+    private void write(String id, byte[] state) throws SQLException {
+        try (Connection connection = cached.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            statement.setBytes(1, state);
+            statement.setString(2, id);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -26,16 +26,23 @@
 
 package io.spine.examples.todolist.rdbms;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import io.spine.base.Environment;
 import io.spine.base.Production;
 import io.spine.base.Tests;
 import io.spine.examples.todolist.rdbms.given.RdbmsTestEnv.TestServer;
+import io.spine.examples.todolist.server.delivery.ShardedDelivery;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.server.BoundedContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
 import static io.spine.examples.todolist.rdbms.ConnectionUrl.LOCAL_H2_PROTOCOL;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("Servers that run on relational databases should")
 class RdbmsServerTest {
@@ -78,4 +85,44 @@ class RdbmsServerTest {
         String stringValue = connectionUrl.toString();
         assertThat(stringValue).startsWith(LOCAL_H2_PROTOCOL);
     }
+
+    @Test
+    @DisplayName("refuse to use the query cache if several nodes share the storage")
+    void refuseSharedCache() {
+        ConnectionProperties props = testProperties.setEnvType(Tests.class)
+                                                   .setCacheMaxSize(100)
+                                                   .build();
+        RelationalStorage storage = new TestServer(props).storage(props);
+
+        RunsOnRdbms.checkCacheNotShared(storage, 1);
+        assertThrows(IllegalStateException.class,
+                     () -> RunsOnRdbms.checkCacheNotShared(storage, 2));
+    }
+
+    @Test
+    @DisplayName("stop the delivery and close the transport when the server stops")
+    void shutDown() throws InterruptedException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";DB_CLOSE_DELAY=-1");
+        try (HikariDataSource database = new HikariDataSource(config)) {
+            ShardedDelivery delivery = ShardedDelivery
+                    .newBuilder()
+                    .setWorkRegistry(JdbcShardedWorkRegistry.create(database))
+                    .build();
+            JdbcTransportFactory transport = JdbcTransportFactory
+                    .newBuilder()
+                    .setDataSource(database)
+                    .build();
+            BoundedContext context = TasksContextFactory.create();
+            delivery.start();
+            transport.start();
+
+            RunsOnRdbms.shutDown(delivery, transport, context);
+
+            assertThat(transport.isOpen()).isFalse();
+            // A stopped delivery may be started again.
+            delivery.start();
+            delivery.stop();
+        }
+    }
 }
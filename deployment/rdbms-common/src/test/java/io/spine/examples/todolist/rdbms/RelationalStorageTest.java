@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import io.spine.base.Environment;
+import io.spine.base.Tests;
+import io.spine.examples.todolist.rdbms.given.RdbmsTestEnv.TestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+
+@DisplayName("`RelationalStorage` should")
+class RelationalStorageTest {
+
+    @AfterEach
+    void afterEach() {
+        Environment.instance()
+                   .reset();
+    }
+
+    @Test
+    @DisplayName("reuse a single connection pool")
+    void reusePool() {
+        try (RelationalStorage storage = storage(false)) {
+            DataSource first = storage.datasource();
+            assertThat(storage.datasource()).isSameInstanceAs(first);
+        }
+    }
+
+    @Test
+    @DisplayName("open a new connection pool once closed")
+    void reopen() {
+        try (RelationalStorage storage = storage(false)) {
+            DataSource closed = storage.datasource();
+            storage.close();
+            assertThat(storage.datasource()).isNotSameInstanceAs(closed);
+        }
+    }
+
+    @Test
+    @DisplayName("switch the schemas of a single pool when multi-tenant")
+    void reuseTenantSchemas() {
+        try (RelationalStorage storage = storage(true)) {
+            DataSource first = storage.datasource();
+            assertThat(first).isInstanceOf(TenantSchemas.class);
+            assertThat(storage.datasource()).isSameInstanceAs(first);
+        }
+    }
+
+    private static RelationalStorage storage(boolean multitenant) {
+        ConnectionProperties properties = ConnectionProperties
+                .newBuilder()
+                .setDbName("tasks")
+                .setUsername("sa")
+                .setPassword("5gasSfW")
+                .setInstanceName(newUuid())
+                .setConnectionProtocol("jdbc:acme:")
+                .setMultitenant(multitenant)
+                .setEnvType(Tests.class)
+                .build();
+        return new TestServer(properties).storage(properties);
+    }
+}
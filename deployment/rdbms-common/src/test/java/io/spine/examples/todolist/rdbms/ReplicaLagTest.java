@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import io.spine.examples.todolist.rdbms.given.FakeReplica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ReplicaLag` should")
+class ReplicaLagTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration INTERVAL = Duration.ofMillis(10);
+    private static final Duration NO_RECHECK = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final FakeReplica replica = new FakeReplica();
+    private @Nullable ReplicaLag lag;
+
+    @AfterEach
+    void stopChecks() {
+        if (lag != null) {
+            lag.close();
+        }
+    }
+
+    @Test
+    @DisplayName("accept the replica within the maximum lag")
+    void acceptWithinMaxLag() throws InterruptedException {
+        replica.lag(MAX_LAG.getSeconds());
+        lag = ReplicaLag.start(replica.dataSource(), MAX_LAG, INTERVAL);
+
+        awaitAcceptable(lag, true);
+    }
+
+    @Test
+    @DisplayName("not accept the replica behind the primary by more than the maximum lag")
+    void rejectOverMaxLag() throws InterruptedException {
+        lag = ReplicaLag.start(replica.dataSource(), MAX_LAG, INTERVAL);
+        awaitAcceptable(lag, true);
+
+        replica.lag(MAX_LAG.getSeconds() + 1);
+        awaitAcceptable(lag, false);
+    }
+
+    @Test
+    @DisplayName("not accept the replica if the replication is stopped")
+    void rejectStopped() throws InterruptedException {
+        lag = ReplicaLag.start(replica.dataSource(), MAX_LAG, INTERVAL);
+        awaitAcceptable(lag, true);
+
+        replica.stopReplication();
+        awaitAcceptable(lag, false);
+    }
+
+    @Test
+    @DisplayName("not accept an unavailable replica until it is back")
+    void rejectUnavailable() throws InterruptedException {
+        lag = ReplicaLag.start(replica.dataSource(), MAX_LAG, INTERVAL);
+        awaitAcceptable(lag, true);
+
+        replica.disconnect();
+        awaitAcceptable(lag, false);
+
+        replica.lag(0);
+        awaitAcceptable(lag, true);
+    }
+
+    @Test
+    @DisplayName("not accept the replica after a reported failure until the next check")
+    void rejectAfterFailure() throws InterruptedException {
+        lag = ReplicaLag.start(replica.dataSource(), MAX_LAG, NO_RECHECK);
+        awaitAcceptable(lag, true);
+
+        lag.reportFailure();
+        assertThat(lag.acceptable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("stop the checks once closed")
+    void stopOnClose() throws InterruptedException {
+        ReplicaLag closed = ReplicaLag.start(replica.dataSource(), MAX_LAG, INTERVAL);
+        awaitAcceptable(closed, true);
+        closed.close();
+        int connections = replica.connections();
+
+        Thread.sleep(INTERVAL.toMillis() * 10);
+        assertThat(replica.connections()).isAtMost(connections + 1);
+    }
+
+    /**
+     * Waits until the replica is accepted or rejected by the checks.
+     */
+    static void awaitAcceptable(ReplicaLag lag, boolean expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (lag.acceptable() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(INTERVAL.toMillis());
+        }
+        assertThat(lag.acceptable()).isEqualTo(expected);
+    }
+}
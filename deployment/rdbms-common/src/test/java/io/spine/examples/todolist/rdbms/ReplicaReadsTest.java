@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.examples.todolist.rdbms.given.FakeServerCall;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ReplicaReads` should")
+class ReplicaReadsTest {
+
+    private final ReplicaReads interceptor = new ReplicaReads();
+
+    /** Tells if the thread was marked as read-only, for each step of the call. */
+    private final List<Boolean> marks = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("mark the thread serving a query")
+    void markQuery() throws InterruptedException {
+        serve(QueryServiceGrpc.getReadMethod());
+
+        assertThat(marks).containsExactly(true, true, true, true);
+        assertThat(ReplicaReads.active()).isFalse();
+    }
+
+    @Test
+    @DisplayName("not mark the thread serving a command")
+    void notMarkCommand() throws InterruptedException {
+        serve(CommandServiceGrpc.getPostMethod());
+
+        assertThat(marks).containsExactly(false, false, false, false);
+    }
+
+    @Test
+    @DisplayName("restore the mark of the thread after a read-only operation")
+    void restoreMark() {
+        boolean inside = ReplicaReads.run(ReplicaReads::active);
+
+        assertThat(inside).isTrue();
+        assertThat(ReplicaReads.active()).isFalse();
+    }
+
+    /**
+     * Intercepts a call of the given method, runs the callbacks of the call, one of them
+     * in another thread, and records the marks seen by the server handler.
+     */
+    private <Q, R> void serve(MethodDescriptor<Q, R> method) throws InterruptedException {
+        ServerCallHandler<Q, R> handler = (call, headers) -> {
+            mark();
+            return new ServerCall.Listener<Q>() {
+                @Override
+                public void onMessage(Q message) {
+                    mark();
+                }
+
+                @Override
+                public void onHalfClose() {
+                    mark();
+                }
+
+                @Override
+                public void onComplete() {
+                    mark();
+                }
+            };
+        };
+        ServerCall.Listener<Q> listener =
+                interceptor.interceptCall(new FakeServerCall<>(method), new Metadata(), handler);
+        Thread other = new Thread(() -> listener.onMessage(null));
+        other.start();
+        other.join();
+        listener.onHalfClose();
+        listener.onComplete();
+    }
+
+    private void mark() {
+        marks.add(ReplicaReads.active());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import io.spine.examples.todolist.rdbms.given.FakeReplica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.rdbms.ReplicaLagTest.awaitAcceptable;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+@DisplayName("`RoutingDataSource` should")
+class RoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration INTERVAL = Duration.ofMillis(10);
+
+    private final FakeReplica primary = new FakeReplica();
+    private final FakeReplica replica = new FakeReplica();
+    private ReplicaLag lag;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        lag = ReplicaLag.start(replica.dataSource(), MAX_LAG, INTERVAL);
+        awaitAcceptable(lag, true);
+        routing = new RoutingDataSource(primary.dataSource(), replica.dataSource(), lag);
+    }
+
+    @AfterEach
+    void stopChecks() {
+        lag.close();
+    }
+
+    @Test
+    @DisplayName("route the reads of a read-only call to the replica")
+    void routeToReplica() {
+        Connection connection = readOnlyConnection();
+
+        assertThat(replica.provided(connection)).isTrue();
+    }
+
+    @Test
+    @DisplayName("route the other calls to the primary")
+    void routeToPrimary() throws SQLException {
+        Connection connection = routing.getConnection();
+
+        assertThat(primary.provided(connection)).isTrue();
+    }
+
+    @Test
+    @DisplayName("route a read-only call to the primary while the replica lags behind")
+    void fallBackOnLag() throws InterruptedException {
+        replica.lag(MAX_LAG.getSeconds() + 1);
+        awaitAcceptable(lag, false);
+
+        Connection connection = readOnlyConnection();
+
+        assertThat(primary.provided(connection)).isTrue();
+    }
+
+    @Test
+    @DisplayName("route a read-only call to the primary if the replica is not available")
+    void fallBackOnFailure() {
+        replica.disconnect();
+
+        Connection connection = readOnlyConnection();
+
+        assertThat(primary.provided(connection)).isTrue();
+        assertThat(lag.acceptable()).isFalse();
+    }
+
+    private Connection readOnlyConnection() {
+        return ReplicaReads.run(() -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.core.TenantId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+
+@DisplayName("`TenantSchemas` should")
+class TenantSchemasTest {
+
+    private final AtomicReference<TenantId> tenant = new AtomicReference<>();
+
+    private HikariDataSource database;
+    private DataSource schemas;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + newUuid() + ";DB_CLOSE_DELAY=-1");
+        // A single connection, so that every test reuses the connection of the previous call.
+        config.setMaximumPoolSize(1);
+        database = new HikariDataSource(config);
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE entity "
+                                      + "(id VARCHAR(64) PRIMARY KEY, owner VARCHAR(64))");
+            statement.execute("CREATE INDEX idx_entity_owner ON entity (owner)");
+        }
+        schemas = new TenantSchemas(database, () -> Optional.ofNullable(tenant.get()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("keep the records of each tenant apart")
+    void isolateTenants() throws SQLException {
+        TenantId first = tenant("first");
+        TenantId second = tenant("second");
+        insert(first, "task");
+
+        assertThat(count(first)).isEqualTo(1);
+        assertThat(count(second)).isEqualTo(0);
+        assertThat(count(null)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("reset the schema of a connection returned to the pool")
+    void resetSchema() throws SQLException {
+        String defaultSchema;
+        try (Connection connection = database.getConnection()) {
+            defaultSchema = connection.getSchema();
+        }
+        insert(tenant("first"), "task");
+
+        tenant.set(null);
+        try (Connection connection = schemas.getConnection()) {
+            assertThat(connection.getSchema()).isEqualTo(defaultSchema);
+        }
+        assertThat(count(null)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("copy the primary key and the indexes of the tables")
+    void copyIndexes() throws SQLException {
+        TenantId first = tenant("first");
+        insert(first, "task");
+        String schema = TenantSchemas.schemaOf(first);
+        try (Connection connection = database.getConnection();
+             ResultSet indexes = connection.getMetaData()
+                                           .getIndexInfo(null, schema, "ENTITY", false, true)) {
+            boolean ownerIndexed = false;
+            while (indexes.next()) {
+                if ("OWNER".equalsIgnoreCase(indexes.getString("COLUMN_NAME"))) {
+                    ownerIndexed = true;
+                }
+            }
+            assertThat(ownerIndexed).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("use the default schema outside of a tenant")
+    void useDefaultSchema() throws SQLException {
+        insert(null, "shared");
+        assertThat(count(null)).isEqualTo(1);
+        assertThat(count(tenant("first"))).isEqualTo(0);
+    }
+
+    private void insert(@Nullable TenantId tenantId, String id) throws SQLException {
+        tenant.set(tenantId);
+        try (Connection connection = schemas.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO entity VALUES ('" + id + "', 'owner')");
+        }
+    }
+
+    private int count(@Nullable TenantId tenantId) throws SQLException {
+        tenant.set(tenantId);
+        try (Connection connection = schemas.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM entity")) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+
+    private static TenantId tenant(String value) {
+        return TenantId
+                .newBuilder()
+                .setValue(value)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms.given;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.base.Production;
+import io.spine.base.Tests;
+import io.spine.examples.todolist.rdbms.JdbcShardedWorkRegistry;
+import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.delivery.ShardedDelivery;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static io.spine.examples.todolist.server.Server.newServer;
+import static java.lang.Integer.parseInt;
+
+/**
+ * A node of the Tasks context cluster run in a separate process by the tests.
+ *
+ * <p>The arguments are the JDBC URL of the shared database, the index of the node, the number
+ * of the nodes, the number of the shards and the port to serve the clients on.
+ */
+public final class ClusterNode {
+
+    /** Prevents instantiation of this class. */
+    private ClusterNode() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String url = args[0];
+        int nodeIndex = parseInt(args[1]);
+        int nodeCount = parseInt(args[2]);
+        int shardCount = parseInt(args[3]);
+        int port = parseInt(args[4]);
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        StorageFactory storage = JdbcStorageFactory
+                .newBuilder()
+                .setDataSource(dataSource)
+                .build();
+        ServerEnvironment.when(Production.class)
+                         .use(storage)
+                         .use(InMemoryTransportFactory.newInstance());
+        ServerEnvironment.when(Tests.class)
+                         .use(storage)
+                         .use(InMemoryTransportFactory.newInstance());
+        ShardedDelivery delivery = ShardedDelivery
+                .newBuilder()
+                .setNode(nodeIndex, nodeCount)
+                .setShardCount(shardCount)
+                .setPollInterval(Duration.ofMillis(20))
+                .setTakeoverInterval(Duration.ofMillis(200))
+                .setWorkRegistry(JdbcShardedWorkRegistry.create(dataSource))
+                .build();
+        delivery.install();
+        BoundedContext context = TasksContextFactory.create();
+        delivery.start();
+        Server server = newServer(port, context);
+        server.start();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms.given;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decorates a {@code DataSource}, so that the reads of the inbox fail on demand.
+ *
+ * <p>The inbox is read only by the delivery, so such a failure happens in a delivery worker.
+ */
+public final class FailingInbox {
+
+    private final DataSource dataSource;
+    private final AtomicBoolean failing = new AtomicBoolean(false);
+
+    public FailingInbox(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Makes the subsequent reads of the inbox fail.
+     */
+    public void fail() {
+        failing.set(true);
+    }
+
+    /**
+     * Obtains the decorated {@code DataSource}.
+     */
+    public DataSource dataSource() {
+        return proxy(DataSource.class, (method, args) -> {
+            Object result = method.invoke(dataSource, args);
+            return result instanceof Connection
+                   ? connection((Connection) result)
+                   : result;
+        });
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, (method, args) -> {
+            boolean statement = method.getName()
+                                      .startsWith("prepare");
+            if (statement && failing.get() && readsInbox((String) args[0])) {
+                throw new SQLException("The inbox is not available.");
+            }
+            return method.invoke(connection, args);
+        });
+    }
+
+    private static boolean readsInbox(String sql) {
+        String query = sql.trim()
+                          .toLowerCase(Locale.ROOT);
+        return query.startsWith("select") && query.contains("inbox");
+    }
+
+    private static <T> T proxy(Class<T> type, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return call.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        Object result = Proxy.newProxyInstance(type.getClassLoader(),
+                                               new Class<?>[]{type},
+                                               handler);
+        return type.cast(result);
+    }
+
+    /**
+     * A call of a method of the decorated object.
+     */
+    private interface Call {
+
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.rdbms.given;
+
+import org.h2.tools.SimpleResultSet;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
+
+/**
+ * A fake MySQL replica reporting the replication status set by the test.
+ *
+ * <p>The connections of the replica only run the {@code SHOW SLAVE STATUS} query. The replica
+ * keeps track of the connections it provides, so a test may tell if a read is routed to it.
+ * The same fake serves as a primary database in such a test.
+ */
+public final class FakeReplica {
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Set<Connection> provided =
+            synchronizedSet(newSetFromMap(new IdentityHashMap<>()));
+    private volatile @Nullable Long lagSeconds = 0L;
+    private volatile boolean available = true;
+
+    /**
+     * Makes the replica report the given replication lag.
+     */
+    public void lag(long seconds) {
+        lagSeconds = seconds;
+        available = true;
+    }
+
+    /**
+     * Makes the replica report that the replication is stopped.
+     */
+    public void stopReplication() {
+        lagSeconds = null;
+    }
+
+    /**
+     * Makes the replica refuse the connections.
+     */
+    public void disconnect() {
+        available = false;
+    }
+
+    /**
+     * Obtains the number of the connections provided by the replica.
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * Obtains the data source of the replica.
+     */
+    public DataSource dataSource() {
+        return proxy(DataSource.class, (self, method, args) -> {
+            if (!"getConnection".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            if (!available) {
+                throw new SQLException("The replica is not available.");
+            }
+            connections.incrementAndGet();
+            Connection connection = connection();
+            provided.add(connection);
+            return connection;
+        });
+    }
+
+    /**
+     * Tells if the given connection is provided by this replica.
+     */
+    public boolean provided(Connection connection) {
+        return provided.contains(connection);
+    }
+
+    private Connection connection() {
+        return proxy(Connection.class, (self, method, args) -> {
+            switch (method.getName()) {
+                case "createStatement":
+                    return statement();
+                case "close":
+                    return null;
+                case "isClosed":
+                    return false;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private Statement statement() {
+        return proxy(Statement.class, (self, method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                    return status();
+                case "close":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private ResultSet status() {
+        SimpleResultSet result = new SimpleResultSet();
+        result.addColumn(LAG_COLUMN, Types.BIGINT, 20, 0);
+        result.addRow(lagSeconds);
+        return result;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        Object result = Proxy.newProxyInstance(type.getClassLoader(),
+                                               new Class<?>[]{type},
+                                               handler);
+        return type.cast(result);
+    }
+}
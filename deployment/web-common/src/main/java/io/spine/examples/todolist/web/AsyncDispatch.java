@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.web;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+/**
+ * Serves the servlet requests either on the container threads or asynchronously.
+ *
+ * <p>A synchronous endpoint blocks a container thread for the whole duration of the Spine call
+ * and of the Firebase write. In the asynchronous mode, the request is put into
+ * the {@linkplain AsyncContext asynchronous mode} of Servlet 3, and is served by
+ * a separate executor. The container thread is returned to the pool at once, so an instance
+ * handles far more concurrent requests than there are container threads.
+ *
+ * <p>The executor is either bounded, or starts a virtual thread per request if the JVM
+ * supports them. When a bounded executor is saturated, the request is answered with
+ * {@code 503 Service Unavailable}.
+ *
+ * <p>The mode may be set with the {@value #MODE} system property,
+ * see {@link #fromSystemProperties()}.
+ * The servlets and the filters in front of them must support the asynchronous mode.
+ * Otherwise, the requests are served synchronously.
+ */
+public final class AsyncDispatch implements Logging {
+
+    /**
+     * The system property with the execution mode of the servlets.
+     *
+     * <p>The value is either {@value #SYNC}, or {@value #VIRTUAL}, or the number of the threads
+     * of a bounded executor.
+     */
+    public static final String MODE = "todolist.servlet.mode";
+
+    /** The mode which serves the requests on the container threads. */
+    public static final String SYNC = "sync";
+
+    /** The mode which serves each request on a new virtual thread. */
+    public static final String VIRTUAL = "virtual";
+
+    /** The number of the requests per thread queued by a bounded executor. */
+    @VisibleForTesting
+    static final int QUEUED_PER_THREAD = 4;
+
+    private final @Nullable ExecutorService executor;
+
+    private AsyncDispatch(@Nullable ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates the dispatch in the mode set by the {@value #MODE} system property.
+     *
+     * <p>If the property is not set, the requests are served synchronously.
+     *
+     * @throws IllegalArgumentException
+     *         if the value of the property is not a valid mode
+     */
+    public static AsyncDispatch fromSystemProperties() {
+        String mode = System.getProperty(MODE, SYNC);
+        return of(mode);
+    }
+
+    /**
+     * Creates the dispatch serving the requests on the container threads.
+     */
+    public static AsyncDispatch sync() {
+        return new AsyncDispatch(null);
+    }
+
+    /**
+     * Creates the dispatch serving the requests by a pool of the given number of threads.
+     */
+    public static AsyncDispatch bounded(int threads) {
+        checkArgument(threads > 0, "The number of the threads must be positive, but was %s.",
+                      threads);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60, SECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_PER_THREAD),
+                new ThreadFactoryBuilder().setNameFormat("servlet-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return new AsyncDispatch(executor);
+    }
+
+    /**
+     * Creates the dispatch serving each request on a new virtual thread.
+     *
+     * <p>If the JVM has no virtual threads, a bounded pool of
+     * {@code 16} threads per processor is used instead.
+     */
+    public static AsyncDispatch virtual() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            return new AsyncDispatch(executor);
+        } catch (ReflectiveOperationException e) {
+            int threads = Runtime.getRuntime()
+                                 .availableProcessors() * 16;
+            AsyncDispatch result = bounded(threads);
+            result._warn()
+                  .log("Virtual threads are not available, using %d platform threads.",
+                       threads);
+            return result;
+        }
+    }
+
+    /**
+     * Creates the dispatch in the given mode.
+     *
+     * @param mode
+     *         {@value #SYNC}, {@value #VIRTUAL}, or the number of the threads of a bounded pool
+     * @throws IllegalArgumentException
+     *         if the value is not a valid mode
+     */
+    public static AsyncDispatch of(String mode) {
+        checkNotNull(mode);
+        String value = mode.trim();
+        if (SYNC.equalsIgnoreCase(value)) {
+            return sync();
+        }
+        if (VIRTUAL.equalsIgnoreCase(value)) {
+            return virtual();
+        }
+        try {
+            return bounded(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    String.format("`%s` must be `%s`, `%s`, or a number of threads, but was `%s`.",
+                                  MODE, SYNC, VIRTUAL, mode), e);
+        }
+    }
+
+    /**
+     * Tells if the requests are served asynchronously.
+     */
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    /**
+     * Serves the request with the given endpoint.
+     *
+     * <p>In the asynchronous mode, the method returns as soon as the request is passed to
+     * the executor. The response is completed when the endpoint returns.
+     *
+     * @param request
+     *         the request to serve
+     * @param response
+     *         the response to the request
+     * @param endpoint
+     *         the synchronous endpoint, e.g. the {@code service} method of the base servlet
+     */
+    public void serve(HttpServletRequest request,
+                      HttpServletResponse response,
+                      Endpoint endpoint) throws ServletException, IOException {
+        checkNotNull(request);
+        checkNotNull(response);
+        checkNotNull(endpoint);
+        if (executor == null || !request.isAsyncSupported()) {
+            endpoint.serve(request, response);
+            return;
+        }
+        AsyncContext async = request.startAsync(request, response);
+        // The endpoint always completes the response, so the container must not time it out.
+        async.setTimeout(0);
+        try {
+            executor.execute(() -> serveAsync(async, request, response, endpoint));
+        } catch (RejectedExecutionException e) {
+            _warn().log("The servlet executor is saturated, rejecting the request to `%s`.",
+                        request.getRequestURI());
+            response.sendError(SC_SERVICE_UNAVAILABLE);
+            async.complete();
+        }
+    }
+
+    private void serveAsync(AsyncContext async,
+                            HttpServletRequest request,
+                            HttpServletResponse response,
+                            Endpoint endpoint) {
+        try {
+            endpoint.serve(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to serve the request to `%s`.", request.getRequestURI());
+            sendError(response);
+        } finally {
+            async.complete();
+        }
+    }
+
+    private void sendError(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        try {
+            response.sendError(SC_INTERNAL_SERVER_ERROR);
+        } catch (IOException e) {
+            _warn().withCause(e)
+                   .log("Unable to send the error response.");
+        }
+    }
+
+    /**
+     * Stops accepting the requests.
+     *
+     * <p>The requests being served are completed.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A synchronous servlet endpoint.
+     */
+    @FunctionalInterface
+    public interface Endpoint {
+
+        /**
+         * Serves the request.
+         */
+        void serve(HttpServletRequest request, HttpServletResponse response)
+                throws ServletException, IOException;
+    }
+}
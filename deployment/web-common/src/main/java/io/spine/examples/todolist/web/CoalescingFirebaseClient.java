@@ -0,0 +1,545 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.web;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import io.spine.logging.Logging;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.FirebaseCredentials;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A {@code FirebaseClient} which merges the updates of the nodes written within a short window.
+ *
+ * <p>The subscription bridge writes each update of an entity to the Realtime Database
+ * separately. A bulk operation on many tasks then produces as many writes. This client keeps
+ * the {@linkplain #update(NodePath, NodeValue) updates} for the {@linkplain Builder#setWindow
+ * window} and writes them all at once, as a single multi-path update. Several updates of
+ * the same node within the window are merged, the later values of the children overriding
+ * the earlier ones.
+ *
+ * <p>The other writes, as well as the reads, are passed to the delegate client as is. The updates
+ * kept by then are written first, so the order of the writes is preserved, and a read sees
+ * the earlier writes.
+ *
+ * <p>The updates are written by a background thread. A full batch, or a batch with a path
+ * overlapping the updated one, is closed and written right away, while the update goes to
+ * the next batch. So an {@code update} never blocks on a write and never fails.
+ *
+ * <p>If a batch fails to be written, the failure is logged, and the batch is written again after
+ * a growing delay. Until it is written, the batch goes ahead of the later updates, which are kept
+ * in memory. An explicit {@linkplain #flush() flush} writes the failed batch again and throws if
+ * it fails once more.
+ *
+ * <p>The number of the kept children is {@linkplain Builder#setMaxPending(int) bounded}, so that
+ * the updates do not exhaust the memory if the database is unavailable for long. Above
+ * the bound, the oldest batches are dropped, and the number of the dropped children is logged.
+ * The nodes of the dropped updates are then stale until they are updated once again.
+ *
+ * <p>The client must be {@linkplain #close() closed} on shutdown, so that the kept updates are
+ * written.
+ */
+public final class CoalescingFirebaseClient implements FirebaseClient, Logging {
+
+    /** The default time for which the updates are kept before being written. */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(50);
+
+    /** The default maximum number of the children written in a single batch. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    /** The default maximum number of the children kept before they are written. */
+    public static final int DEFAULT_MAX_PENDING = 100_000;
+
+    /** The longest delay before writing a failed batch again. */
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private static final String SEPARATOR = "/";
+
+    private final FirebaseClient delegate;
+    private final MultiPathWriter writer;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final ScheduledExecutorService scheduler;
+    private final Object writeLock = new Object();
+
+    /**
+     * The pending values of the children by their full paths, in the order of the updates.
+     */
+    private Map<String, Object> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    /**
+     * The closed batches to be written before the pending updates, in the order of the updates.
+     *
+     * <p>A batch which failed to be written is returned to the head of the queue.
+     */
+    private final Deque<Map<String, Object>> closed = new ArrayDeque<>();
+
+    /**
+     * The number of the children in the {@linkplain #closed closed} batches.
+     */
+    private int closedSize;
+
+    /**
+     * Tells if the last batch failed to be written and waits for a retry.
+     *
+     * <p>Guarded by the {@code writeLock}.
+     */
+    private boolean failing;
+    private Duration retryDelay;
+    private boolean retryScheduled;
+
+    private CoalescingFirebaseClient(Builder builder, FirebaseClient delegate,
+                                     MultiPathWriter writer) {
+        this.delegate = delegate;
+        this.writer = writer;
+        this.window = builder.window;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxPending = builder.maxPending;
+        this.retryDelay = window;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("firebase-writes-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+    }
+
+    /**
+     * Creates a new builder of the client.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public Optional<NodeValue> fetchNode(NodePath nodePath) {
+        flush();
+        return delegate.fetchNode(nodePath);
+    }
+
+    @Override
+    public void subscribeTo(NodePath nodePath, ChildEventListener listener) {
+        delegate.subscribeTo(nodePath, listener);
+    }
+
+    @Override
+    public void create(NodePath nodePath, NodeValue value) {
+        flush();
+        delegate.create(nodePath, value);
+    }
+
+    /**
+     * Keeps the update to be written along with the other updates of the window.
+     */
+    @Override
+    public void update(NodePath nodePath, NodeValue value) {
+        checkNotNull(nodePath);
+        checkNotNull(value);
+        String path = nodePath.getValue();
+        for (Map.Entry<String, JsonElement> child : value.underlyingJson()
+                                                         .entrySet()) {
+            keep(path + SEPARATOR + child.getKey(), toValue(child.getValue()));
+        }
+    }
+
+    @Override
+    public void delete(NodePath nodePath) {
+        flush();
+        delegate.delete(nodePath);
+    }
+
+    /**
+     * Adds the value of the child to the pending batch.
+     *
+     * <p>A pending value of the same path is replaced in place. A single multi-path update
+     * cannot write both a node and its descendant. If the batch already has such a path, or if
+     * the batch is full, the batch is closed and written in the background, and the value goes
+     * to a new batch.
+     */
+    private void keep(String path, @Nullable Object value) {
+        boolean writeNow = false;
+        boolean schedule;
+        int dropped;
+        synchronized (this) {
+            boolean fits = pending.containsKey(path)
+                    || (pending.size() < maxBatchSize && !overlaps(path));
+            if (!fits) {
+                closed.addLast(pending);
+                closedSize += pending.size();
+                pending = new LinkedHashMap<>();
+                writeNow = true;
+            }
+            pending.put(path, value);
+            dropped = dropOverflow();
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (dropped > 0) {
+            _warn().log("Dropped %d Firebase updates, as more than %d are waiting to be written.",
+                        dropped, maxPending);
+        }
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        if (writeNow) {
+            scheduler.execute(this::flushQuietly);
+        }
+        if (schedule) {
+            scheduler.schedule(this::flushQuietly, window.toMillis(), MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the oldest closed batches while more than the maximum number of children are kept.
+     *
+     * <p>Must be called under the lock.
+     *
+     * @return the number of the dropped children
+     */
+    private int dropOverflow() {
+        int dropped = 0;
+        while (closedSize + pending.size() > maxPending && !closed.isEmpty()) {
+            Map<String, Object> batch = closed.removeFirst();
+            closedSize -= batch.size();
+            dropped += batch.size();
+        }
+        return dropped;
+    }
+
+    /**
+     * Tells if the given path is an ancestor or a descendant of a pending path.
+     *
+     * <p>The same path does not overlap, as its later value replaces the earlier one.
+     */
+    private boolean overlaps(String path) {
+        String node = path + SEPARATOR;
+        for (String other : pending.keySet()) {
+            if (other.equals(path)) {
+                continue;
+            }
+            if (node.startsWith(other + SEPARATOR) || other.startsWith(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the closed batches and the pending updates.
+     *
+     * <p>A batch which failed to be written earlier is written first.
+     *
+     * @throws RuntimeException
+     *         if a batch fails to be written; the batch and the later updates are then kept
+     *         to be written again
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            Map<String, Object> batch = nextBatch();
+            while (batch != null) {
+                _debug().log("Writing %d coalesced Firebase updates.", batch.size());
+                try {
+                    writer.write(batch);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        closed.addFirst(batch);
+                        closedSize += batch.size();
+                    }
+                    failing = true;
+                    throw e;
+                }
+                batch = nextBatch();
+            }
+            failing = false;
+            retryDelay = window;
+        }
+    }
+
+    /**
+     * Takes the next batch to be written, or returns {@code null} if there are no updates.
+     */
+    private synchronized @Nullable Map<String, Object> nextBatch() {
+        if (!closed.isEmpty()) {
+            Map<String, Object> result = closed.removeFirst();
+            closedSize -= result.size();
+            return result;
+        }
+        flushScheduled = false;
+        if (pending.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> result = pending;
+        pending = new LinkedHashMap<>();
+        return result;
+    }
+
+    /**
+     * Writes the updates in the background, and schedules the next attempt if the writing
+     * fails.
+     *
+     * <p>While a failed batch waits for the retry, the updates are only kept.
+     */
+    private void flushQuietly() {
+        synchronized (writeLock) {
+            if (failing) {
+                return;
+            }
+            writeOrRetryLater();
+        }
+    }
+
+    private void writeOrRetryLater() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to write the coalesced Firebase updates. " +
+                                "They are to be written again later.");
+            scheduleRetry();
+        }
+    }
+
+    private void scheduleRetry() {
+        synchronized (writeLock) {
+            if (retryScheduled || scheduler.isShutdown()) {
+                return;
+            }
+            retryScheduled = true;
+            scheduler.schedule(this::retry, retryDelay.toMillis(), MILLISECONDS);
+            Duration doubled = retryDelay.multipliedBy(2);
+            retryDelay = doubled.compareTo(MAX_RETRY_DELAY) < 0
+                         ? doubled
+                         : MAX_RETRY_DELAY;
+        }
+    }
+
+    private void retry() {
+        synchronized (writeLock) {
+            retryScheduled = false;
+            writeOrRetryLater();
+        }
+    }
+
+    /**
+     * Writes the pending updates and stops the scheduling of the writes.
+     *
+     * @throws RuntimeException
+     *         if the updates fail to be written
+     */
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Converts the JSON value into a plain value of a batch.
+     */
+    private static @Nullable Object toValue(JsonElement json) {
+        if (json.isJsonNull()) {
+            return null;
+        }
+        if (json.isJsonObject()) {
+            JsonObject object = json.getAsJsonObject();
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> child : object.entrySet()) {
+                result.put(child.getKey(), toValue(child.getValue()));
+            }
+            return result;
+        }
+        if (json.isJsonArray()) {
+            JsonArray array = json.getAsJsonArray();
+            List<Object> result = new ArrayList<>(array.size());
+            for (JsonElement element : array) {
+                result.add(toValue(element));
+            }
+            return result;
+        }
+        JsonPrimitive primitive = json.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            String number = primitive.getAsString();
+            boolean integral = number.indexOf('.') < 0
+                    && number.indexOf('e') < 0
+                    && number.indexOf('E') < 0;
+            return integral
+                   ? (Object) primitive.getAsLong()
+                   : (Object) primitive.getAsDouble();
+        }
+        return primitive.getAsString();
+    }
+
+    /**
+     * Writes several children at once.
+     */
+    @FunctionalInterface
+    public interface MultiPathWriter {
+
+        /**
+         * Writes the given values by their paths relative to the database root.
+         */
+        void write(Map<String, Object> values);
+
+        /**
+         * Creates the writer which sends the multi-path updates to the REST API of the given
+         * database, authorized with the given credentials.
+         *
+         * <p>Use the same credentials as the {@linkplain
+         * io.spine.web.firebase.FirebaseClientFactory#remoteClient(FirebaseDatabase,
+         * FirebaseCredentials) delegate client}.
+         */
+        static MultiPathWriter of(FirebaseDatabase database, FirebaseCredentials credentials) {
+            checkNotNull(database);
+            checkNotNull(credentials);
+            return new RestMultiPathWriter(database, credentials);
+        }
+
+        /**
+         * Creates the writer which sends the multi-path updates to the REST API of the given
+         * database without authorization, e.g. to the emulator.
+         */
+        static MultiPathWriter of(FirebaseDatabase database) {
+            return of(database, FirebaseCredentials.empty());
+        }
+    }
+
+    /**
+     * A builder of the {@code CoalescingFirebaseClient}.
+     */
+    public static final class Builder {
+
+        private @Nullable FirebaseClient delegate;
+        private @Nullable MultiPathWriter writer;
+        private Duration window = DEFAULT_WINDOW;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private int maxPending = DEFAULT_MAX_PENDING;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /** Sets the client performing the writes which are not coalesced, and the reads. */
+        public Builder setDelegate(FirebaseClient delegate) {
+            this.delegate = checkNotNull(delegate);
+            return this;
+        }
+
+        /**
+         * Sets the database to which the coalesced updates are written without authorization,
+         * e.g. the emulator.
+         */
+        public Builder setDatabase(FirebaseDatabase database) {
+            return setWriter(MultiPathWriter.of(database));
+        }
+
+        /**
+         * Sets the database to which the coalesced updates are written on behalf of
+         * the given credentials.
+         */
+        public Builder setDatabase(FirebaseDatabase database, FirebaseCredentials credentials) {
+            return setWriter(MultiPathWriter.of(database, credentials));
+        }
+
+        /** Sets the writer of the coalesced updates. */
+        public Builder setWriter(MultiPathWriter writer) {
+            this.writer = checkNotNull(writer);
+            return this;
+        }
+
+        /** Sets the time for which the updates are kept before being written. */
+        public Builder setWindow(Duration window) {
+            checkNotNull(window);
+            checkArgument(!window.isNegative() && !window.isZero(),
+                          "The window must be positive, but was %s.", window);
+            this.window = window;
+            return this;
+        }
+
+        /** Sets the maximum number of the children written in a single batch. */
+        public Builder setMaxBatchSize(int maxBatchSize) {
+            checkArgument(maxBatchSize > 0,
+                          "The batch size must be positive, but was %s.", maxBatchSize);
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the children kept before they are written.
+         *
+         * <p>Must not be less than the maximum batch size.
+         */
+        public Builder setMaxPending(int maxPending) {
+            checkArgument(maxPending > 0,
+                          "The pending limit must be positive, but was %s.", maxPending);
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        /**
+         * Creates the client.
+         *
+         * @throws IllegalStateException
+         *         if the delegate or the database is not set
+         */
+        public CoalescingFirebaseClient build() {
+            FirebaseClient delegate = this.delegate;
+            MultiPathWriter writer = this.writer;
+            checkState(delegate != null, "The delegate client is not set.");
+            checkState(writer != null, "The database is not set.");
+            checkState(maxPending >= maxBatchSize,
+                       "The pending limit %s is less than the batch size %s.",
+                       maxPending, maxBatchSize);
+            return new CoalescingFirebaseClient(this, delegate, writer);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.web;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.spine.web.firebase.FirebaseCredentials;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A {@code MultiPathWriter} which sends the values as a single {@code PATCH} request to
+ * the REST API of the Realtime Database.
+ *
+ * <p>The requests are authorized with the same {@code FirebaseCredentials} and sent over
+ * the same HTTP transport as the ones of the {@linkplain
+ * io.spine.web.firebase.FirebaseClientFactory#remoteClient(FirebaseDatabase, FirebaseCredentials)
+ * remote client}, so the coalesced updates are written on behalf of the same account as
+ * the other writes.
+ */
+final class RestMultiPathWriter implements CoalescingFirebaseClient.MultiPathWriter {
+
+    private static final String CONTENT_TYPE = "application/json";
+    private static final String METHOD_OVERRIDE = "X-HTTP-Method-Override";
+    private static final String PATCH = "PATCH";
+    private static final String ROOT_NODE = "/.json";
+
+    /** Writes the {@code null} values, as they delete the children. */
+    private static final Gson gson = new GsonBuilder().serializeNulls()
+                                                      .create();
+
+    private final GenericUrl root;
+    private final HttpRequestFactory requestFactory;
+
+    RestMultiPathWriter(FirebaseDatabase database, FirebaseCredentials credentials) {
+        String url = database.getReference()
+                             .toString();
+        this.root = new GenericUrl(url + ROOT_NODE);
+        this.requestFactory = new NetHttpTransport().createRequestFactory(credentials);
+    }
+
+    /**
+     * Sends the values to the root of the database.
+     *
+     * <p>The {@code PATCH} method is passed in the method override header, as the default
+     * HTTP transport does not support it.
+     */
+    @Override
+    public void write(Map<String, Object> values) {
+        byte[] body = gson.toJson(values)
+                          .getBytes(StandardCharsets.UTF_8);
+        try {
+            HttpRequest request = requestFactory.buildPostRequest(
+                    root, new ByteArrayContent(CONTENT_TYPE, body));
+            request.getHeaders()
+                   .set(METHOD_OVERRIDE, PATCH);
+            HttpResponse response = request.execute();
+            response.disconnect();
+        } catch (IOException e) {
+            // Includes the `HttpResponseException` thrown if the update is not accepted.
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.web;
+
+import io.spine.examples.todolist.web.given.ServletExchange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`AsyncDispatch` should")
+class AsyncDispatchTest {
+
+    @Test
+    @DisplayName("serve the requests synchronously in the `sync` mode")
+    void sync() {
+        AsyncDispatch dispatch = AsyncDispatch.of(AsyncDispatch.SYNC);
+        assertThat(dispatch.isAsync()).isFalse();
+    }
+
+    @Test
+    @DisplayName("serve the requests by a bounded pool if the number of threads is given")
+    void bounded() {
+        AsyncDispatch dispatch = AsyncDispatch.of(" 8 ");
+        assertThat(dispatch.isAsync()).isTrue();
+        dispatch.shutdown();
+    }
+
+    @Test
+    @DisplayName("serve the requests asynchronously in the `virtual` mode")
+    void virtual() {
+        AsyncDispatch dispatch = AsyncDispatch.of(AsyncDispatch.VIRTUAL);
+        assertThat(dispatch.isAsync()).isTrue();
+        dispatch.shutdown();
+    }
+
+    @Test
+    @DisplayName("reject an unknown mode")
+    void rejectUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncDispatch.of("fast"));
+    }
+
+    @Test
+    @DisplayName("reject a non-positive number of threads")
+    void rejectZeroThreads() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncDispatch.of("0"));
+    }
+
+    @Test
+    @DisplayName("serve a request on the calling thread in the `sync` mode")
+    void serveSync() throws Exception {
+        ServletExchange exchange = new ServletExchange();
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> served = new AtomicReference<>();
+
+        AsyncDispatch.sync()
+                     .serve(exchange.request(), exchange.response(),
+                            (request, response) -> served.set(Thread.currentThread()));
+
+        assertThat(served.get()).isSameInstanceAs(caller);
+        assertThat(exchange.async()).isFalse();
+    }
+
+    @Test
+    @DisplayName("complete a request once the endpoint serves it on the executor")
+    void completeAsync() throws Exception {
+        AsyncDispatch dispatch = AsyncDispatch.bounded(1);
+        ServletExchange exchange = new ServletExchange();
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicReference<Thread> served = new AtomicReference<>();
+        try {
+            dispatch.serve(exchange.request(), exchange.response(), (request, response) -> {
+                await(proceed);
+                served.set(Thread.currentThread());
+            });
+            assertThat(exchange.async()).isTrue();
+            assertThat(exchange.completed()).isFalse();
+
+            proceed.countDown();
+            assertThat(exchange.awaitCompletion()).isTrue();
+            assertThat(served.get()).isNotSameInstanceAs(Thread.currentThread());
+            assertThat(exchange.error()).isEqualTo(0);
+        } finally {
+            dispatch.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("answer `503` if the executor is saturated")
+    void rejectWhenSaturated() throws Exception {
+        AsyncDispatch dispatch = AsyncDispatch.bounded(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AsyncDispatch.Endpoint blocked = (request, response) -> await(proceed);
+        try {
+            // One request being served, and the queue of a single thread filled.
+            for (int i = 0; i < 1 + AsyncDispatch.QUEUED_PER_THREAD; i++) {
+                ServletExchange accepted = new ServletExchange();
+                dispatch.serve(accepted.request(), accepted.response(), blocked);
+                assertThat(accepted.error()).isEqualTo(0);
+            }
+            ServletExchange rejected = new ServletExchange();
+            dispatch.serve(rejected.request(), rejected.response(), blocked);
+
+            assertThat(rejected.error()).isEqualTo(SC_SERVICE_UNAVAILABLE);
+            assertThat(rejected.completed()).isTrue();
+        } finally {
+            proceed.countDown();
+            dispatch.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("answer `500` if the endpoint fails")
+    void failOnEndpointError() throws Exception {
+        AsyncDispatch dispatch = AsyncDispatch.bounded(1);
+        ServletExchange exchange = new ServletExchange();
+        try {
+            dispatch.serve(exchange.request(), exchange.response(), (request, response) -> {
+                throw new IllegalStateException("The endpoint is broken.");
+            });
+
+            assertThat(exchange.awaitCompletion()).isTrue();
+            assertThat(exchange.error()).isEqualTo(SC_INTERNAL_SERVER_ERROR);
+        } finally {
+            dispatch.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.web;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.firebase.database.ChildEventListener;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.StoredJson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`CoalescingFirebaseClient` should")
+class CoalescingFirebaseClientTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    /** The batches and the delegated calls, in the order they are made. */
+    private final List<Object> writes = new CopyOnWriteArrayList<>();
+
+    private final CoalescingFirebaseClient client = CoalescingFirebaseClient
+            .newBuilder()
+            .setDelegate(new RecordingClient())
+            .setWriter(writes::add)
+            .setWindow(Duration.ofMinutes(1))
+            .build();
+
+    @AfterEach
+    void closeClient() {
+        client.close();
+    }
+
+    @Test
+    @DisplayName("merge the updates of a node into a single batch")
+    void mergeUpdates() {
+        client.update(path("tasks"), value("first", "a"));
+        client.update(path("tasks"), value("second", "b"));
+        client.update(path("tasks"), value("first", "c"));
+        client.flush();
+
+        assertThat(writes).containsExactly(ImmutableMap.of(
+                "tasks/first", ImmutableMap.of("uuid", "c"),
+                "tasks/second", ImmutableMap.of("uuid", "b")
+        ));
+    }
+
+    @Test
+    @DisplayName("write a node and its descendant in separate batches")
+    void splitOverlappingPaths() {
+        client.update(path("tasks"), value("first", "a"));
+        client.update(path("tasks/first"), value("uuid", "b"));
+        client.flush();
+
+        assertThat(writes).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("write the pending updates before the other writes")
+    void keepOrder() {
+        client.update(path("tasks"), value("first", "a"));
+        client.delete(path("tasks"));
+
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(1)).isEqualTo("delete tasks");
+    }
+
+    @Test
+    @DisplayName("write a failed batch again ahead of the later updates")
+    void retryFailedBatch() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        CoalescingFirebaseClient failing = CoalescingFirebaseClient
+                .newBuilder()
+                .setDelegate(new RecordingClient())
+                .setWriter(values -> {
+                    if (fail.getAndSet(false)) {
+                        throw new IllegalStateException("The database is unavailable.");
+                    }
+                    writes.add(values);
+                })
+                .setWindow(Duration.ofMinutes(1))
+                .build();
+        failing.update(path("tasks"), value("first", "a"));
+        assertThrows(IllegalStateException.class, failing::flush);
+        failing.update(path("tasks"), value("first", "b"));
+        failing.close();
+
+        assertThat(writes).containsExactly(
+                ImmutableMap.of("tasks/first", ImmutableMap.of("uuid", "a")),
+                ImmutableMap.of("tasks/first", ImmutableMap.of("uuid", "b"))
+        ).inOrder();
+    }
+
+    @Test
+    @DisplayName("keep the updates which do not fit the batch while a failed batch waits")
+    void keepWhileFailing() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        CoalescingFirebaseClient failing = CoalescingFirebaseClient
+                .newBuilder()
+                .setDelegate(new RecordingClient())
+                .setWriter(values -> {
+                    if (fail.get()) {
+                        throw new IllegalStateException("The database is unavailable.");
+                    }
+                    writes.add(values);
+                })
+                .setWindow(Duration.ofMinutes(1))
+                .setMaxBatchSize(1)
+                .build();
+        failing.update(path("tasks"), value("first", "a"));
+        assertThrows(IllegalStateException.class, failing::flush);
+        failing.update(path("tasks"), value("second", "b"));
+        failing.update(path("tasks"), value("third", "c"));
+        fail.set(false);
+        failing.close();
+
+        assertThat(writes).containsExactly(
+                ImmutableMap.of("tasks/first", ImmutableMap.of("uuid", "a")),
+                ImmutableMap.of("tasks/second", ImmutableMap.of("uuid", "b")),
+                ImmutableMap.of("tasks/third", ImmutableMap.of("uuid", "c"))
+        ).inOrder();
+    }
+
+    @Test
+    @DisplayName("drop the oldest updates above the pending limit")
+    void dropAboveLimit() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        CoalescingFirebaseClient failing = CoalescingFirebaseClient
+                .newBuilder()
+                .setDelegate(new RecordingClient())
+                .setWriter(values -> {
+                    if (fail.get()) {
+                        throw new IllegalStateException("The database is unavailable.");
+                    }
+                    writes.add(values);
+                })
+                .setWindow(Duration.ofMinutes(1))
+                .setMaxBatchSize(1)
+                .setMaxPending(2)
+                .build();
+        failing.update(path("tasks"), value("first", "a"));
+        assertThrows(IllegalStateException.class, failing::flush);
+        failing.update(path("tasks"), value("second", "b"));
+        failing.update(path("tasks"), value("third", "c"));
+        fail.set(false);
+        failing.close();
+
+        assertThat(writes).containsExactly(
+                ImmutableMap.of("tasks/second", ImmutableMap.of("uuid", "b")),
+                ImmutableMap.of("tasks/third", ImmutableMap.of("uuid", "c"))
+        ).inOrder();
+    }
+
+    @Test
+    @DisplayName("write the updates once the window passes")
+    void writeAfterWindow() throws InterruptedException {
+        CoalescingFirebaseClient windowed = CoalescingFirebaseClient
+                .newBuilder()
+                .setDelegate(new RecordingClient())
+                .setWriter(writes::add)
+                .setWindow(Duration.ofMillis(10))
+                .build();
+        windowed.update(path("tasks"), value("first", "a"));
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (writes.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        windowed.close();
+
+        assertThat(writes).hasSize(1);
+    }
+
+    private static NodePath path(String value) {
+        return NodePath
+                .newBuilder()
+                .setValue(value)
+                .build();
+    }
+
+    private static NodeValue value(String child, String uuid) {
+        TaskId id = TaskId
+                .newBuilder()
+                .setUuid(uuid)
+                .build();
+        NodeValue result = NodeValue.empty();
+        result.addChild(child, StoredJson.encode(id));
+        return result;
+    }
+
+    /**
+     * Records the calls of the client to the {@link #writes}.
+     */
+    private final class RecordingClient implements FirebaseClient {
+
+        @Override
+        public Optional<NodeValue> fetchNode(NodePath nodePath) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void subscribeTo(NodePath nodePath, ChildEventListener listener) {
+            writes.add("subscribe " + nodePath.getValue());
+        }
+
+        @Override
+        public void create(NodePath nodePath, NodeValue value) {
+            writes.add("create " + nodePath.getValue());
+        }
+
+        @Override
+        public void update(NodePath nodePath, NodeValue value) {
+            writes.add("update " + nodePath.getValue());
+        }
+
+        @Override
+        public void delete(NodePath nodePath) {
+            writes.add("delete " + nodePath.getValue());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.web.given;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A request to a servlet and the response to it, which record how the request is served.
+ *
+ * <p>The request supports the asynchronous mode.
+ */
+public final class ServletExchange {
+
+    private static final String URI = "/command";
+
+    private final AtomicInteger error = new AtomicInteger();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private volatile boolean async;
+
+    private final AsyncContext asyncContext = proxy(AsyncContext.class, (self, method, args) -> {
+        if ("complete".equals(method.getName())) {
+            completed.countDown();
+        }
+        return null;
+    });
+
+    private final HttpServletRequest request =
+            proxy(HttpServletRequest.class, (self, method, args) -> {
+                switch (method.getName()) {
+                    case "isAsyncSupported":
+                        return true;
+                    case "startAsync":
+                        async = true;
+                        return asyncContext;
+                    case "getRequestURI":
+                        return URI;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    private final HttpServletResponse response =
+            proxy(HttpServletResponse.class, (self, method, args) -> {
+                switch (method.getName()) {
+                    case "sendError":
+                        error.set((Integer) args[0]);
+                        return null;
+                    case "isCommitted":
+                        return error.get() != 0;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    public HttpServletRequest request() {
+        return request;
+    }
+
+    public HttpServletResponse response() {
+        return response;
+    }
+
+    /**
+     * Tells if the request is switched to the asynchronous mode.
+     */
+    public boolean async() {
+        return async;
+    }
+
+    /**
+     * Obtains the error status sent in response, or {@code 0} if no error is sent.
+     */
+    public int error() {
+        return error.get();
+    }
+
+    /**
+     * Waits until the asynchronous request is completed.
+     *
+     * @return {@code true} if the request is completed, {@code false} if the time is out
+     */
+    public boolean awaitCompletion() throws InterruptedException {
+        return completed.await(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Tells if the asynchronous request is completed.
+     */
+    public boolean completed() {
+        return completed.getCount() == 0;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        Object result = Proxy.newProxyInstance(type.getClassLoader(),
+                                               new Class<?>[]{type},
+                                               handler);
+        return type.cast(result);
+    }
+}
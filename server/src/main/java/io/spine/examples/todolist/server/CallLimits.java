@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The permits of the concurrent calls to each service, limited by
+ * the {@linkplain ServerOptions#maxConcurrentCalls(String) server options}.
+ *
+ * <p>The gRPC server applies the limits through an interceptor. The servers which call
+ * the services in-process, such as the servlets of a web application, acquire the permits
+ * directly.
+ */
+public final class CallLimits {
+
+    /** The permits of the limited services by the service names. */
+    private final ImmutableMap<String, Semaphore> permits;
+
+    /**
+     * Creates the limits set by the given options.
+     */
+    public CallLimits(ServerOptions options) {
+        checkNotNull(options);
+        ImmutableMap.Builder<String, Semaphore> result = ImmutableMap.builder();
+        options.concurrentCallLimits()
+               .forEach((service, limit) -> result.put(service, new Semaphore(limit)));
+        this.permits = result.build();
+    }
+
+    /**
+     * Acquires the permit to start a call of the given service, if the limit of the concurrent
+     * calls of the service is not reached.
+     *
+     * <p>The call of a service without a limit always gets a permit.
+     *
+     * @param serviceName
+     *         the full name of the gRPC service
+     * @return the permit to release once the call completes, or {@code Optional.empty()} if
+     *         the limit is reached
+     */
+    public Optional<Permit> tryAcquire(String serviceName) {
+        checkNotNull(serviceName);
+        Semaphore servicePermits = permits.get(serviceName);
+        if (servicePermits == null) {
+            return Optional.of(new Permit(null));
+        }
+        return servicePermits.tryAcquire()
+               ? Optional.of(new Permit(servicePermits))
+               : Optional.empty();
+    }
+
+    /**
+     * A permit of a single call.
+     */
+    public static final class Permit {
+
+        private final @Nullable Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(@Nullable Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        /**
+         * Releases the permit.
+         *
+         * <p>The repeated calls have no effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true) && semaphore != null) {
+                semaphore.release();
+            }
+        }
+    }
+}
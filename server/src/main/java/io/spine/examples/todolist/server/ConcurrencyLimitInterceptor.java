@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.spine.examples.todolist.server.CallLimits.Permit;
+
+import java.util.Optional;
+
+import static io.grpc.MethodDescriptor.MethodType.UNARY;
+
+/**
+ * Limits the number of the concurrent calls to each gRPC service.
+ *
+ * <p>A call exceeding the {@linkplain ServerOptions#maxConcurrentCalls(String) limit} of its
+ * service is closed with the {@code RESOURCE_EXHAUSTED} status right away, so the clients get
+ * a fast failure instead of piling up the calls in the server queue.
+ *
+ * <p>Only the unary calls are limited. A streaming call, such as a subscription, lasts as long
+ * as the client keeps it open. Counting such calls would limit the number of the live
+ * subscriptions rather than the load of the server.
+ */
+final class ConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private final CallLimits limits;
+
+    ConcurrencyLimitInterceptor(ServerOptions options) {
+        this.limits = new CallLimits(options);
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call,
+                                                       Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        MethodDescriptor<Q, R> method = call.getMethodDescriptor();
+        if (method.getType() != UNARY) {
+            return next.startCall(call, headers);
+        }
+        String service = method.getServiceName();
+        Optional<Permit> acquired = limits.tryAcquire(service);
+        if (!acquired.isPresent()) {
+            Status status = Status.RESOURCE_EXHAUSTED
+                    .withDescription("Too many concurrent calls to " + service + '.');
+            call.close(status, new Metadata());
+            return new ServerCall.Listener<Q>() {
+            };
+        }
+        Permit permit = acquired.get();
+        try {
+            ServerCall.Listener<Q> listener =
+                    next.startCall(new ReleasingCall<>(call, permit), headers);
+            return new ReleasingListener<>(listener, permit);
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the permit when the server closes the call.
+     */
+    private static final class ReleasingCall<Q, R> extends SimpleForwardingServerCall<Q, R> {
+
+        private final Permit permit;
+
+        private ReleasingCall(ServerCall<Q, R> delegate, Permit permit) {
+            super(delegate);
+            this.permit = permit;
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            permit.release();
+            super.close(status, trailers);
+        }
+    }
+
+    /**
+     * Releases the permit when the call is completed or cancelled by the client.
+     */
+    private static final class ReleasingListener<Q> extends SimpleForwardingServerCallListener<Q> {
+
+        private final Permit permit;
+
+        private ReleasingListener(ServerCall.Listener<Q> delegate, Permit permit) {
+            super(delegate);
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete() {
+            permit.release();
+            super.onComplete();
+        }
+
+        @Override
+        public void onCancel() {
+            permit.release();
+            super.onCancel();
+        }
+    }
+}
@@ -27,6 +27,9 @@
 package io.spine.examples.todolist.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.ServerBuilder;
+import io.grpc.netty.NettyServerBuilder;
 import io.spine.logging.Logging;
 import io.spine.server.BoundedContext;
 import io.spine.server.CommandService;
@@ -34,7 +37,13 @@ import io.spine.server.GrpcContainer;
 import io.spine.server.QueryService;
 import io.spine.server.SubscriptionService;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Sample gRPC server implementation.
@@ -42,6 +51,8 @@ import java.io.IOException;
 public final class Server implements Logging {
 
     private final int port;
+    private final ServerOptions options;
+    private final @Nullable ExecutorService executor;
     private final GrpcContainer grpcContainer;
     private final BoundedContext context;
 
@@ -56,7 +67,25 @@ public final class Server implements Logging {
      * @return a new instance of {@code Server}
      */
     public static Server newServer(int port, BoundedContext boundedContext) {
-        return new Server(port, boundedContext);
+        return newServer(port, boundedContext, ServerOptions.defaults());
+    }
+
+    /**
+     * Creates a server with the {@link CommandService Command}, {@link QueryService Query} and
+     * {@link SubscriptionService Subscription} gRPC services tuned with the given options.
+     *
+     * @param port
+     *         the port to bind the server to
+     * @param boundedContext
+     *         the {@link BoundedContext} to serve
+     * @param options
+     *         the options of the gRPC server
+     * @return a new instance of {@code Server}
+     */
+    public static Server newServer(int port,
+                                   BoundedContext boundedContext,
+                                   ServerOptions options) {
+        return new Server(port, boundedContext, options);
     }
 
     /**
@@ -66,10 +95,14 @@ public final class Server implements Logging {
      *         the port to bind the server to
      * @param context
      *         the {@link BoundedContext} to serve
+     * @param options
+     *         the options of the gRPC server
      */
-    private Server(int port, BoundedContext context) {
+    private Server(int port, BoundedContext context, ServerOptions options) {
         this.port = port;
         this.context = context;
+        this.options = options;
+        this.executor = initExecutor(options);
 
         CommandService commandService = initCommandService();
         QueryService queryService = initQueryService();
@@ -120,10 +153,62 @@ public final class Server implements Logging {
                 .atPort(port)
                 .addService(commandService)
                 .addService(queryService)
-                .addService(subscriptionService);
+                .addService(subscriptionService)
+                .withServer(this::configure);
         return result.build();
     }
 
+    @Nullable
+    private static ExecutorService initExecutor(ServerOptions options) {
+        int threads = options.executorThreads();
+        if (threads == 0) {
+            return null;
+        }
+        ExecutorService result = Executors.newFixedThreadPool(
+                threads,
+                new ThreadFactoryBuilder().setNameFormat("grpc-server-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+        return result;
+    }
+
+    /**
+     * Applies the {@linkplain ServerOptions options} to the gRPC server.
+     *
+     * <p>The keepalive and the per-connection limit are specific to the Netty transport,
+     * so they are applied only if the server is backed by Netty.
+     */
+    private void configure(ServerBuilder<?> builder) {
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        if (options.maxInboundMessageSize() > 0) {
+            builder.maxInboundMessageSize(options.maxInboundMessageSize());
+        }
+        options.interceptors()
+               .reverse()
+               .forEach(builder::intercept);
+        if (options.limitsConcurrentCalls()) {
+            builder.intercept(new ConcurrencyLimitInterceptor(options));
+        }
+        if (builder instanceof NettyServerBuilder) {
+            configureNetty((NettyServerBuilder) builder);
+        }
+    }
+
+    private void configureNetty(NettyServerBuilder builder) {
+        if (options.maxConcurrentCallsPerConnection() > 0) {
+            builder.maxConcurrentCallsPerConnection(options.maxConcurrentCallsPerConnection());
+        }
+        options.keepAliveTime()
+               .map(Duration::toMillis)
+               .ifPresent(time -> builder.keepAliveTime(time, MILLISECONDS));
+        options.keepAliveTimeout()
+               .map(Duration::toMillis)
+               .ifPresent(timeout -> builder.keepAliveTimeout(timeout, MILLISECONDS));
+    }
+
     /**
      * Starts the service.
      *
@@ -132,7 +217,8 @@ public final class Server implements Logging {
      */
     public void start() throws IOException {
         startServer();
-        _info().log("Server started, listening to commands on the port %s.", port);
+        _info().log("Server started, listening to commands on the port %s with %s.",
+                    port, options);
         awaitTermination();
     }
 
@@ -153,6 +239,7 @@ public final class Server implements Logging {
      */
     public void shutdown() {
         grpcContainer.shutdown();
+        shutdownExecutor();
     }
 
     /**
@@ -161,5 +248,12 @@ public final class Server implements Logging {
     @VisibleForTesting
     public void shutdownNowAndWait() {
         grpcContainer.shutdownNowAndWait();
+        shutdownExecutor();
+    }
+
+    private void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdown();
+        }
     }
 }
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.grpc.ServerInterceptor;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.client.grpc.SubscriptionServiceGrpc;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The tuning of the gRPC server run by the {@link Server}.
+ *
+ * <p>All the options are optional. If an option is not set, the gRPC default is used.
+ */
+public final class ServerOptions {
+
+    /** The system property with the number of the threads handling the calls. */
+    public static final String EXECUTOR_THREADS = "todolist.server.executorThreads";
+
+    /** The system property with the maximum number of the concurrent calls to a service. */
+    public static final String MAX_CONCURRENT_CALLS = "todolist.server.maxConcurrentCalls";
+
+    /** The system property with the maximum size of an inbound message in bytes. */
+    public static final String MAX_INBOUND_MESSAGE_SIZE = "todolist.server.maxInboundMessageSize";
+
+    /** The system property with the maximum number of the concurrent calls per connection. */
+    public static final String MAX_CONCURRENT_CALLS_PER_CONNECTION =
+            "todolist.server.maxConcurrentCallsPerConnection";
+
+    /** The services run by the {@link Server}, which the default call limit applies to. */
+    private static final ImmutableSet<String> SERVICES = ImmutableSet.of(
+            CommandServiceGrpc.SERVICE_NAME,
+            QueryServiceGrpc.SERVICE_NAME,
+            SubscriptionServiceGrpc.SERVICE_NAME
+    );
+
+    private final int executorThreads;
+    private final int defaultMaxConcurrentCalls;
+    private final ImmutableMap<String, Integer> maxConcurrentCalls;
+    private final ImmutableMap<String, Integer> concurrentCallLimits;
+    private final int maxInboundMessageSize;
+    private final int maxConcurrentCallsPerConnection;
+    private final @Nullable Duration keepAliveTime;
+    private final @Nullable Duration keepAliveTimeout;
+    private final ImmutableList<ServerInterceptor> interceptors;
+
+    private ServerOptions(Builder builder) {
+        this.executorThreads = builder.executorThreads;
+        this.defaultMaxConcurrentCalls = builder.defaultMaxConcurrentCalls;
+        this.maxConcurrentCalls = ImmutableMap.copyOf(builder.maxConcurrentCalls);
+        this.concurrentCallLimits = concurrentCallLimits(defaultMaxConcurrentCalls,
+                                                         maxConcurrentCalls);
+        this.maxInboundMessageSize = builder.maxInboundMessageSize;
+        this.maxConcurrentCallsPerConnection = builder.maxConcurrentCallsPerConnection;
+        this.keepAliveTime = builder.keepAliveTime;
+        this.keepAliveTimeout = builder.keepAliveTimeout;
+        this.interceptors = builder.interceptors.build();
+    }
+
+    /**
+     * Obtains the options which leave the gRPC defaults intact.
+     */
+    public static ServerOptions defaults() {
+        return newBuilder().build();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code ServerOptions}.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the builder of the options set by the system properties.
+     *
+     * <p>The {@linkplain #EXECUTOR_THREADS executor threads}, the {@linkplain
+     * #MAX_CONCURRENT_CALLS concurrent calls} to each service, the {@linkplain
+     * #MAX_INBOUND_MESSAGE_SIZE inbound message size} and the {@linkplain
+     * #MAX_CONCURRENT_CALLS_PER_CONNECTION concurrent calls per connection} may be set.
+     * The options which are not set keep the gRPC defaults.
+     *
+     * @throws NumberFormatException
+     *         if a value is not a number
+     * @throws IllegalArgumentException
+     *         if a value is not positive
+     */
+    @SuppressWarnings("AccessOfSystemProperties") // The server is configured on the command line.
+    public static Builder fromSystemProperties() {
+        Builder builder = newBuilder();
+        intProperty(EXECUTOR_THREADS).ifPresent(builder::setExecutorThreads);
+        intProperty(MAX_CONCURRENT_CALLS).ifPresent(builder::setDefaultMaxConcurrentCalls);
+        intProperty(MAX_INBOUND_MESSAGE_SIZE).ifPresent(builder::setMaxInboundMessageSize);
+        intProperty(MAX_CONCURRENT_CALLS_PER_CONNECTION)
+                .ifPresent(builder::setMaxConcurrentCallsPerConnection);
+        return builder;
+    }
+
+    private static Optional<Integer> intProperty(String name) {
+        String value = System.getProperty(name);
+        return value == null
+               ? Optional.empty()
+               : Optional.of(Integer.parseInt(value.trim()));
+    }
+
+    /**
+     * Obtains the number of threads handling the calls.
+     *
+     * @return the number of threads or {@code 0} if the gRPC default executor is used
+     */
+    public int executorThreads() {
+        return executorThreads;
+    }
+
+    /**
+     * Obtains the maximum number of the concurrent unary calls to the service with the given
+     * name.
+     *
+     * <p>The streaming calls, such as the subscriptions, are not limited.
+     *
+     * <p>The {@linkplain Builder#setDefaultMaxConcurrentCalls(int) default limit} applies to
+     * the Command, Query and Subscription services run by the {@link Server}.
+     *
+     * @param serviceName
+     *         the full name of the gRPC service, e.g. {@code spine.client.CommandService}
+     * @return the limit or {@code 0} if the calls to the service are not limited
+     */
+    public int maxConcurrentCalls(String serviceName) {
+        return concurrentCallLimits.getOrDefault(serviceName, 0);
+    }
+
+    /**
+     * Obtains the limits of the concurrent calls by the names of the limited services.
+     *
+     * <p>The services which are not limited are absent.
+     */
+    ImmutableMap<String, Integer> concurrentCallLimits() {
+        return concurrentCallLimits;
+    }
+
+    private static ImmutableMap<String, Integer>
+    concurrentCallLimits(int defaultLimit, ImmutableMap<String, Integer> serviceLimits) {
+        Map<String, Integer> result = new HashMap<>();
+        if (defaultLimit > 0) {
+            SERVICES.forEach(service -> result.put(service, defaultLimit));
+        }
+        result.putAll(serviceLimits);
+        return ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * Tells if the concurrent calls to any of the services are limited.
+     */
+    public boolean limitsConcurrentCalls() {
+        return !concurrentCallLimits.isEmpty();
+    }
+
+    /**
+     * Obtains the maximum size of an inbound message in bytes.
+     *
+     * @return the size or {@code 0} if the gRPC default is used
+     */
+    public int maxInboundMessageSize() {
+        return maxInboundMessageSize;
+    }
+
+    /**
+     * Obtains the maximum number of the concurrent calls per a client connection.
+     *
+     * @return the limit or {@code 0} if the gRPC default is used
+     */
+    public int maxConcurrentCallsPerConnection() {
+        return maxConcurrentCallsPerConnection;
+    }
+
+    /**
+     * Obtains the time without reads after which the server pings a client.
+     */
+    public Optional<Duration> keepAliveTime() {
+        return Optional.ofNullable(keepAliveTime);
+    }
+
+    /**
+     * Obtains the time the server waits for a ping acknowledgement before closing
+     * the connection.
+     */
+    public Optional<Duration> keepAliveTimeout() {
+        return Optional.ofNullable(keepAliveTimeout);
+    }
+
+    /**
+     * Obtains the additional interceptors of the calls to all the services.
+     */
+    public ImmutableList<ServerInterceptor> interceptors() {
+        return interceptors;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("executorThreads", executorThreads)
+                          .add("defaultMaxConcurrentCalls", defaultMaxConcurrentCalls)
+                          .add("maxConcurrentCalls", maxConcurrentCalls)
+                          .add("maxInboundMessageSize", maxInboundMessageSize)
+                          .add("maxConcurrentCallsPerConnection", maxConcurrentCallsPerConnection)
+                          .add("keepAliveTime", keepAliveTime)
+                          .add("keepAliveTimeout", keepAliveTimeout)
+                          .add("interceptors", interceptors.size())
+                          .toString();
+    }
+
+    /**
+     * A builder for the {@code ServerOptions} instances.
+     */
+    public static final class Builder {
+
+        private int executorThreads;
+        private int defaultMaxConcurrentCalls;
+        private final Map<String, Integer> maxConcurrentCalls = new HashMap<>();
+        private int maxInboundMessageSize;
+        private int maxConcurrentCallsPerConnection;
+        private @Nullable Duration keepAliveTime;
+        private @Nullable Duration keepAliveTimeout;
+        private final ImmutableList.Builder<ServerInterceptor> interceptors =
+                ImmutableList.builder();
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of threads handling the calls.
+         *
+         * <p>By default, gRPC uses a cached thread pool, which starts a new thread whenever
+         * all the existing ones are busy.
+         */
+        public Builder setExecutorThreads(int threads) {
+            checkPositive(threads, "executor threads");
+            this.executorThreads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the concurrent calls to each service run by
+         * the {@link Server}, unless set
+         * {@linkplain #setMaxConcurrentCalls(String, int) for a particular service}.
+         *
+         * <p>The calls above the limit are rejected with the {@code RESOURCE_EXHAUSTED} status.
+         */
+        public Builder setDefaultMaxConcurrentCalls(int limit) {
+            checkPositive(limit, "default max concurrent calls");
+            this.defaultMaxConcurrentCalls = limit;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the concurrent calls to the given service.
+         *
+         * <p>The calls above the limit are rejected with the {@code RESOURCE_EXHAUSTED} status.
+         *
+         * @param serviceName
+         *         the full name of the gRPC service, e.g. {@code spine.client.CommandService}
+         * @param limit
+         *         the maximum number of the concurrent calls
+         */
+        public Builder setMaxConcurrentCalls(String serviceName, int limit) {
+            checkNotNull(serviceName);
+            checkPositive(limit, "max concurrent calls");
+            this.maxConcurrentCalls.put(serviceName, limit);
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of an inbound message in bytes.
+         */
+        public Builder setMaxInboundMessageSize(int bytes) {
+            checkPositive(bytes, "max inbound message size");
+            this.maxInboundMessageSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the concurrent calls per a client connection.
+         */
+        public Builder setMaxConcurrentCallsPerConnection(int limit) {
+            checkPositive(limit, "max concurrent calls per connection");
+            this.maxConcurrentCallsPerConnection = limit;
+            return this;
+        }
+
+        /**
+         * Sets the keepalive parameters.
+         *
+         * @param time
+         *         the time without reads after which the server pings a client
+         * @param timeout
+         *         the time to wait for a ping acknowledgement before closing the connection
+         */
+        public Builder setKeepAlive(Duration time, Duration timeout) {
+            checkNotNull(time);
+            checkNotNull(timeout);
+            checkArgument(!time.isNegative() && !time.isZero(),
+                          "The keepalive time must be positive.");
+            checkArgument(!timeout.isNegative() && !timeout.isZero(),
+                          "The keepalive timeout must be positive.");
+            this.keepAliveTime = time;
+            this.keepAliveTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Adds an interceptor of the calls to all the services.
+         *
+         * <p>The interceptors are called in the order they are added.
+         */
+        public Builder addInterceptor(ServerInterceptor interceptor) {
+            checkNotNull(interceptor);
+            this.interceptors.add(interceptor);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code ServerOptions}.
+         */
+        public ServerOptions build() {
+            return new ServerOptions(this);
+        }
+
+        private static void checkPositive(int value, String name) {
+            checkArgument(value > 0, "The %s must be positive, but was %s.", name, value);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.backup;
+
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.server.BoundedContext;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Exports all the events of a bounded context to a file.
+ *
+ * <p>The events are read from the event store of the context in the chronological order and
+ * written one by one as they are read, so the history is never held in memory as a whole.
+ *
+ * @see EventImporter
+ */
+public final class EventExporter {
+
+    /**
+     * The size of the buffer between the event serialization and the file channel.
+     */
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private final EventStore eventStore;
+
+    private EventExporter(EventStore eventStore) {
+        this.eventStore = eventStore;
+    }
+
+    /**
+     * Creates a new exporter of the events of the given context.
+     */
+    public static EventExporter of(BoundedContext context) {
+        checkNotNull(context);
+        return new EventExporter(context.eventBus()
+                                        .eventStore());
+    }
+
+    /**
+     * Writes all the events of the context to the given file.
+     *
+     * <p>If the file exists, it is overwritten.
+     *
+     * @param file
+     *         the file to write the events to
+     * @return the number of the written events
+     * @throws IOException
+     *         if the file cannot be written
+     */
+    public long exportTo(Path file) throws IOException {
+        checkNotNull(file);
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+             OutputStream stream = Channels.newOutputStream(channel)) {
+            CodedOutputStream output = CodedOutputStream.newInstance(stream, BUFFER_SIZE);
+            EventWriter writer = new EventWriter(output);
+            eventStore.read(EventStreamQuery.getDefaultInstance(), writer);
+            writer.rethrowFailure();
+            output.flush();
+            return writer.count;
+        }
+    }
+
+    /**
+     * Writes the observed events to the output as length-delimited messages.
+     */
+    private static final class EventWriter implements StreamObserver<Event> {
+
+        private final CodedOutputStream output;
+        private long count;
+        private @Nullable IOException failure;
+
+        private EventWriter(CodedOutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void onNext(Event event) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                output.writeUInt32NoTag(event.getSerializedSize());
+                event.writeTo(output);
+                count++;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failure = new IOException("Unable to read the events.", t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do, the output is flushed by the exporter.
+        }
+
+        private void rethrowFailure() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.backup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.CodedInputStream;
+import io.spine.base.Error;
+import io.spine.base.EventMessage;
+import io.spine.core.Ack;
+import io.spine.core.Event;
+import io.spine.examples.todolist.tasks.event.LabelAssignmentSkipped;
+import io.spine.examples.todolist.tasks.event.TaskBatchCompleted;
+import io.spine.examples.todolist.tasks.event.TaskBatchPartProcessed;
+import io.spine.examples.todolist.tasks.event.TaskCreationCanceled;
+import io.spine.examples.todolist.tasks.event.TaskLabelDetailsChanged;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.ImportBus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.examples.todolist.server.backup.EventExporter.BUFFER_SIZE;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Imports the events written by the {@link EventExporter} into a bounded context.
+ *
+ * <p>The events are read from the file sequentially and posted in batches to
+ * the {@link ImportBus} of the context. The aggregates apply the imported events and store them,
+ * and the events are then dispatched to the projections and stored in the event store just as
+ * the events emitted by a command handler are. As the file keeps the events in the chronological
+ * order, the events of each aggregate are imported in the order they have occurred.
+ *
+ * <p>The events emitted by the process managers are not imported. The process managers which
+ * react to the imported events emit theirs anew, so importing them would duplicate them. The state
+ * of the processes driven by the commands, such as the task creation wizard and the batch updates,
+ * is not a part of the event history, and so is not restored. For the same reason, the reports
+ * of the task parts to the batch update process are not imported either. Neither are
+ * the rejections, which answer the commands and do not change the state of the entities.
+ *
+ * <p>If the {@code ImportBus} rejects any other event, the import fails. The batches posted
+ * before stay imported.
+ */
+public final class EventImporter {
+
+    /**
+     * The default number of events posted to the {@code ImportBus} at once.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    /**
+     * The types of the events emitted by the process managers or addressed to them, which are
+     * not imported.
+     */
+    private static final ImmutableSet<Class<? extends EventMessage>> PROCESS_EVENTS =
+            ImmutableSet.of(TaskLabelDetailsChanged.class,
+                            TaskBatchPartProcessed.class,
+                            TaskBatchCompleted.class,
+                            TaskCreationCanceled.class,
+                            LabelAssignmentSkipped.class);
+
+    private final ImportBus importBus;
+    private final int batchSize;
+
+    private EventImporter(BoundedContext context, int batchSize) {
+        this.importBus = context.importBus();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates a new importer into the given context with the {@linkplain #DEFAULT_BATCH_SIZE
+     * default} batch size.
+     */
+    public static EventImporter into(BoundedContext context) {
+        return into(context, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new importer into the given context.
+     *
+     * @param context
+     *         the context to import the events into
+     * @param batchSize
+     *         the number of events posted at once
+     */
+    public static EventImporter into(BoundedContext context, int batchSize) {
+        checkNotNull(context);
+        checkArgument(batchSize > 0, "The batch size must be positive, but was %s.", batchSize);
+        return new EventImporter(context, batchSize);
+    }
+
+    /**
+     * Imports all the events from the given file.
+     *
+     * @param file
+     *         the file written by the {@link EventExporter}
+     * @return the number of the imported events, not counting the skipped ones
+     * @throws IOException
+     *         if the file cannot be read
+     * @throws IllegalStateException
+     *         if the {@code ImportBus} rejects an event
+     */
+    public long importFrom(Path file) throws IOException {
+        checkNotNull(file);
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, READ);
+             InputStream stream = Channels.newInputStream(channel)) {
+            CodedInputStream input = CodedInputStream.newInstance(stream, BUFFER_SIZE);
+            List<Event> batch = new ArrayList<>(batchSize);
+            while (!input.isAtEnd()) {
+                Event event = readEvent(input);
+                if (skipped(event)) {
+                    continue;
+                }
+                batch.add(event);
+                if (batch.size() == batchSize) {
+                    post(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                post(batch);
+                count += batch.size();
+            }
+        }
+        return count;
+    }
+
+    private static Event readEvent(CodedInputStream input) throws IOException {
+        int size = input.readRawVarint32();
+        int oldLimit = input.pushLimit(size);
+        Event event = Event.parser()
+                           .parseFrom(input);
+        input.popLimit(oldLimit);
+        input.resetSizeCounter();
+        return event;
+    }
+
+    private static boolean skipped(Event event) {
+        return event.isRejection()
+                || PROCESS_EVENTS.contains(event.enclosedMessage()
+                                                .getClass());
+    }
+
+    /**
+     * Posts the batch of events to the {@code ImportBus}.
+     *
+     * @throws IllegalStateException
+     *         if any of the events is not imported
+     */
+    private void post(List<Event> batch) {
+        ImmutableList<Event> events = ImmutableList.copyOf(batch);
+        MemoizingObserver<Ack> acks = memoizingObserver();
+        importBus.post(events, acks);
+        ImmutableList<Error> errors = acks.responses()
+                                          .stream()
+                                          .filter(ack -> ack.getStatus()
+                                                            .hasError())
+                                          .map(ack -> ack.getStatus()
+                                                         .getError())
+                                          .collect(toImmutableList());
+        if (!errors.isEmpty()) {
+            throw newIllegalStateException("%d of %d events are not imported. The first error: %s",
+                                           errors.size(), events.size(),
+                                           errors.get(0)
+                                                 .getMessage());
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.delivery;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.util.Durations;
+import io.spine.logging.Logging;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.delivery.DeliveryStats;
+import io.spine.server.delivery.InboxMessage;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.delivery.ShardedWorkRegistry;
+import io.spine.server.delivery.UniformAcrossAllShards;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The delivery of the signals split into shards, which are processed by several nodes.
+ *
+ * <p>The signals are hashed to the shards by the ID of the target entity, e.g. by
+ * the {@code TaskId} or the {@code LabelId}. The signals of a shard are kept in the inbox of
+ * the configured {@code StorageFactory}, so all the nodes must use the same storage.
+ *
+ * <p>The shards are split between the nodes: the shard {@code i} is the home shard of the node
+ * {@code i % nodeCount}. A node delivers the signals of its home shards as soon as it writes
+ * them to the inbox, and then every {@linkplain Builder#setPollInterval(Duration) poll
+ * interval} to pick up the signals written by the other nodes. While the polls find nothing
+ * to deliver, the interval is doubled, up to the {@linkplain Builder#setTakeoverInterval(Duration)
+ * takeover interval}, and is reset once a poll delivers something. Less often, a node also
+ * polls the shards of the other nodes, so that the signals are delivered even if their home
+ * node is down. The {@linkplain ShardedWorkRegistry work registry} makes sure a shard is
+ * processed by a single node at a time.
+ *
+ * <p>The entity state updates are published to the subscribers on the node which delivered
+ * the signal changing the state. A subscription made via another node does not receive them.
+ * So, the clients relying on the subscriptions, such as the caching client or the Firebase
+ * mirror, miss the updates applied by the other nodes.
+ *
+ * <p>To run a node:
+ * <ol>
+ *     <li>{@linkplain #install() install} the delivery before building the context;
+ *     <li>{@linkplain #start() start} the delivery once the context is built;
+ *     <li>{@linkplain #stop() stop} the delivery before closing the context.
+ * </ol>
+ *
+ * <p>A node may be configured via the system properties, see {@link #fromSystemProperties()}.
+ */
+public final class ShardedDelivery implements Logging {
+
+    /** The system property with the number of shards. */
+    public static final String SHARD_COUNT = "todolist.delivery.shardCount";
+
+    /** The system property with the zero-based index of this node. */
+    public static final String NODE_INDEX = "todolist.delivery.nodeIndex";
+
+    /** The system property with the number of the nodes. */
+    public static final String NODE_COUNT = "todolist.delivery.nodeCount";
+
+    /** The default number of shards. */
+    public static final int DEFAULT_SHARD_COUNT = 16;
+
+    /** The default interval between the polls of the home shards. */
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(250);
+
+    private static final Duration DEFAULT_TAKEOVER_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMinutes(1);
+
+    private final int shardCount;
+    private final int nodeIndex;
+    private final int nodeCount;
+    private final Duration pollInterval;
+    private final Duration takeoverInterval;
+    private final Duration sessionTimeout;
+    private final ShardedWorkRegistry workRegistry;
+    private final Delivery delivery;
+    private final ImmutableList<AtomicBoolean> scheduled;
+
+    /**
+     * Tells if any messages are delivered since the previous poll.
+     */
+    private final AtomicBoolean delivered = new AtomicBoolean();
+    private Duration idleInterval;
+    private long lastTakeover;
+    private @Nullable ScheduledExecutorService poller;
+    private @Nullable ExecutorService workers;
+
+    private ShardedDelivery(Builder builder) {
+        this.shardCount = builder.shardCount;
+        this.nodeIndex = builder.nodeIndex;
+        this.nodeCount = builder.nodeCount;
+        this.pollInterval = builder.pollInterval;
+        this.takeoverInterval = builder.takeoverInterval;
+        this.idleInterval = pollInterval;
+        this.sessionTimeout = builder.sessionTimeout;
+        this.workRegistry = checkNotNull(builder.workRegistry);
+        this.delivery = Delivery
+                .newBuilder()
+                .setStrategy(UniformAcrossAllShards.forNumber(shardCount))
+                .setWorkRegistry(workRegistry)
+                .build();
+        ImmutableList.Builder<AtomicBoolean> flags = ImmutableList.builder();
+        for (int shard = 0; shard < shardCount; shard++) {
+            flags.add(new AtomicBoolean(false));
+        }
+        this.scheduled = flags.build();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code ShardedDelivery}.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the builder configured by the system properties, if the
+     * {@linkplain #NODE_COUNT number of nodes} is set.
+     *
+     * <p>The {@linkplain #NODE_INDEX node index} is required then. The {@linkplain #SHARD_COUNT
+     * number of shards} is optional. The work registry must be set before building.
+     *
+     * @return the builder or {@code Optional.empty()} if the server runs on a single node
+     */
+    @SuppressWarnings("AccessOfSystemProperties") // The node is configured on the command line.
+    public static Optional<Builder> fromSystemProperties() {
+        String nodeCount = System.getProperty(NODE_COUNT);
+        if (nodeCount == null) {
+            return Optional.empty();
+        }
+        String nodeIndex = System.getProperty(NODE_INDEX);
+        checkState(nodeIndex != null, "`%s` must be set along with `%s`.", NODE_INDEX, NODE_COUNT);
+        Builder builder = newBuilder()
+                .setNode(Integer.parseInt(nodeIndex.trim()), Integer.parseInt(nodeCount.trim()));
+        String shardCount = System.getProperty(SHARD_COUNT);
+        if (shardCount != null) {
+            builder.setShardCount(Integer.parseInt(shardCount.trim()));
+        }
+        return Optional.of(builder);
+    }
+
+    /**
+     * Makes the server environment deliver the signals via the shards.
+     *
+     * <p>Must be called before the context is built.
+     */
+    public void install() {
+        ServerEnvironment.instance()
+                         .configureDelivery(delivery);
+        delivery.subscribe(this::onMessage);
+    }
+
+    /**
+     * Starts delivering the signals of the shards.
+     *
+     * <p>Must be called once the context is built.
+     */
+    public synchronized void start() {
+        checkState(poller == null, "The delivery is already started.");
+        workers = Executors.newFixedThreadPool(workerCount(), threads("todolist-delivery-%d"));
+        poller = Executors.newSingleThreadScheduledExecutor(threads("todolist-poller-%d"));
+        lastTakeover = System.nanoTime();
+        poller.schedule(this::poll, pollInterval.toMillis(), MILLISECONDS);
+        long releaseMillis = sessionTimeout.toMillis() / 2;
+        poller.scheduleWithFixedDelay(this::releaseExpiredSessions,
+                                      releaseMillis, releaseMillis, MILLISECONDS);
+        _info().log("Node %d of %d delivers %d shards.", nodeIndex, nodeCount, shardCount);
+    }
+
+    /**
+     * Stops delivering the signals, waiting for the deliveries in progress to complete.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (poller == null || workers == null) {
+            return;
+        }
+        poller.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        poller = null;
+        workers = null;
+    }
+
+    /**
+     * Obtains the number of the nodes sharing the delivery.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Tells if the shard with the given index is a home shard of this node.
+     */
+    boolean isHome(int shard) {
+        return shard % nodeCount == nodeIndex;
+    }
+
+    private int workerCount() {
+        int homeShards = (shardCount + nodeCount - 1 - nodeIndex) / nodeCount;
+        int processors = Runtime.getRuntime()
+                                .availableProcessors();
+        return Math.max(1, Math.min(homeShards, processors));
+    }
+
+    /**
+     * Schedules the delivery from the home shards, and from all the shards once in
+     * the takeover interval, and then schedules the next poll.
+     *
+     * <p>Runs on the poller thread only.
+     */
+    private void poll() {
+        long now = System.nanoTime();
+        boolean takeover = now - lastTakeover >= takeoverInterval.toNanos();
+        if (takeover) {
+            lastTakeover = now;
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (takeover || isHome(shard)) {
+                schedule(shard);
+            }
+        }
+        ScheduledExecutorService executor = poller;
+        if (executor != null && !executor.isShutdown()) {
+            executor.schedule(this::poll, nextPollDelay().toMillis(), MILLISECONDS);
+        }
+    }
+
+    /**
+     * Obtains the delay before the next poll, doubling it while there is nothing to deliver.
+     */
+    private Duration nextPollDelay() {
+        if (delivered.getAndSet(false)) {
+            idleInterval = pollInterval;
+        } else {
+            Duration doubled = idleInterval.multipliedBy(2);
+            idleInterval = doubled.compareTo(takeoverInterval) < 0
+                           ? doubled
+                           : takeoverInterval;
+        }
+        return idleInterval;
+    }
+
+    /**
+     * Delivers the new message right away if it belongs to a home shard of this node.
+     */
+    private void onMessage(InboxMessage message) {
+        int shard = message.getShardIndex()
+                           .getIndex();
+        if (isHome(shard)) {
+            schedule(shard);
+        }
+    }
+
+    /**
+     * Schedules the delivery from the shard unless it is already scheduled.
+     */
+    private void schedule(int shard) {
+        ExecutorService executor = workers;
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        AtomicBoolean flag = scheduled.get(shard);
+        if (flag.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flag.set(false);
+                deliverFrom(shard);
+            });
+        }
+    }
+
+    private void deliverFrom(int shard) {
+        ShardIndex index = ShardIndex
+                .newBuilder()
+                .setIndex(shard)
+                .setOfTotal(shardCount)
+                .vBuild();
+        try {
+            Optional<DeliveryStats> stats = delivery.deliverMessagesFrom(index);
+            if (stats.isPresent() && stats.get()
+                                          .deliveredCount() > 0) {
+                delivered.set(true);
+            }
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to deliver the messages of the shard %d.", shard);
+        }
+    }
+
+    @SuppressWarnings("CheckReturnValue") // The released sessions are logged by the registry.
+    private void releaseExpiredSessions() {
+        try {
+            workRegistry.releaseExpiredSessions(Durations.fromMillis(sessionTimeout.toMillis()));
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to release the expired shard sessions.");
+        }
+    }
+
+    private static ThreadFactory threads(String nameFormat) {
+        return new ThreadFactoryBuilder().setNameFormat(nameFormat)
+                                         .setDaemon(true)
+                                         .build();
+    }
+
+    /**
+     * A builder for the {@code ShardedDelivery} instances.
+     */
+    public static final class Builder {
+
+        private int shardCount = DEFAULT_SHARD_COUNT;
+        private int nodeIndex = 0;
+        private int nodeCount = 1;
+        private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+        private Duration takeoverInterval = DEFAULT_TAKEOVER_INTERVAL;
+        private Duration sessionTimeout = DEFAULT_SESSION_TIMEOUT;
+        private @Nullable ShardedWorkRegistry workRegistry;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of shards.
+         *
+         * <p>All the nodes must use the same number. Defaults to {@link #DEFAULT_SHARD_COUNT}.
+         */
+        public Builder setShardCount(int shardCount) {
+            checkArgument(shardCount > 0,
+                          "The shard count must be positive, but was %s.", shardCount);
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * Sets the zero-based index of this node and the number of the nodes.
+         *
+         * <p>Defaults to a single node.
+         */
+        public Builder setNode(int nodeIndex, int nodeCount) {
+            checkArgument(nodeCount > 0,
+                          "The node count must be positive, but was %s.", nodeCount);
+            checkArgument(nodeIndex >= 0 && nodeIndex < nodeCount,
+                          "The node index must be in [0, %s), but was %s.",
+                          nodeCount, nodeIndex);
+            this.nodeIndex = nodeIndex;
+            this.nodeCount = nodeCount;
+            return this;
+        }
+
+        /**
+         * Sets the interval between the polls of the home shards.
+         *
+         * <p>While the polls find nothing to deliver, the interval is doubled up to
+         * the takeover interval. Defaults to {@link #DEFAULT_POLL_INTERVAL}.
+         */
+        public Builder setPollInterval(Duration pollInterval) {
+            checkPositive(pollInterval);
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /**
+         * Sets the interval between the polls of the shards of the other nodes.
+         *
+         * <p>Defaults to one second.
+         */
+        public Builder setTakeoverInterval(Duration takeoverInterval) {
+            checkPositive(takeoverInterval);
+            this.takeoverInterval = takeoverInterval;
+            return this;
+        }
+
+        /**
+         * Sets the time after which a shard picked up by a node is considered abandoned.
+         *
+         * <p>Must be longer than it takes to deliver the messages of a shard. Defaults to
+         * one minute.
+         */
+        public Builder setSessionTimeout(Duration sessionTimeout) {
+            checkPositive(sessionTimeout);
+            this.sessionTimeout = sessionTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the registry of the shards being processed, shared by all the nodes.
+         */
+        public Builder setWorkRegistry(ShardedWorkRegistry workRegistry) {
+            this.workRegistry = checkNotNull(workRegistry);
+            return this;
+        }
+
+        private static void checkPositive(Duration duration) {
+            checkNotNull(duration);
+            checkArgument(!duration.isNegative() && !duration.isZero(),
+                          "The duration must be positive, but was %s.", duration);
+        }
+
+        /**
+         * Creates a new instance of {@code ShardedDelivery}.
+         *
+         * @throws IllegalStateException
+         *         if the work registry is not set
+         */
+        public ShardedDelivery build() {
+            checkState(workRegistry != null, "The work registry must be set.");
+            return new ShardedDelivery(this);
+        }
+    }
+}
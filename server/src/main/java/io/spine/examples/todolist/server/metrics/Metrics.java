@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import com.google.common.cache.Cache;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.trace.TracerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metrics of the Tasks context.
+ *
+ * <p>The following meters are recorded:
+ * <ul>
+ *     <li>{@value #HANDLING} — the time it takes an entity to handle a signal, tagged with
+ *         the type of the signal and the state type of the entity, e.g. {@code Task} for
+ *         the {@code TaskPart} or {@code TaskCreation} for the {@code TaskCreationWizard};
+ *     <li>{@value #EVENT_LAG} — the time between the moment an event is emitted and
+ *         the moment it is handled by an entity, e.g. by the {@code TaskViewProjection};
+ *     <li>{@value #REJECTIONS} — the number of the rejections, tagged with the rejection type;
+ *     <li>{@value #STORAGE} — the time of the storage reads and writes, recorded for
+ *         the {@linkplain #timed(DataSource) JDBC storage};
+ *     <li>the hits, misses and evictions of the {@linkplain #monitor(String, Cache) caches}.
+ * </ul>
+ *
+ * <p>The same instance should be used to configure the {@linkplain #tracing() server
+ * environment} and to {@linkplain #instrument(BoundedContextBuilder) instrument the context}.
+ * The meters are exposed in the Prometheus text format by {@link #scrape()}, e.g. via
+ * the {@link MetricsEndpoint}.
+ */
+public final class Metrics {
+
+    static final String HANDLING = "todolist.signal.handling";
+    static final String EVENT_LAG = "todolist.event.lag";
+    static final String REJECTIONS = "todolist.rejections";
+    static final String STORAGE = "todolist.storage.operations";
+
+    private final PrometheusMeterRegistry registry;
+
+    private Metrics(PrometheusMeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Creates a new instance with no meters recorded.
+     */
+    public static Metrics newInstance() {
+        return new Metrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+    }
+
+    /**
+     * Creates a tracer factory recording the signal handling metrics.
+     *
+     * <p>Pass the result to the {@code ServerEnvironment}.
+     */
+    public TracerFactory tracing() {
+        return new MetricsTracerFactory(registry, null);
+    }
+
+    /**
+     * Creates a tracer factory recording the signal handling metrics and passing the signals
+     * to the given tracer factory as well.
+     *
+     * <p>Use this method if the environment already has a tracer factory.
+     */
+    public TracerFactory tracing(TracerFactory other) {
+        checkNotNull(other);
+        return new MetricsTracerFactory(registry, other);
+    }
+
+    /**
+     * Adds the rejection counting to the context under construction.
+     *
+     * @return the passed builder for method chaining
+     */
+    public BoundedContextBuilder instrument(BoundedContextBuilder context) {
+        checkNotNull(context);
+        return context.addEventFilter(new RejectionCounter(registry));
+    }
+
+    /**
+     * Wraps the given data source so that the time of the SQL statements is recorded.
+     *
+     * <p>The queries are recorded as reads, all the other statements as writes.
+     */
+    public DataSource timed(DataSource dataSource) {
+        checkNotNull(dataSource);
+        return TimedJdbc.timed(dataSource, registry);
+    }
+
+    /**
+     * Records the statistics of the given cache under the given name.
+     *
+     * <p>The cache must be built with {@code recordStats()}.
+     */
+    public void monitor(String name, Cache<?, ?> cache) {
+        checkNotNull(name);
+        checkNotNull(cache);
+        GuavaCacheMetrics.monitor(registry, cache, name);
+    }
+
+    /**
+     * Obtains the current values of the meters in the Prometheus text format.
+     */
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    /**
+     * Starts serving the meters at {@code http://<host>:<port>/metrics}.
+     *
+     * @param port
+     *         the port to serve the meters on
+     * @return the started endpoint
+     * @throws IOException
+     *         if unable to bind
+     */
+    public MetricsEndpoint serve(int port) throws IOException {
+        return MetricsEndpoint.start(this, port);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An HTTP endpoint serving the {@link Metrics} in the Prometheus text format
+ * at the {@value #PATH} path.
+ *
+ * <p>The endpoint is served until it is {@linkplain #stop() stopped}.
+ */
+public final class MetricsEndpoint implements Logging {
+
+    /**
+     * The path the meters are served at.
+     */
+    public static final String PATH = "/metrics";
+
+    /**
+     * The default port to serve the meters on.
+     */
+    public static final int DEFAULT_PORT = 9091;
+
+    /**
+     * The system property with the port to serve the meters on.
+     */
+    public static final String PORT = "todolist.metrics.port";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+
+    private MetricsEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Obtains the port set by the {@value #PORT} system property, or the {@linkplain
+     * #DEFAULT_PORT default port} if the property is not set.
+     *
+     * @throws NumberFormatException
+     *         if the value of the property is not a number
+     */
+    @SuppressWarnings("AccessOfSystemProperties") // The port is set on the command line.
+    public static int portFromSystemProperties() {
+        String port = System.getProperty(PORT);
+        return port == null
+               ? DEFAULT_PORT
+               : Integer.parseInt(port.trim());
+    }
+
+    static MetricsEndpoint start(Metrics metrics, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(PATH, exchange -> respond(exchange, metrics));
+        server.start();
+        MetricsEndpoint result = new MetricsEndpoint(server);
+        result._info()
+              .log("Serving the metrics at the port %d.", port);
+        return result;
+    }
+
+    private static void respond(HttpExchange exchange, Metrics metrics) throws IOException {
+        byte[] body = metrics.scrape()
+                             .getBytes(UTF_8);
+        exchange.getResponseHeaders()
+                .set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Stops serving the meters.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+}
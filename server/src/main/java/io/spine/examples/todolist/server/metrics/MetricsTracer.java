@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.spine.base.Time;
+import io.spine.core.Event;
+import io.spine.core.MessageId;
+import io.spine.core.Signal;
+import io.spine.server.trace.AbstractTracer;
+import io.spine.server.trace.Tracer;
+import io.spine.type.TypeUrl;
+
+import javax.annotation.Nullable;
+
+import static io.spine.examples.todolist.server.metrics.Metrics.EVENT_LAG;
+import static io.spine.examples.todolist.server.metrics.Metrics.HANDLING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Records the time each receiver of a signal takes to handle it.
+ *
+ * <p>The receivers of a signal handle it one after another, and the tracer is notified once
+ * each of them is done. So the time of a receiver is measured from the moment the previous
+ * receiver is done, or from the moment the tracer is created for the first receiver.
+ *
+ * <p>The lag of an event is measured once the tracer is created, that is, when the event
+ * starts being dispatched.
+ */
+final class MetricsTracer extends AbstractTracer {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final @Nullable Tracer other;
+    private final String signalType;
+    private final long lagMillis;
+    private long lastMarkNanos = System.nanoTime();
+
+    MetricsTracer(Signal<?, ?, ?> signal, MeterRegistry registry, @Nullable Tracer other) {
+        super(signal);
+        this.registry = registry;
+        this.other = other;
+        this.signalType = signal.enclosedMessage()
+                                .getClass()
+                                .getSimpleName();
+        this.lagMillis = lag(signal);
+    }
+
+    /**
+     * Obtains the time passed since the event was emitted, or {@code -1} if the signal is not
+     * an event.
+     */
+    private static long lag(Signal<?, ?, ?> signal) {
+        if (!(signal instanceof Event)) {
+            return -1;
+        }
+        Timestamp emitted = ((Event) signal).getContext()
+                                            .getTimestamp();
+        long lag = Timestamps.toMillis(Time.currentTime()) - Timestamps.toMillis(emitted);
+        return Math.max(lag, 0);
+    }
+
+    @Override
+    public void processedBy(MessageId receiver, TypeUrl receiverType) {
+        long now = System.nanoTime();
+        long elapsed = now - lastMarkNanos;
+        lastMarkNanos = now;
+        String receiverName = receiverType.toTypeName()
+                                          .simpleName();
+        timer(HANDLING, "signal", signalType, "receiver", receiverName)
+                .record(elapsed, NANOSECONDS);
+        if (lagMillis >= 0) {
+            timer(EVENT_LAG, "receiver", receiverName)
+                    .record(lagMillis, MILLISECONDS);
+        }
+        if (other != null) {
+            other.processedBy(receiver, receiverType);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (other != null) {
+            other.close();
+        }
+    }
+
+    private Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                    .tags(tags)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+    }
+}
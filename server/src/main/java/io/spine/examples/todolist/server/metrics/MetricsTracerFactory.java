@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spine.core.Signal;
+import io.spine.server.ContextSpec;
+import io.spine.server.trace.Tracer;
+import io.spine.server.trace.TracerFactory;
+
+import javax.annotation.Nullable;
+
+/**
+ * Creates the {@link MetricsTracer}s, optionally along with the tracers of another factory.
+ */
+final class MetricsTracerFactory implements TracerFactory {
+
+    private final MeterRegistry registry;
+    private final @Nullable TracerFactory other;
+
+    MetricsTracerFactory(MeterRegistry registry, @Nullable TracerFactory other) {
+        this.registry = registry;
+        this.other = other;
+    }
+
+    @Override
+    public Tracer trace(ContextSpec context, Signal<?, ?, ?> signalMessage) {
+        Tracer otherTracer = other != null
+                             ? other.trace(context, signalMessage)
+                             : null;
+        return new MetricsTracer(signalMessage, registry, otherTracer);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (other != null) {
+            other.close();
+        }
+    }
+}
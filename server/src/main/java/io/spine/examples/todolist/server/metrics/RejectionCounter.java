@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spine.core.Ack;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.EventEnvelope;
+
+import java.util.Optional;
+
+import static io.spine.examples.todolist.server.metrics.Metrics.REJECTIONS;
+
+/**
+ * Counts the rejections posted to the event bus of a context.
+ *
+ * <p>Lets all the events through.
+ */
+final class RejectionCounter implements BusFilter<EventEnvelope> {
+
+    private final MeterRegistry registry;
+
+    RejectionCounter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Optional<Ack> filter(EventEnvelope envelope) {
+        if (envelope.outerObject()
+                    .isRejection()) {
+            String type = envelope.messageClass()
+                                  .value()
+                                  .getSimpleName();
+            Counter.builder(REJECTIONS)
+                   .tag("type", type)
+                   .register(registry)
+                   .increment();
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+import static io.spine.examples.todolist.server.metrics.Metrics.STORAGE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Wraps the JDBC objects so that the time of the statement execution is recorded.
+ *
+ * <p>The wrappers are dynamic proxies, so any JDBC driver and connection pool is supported.
+ *
+ * <p>An execution is recorded as a read if its SQL is a {@code SELECT}, and as a write
+ * otherwise. The SQL of a prepared statement is the one it was prepared with. So, for example,
+ * {@code PreparedStatement.execute()} of a {@code SELECT} counts as a read, and
+ * {@code executeQuery} of an {@code INSERT ... RETURNING} counts as a write.
+ */
+final class TimedJdbc {
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+    private static final String SELECT = "SELECT";
+
+    /** Prevents instantiation of this utility class. */
+    private TimedJdbc() {
+    }
+
+    /**
+     * Wraps the given data source.
+     */
+    static DataSource timed(DataSource dataSource, MeterRegistry registry) {
+        Timer reads = timer(registry, READ);
+        Timer writes = timer(registry, WRITE);
+        return proxy(DataSource.class, new Handler(dataSource, reads, writes, null));
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(STORAGE)
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        Object result = Proxy.newProxyInstance(TimedJdbc.class.getClassLoader(),
+                                               new Class<?>[]{type}, handler);
+        return type.cast(result);
+    }
+
+    /**
+     * Tells if the given SQL reads the data.
+     *
+     * <p>The leading whitespace and the opening parentheses are skipped, so
+     * a parenthesized {@code SELECT} is a read too.
+     */
+    static boolean isRead(String sql) {
+        int start = 0;
+        while (start < sql.length()
+                && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        return sql.regionMatches(true, start, SELECT, 0, SELECT.length());
+    }
+
+    /**
+     * Wraps the connections and the statements obtained from the target, and records the time
+     * of the statement execution.
+     */
+    private static final class Handler implements InvocationHandler {
+
+        private final Object target;
+        private final Timer reads;
+        private final Timer writes;
+
+        /**
+         * The SQL the target statement is prepared with, or {@code null} if the target is not
+         * a prepared statement.
+         */
+        private final @Nullable String sql;
+
+        private Handler(Object target, Timer reads, Timer writes, @Nullable String sql) {
+            this.target = target;
+            this.reads = reads;
+            this.writes = writes;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean executes = target instanceof Statement
+                    && method.getName()
+                             .startsWith("execute");
+            long start = System.nanoTime();
+            Object result = call(method, args);
+            if (executes) {
+                Timer timer = reads(method, args) ? reads : writes;
+                timer.record(System.nanoTime() - start, NANOSECONDS);
+            }
+            return wrap(method, args, result);
+        }
+
+        /**
+         * Tells if the executed SQL reads the data.
+         *
+         * <p>The SQL is either passed to the execution, or the one the statement is prepared
+         * with. A batch is always a write.
+         */
+        private boolean reads(Method method, Object[] args) {
+            if ("executeBatch".equals(method.getName())
+                    || "executeLargeBatch".equals(method.getName())) {
+                return false;
+            }
+            boolean sqlPassed = args != null && args.length > 0 && args[0] instanceof String;
+            String executed = sqlPassed ? (String) args[0] : sql;
+            if (executed == null) {
+                return "executeQuery".equals(method.getName());
+            }
+            return isRead(executed);
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object wrap(Method method, Object[] args, Object result) {
+            Class<?> type = method.getReturnType();
+            boolean wrapped = result != null
+                    && type.isInterface()
+                    && (Connection.class.isAssignableFrom(type)
+                    || Statement.class.isAssignableFrom(type));
+            if (!wrapped) {
+                return result;
+            }
+            boolean prepared = PreparedStatement.class.isAssignableFrom(type)
+                    && args != null
+                    && args.length > 0
+                    && args[0] instanceof String;
+            String preparedSql = prepared ? (String) args[0] : null;
+            return proxy(type, new Handler(result, reads, writes, preparedSql));
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.rebuild;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Streams;
+import com.google.protobuf.Timestamp;
+import io.spine.base.EntityState;
+import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.logging.Logging;
+import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.CatchUp;
+import io.spine.server.delivery.CatchUpId;
+import io.spine.server.delivery.CatchUpStorage;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.delivery.DeliveryStats;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.delivery.UniformAcrossAllShards;
+import io.spine.server.projection.ProjectionRepository;
+import io.spine.type.TypeUrl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.server.delivery.CatchUpStatus.COMPLETED;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * Rebuilds the projections of a bounded context from the whole event history.
+ *
+ * <p>The rebuild splits the IDs of the projections into a number of shards, and replays
+ * the history of each shard on a worker of its own. The projections are written in batches of
+ * the {@linkplain Builder#setBatchSize(int) configured size}. The number of delivered messages
+ * is tracked per shard by the {@link RebuildProgress}.
+ *
+ * <p>If the delivery from a shard fails, the rebuild stops, and the failure is reported both
+ * by the thrown exception and by the {@code RebuildProgress}. The rebuild also stops if it does
+ * not complete in the {@linkplain Builder#setTimeout(Duration) configured time}.
+ *
+ * <p>The state of the rebuild is kept in the catch-up storage and in the inboxes provided by
+ * the configured {@code StorageFactory}. If the rebuild process crashes, running it again against
+ * the same storage continues the unfinished rebuild rather than starting a new one. The messages
+ * in the inboxes are split by the shard count, so the count is set explicitly, and a resumed
+ * rebuild must use the same count as the one it continues.
+ *
+ * <p>The rebuild configures the {@linkplain ServerEnvironment#configureDelivery delivery} of
+ * the server environment, so it must run in a process of its own, without serving the clients.
+ */
+public final class ProjectionRebuild implements Logging {
+
+    /**
+     * The default number of messages written at once.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * The default time in which the rebuild must complete.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofHours(1);
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final int shardCount;
+    private final int batchSize;
+    private final ImmutableSet<Class<? extends EntityState>> projections;
+    private final Duration timeout;
+    private final RebuildProgress progress;
+
+    private ProjectionRebuild(Builder builder) {
+        this.shardCount = builder.shardCount;
+        this.batchSize = builder.batchSize;
+        this.timeout = builder.timeout;
+        this.projections = builder.projections;
+        this.progress = new RebuildProgress(shardCount);
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code ProjectionRebuild}.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Rebuilds the projections of the context created by the given builder.
+     *
+     * <p>Returns when all the projections are rebuilt.
+     *
+     * @param contextBuilder
+     *         the builder of the context, which is not built yet
+     * @throws InterruptedException
+     *         if interrupted while waiting for the rebuild to complete
+     * @throws IllegalStateException
+     *         if the delivery from a shard fails, or if the rebuild is not completed in
+     *         the {@linkplain Builder#setTimeout(Duration) configured time}; the rebuild may be
+     *         continued by running it again
+     */
+    public void run(BoundedContextBuilder contextBuilder) throws InterruptedException {
+        checkNotNull(contextBuilder);
+        ServerEnvironment environment = ServerEnvironment.instance();
+        CatchUpStorage catchUps = environment.storageFactory()
+                                             .createCatchUpStorage(false);
+        Delivery delivery = Delivery
+                .newBuilder()
+                .setStrategy(UniformAcrossAllShards.forNumber(shardCount))
+                .setCatchUpStorage(catchUps)
+                .setMonitor(progress)
+                .setPageSize(batchSize)
+                .setCatchUpPageSize(batchSize)
+                .build();
+        environment.configureDelivery(delivery);
+        BoundedContext context = contextBuilder.build();
+        try {
+            ImmutableSet<CatchUpId> rebuilds = startOrResume(context, catchUps);
+            deliverUntilCompleted(delivery, catchUps, rebuilds);
+        } finally {
+            close(context);
+        }
+        _info().log("Rebuild completed, %d messages delivered.", progress.total());
+    }
+
+    /**
+     * Obtains the progress of the rebuild.
+     */
+    public RebuildProgress progress() {
+        return progress;
+    }
+
+    private ImmutableSet<CatchUpId> startOrResume(BoundedContext context,
+                                                  CatchUpStorage catchUps) {
+        ImmutableSet.Builder<CatchUpId> result = ImmutableSet.builder();
+        for (Class<? extends EntityState> projection : projections) {
+            TypeUrl type = TypeUrl.of(projection);
+            Optional<CatchUp> unfinished = Streams.stream(catchUps.readByType(type))
+                                                  .filter(c -> c.getStatus() != COMPLETED)
+                                                  .findFirst();
+            if (unfinished.isPresent()) {
+                _info().log("Resuming the rebuild of `%s`.", type);
+                result.add(unfinished.get()
+                                     .getId());
+            } else {
+                _info().log("Starting the rebuild of `%s`.", type);
+                CatchUpId started = repository(context, projection)
+                        .catchUp(Timestamp.getDefaultInstance(), null);
+                result.add(started);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Delivers the messages from all the shards until the rebuilds are completed.
+     *
+     * @throws IllegalStateException
+     *         if the delivery from a shard fails, or if the rebuilds are not completed in
+     *         the {@linkplain Builder#setTimeout(Duration) configured time}
+     */
+    private void deliverUntilCompleted(Delivery delivery,
+                                       CatchUpStorage catchUps,
+                                       ImmutableSet<CatchUpId> rebuilds)
+            throws InterruptedException {
+        AtomicBoolean completed = new AtomicBoolean(false);
+        ExecutorService workers = Executors.newFixedThreadPool(shardCount);
+        List<Future<?>> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardIndex index = ShardIndex
+                    .newBuilder()
+                    .setIndex(shard)
+                    .setOfTotal(shardCount)
+                    .vBuild();
+            shards.add(workers.submit(() -> deliverFrom(delivery, index, completed)));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (!allCompleted(catchUps, rebuilds)) {
+                checkWorkers(shards);
+                if (System.nanoTime() - deadline > 0) {
+                    throw newIllegalStateException(
+                            "The rebuild has not completed in %s. Run it again to continue.",
+                            timeout);
+                }
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } finally {
+            completed.set(true);
+            workers.shutdown();
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                _warn().log("The shard workers have not stopped in a minute.");
+            }
+        }
+    }
+
+    /**
+     * Makes sure all the shard workers are running.
+     *
+     * <p>The workers run until the rebuild is completed, so a stopped worker means it has
+     * failed. The failure is recorded in the {@linkplain #progress() progress}.
+     *
+     * @throws IllegalStateException
+     *         if a worker has stopped
+     */
+    private void checkWorkers(List<Future<?>> shards) throws InterruptedException {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Future<?> worker = shards.get(shard);
+            if (!worker.isDone()) {
+                continue;
+            }
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                progress.onFailure(shard, cause);
+                throw newIllegalStateException(cause,
+                                               "The delivery from the shard #%d failed.", shard);
+            }
+            throw newIllegalStateException("The worker of the shard #%d has stopped.", shard);
+        }
+    }
+
+    /**
+     * Delivers the messages from the given shard until the rebuild is completed.
+     *
+     * <p>Waits a bit before the next attempt if the shard has no messages to deliver.
+     */
+    private static void deliverFrom(Delivery delivery, ShardIndex shard, AtomicBoolean completed) {
+        while (!completed.get()) {
+            Optional<DeliveryStats> stats = delivery.deliverMessagesFrom(shard);
+            boolean idle = !stats.isPresent() || stats.get()
+                                                      .deliveredCount() == 0;
+            if (idle) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                          .interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean allCompleted(CatchUpStorage catchUps, ImmutableSet<CatchUpId> ids) {
+        long completed = Streams.stream(catchUps.readAll())
+                                .filter(c -> ids.contains(c.getId()))
+                                .filter(c -> c.getStatus() == COMPLETED)
+                                .count();
+        return completed == ids.size();
+    }
+
+    private static ProjectionRepository<?, ?, ?>
+    repository(BoundedContext context, Class<? extends EntityState> projection) {
+        return context.internalAccess()
+                      .findRepository(projection)
+                      .filter(ProjectionRepository.class::isInstance)
+                      .map(ProjectionRepository.class::cast)
+                      .orElseThrow(() -> newIllegalStateException(
+                              "No projection repository for `%s`.", projection.getName()));
+    }
+
+    private static void close(BoundedContext context) {
+        try {
+            context.close();
+        } catch (Exception e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * A builder for the {@code ProjectionRebuild} instances.
+     */
+    public static final class Builder {
+
+        private int shardCount;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private Duration timeout = DEFAULT_TIMEOUT;
+        private ImmutableSet<Class<? extends EntityState>> projections =
+                ImmutableSet.of(TaskView.class, LabelView.class);
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of shards, each replayed by a worker of its own.
+         *
+         * <p>Must be set. A rebuild continuing an unfinished one must use the same number of
+         * shards, as the messages in the inboxes are already split by it.
+         */
+        public Builder setShardCount(int shardCount) {
+            checkArgument(shardCount > 0,
+                          "The shard count must be positive, but was %s.", shardCount);
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * Sets the number of messages written at once.
+         *
+         * <p>Defaults to {@link #DEFAULT_BATCH_SIZE}.
+         */
+        public Builder setBatchSize(int batchSize) {
+            checkArgument(batchSize > 0,
+                          "The batch size must be positive, but was %s.", batchSize);
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the time in which the rebuild must complete.
+         *
+         * <p>Defaults to {@link #DEFAULT_TIMEOUT}.
+         */
+        public Builder setTimeout(Duration timeout) {
+            checkNotNull(timeout);
+            checkArgument(!timeout.isNegative() && !timeout.isZero(),
+                          "The timeout must be positive, but was %s.", timeout);
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the types of the states of the projections to rebuild.
+         *
+         * <p>Defaults to {@code TaskView} and {@code LabelView}.
+         */
+        @SafeVarargs
+        public final Builder setProjections(Class<? extends EntityState>... projections) {
+            checkArgument(projections.length > 0, "At least one projection must be set.");
+            this.projections = ImmutableSet.copyOf(projections);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code ProjectionRebuild}.
+         *
+         * @throws IllegalStateException
+         *         if the shard count is not set
+         */
+        public ProjectionRebuild build() {
+            checkState(shardCount > 0, "The shard count must be set.");
+            return new ProjectionRebuild(this);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.rebuild;
+
+import io.spine.logging.Logging;
+import io.spine.server.delivery.DeliveryMonitor;
+import io.spine.server.delivery.DeliveryStats;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Counts the messages delivered from each shard during a projection rebuild.
+ *
+ * <p>The counters are updated by the shard workers concurrently and may be read at any time,
+ * e.g. to report the rebuild progress to an operator.
+ *
+ * <p>If the delivery from a shard fails, the failure is recorded along with the counters.
+ */
+public final class RebuildProgress extends DeliveryMonitor implements Logging {
+
+    private final AtomicLongArray delivered;
+    private final AtomicReferenceArray<Throwable> failures;
+
+    /**
+     * Creates a new instance for the given number of shards.
+     */
+    RebuildProgress(int shardCount) {
+        super();
+        checkArgument(shardCount > 0, "The shard count must be positive, but was %s.", shardCount);
+        this.delivered = new AtomicLongArray(shardCount);
+        this.failures = new AtomicReferenceArray<>(shardCount);
+    }
+
+    @Override
+    public void onDeliveryCompleted(DeliveryStats stats) {
+        int shard = stats.shardIndex()
+                         .getIndex();
+        int count = stats.deliveredCount();
+        long total = delivered.addAndGet(shard, count);
+        if (count > 0) {
+            _debug().log("Shard #%d: %d messages delivered, %d in total.", shard, count, total);
+        }
+    }
+
+    /**
+     * Records the failure of the delivery from the shard with the given index.
+     */
+    void onFailure(int shard, Throwable failure) {
+        failures.set(shard, failure);
+        _error().withCause(failure)
+                .log("Shard #%d: the delivery failed after %d messages.",
+                     shard, delivered.get(shard));
+    }
+
+    /**
+     * Obtains the failure of the delivery from the shard with the given index, if any.
+     */
+    public Optional<Throwable> failure(int shard) {
+        return Optional.ofNullable(failures.get(shard));
+    }
+
+    /**
+     * Tells if the delivery from any of the shards has failed.
+     */
+    public boolean hasFailed() {
+        for (int shard = 0; shard < failures.length(); shard++) {
+            if (failures.get(shard) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtains the number of messages delivered from the shard with the given index.
+     */
+    public long delivered(int shard) {
+        return delivered.get(shard);
+    }
+
+    /**
+     * Obtains the number of messages delivered from all the shards.
+     */
+    public long total() {
+        long result = 0;
+        for (int shard = 0; shard < delivered.length(); shard++) {
+            result += delivered.get(shard);
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the number of shards.
+     */
+    public int shardCount() {
+        return delivered.length();
+    }
+}
@@ -58,9 +58,39 @@ public final class TasksContextFactory {
      * <p>The returned builder has all the repositories of the context.
      */
     public static BoundedContextBuilder builder() {
+        return builder(TaskPackage.DEFAULT_SNAPSHOT_TRIGGER);
+    }
+
+    /**
+     * Creates and configures the builder for the Tasks context with the custom
+     * snapshot policy for the task aggregates.
+     *
+     * @param taskSnapshotTrigger
+     *         the number of events after which a snapshot of a task aggregate part is stored
+     * @see TaskPackage#configure(BoundedContextBuilder, int)
+     */
+    public static BoundedContextBuilder builder(int taskSnapshotTrigger) {
         BoundedContextBuilder builder = BoundedContext.singleTenant(TasksContext.NAME);
+        return configure(builder, taskSnapshotTrigger);
+    }
+
+    /**
+     * Creates and configures the builder for the multi-tenant Tasks context.
+     *
+     * <p>The context handles the requests of each tenant separately. The tenant is specified by
+     * the clients in the {@linkplain io.spine.core.ActorContext#getTenantId() actor context}
+     * of the requests. The storage of the context is partitioned by the tenants, e.g. per
+     * a Datastore namespace. So, a query of a tenant does not read the records of the others.
+     */
+    public static BoundedContextBuilder multitenantBuilder() {
+        BoundedContextBuilder builder = BoundedContext.multitenant(TasksContext.NAME);
+        return configure(builder, TaskPackage.DEFAULT_SNAPSHOT_TRIGGER);
+    }
+
+    private static BoundedContextBuilder configure(BoundedContextBuilder builder,
+                                                   int taskSnapshotTrigger) {
         LabelPackage.configure(builder);
-        TaskPackage.configure(builder);
+        TaskPackage.configure(builder, taskSnapshotTrigger);
         return builder;
     }
 }
@@ -92,7 +92,7 @@ final class LabelAggregate extends Aggregate<LabelId, TaskLabel, TaskLabel.Build
         return result;
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void labelCreated(LabelCreated event) {
         builder().setId(event.getId())
                  .setTitle(event.getDetails()
@@ -100,7 +100,7 @@ final class LabelAggregate extends Aggregate<LabelId, TaskLabel, TaskLabel.Build
                  .setColor(DEFAULT);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void labelDetailsUpdated(LabelDetailsUpdated event) {
         LabelDetails labelDetails = event.getLabelDetailsChange()
                                          .getNewDetails();
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.label;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.todolist.tasks.LabelDetails;
+import io.spine.examples.todolist.tasks.LabelFanOut;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.event.LabelAssignedToTask;
+import io.spine.examples.todolist.tasks.event.LabelCreated;
+import io.spine.examples.todolist.tasks.event.LabelDetailsUpdated;
+import io.spine.examples.todolist.tasks.event.LabelRemovedFromTask;
+import io.spine.examples.todolist.tasks.event.TaskLabelDetailsChanged;
+import io.spine.server.event.React;
+import io.spine.server.procman.ProcessManager;
+
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.examples.todolist.tasks.LabelColor.DEFAULT;
+
+/**
+ * A process manager spreading the details of a label over the tasks it is assigned to.
+ *
+ * <p>The process tracks the tasks the label is assigned to. When the label is created or its
+ * details are updated, the process emits a {@link TaskLabelDetailsChanged} event per task.
+ * When the label is assigned to one more task, the event is emitted for that task only.
+ *
+ * <p>This way, the task views may show the label titles and colors without subscribing to
+ * the label events, which are not routed by the task ID.
+ */
+@SuppressWarnings("unused" /* Reactor methods invoked via reflection. */)
+final class LabelFanOutProcess extends ProcessManager<LabelId, LabelFanOut, LabelFanOut.Builder> {
+
+    /**
+     * Stores the details of the created label.
+     *
+     * <p>As {@link LabelAggregate} does, the color of a created label is always
+     * {@linkplain io.spine.examples.todolist.tasks.LabelColor#DEFAULT the default one}.
+     */
+    @React
+    List<TaskLabelDetailsChanged> on(LabelCreated event) {
+        LabelDetails details = event.getDetails()
+                                    .toBuilder()
+                                    .setColor(DEFAULT)
+                                    .build();
+        builder().setId(event.getId())
+                 .setDetails(details);
+        return fanOut();
+    }
+
+    @React
+    List<TaskLabelDetailsChanged> on(LabelDetailsUpdated event) {
+        LabelDetails details = event.getLabelDetailsChange()
+                                    .getNewDetails();
+        builder().setId(event.getLabelId())
+                 .setDetails(details);
+        return fanOut();
+    }
+
+    @React
+    List<TaskLabelDetailsChanged> on(LabelAssignedToTask event) {
+        TaskId taskId = event.getTaskId();
+        builder().setId(event.getLabelId());
+        if (builder().getTaskList()
+                     .contains(taskId)) {
+            return ImmutableList.of();
+        }
+        builder().addTask(taskId);
+        if (!builder().hasDetails()) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.of(detailsChanged(taskId));
+    }
+
+    @React
+    List<TaskLabelDetailsChanged> on(LabelRemovedFromTask event) {
+        List<TaskId> tasks = builder().getTaskList();
+        int index = tasks.indexOf(event.getTaskId());
+        if (index >= 0) {
+            builder().removeTask(index);
+        }
+        return ImmutableList.of();
+    }
+
+    private ImmutableList<TaskLabelDetailsChanged> fanOut() {
+        return builder().getTaskList()
+                        .stream()
+                        .map(this::detailsChanged)
+                        .collect(toImmutableList());
+    }
+
+    private TaskLabelDetailsChanged detailsChanged(TaskId taskId) {
+        TaskLabelDetailsChanged result = TaskLabelDetailsChanged
+                .newBuilder()
+                .setTaskId(taskId)
+                .setLabelId(builder().getId())
+                .setDetails(builder().getDetails())
+                .vBuild();
+        return result;
+    }
+}
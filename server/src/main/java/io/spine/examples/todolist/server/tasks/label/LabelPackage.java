@@ -42,6 +42,7 @@ public final class LabelPackage {
      */
     public static void configure(BoundedContextBuilder context) {
         context.add(LabelAggregate.class)
-               .add(LabelViewProjection.class);
+               .add(LabelViewProjection.class)
+               .add(new LabelFanOutRepository());
     }
 }
@@ -26,6 +26,7 @@
 
 package io.spine.examples.todolist.server.tasks.label;
 
+import io.spine.core.EventContext;
 import io.spine.core.Subscribe;
 import io.spine.examples.todolist.tasks.LabelDetails;
 import io.spine.examples.todolist.tasks.LabelId;
@@ -42,9 +43,10 @@ import static io.spine.examples.todolist.tasks.LabelColor.DEFAULT;
 final class LabelViewProjection extends Projection<LabelId, LabelView, LabelView.Builder> {
 
     @Subscribe
-    void on(LabelCreated e) {
+    void on(LabelCreated e, EventContext context) {
         builder().setTitle(e.getDetails().getTitle())
-                 .setColor(DEFAULT);
+                 .setColor(DEFAULT)
+                 .setOwner(context.actor());
     }
 
     @Subscribe
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.LabelIdsList;
+import io.spine.examples.todolist.tasks.LabelIdsListOrBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the labels assigned to a task.
+ *
+ * <p>Maps each label ID to its position in the {@link LabelIdsList}, so checking whether
+ * a label is assigned, adding and removing a label take a hash lookup instead of comparing
+ * the label with each one in the list. A label is never added to the list twice.
+ *
+ * <p>The index is not a part of the entity state. It keeps a copy of the indexed list and is
+ * rebuilt if the list it is given has another content, e.g. when an entity is loaded from
+ * a snapshot, or a list is changed bypassing the index. The lists are compared element by
+ * element, which mostly compares the references, as the list holds the same label IDs the index
+ * added to it. So, a command handler checking the current state does not rebuild the index,
+ * and replaying N label events within a transaction does not rebuild it N times.
+ *
+ * <p>Removing a label moves the last label of the list to its place, so the order of
+ * labels in the list is not preserved.
+ */
+final class LabelIndex {
+
+    private final Map<LabelId, Integer> positions = new HashMap<>();
+
+    /**
+     * The copy of the indexed list.
+     */
+    private final List<LabelId> indexed = new ArrayList<>();
+
+    /**
+     * Checks if the given list contains the label.
+     */
+    boolean contains(LabelIdsListOrBuilder labels, LabelId label) {
+        syncWith(labels);
+        return positions.containsKey(label);
+    }
+
+    /**
+     * Adds the label to the end of the given list unless the list already contains it.
+     */
+    void add(LabelIdsList.Builder labels, LabelId label) {
+        syncWith(labels);
+        if (positions.containsKey(label)) {
+            return;
+        }
+        positions.put(label, labels.getIdsCount());
+        labels.addIds(label);
+        indexed.add(label);
+    }
+
+    /**
+     * Removes the label from the given list if the list contains it.
+     */
+    void remove(LabelIdsList.Builder labels, LabelId label) {
+        syncWith(labels);
+        Integer position = positions.remove(label);
+        if (position == null) {
+            return;
+        }
+        int last = labels.getIdsCount() - 1;
+        if (position != last) {
+            LabelId moved = labels.getIds(last);
+            labels.setIds(position, moved);
+            indexed.set(position, moved);
+            positions.put(moved, position);
+        }
+        labels.removeIds(last);
+        indexed.remove(last);
+    }
+
+    private void syncWith(LabelIdsListOrBuilder labels) {
+        if (isIndexed(labels)) {
+            return;
+        }
+        positions.clear();
+        indexed.clear();
+        for (int i = 0; i < labels.getIdsCount(); i++) {
+            LabelId label = labels.getIds(i);
+            positions.putIfAbsent(label, i);
+            indexed.add(label);
+        }
+    }
+
+    /**
+     * Checks if the given list has the same content as the indexed one.
+     */
+    @SuppressWarnings("ReferenceEquality") // Compares the references first as a shortcut.
+    private boolean isIndexed(LabelIdsListOrBuilder labels) {
+        int count = labels.getIdsCount();
+        if (count != indexed.size()) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            LabelId label = labels.getIds(i);
+            LabelId indexedLabel = indexed.get(i);
+            if (label != indexedLabel && !label.equals(indexedLabel)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
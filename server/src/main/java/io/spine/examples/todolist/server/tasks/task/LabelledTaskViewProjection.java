@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.tasks.LabelDetails;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.event.LabelAssignedToTask;
+import io.spine.examples.todolist.tasks.event.LabelRemovedFromTask;
+import io.spine.examples.todolist.tasks.event.TaskDeleted;
+import io.spine.examples.todolist.tasks.event.TaskLabelDetailsChanged;
+import io.spine.examples.todolist.tasks.view.LabelledTaskView;
+import io.spine.examples.todolist.tasks.view.TaskLabelSummary;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.server.projection.Projection;
+
+import java.util.List;
+
+import static io.spine.examples.todolist.tasks.TaskStatus.DRAFT;
+
+/**
+ * A projection of a single task along with the titles and colors of its labels.
+ *
+ * <p>The task data is taken from the {@link TaskView} states, so it is maintained by
+ * the {@link TaskViewProjection} alone. The label details come with
+ * the {@link TaskLabelDetailsChanged} events emitted by the label process, one per task
+ * the label is assigned to.
+ */
+final class LabelledTaskViewProjection
+        extends Projection<TaskId, LabelledTaskView, LabelledTaskView.Builder> {
+
+    @Subscribe
+    void on(TaskView task) {
+        builder().setId(task.getId())
+                 .setDescription(task.getDescription())
+                 .setDueDate(task.getDueDate())
+                 .setPriority(task.getPriority())
+                 .setStatus(task.getStatus());
+    }
+
+    /**
+     * Erases the deleted draft.
+     *
+     * <p>Deleted drafts are erased from the {@link TaskView} projections rather than moved
+     * to the deleted ones, so there is no {@code TaskView} update to react to.
+     */
+    @Subscribe
+    void on(TaskDeleted e) {
+        if (builder().getStatus() == DRAFT) {
+            setArchived(true);
+            setDeleted(true);
+        }
+    }
+
+    @Subscribe
+    void on(LabelAssignedToTask e) {
+        builder().setId(e.getTaskId());
+        if (indexOf(e.getLabelId()) < 0) {
+            builder().addLabel(TaskLabelSummary.newBuilder()
+                                               .setId(e.getLabelId()));
+        }
+    }
+
+    @Subscribe
+    void on(LabelRemovedFromTask e) {
+        int index = indexOf(e.getLabelId());
+        if (index >= 0) {
+            builder().removeLabel(index);
+        }
+    }
+
+    /**
+     * Updates the details of the label.
+     *
+     * <p>The label process emits the details once the label is assigned, so they come after
+     * the assignment. The details of a label which is not assigned to the task, e.g. the ones
+     * delivered after the label is removed, are ignored.
+     */
+    @Subscribe
+    void on(TaskLabelDetailsChanged e) {
+        int index = indexOf(e.getLabelId());
+        if (index < 0) {
+            return;
+        }
+        LabelDetails details = e.getDetails();
+        TaskLabelSummary summary = TaskLabelSummary
+                .newBuilder()
+                .setId(e.getLabelId())
+                .setTitle(details.getTitle())
+                .setColor(details.getColor())
+                .build();
+        builder().setLabel(index, summary);
+    }
+
+    private int indexOf(LabelId labelId) {
+        List<TaskLabelSummary> labels = builder().getLabelList();
+        for (int i = 0; i < labels.size(); i++) {
+            if (labels.get(i)
+                      .getId()
+                      .equals(labelId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import io.spine.base.CommandMessage;
+import io.spine.examples.todolist.tasks.TaskBatch;
+import io.spine.examples.todolist.tasks.TaskBatchId;
+import io.spine.examples.todolist.tasks.TaskBatchItem;
+import io.spine.examples.todolist.tasks.TaskBatchItemOutcome;
+import io.spine.examples.todolist.tasks.TaskBatchItemStatus;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskUpdate;
+import io.spine.examples.todolist.tasks.command.AssignLabelsInBatch;
+import io.spine.examples.todolist.tasks.command.BatchUpdateTasks;
+import io.spine.examples.todolist.tasks.command.UpdateTaskInBatch;
+import io.spine.examples.todolist.tasks.event.TaskBatchCompleted;
+import io.spine.examples.todolist.tasks.event.TaskBatchPartProcessed;
+import io.spine.examples.todolist.tasks.rejection.CannotStartTaskBatch;
+import io.spine.server.command.Command;
+import io.spine.server.event.React;
+import io.spine.server.procman.ProcessManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static io.spine.examples.todolist.tasks.TaskBatchItemStatus.APPLIED;
+
+/**
+ * A process manager supervising a batch update of tasks.
+ *
+ * <p>The process groups the updates of the {@link BatchUpdateTasks} command by the task they
+ * address. For each task, it sends at most one {@link UpdateTaskInBatch} command to
+ * the {@link TaskPart} and at most one {@link AssignLabelsInBatch} command to
+ * the {@link TaskLabelsPart}. This way, each task aggregate part is loaded and stored once
+ * per batch, no matter how many updates address it.
+ *
+ * <p>The outcomes of the updates are reported by the aggregate parts in
+ * the {@link TaskBatchPartProcessed} events. The process counts the applied and the rejected
+ * updates and records the IDs of the tasks having the rejected updates, so its state grows with
+ * the number of the failed tasks only. Once all the parts are reported, the process emits
+ * the {@link TaskBatchCompleted} event. The results remain available for querying in
+ * the process state.
+ *
+ * <p>A batch ID may be used once. A {@code BatchUpdateTasks} command reusing the ID of
+ * a batch which is completed or still in progress is rejected.
+ */
+@SuppressWarnings("unused" /* Command handler methods invoked via reflection. */)
+final class TaskBatchProcess extends ProcessManager<TaskBatchId, TaskBatch, TaskBatch.Builder> {
+
+    @Command
+    List<CommandMessage> handle(BatchUpdateTasks command) throws CannotStartTaskBatch {
+        TaskBatchId batchId = command.getId();
+        checkNotStarted(batchId);
+        Map<TaskId, UpdateTaskInBatch.Builder> updates = new LinkedHashMap<>();
+        Map<TaskId, AssignLabelsInBatch.Builder> assignments = new LinkedHashMap<>();
+        List<TaskUpdate> batch = command.getUpdateList();
+        for (int index = 0; index < batch.size(); index++) {
+            TaskUpdate update = batch.get(index);
+            TaskId taskId = update.getTaskId();
+            TaskBatchItem item = TaskBatchItem
+                    .newBuilder()
+                    .setIndex(index)
+                    .setUpdate(update)
+                    .vBuild();
+            if (update.hasAssignedLabel()) {
+                assignments.computeIfAbsent(taskId, id -> AssignLabelsInBatch
+                                   .newBuilder()
+                                   .setId(id)
+                                   .setBatchId(batchId))
+                           .addItem(item);
+            } else {
+                updates.computeIfAbsent(taskId, id -> UpdateTaskInBatch
+                               .newBuilder()
+                               .setId(id)
+                               .setBatchId(batchId))
+                       .addItem(item);
+            }
+        }
+        List<CommandMessage> result = newArrayList();
+        updates.values()
+               .forEach(cmd -> result.add(cmd.vBuild()));
+        assignments.values()
+                   .forEach(cmd -> result.add(cmd.vBuild()));
+        builder().setId(batchId)
+                 .setPendingParts(result.size());
+        return result;
+    }
+
+    /**
+     * Ensures the batch with the given ID has not been started yet.
+     *
+     * @throws CannotStartTaskBatch
+     *         if the batch is completed or its parts are still pending
+     */
+    private void checkNotStarted(TaskBatchId batchId) throws CannotStartTaskBatch {
+        boolean started = builder().getCompleted() || builder().getPendingParts() > 0;
+        if (started) {
+            throw CannotStartTaskBatch
+                    .newBuilder()
+                    .setBatchId(batchId)
+                    .build();
+        }
+    }
+
+    @React
+    Optional<TaskBatchCompleted> on(TaskBatchPartProcessed event) {
+        int pendingParts = builder().getPendingParts() - 1;
+        builder().setPendingParts(pendingParts);
+        boolean rejected = false;
+        for (TaskBatchItemOutcome outcome : event.getOutcomeList()) {
+            TaskBatchItemStatus status = outcome.getStatus();
+            count(status);
+            rejected |= status != APPLIED;
+        }
+        if (rejected) {
+            recordRejected(event.getTaskId());
+        }
+        if (pendingParts > 0) {
+            return Optional.empty();
+        }
+        builder().setCompleted(true);
+        TaskBatchCompleted result = TaskBatchCompleted
+                .newBuilder()
+                .setId(id())
+                .setAppliedCount(builder().getAppliedCount())
+                .setRejectedCount(builder().getRejectedCount())
+                .addAllRejectedTask(builder().getRejectedTaskList())
+                .vBuild();
+        return Optional.of(result);
+    }
+
+    /**
+     * Records the ID of the task having a rejected update.
+     *
+     * <p>Both aggregate parts of a task may reject their updates, so the ID is recorded once.
+     */
+    private void recordRejected(TaskId taskId) {
+        if (!builder().getRejectedTaskList()
+                      .contains(taskId)) {
+            builder().addRejectedTask(taskId);
+        }
+    }
+
+    private void count(TaskBatchItemStatus status) {
+        if (status == APPLIED) {
+            builder().setAppliedCount(builder().getAppliedCount() + 1);
+        } else {
+            builder().setRejectedCount(builder().getRejectedCount() + 1);
+        }
+    }
+}
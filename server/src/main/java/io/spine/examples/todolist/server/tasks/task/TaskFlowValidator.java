@@ -30,6 +30,7 @@ import io.spine.examples.todolist.tasks.TaskStatus;
 
 import static io.spine.examples.todolist.tasks.TaskStatus.COMPLETED;
 import static io.spine.examples.todolist.tasks.TaskStatus.DELETED;
+import static io.spine.examples.todolist.tasks.TaskStatus.TS_UNDEFINED;
 
 /**
  * Validates task commands and state transitions.
@@ -72,6 +73,21 @@ final class TaskFlowValidator {
         return ensureNeitherCompletedNorDeleted(currentStatus);
     }
 
+    /**
+     * Verifies that the task with the specified {@link TaskStatus} may be updated in a batch.
+     *
+     * <p>Unlike a single update, a batch addresses the tasks by their IDs only, so a task which
+     * has never been created cannot be updated either.
+     *
+     * @param currentStatus
+     *         task current state {@link TaskStatus}
+     * @return {@code true} if the task exists and is neither completed nor deleted
+     */
+    static boolean isValidTaskBatchCommand(TaskStatus currentStatus) {
+        boolean exists = currentStatus != TS_UNDEFINED;
+        return exists && ensureNeitherCompletedNorDeleted(currentStatus);
+    }
+
     static boolean ensureDeleted(TaskStatus currentStatus) {
         return currentStatus == DELETED;
     }
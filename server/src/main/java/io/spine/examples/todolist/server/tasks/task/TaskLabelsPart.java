@@ -26,27 +26,40 @@
 
 package io.spine.examples.todolist.server.tasks.task;
 
+import io.spine.base.EventMessage;
 import io.spine.examples.todolist.tasks.AssignLabelToTaskRejected;
 import io.spine.examples.todolist.tasks.LabelId;
 import io.spine.examples.todolist.tasks.LabelIdsList;
 import io.spine.examples.todolist.tasks.RejectedTaskCommandDetails;
 import io.spine.examples.todolist.tasks.RemoveLabelFromTaskRejected;
 import io.spine.examples.todolist.tasks.Task;
+import io.spine.examples.todolist.tasks.TaskBatchItem;
+import io.spine.examples.todolist.tasks.TaskBatchItemOutcome;
 import io.spine.examples.todolist.tasks.TaskId;
 import io.spine.examples.todolist.tasks.TaskLabels;
 import io.spine.examples.todolist.tasks.command.AssignLabelToTask;
+import io.spine.examples.todolist.tasks.command.AssignLabelsInBatch;
 import io.spine.examples.todolist.tasks.command.RemoveLabelFromTask;
 import io.spine.examples.todolist.tasks.event.LabelAssignedToTask;
 import io.spine.examples.todolist.tasks.event.LabelRemovedFromTask;
+import io.spine.examples.todolist.tasks.event.TaskBatchPartProcessed;
 import io.spine.examples.todolist.tasks.rejection.CannotAssignLabelToTask;
 import io.spine.examples.todolist.tasks.rejection.CannotRemoveLabelFromTask;
 import io.spine.server.aggregate.AggregatePart;
 import io.spine.server.aggregate.Apply;
 import io.spine.server.command.Assign;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Lists.newLinkedList;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidAssignLabelToTaskCommand;
+import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidTaskBatchCommand;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidTaskStatusToRemoveLabel;
+import static io.spine.examples.todolist.tasks.TaskBatchItemStatus.APPLIED;
+import static io.spine.examples.todolist.tasks.TaskBatchItemStatus.REJECTED;
 
 /**
  * The aggregate managing the state of a {@link TaskLabels}.
@@ -54,6 +67,8 @@ import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isV
 final class TaskLabelsPart
         extends AggregatePart<TaskId, TaskLabels, TaskLabels.Builder, TaskAggregateRoot> {
 
+    private final LabelIndex labels = new LabelIndex();
+
     TaskLabelsPart(TaskAggregateRoot root) {
         super(root);
     }
@@ -64,9 +79,7 @@ final class TaskLabelsPart
         TaskId taskId = cmd.getId();
 
         Task taskState = partState(Task.class);
-        boolean isLabelAssigned = state().getLabelIdsList()
-                                         .getIdsList()
-                                         .contains(labelId);
+        boolean isLabelAssigned = labels.contains(state().getLabelIdsList(), labelId);
         boolean isValidTaskStatus = isValidTaskStatusToRemoveLabel(taskState.getTaskStatus());
         if (!isLabelAssigned || !isValidTaskStatus) {
             throw cannotRemove(cmd);
@@ -87,8 +100,9 @@ final class TaskLabelsPart
 
         Task state = partState(Task.class);
         boolean isValid = isValidAssignLabelToTaskCommand(state.getTaskStatus());
+        boolean isLabelAssigned = labels.contains(state().getLabelIdsList(), labelId);
 
-        if (!isValid) {
+        if (!isValid || isLabelAssigned) {
             throw cannotAssign(cmd);
         }
 
@@ -100,28 +114,70 @@ final class TaskLabelsPart
         return result;
     }
 
-    @Apply
-    private void event(LabelAssignedToTask e) {
-        LabelIdsList newLabelsList = LabelIdsList
+    /**
+     * Assigns the labels sent in a batch.
+     *
+     * <p>A label which is already assigned to the task, or which is listed in the batch more
+     * than once, is assigned once. All the other assignments of it are reported as rejected
+     * in the {@link TaskBatchPartProcessed} event, as well as all the assignments to a task
+     * which does not exist.
+     */
+    @Assign
+    List<EventMessage> handle(AssignLabelsInBatch cmd) {
+        TaskId taskId = cmd.getId();
+        Task task = partState(Task.class);
+        boolean canAssign = isValidTaskBatchCommand(task.getTaskStatus());
+        LabelIdsList assigned = state().getLabelIdsList();
+        Set<LabelId> assignedInBatch = new HashSet<>();
+        List<EventMessage> result = newLinkedList();
+        TaskBatchPartProcessed.Builder processed = TaskBatchPartProcessed
                 .newBuilder()
-                .mergeFrom(builder().getLabelIdsList())
-                .addIds(e.getLabelId())
-                .vBuild();
+                .setBatchId(cmd.getBatchId())
+                .setTaskId(taskId);
+        for (TaskBatchItem item : cmd.getItemList()) {
+            LabelId labelId = item.getUpdate()
+                                  .getAssignedLabel();
+            boolean assign = canAssign
+                    && !labels.contains(assigned, labelId)
+                    && assignedInBatch.add(labelId);
+            if (assign) {
+                LabelAssignedToTask labelAssigned = LabelAssignedToTask
+                        .newBuilder()
+                        .setTaskId(taskId)
+                        .setLabelId(labelId)
+                        .vBuild();
+                result.add(labelAssigned);
+            }
+            TaskBatchItemOutcome outcome = TaskBatchItemOutcome
+                    .newBuilder()
+                    .setIndex(item.getIndex())
+                    .setTaskId(taskId)
+                    .setStatus(assign ? APPLIED : REJECTED)
+                    .vBuild();
+            processed.addOutcome(outcome);
+        }
+        result.add(processed.vBuild());
+        return result;
+    }
+
+    @Apply(allowImport = true)
+    private void event(LabelAssignedToTask e) {
         builder().setTaskId(e.getTaskId());
-        builder().setLabelIdsList(newLabelsList);
+        labels.add(builder().getLabelIdsListBuilder(), e.getLabelId());
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(LabelRemovedFromTask e) {
-        int indexToRemove = builder().getLabelIdsList()
-                                     .getIdsList()
-                                     .indexOf(e.getLabelId());
-        LabelIdsList newLabelsList = LabelIdsList
-                .newBuilder()
-                .mergeFrom(builder().getLabelIdsList())
-                .removeIds(indexToRemove)
-                .vBuild();
-        builder().setLabelIdsList(newLabelsList);
+        labels.remove(builder().getLabelIdsListBuilder(), e.getLabelId());
+    }
+
+    /**
+     * Does nothing as the labels assigned in a batch are reflected by
+     * the accompanying events.
+     */
+    @Apply
+    private void event(@SuppressWarnings("unused") TaskBatchPartProcessed e) {
+        // Nothing to apply.
     }
 
     /**
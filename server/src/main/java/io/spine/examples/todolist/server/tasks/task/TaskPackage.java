@@ -28,22 +28,50 @@ package io.spine.examples.todolist.server.tasks.task;
 
 import io.spine.server.BoundedContextBuilder;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * Configures Tasks context to serve task-related entities.
  */
 public final class TaskPackage {
 
+    /**
+     * The default number of events after which a snapshot of a task aggregate part is stored.
+     *
+     * <p>Loading a task part reads the latest snapshot and the events stored after it, so
+     * the value bounds the number of events replayed before a command is handled.
+     */
+    public static final int DEFAULT_SNAPSHOT_TRIGGER = 50;
+
     /** Prevents instantiation of this utility class. */
     private TaskPackage() {
     }
 
     /**
      * Adds entity classes and repositories of this package to the passed context builder.
+     *
+     * <p>The task aggregate parts are snapshotted every {@link #DEFAULT_SNAPSHOT_TRIGGER} events.
      */
     public static void configure(BoundedContextBuilder context) {
-        context.add(TaskPart.class)
-               .add(TaskLabelsPart.class)
+        configure(context, DEFAULT_SNAPSHOT_TRIGGER);
+    }
+
+    /**
+     * Adds entity classes and repositories of this package to the passed context builder.
+     *
+     * @param context
+     *         the builder of the context to configure
+     * @param snapshotTrigger
+     *         the number of events after which a snapshot of a task aggregate part is stored
+     */
+    public static void configure(BoundedContextBuilder context, int snapshotTrigger) {
+        checkArgument(snapshotTrigger > 0,
+                      "The snapshot trigger must be positive, but was %s.", snapshotTrigger);
+        context.add(new TaskPartRepository(snapshotTrigger))
+               .add(new TaskLabelsPartRepository(snapshotTrigger))
                .add(new TaskViewRepository())
-               .add(TaskCreationWizard.class);
+               .add(new LabelledTaskViewRepository())
+               .add(TaskCreationWizard.class)
+               .add(TaskBatchProcess.class);
     }
 }
@@ -44,6 +44,8 @@ import io.spine.examples.todolist.tasks.RejectedTaskCommandDetails;
 import io.spine.examples.todolist.tasks.ReopenTaskRejected;
 import io.spine.examples.todolist.tasks.RestoreDeletedTaskRejected;
 import io.spine.examples.todolist.tasks.Task;
+import io.spine.examples.todolist.tasks.TaskBatchItem;
+import io.spine.examples.todolist.tasks.TaskBatchItemOutcome;
 import io.spine.examples.todolist.tasks.TaskDescription;
 import io.spine.examples.todolist.tasks.TaskDetails;
 import io.spine.examples.todolist.tasks.TaskDueDateUpdateRejected;
@@ -51,6 +53,7 @@ import io.spine.examples.todolist.tasks.TaskId;
 import io.spine.examples.todolist.tasks.TaskLabels;
 import io.spine.examples.todolist.tasks.TaskPriority;
 import io.spine.examples.todolist.tasks.TaskStatus;
+import io.spine.examples.todolist.tasks.TaskUpdate;
 import io.spine.examples.todolist.tasks.command.CompleteTask;
 import io.spine.examples.todolist.tasks.command.CreateBasicTask;
 import io.spine.examples.todolist.tasks.command.CreateDraft;
@@ -60,9 +63,11 @@ import io.spine.examples.todolist.tasks.command.ReopenTask;
 import io.spine.examples.todolist.tasks.command.RestoreDeletedTask;
 import io.spine.examples.todolist.tasks.command.UpdateTaskDescription;
 import io.spine.examples.todolist.tasks.command.UpdateTaskDueDate;
+import io.spine.examples.todolist.tasks.command.UpdateTaskInBatch;
 import io.spine.examples.todolist.tasks.command.UpdateTaskPriority;
 import io.spine.examples.todolist.tasks.event.DeletedTaskRestored;
 import io.spine.examples.todolist.tasks.event.LabelledTaskRestored;
+import io.spine.examples.todolist.tasks.event.TaskBatchPartProcessed;
 import io.spine.examples.todolist.tasks.event.TaskCompleted;
 import io.spine.examples.todolist.tasks.event.TaskCreated;
 import io.spine.examples.todolist.tasks.event.TaskDeleted;
@@ -86,6 +91,7 @@ import io.spine.server.aggregate.Apply;
 import io.spine.server.command.Assign;
 
 import java.util.List;
+import java.util.Optional;
 
 import static com.google.common.collect.Lists.newLinkedList;
 import static io.spine.base.Time.currentTime;
@@ -94,9 +100,12 @@ import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.ens
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.ensureDeleted;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.ensureNeitherCompletedNorDeleted;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidCreateDraftCommand;
+import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidTaskBatchCommand;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidTransition;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidUpdateTaskDueDateCommand;
 import static io.spine.examples.todolist.server.tasks.task.TaskFlowValidator.isValidUpdateTaskPriorityCommand;
+import static io.spine.examples.todolist.tasks.TaskBatchItemStatus.APPLIED;
+import static io.spine.examples.todolist.tasks.TaskBatchItemStatus.REJECTED;
 import static io.spine.examples.todolist.tasks.TaskPriority.NORMAL;
 import static io.spine.examples.todolist.tasks.TaskStatus.COMPLETED;
 import static io.spine.examples.todolist.tasks.TaskStatus.DRAFT;
@@ -332,11 +341,90 @@ final class TaskPart extends AggregatePart<TaskId, Task, Task.Builder, TaskAggre
         return result;
     }
 
+    /**
+     * Applies the batch updates of the task priority and the due date.
+     *
+     * <p>Each update is checked against the task state modified by the preceding updates of
+     * the batch. An update which cannot be applied is reported as rejected in
+     * the {@link TaskBatchPartProcessed} event rather than failing the whole command. All
+     * the updates of a task which does not exist are rejected.
+     */
+    @Assign
+    List<EventMessage> handle(UpdateTaskInBatch cmd) {
+        TaskId taskId = cmd.getId();
+        Task.Builder task = state().toBuilder();
+        boolean canUpdate = isValidTaskBatchCommand(task.getTaskStatus());
+        List<EventMessage> result = newLinkedList();
+        TaskBatchPartProcessed.Builder processed = TaskBatchPartProcessed
+                .newBuilder()
+                .setBatchId(cmd.getBatchId())
+                .setTaskId(taskId);
+        for (TaskBatchItem item : cmd.getItemList()) {
+            TaskBatchItemOutcome.Builder outcome = TaskBatchItemOutcome
+                    .newBuilder()
+                    .setIndex(item.getIndex())
+                    .setTaskId(taskId)
+                    .setStatus(REJECTED);
+            TaskUpdate update = item.getUpdate();
+            if (canUpdate && update.hasPriorityChange()) {
+                updatePriority(update.getPriorityChange(), task, outcome).ifPresent(result::add);
+            } else if (canUpdate && update.hasDueDateChange()) {
+                updateDueDate(update.getDueDateChange(), task, outcome).ifPresent(result::add);
+            }
+            processed.addOutcome(outcome.build());
+        }
+        result.add(processed.vBuild());
+        return result;
+    }
+
+    private Optional<TaskPriorityUpdated> updatePriority(PriorityChange change,
+                                                         Task.Builder task,
+                                                         TaskBatchItemOutcome.Builder outcome) {
+        TaskPriority actualPriority = task.getPriority();
+        TaskPriority expectedPriority = change.getPreviousValue();
+        TaskPriority newPriority = change.getNewValue();
+        if (actualPriority != expectedPriority) {
+            ValueMismatch mismatch =
+                    valueMismatch(expectedPriority, actualPriority, newPriority, version());
+            outcome.setMismatch(mismatch);
+            return Optional.empty();
+        }
+        task.setPriority(newPriority);
+        outcome.setStatus(APPLIED);
+        TaskPriorityUpdated result = TaskPriorityUpdated
+                .newBuilder()
+                .setTaskId(task.getId())
+                .setPriorityChange(change)
+                .vBuild();
+        return Optional.of(result);
+    }
+
+    private Optional<TaskDueDateUpdated> updateDueDate(TimestampChange change,
+                                                       Task.Builder task,
+                                                       TaskBatchItemOutcome.Builder outcome) {
+        Timestamp actualDueDate = task.getDueDate();
+        Timestamp expectedDueDate = change.getPreviousValue();
+        Timestamp newDueDate = change.getNewValue();
+        if (Timestamps.compare(actualDueDate, expectedDueDate) != 0) {
+            ValueMismatch mismatch = unexpectedValue(expectedDueDate, actualDueDate, newDueDate);
+            outcome.setMismatch(mismatch);
+            return Optional.empty();
+        }
+        task.setDueDate(newDueDate);
+        outcome.setStatus(APPLIED);
+        TaskDueDateUpdated result = TaskDueDateUpdated
+                .newBuilder()
+                .setTaskId(task.getId())
+                .setDueDateChange(change)
+                .vBuild();
+        return Optional.of(result);
+    }
+
     /*
      * Event appliers
      *****************/
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(TaskCreated e) {
         TaskDetails taskDetails = e.getDetails();
         builder().setId(e.getTaskId())
@@ -346,58 +434,67 @@ final class TaskPart extends AggregatePart<TaskId, Task, Task.Builder, TaskAggre
                  .setTaskStatus(FINALIZED);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(TaskDescriptionUpdated e) {
         TaskDescription newDescription = e.getDescriptionChange()
                                           .getNewValue();
         builder().setDescription(newDescription);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(TaskDueDateUpdated e) {
         Timestamp newDueDate = e.getDueDateChange()
                                 .getNewValue();
         builder().setDueDate(newDueDate);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(TaskPriorityUpdated e) {
         TaskPriority newPriority = e.getPriorityChange()
                                     .getNewValue();
         builder().setPriority(newPriority);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(@SuppressWarnings("unused") TaskReopened e) {
         builder().setTaskStatus(OPEN);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(@SuppressWarnings("unused") TaskDeleted e) {
         builder().setTaskStatus(TaskStatus.DELETED);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(@SuppressWarnings("unused") DeletedTaskRestored e) {
         builder().setTaskStatus(OPEN);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(@SuppressWarnings("unused") LabelledTaskRestored e) {
         builder().setTaskStatus(OPEN);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(@SuppressWarnings("unused") TaskCompleted e) {
         builder().setTaskStatus(COMPLETED);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(@SuppressWarnings("unused") TaskDraftFinalized e) {
         builder().setTaskStatus(FINALIZED);
     }
 
+    /**
+     * Does nothing as the batch updates applied to the task are reflected by
+     * the accompanying events.
+     */
     @Apply
+    private void event(@SuppressWarnings("unused") TaskBatchPartProcessed e) {
+        // Nothing to apply.
+    }
+
+    @Apply(allowImport = true)
     private void event(TaskDraftCreated e) {
         builder().setId(e.getTaskId())
                  .setCreated(e.getDraftCreationTime())
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.base.EntityState;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.server.aggregate.AggregateHistory;
+import io.spine.server.aggregate.AggregatePart;
+import io.spine.server.aggregate.AggregatePartRepository;
+import io.spine.server.aggregate.AggregateReadRequest;
+
+import java.util.Optional;
+
+/**
+ * An abstract base for the repositories of the parts of a task.
+ *
+ * <p>All the parts of a task store their snapshots after the same number of events.
+ *
+ * @param <A>
+ *         the type of the task part
+ * @param <S>
+ *         the type of the state of the part
+ */
+abstract class TaskPartsRepository<A extends AggregatePart<TaskId, S, ?, TaskAggregateRoot>,
+                                   S extends EntityState>
+        extends AggregatePartRepository<TaskId, A, S, TaskAggregateRoot> {
+
+    /**
+     * Creates a new repository.
+     *
+     * @param snapshotTrigger
+     *         the number of events after which a snapshot of the part is stored
+     */
+    TaskPartsRepository(int snapshotTrigger) {
+        super();
+        setSnapshotTrigger(snapshotTrigger);
+    }
+
+    /**
+     * Reads the latest snapshot of the part and the events stored after it, the same way
+     * the part is read to be loaded.
+     */
+    @VisibleForTesting
+    Optional<AggregateHistory> history(TaskId id) {
+        AggregateReadRequest<TaskId> request =
+                new AggregateReadRequest<>(id, snapshotTrigger() + 1);
+        return aggregateStorage().read(request);
+    }
+}
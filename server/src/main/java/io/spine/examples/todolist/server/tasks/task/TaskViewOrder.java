@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.spine.examples.todolist.tasks.TaskPriority;
+import io.spine.examples.todolist.tasks.view.TaskViewOrBuilder;
+
+import static io.spine.examples.todolist.tasks.TaskPriority.TP_UNDEFINED;
+import static io.spine.protobuf.Messages.isDefault;
+
+/**
+ * The order of tasks in the lists of their owners.
+ *
+ * <p>The tasks are ordered by the priority, from {@code HIGH} to {@code LOW}, then by the due
+ * date, the earliest first, then by the ID. The tasks without a priority or a due date go after
+ * the ones with it.
+ *
+ * <p>The order is expressed by the {@linkplain #position(TaskViewOrBuilder) position} key,
+ * which is stored in the {@code TaskView.list_position} column, so the tasks may be ordered
+ * on the server side.
+ */
+final class TaskViewOrder {
+
+    /**
+     * The number of seconds between the minimal valid timestamp and the epoch.
+     *
+     * <p>Added to the due date seconds, so the key part is never negative.
+     */
+    private static final long SECONDS_BEFORE_EPOCH = -Timestamps.MIN_VALUE.getSeconds();
+
+    /**
+     * The key part of a missing due date, which goes after any digit.
+     */
+    private static final String NO_DUE_DATE = "~";
+
+    /** Prevents instantiation of this utility class. */
+    private TaskViewOrder() {
+    }
+
+    /**
+     * Obtains the key which orders the task views.
+     *
+     * <p>The key consists of the priority rank, the due date and the ID of the task. The rank
+     * and the due date are of a fixed width, so the keys are compared lexicographically.
+     */
+    static String position(TaskViewOrBuilder task) {
+        TaskPriority priority = task.getPriority();
+        char rank = priority == TP_UNDEFINED
+                    ? '9'
+                    : Character.forDigit(priority.getNumber(), 10);
+        Timestamp dueDate = task.getDueDate();
+        String dueDateKey = isDefault(dueDate)
+                            ? NO_DUE_DATE
+                            : dueDateKey(dueDate);
+        return rank + dueDateKey + '/' + task.getId()
+                                             .getUuid();
+    }
+
+    private static String dueDateKey(Timestamp dueDate) {
+        long seconds = dueDate.getSeconds() + SECONDS_BEFORE_EPOCH;
+        return String.format("%012d%09d", seconds, dueDate.getNanos());
+    }
+}
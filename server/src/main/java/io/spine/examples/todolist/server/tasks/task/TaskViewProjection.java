@@ -27,9 +27,8 @@
 package io.spine.examples.todolist.server.tasks.task;
 
 import com.google.protobuf.Timestamp;
+import io.spine.core.EventContext;
 import io.spine.core.Subscribe;
-import io.spine.examples.todolist.tasks.LabelId;
-import io.spine.examples.todolist.tasks.LabelIdsList;
 import io.spine.examples.todolist.tasks.TaskDescription;
 import io.spine.examples.todolist.tasks.TaskDetails;
 import io.spine.examples.todolist.tasks.TaskId;
@@ -50,9 +49,6 @@ import io.spine.examples.todolist.tasks.event.TaskReopened;
 import io.spine.examples.todolist.tasks.view.TaskView;
 import io.spine.server.projection.Projection;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static io.spine.examples.todolist.tasks.TaskStatus.COMPLETED;
 import static io.spine.examples.todolist.tasks.TaskStatus.DELETED;
 import static io.spine.examples.todolist.tasks.TaskStatus.DRAFT;
@@ -65,13 +61,17 @@ import static io.spine.examples.todolist.tasks.TaskStatus.OPEN;
 @SuppressWarnings("OverlyCoupledClass")
 final class TaskViewProjection extends Projection<TaskId, TaskView, TaskView.Builder> {
 
+    private final LabelIndex labels = new LabelIndex();
+
     @Subscribe
-    void taskCreated(TaskCreated e) {
+    void taskCreated(TaskCreated e, EventContext context) {
         TaskDetails taskDetails = e.getDetails();
         builder().setId(e.getTaskId())
                  .setDescription(taskDetails.getDescription())
                  .setDueDate(taskDetails.getDueDate())
-                 .setStatus(OPEN);
+                 .setStatus(OPEN)
+                 .setOwner(context.actor());
+        updatePosition();
     }
 
     @Subscribe
@@ -116,6 +116,7 @@ final class TaskViewProjection extends Projection<TaskId, TaskView, TaskView.Bui
         Timestamp newDueDate = e.getDueDateChange()
                                 .getNewValue();
         builder().setDueDate(newDueDate);
+        updatePosition();
     }
 
     @Subscribe
@@ -123,35 +124,35 @@ final class TaskViewProjection extends Projection<TaskId, TaskView, TaskView.Bui
         TaskPriority newPriority = e.getPriorityChange()
                                     .getNewValue();
         builder().setPriority(newPriority);
+        updatePosition();
     }
 
     @Subscribe
-    void on(TaskDraftCreated e) {
+    void on(TaskDraftCreated e, EventContext context) {
         builder().setId(e.getTaskId())
-                 .setStatus(DRAFT);
+                 .setStatus(DRAFT)
+                 .setOwner(context.actor());
+        updatePosition();
     }
 
     @Subscribe
     void on(LabelAssignedToTask e) {
-        LabelIdsList newLabelsList = LabelIdsList
-                .newBuilder()
-                .mergeFrom(builder().getLabelIdsList())
-                .addIds(e.getLabelId())
-                .vBuild();
-        builder().setId(e.getTaskId())
-                 .setLabelIdsList(newLabelsList);
+        builder().setId(e.getTaskId());
+        labels.add(builder().getLabelIdsListBuilder(), e.getLabelId());
     }
 
     @Subscribe
     void on(LabelRemovedFromTask e) {
-        List<LabelId> list = new ArrayList<>(builder().getLabelIdsList()
-                                                      .getIdsList());
-        list.remove(e.getLabelId());
-        LabelIdsList labels = LabelIdsList
-                .newBuilder()
-                .addAllIds(list)
-                .vBuild();
-        builder().setLabelIdsList(labels);
+        labels.remove(builder().getLabelIdsListBuilder(), e.getLabelId());
+    }
+
+    /**
+     * Updates the position of the task in the lists of its owner.
+     *
+     * <p>Should be called whenever the priority or the due date of the task changes.
+     */
+    private void updatePosition() {
+        builder().setListPosition(TaskViewOrder.position(builder()));
     }
 
     /**
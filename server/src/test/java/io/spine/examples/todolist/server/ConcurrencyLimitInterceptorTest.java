@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.Topic;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.client.grpc.SubscriptionServiceGrpc;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.server.given.RecordingServerCall;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+@DisplayName("`ConcurrencyLimitInterceptor` should")
+class ConcurrencyLimitInterceptorTest {
+
+    private static final int LIMIT = 2;
+
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+            ServerOptions.newBuilder()
+                         .setMaxConcurrentCalls(CommandServiceGrpc.SERVICE_NAME, LIMIT)
+                         .build()
+    );
+
+    /** The calls passed to the service. */
+    private final List<ServerCall<?, ?>> started = new ArrayList<>();
+
+    @Test
+    @DisplayName("reject a call over the limit of the service")
+    void rejectOverLimit() {
+        startCommands(LIMIT);
+        RecordingServerCall<Command, Ack> rejected = new RecordingServerCall<>(commandMethod());
+        start(rejected);
+
+        assertThat(started).hasSize(LIMIT);
+        assertThat(rejected.status()
+                           .map(Status::getCode)).hasValue(Status.Code.RESOURCE_EXHAUSTED);
+    }
+
+    @Test
+    @DisplayName("not limit the calls of the other services")
+    void passOtherServices() {
+        startCommands(LIMIT);
+        for (int i = 0; i < LIMIT * 2; i++) {
+            start(new RecordingServerCall<>(QueryServiceGrpc.getReadMethod()));
+        }
+
+        assertThat(started).hasSize(LIMIT * 3);
+    }
+
+    @Test
+    @DisplayName("not limit the streaming calls")
+    void passStreaming() {
+        ConcurrencyLimitInterceptor limitAll = new ConcurrencyLimitInterceptor(
+                ServerOptions.newBuilder()
+                             .setDefaultMaxConcurrentCalls(LIMIT)
+                             .build()
+        );
+        List<RecordingServerCall<Topic, SubscriptionUpdate>> subscriptions =
+                new ArrayList<>();
+        for (int i = 0; i < LIMIT * 2; i++) {
+            RecordingServerCall<Topic, SubscriptionUpdate> subscription =
+                    new RecordingServerCall<>(SubscriptionServiceGrpc.getSubscribeMethod());
+            subscriptions.add(subscription);
+            start(limitAll, subscription);
+        }
+
+        assertThat(started).hasSize(LIMIT * 2);
+        assertThat(subscriptions.stream()
+                                .noneMatch(call -> call.status()
+                                                       .isPresent())).isTrue();
+    }
+
+    @Test
+    @DisplayName("release the permit once a call completes")
+    void releaseOnComplete() {
+        List<ServerCall.Listener<?>> listeners = startCommands(LIMIT);
+        listeners.get(0)
+                 .onComplete();
+
+        assertAccepted();
+    }
+
+    @Test
+    @DisplayName("release the permit once a call is cancelled")
+    void releaseOnCancel() {
+        List<ServerCall.Listener<?>> listeners = startCommands(LIMIT);
+        listeners.get(0)
+                 .onCancel();
+
+        assertAccepted();
+    }
+
+    @Test
+    @DisplayName("release the permit once the server closes a call")
+    void releaseOnClose() {
+        startCommands(LIMIT);
+        started.get(0)
+               .close(Status.OK, new Metadata());
+
+        assertAccepted();
+    }
+
+    @Test
+    @DisplayName("release the permit of a call once")
+    void releaseOnce() {
+        List<ServerCall.Listener<?>> listeners = startCommands(LIMIT);
+        started.get(0)
+               .close(Status.CANCELLED, new Metadata());
+        listeners.get(0)
+                 .onCancel();
+        startCommands(1);
+        RecordingServerCall<Command, Ack> rejected = new RecordingServerCall<>(commandMethod());
+        start(rejected);
+
+        assertThat(rejected.status()).isPresent();
+    }
+
+    private void assertAccepted() {
+        RecordingServerCall<Command, Ack> accepted = new RecordingServerCall<>(commandMethod());
+        start(accepted);
+
+        assertThat(accepted.status()).isEmpty();
+        assertThat(started).hasSize(LIMIT + 1);
+    }
+
+    private List<ServerCall.Listener<?>> startCommands(int count) {
+        List<ServerCall.Listener<?>> listeners = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            listeners.add(start(new RecordingServerCall<>(commandMethod())));
+        }
+        return listeners;
+    }
+
+    private <Q, R> ServerCall.Listener<Q> start(ServerCall<Q, R> call) {
+        return start(interceptor, call);
+    }
+
+    private <Q, R> ServerCall.Listener<Q> start(ConcurrencyLimitInterceptor limiting,
+                                                ServerCall<Q, R> call) {
+        ServerCallHandler<Q, R> handler = (startedCall, headers) -> {
+            started.add(startedCall);
+            return new ServerCall.Listener<Q>() {
+            };
+        };
+        return limiting.interceptCall(call, new Metadata(), handler);
+    }
+
+    private static MethodDescriptor<Command, Ack> commandMethod() {
+        return CommandServiceGrpc.getPostMethod();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.QueryServiceGrpc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ServerOptions should")
+class ServerOptionsTest {
+
+    private static final String COMMANDS = CommandServiceGrpc.SERVICE_NAME;
+    private static final String QUERIES = QueryServiceGrpc.SERVICE_NAME;
+
+    @Test
+    @DisplayName("leave the gRPC defaults by default")
+    void defaults() {
+        ServerOptions options = ServerOptions.defaults();
+
+        assertThat(options.executorThreads()).isEqualTo(0);
+        assertThat(options.limitsConcurrentCalls()).isFalse();
+        assertThat(options.maxConcurrentCalls(COMMANDS)).isEqualTo(0);
+        assertThat(options.maxInboundMessageSize()).isEqualTo(0);
+        assertThat(options.keepAliveTime()).isEmpty();
+        assertThat(options.keepAliveTimeout()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("prefer the service limit to the default one")
+    void serviceLimit() {
+        ServerOptions options = ServerOptions
+                .newBuilder()
+                .setDefaultMaxConcurrentCalls(100)
+                .setMaxConcurrentCalls(COMMANDS, 10)
+                .build();
+
+        assertThat(options.limitsConcurrentCalls()).isTrue();
+        assertThat(options.maxConcurrentCalls(COMMANDS)).isEqualTo(10);
+        assertThat(options.maxConcurrentCalls(QUERIES)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("keep only the limited services")
+    void limitedServices() {
+        ServerOptions options = ServerOptions
+                .newBuilder()
+                .setMaxConcurrentCalls(COMMANDS, 10)
+                .build();
+
+        assertThat(options.concurrentCallLimits()).containsExactly(COMMANDS, 10);
+        assertThat(options.maxConcurrentCalls(QUERIES)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("keep the keepalive parameters")
+    void keepAlive() {
+        Duration time = Duration.ofSeconds(30);
+        Duration timeout = Duration.ofSeconds(5);
+        ServerOptions options = ServerOptions
+                .newBuilder()
+                .setKeepAlive(time, timeout)
+                .build();
+
+        assertThat(options.keepAliveTime()).hasValue(time);
+        assertThat(options.keepAliveTimeout()).hasValue(timeout);
+    }
+
+    @Test
+    @DisplayName("be read from the system properties")
+    void fromSystemProperties() {
+        System.setProperty(ServerOptions.EXECUTOR_THREADS, "8");
+        System.setProperty(ServerOptions.MAX_CONCURRENT_CALLS, "64");
+        try {
+            ServerOptions options = ServerOptions.fromSystemProperties()
+                                                 .build();
+
+            assertThat(options.executorThreads()).isEqualTo(8);
+            assertThat(options.maxConcurrentCalls(COMMANDS)).isEqualTo(64);
+            assertThat(options.maxInboundMessageSize()).isEqualTo(0);
+        } finally {
+            System.clearProperty(ServerOptions.EXECUTOR_THREADS);
+            System.clearProperty(ServerOptions.MAX_CONCURRENT_CALLS);
+        }
+    }
+
+    @Test
+    @DisplayName("not accept non-positive values")
+    void rejectNonPositive() {
+        ServerOptions.Builder builder = ServerOptions.newBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.setExecutorThreads(0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> builder.setMaxConcurrentCalls(COMMANDS, -1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> builder.setKeepAlive(Duration.ZERO, Duration.ofSeconds(1)));
+    }
+}
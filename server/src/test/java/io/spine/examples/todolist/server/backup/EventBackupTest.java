@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.backup;
+
+import io.spine.base.CommandMessage;
+import io.spine.core.Event;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.event.TaskLabelDetailsChanged;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.server.projection.ProjectionRepository;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.createLabelInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static java.util.stream.Collectors.toList;
+
+@DisplayName("Event exporter and importer should")
+class EventBackupTest {
+
+    private static final String DESCRIPTION = "Buy groceries";
+    private static final String NEW_DESCRIPTION = "Buy groceries and milk";
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(EventBackupTest.class);
+
+    private BoundedContext source;
+    private BoundedContext target;
+
+    @BeforeEach
+    void setUp() {
+        source = TasksContextFactory.create();
+        target = TasksContextFactory.create();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    @DisplayName("restore the event history and the entities built from it")
+    void restoreHistory(@TempDir Path directory) throws IOException {
+        TaskId task = TaskId.generate();
+        post(createTaskInstance(task, DESCRIPTION));
+        post(updateTaskDescriptionInstance(task, DESCRIPTION, NEW_DESCRIPTION));
+        Path file = directory.resolve("tasks.events");
+
+        long exported = EventExporter.of(source)
+                                     .exportTo(file);
+        long imported = EventImporter.into(target, 1)
+                                     .importFrom(file);
+
+        List<Event> sourceEvents = events(source);
+        assertThat(exported).isEqualTo(sourceEvents.size());
+        assertThat(imported).isEqualTo(exported);
+        assertThat(ids(events(target))).containsExactlyElementsIn(ids(sourceEvents));
+        assertThat(taskView(target, task)
+                           .getDescription()
+                           .getValue()).isEqualTo(NEW_DESCRIPTION);
+    }
+
+    @Test
+    @DisplayName("let the process managers emit their events anew rather than import them")
+    void regenerateProcessEvents(@TempDir Path directory) throws IOException {
+        TaskId task = TaskId.generate();
+        LabelId label = LabelId.generate();
+        post(createTaskInstance(task, DESCRIPTION));
+        post(createLabelInstance(label));
+        post(assignLabelToTaskInstance(task, label));
+        Path file = directory.resolve("labels.events");
+
+        long exported = EventExporter.of(source)
+                                     .exportTo(file);
+        long imported = EventImporter.into(target)
+                                     .importFrom(file);
+
+        List<Event> sourceChanges = labelDetailsChanges(source);
+        assertThat(sourceChanges).isNotEmpty();
+        assertThat(imported).isEqualTo(exported - sourceChanges.size());
+        assertThat(labelDetailsChanges(target)).hasSize(sourceChanges.size());
+    }
+
+    @Test
+    @DisplayName("export an empty history")
+    void exportEmpty(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("empty.events");
+
+        long exported = EventExporter.of(source)
+                                     .exportTo(file);
+        long imported = EventImporter.into(target)
+                                     .importFrom(file);
+
+        assertThat(exported).isEqualTo(0);
+        assertThat(imported).isEqualTo(0);
+    }
+
+    private void post(CommandMessage command) {
+        source.commandBus()
+              .post(requests.command()
+                            .create(command), noOpObserver());
+    }
+
+    private static List<Event> events(BoundedContext context) {
+        MemoizingObserver<Event> observer = memoizingObserver();
+        context.eventBus()
+               .eventStore()
+               .read(EventStreamQuery.getDefaultInstance(), observer);
+        return observer.responses();
+    }
+
+    private static List<Event> labelDetailsChanges(BoundedContext context) {
+        return events(context).stream()
+                              .filter(e -> e.enclosedMessage() instanceof TaskLabelDetailsChanged)
+                              .collect(toList());
+    }
+
+    private static List<?> ids(List<Event> events) {
+        return events.stream()
+                     .map(Event::getId)
+                     .collect(toList());
+    }
+
+    @SuppressWarnings("unchecked") // Ensured by the type of the projection state.
+    private static TaskView taskView(BoundedContext context, TaskId id) {
+        ProjectionRepository<TaskId, ?, TaskView> repository =
+                (ProjectionRepository<TaskId, ?, TaskView>)
+                        context.internalAccess()
+                               .findRepository(TaskView.class)
+                               .orElseThrow(IllegalStateException::new);
+        return repository.find(id)
+                         .orElseThrow(IllegalStateException::new)
+                         .state();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.delivery;
+
+import io.spine.server.delivery.InMemoryShardedWorkRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`ShardedDelivery` should")
+class ShardedDeliveryTest {
+
+    @Test
+    @DisplayName("split the shards between the nodes")
+    void splitShards() {
+        int shardCount = 8;
+        int nodeCount = 3;
+        int[] homes = new int[shardCount];
+        for (int node = 0; node < nodeCount; node++) {
+            ShardedDelivery delivery = ShardedDelivery
+                    .newBuilder()
+                    .setShardCount(shardCount)
+                    .setNode(node, nodeCount)
+                    .setWorkRegistry(new InMemoryShardedWorkRegistry())
+                    .build();
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (delivery.isHome(shard)) {
+                    homes[shard]++;
+                }
+            }
+        }
+        assertThat(homes).asList()
+                         .containsExactly(1, 1, 1, 1, 1, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("require the work registry")
+    void requireRegistry() {
+        ShardedDelivery.Builder builder = ShardedDelivery.newBuilder();
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("reject a node index out of the node count")
+    void rejectNodeIndex() {
+        ShardedDelivery.Builder builder = ShardedDelivery.newBuilder();
+        assertThrows(IllegalArgumentException.class, () -> builder.setNode(3, 3));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.given;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * A server call of the given method which records the status it is closed with.
+ */
+public final class RecordingServerCall<Q, R> extends ServerCall<Q, R> {
+
+    private final MethodDescriptor<Q, R> method;
+    private volatile @Nullable Status status;
+
+    public RecordingServerCall(MethodDescriptor<Q, R> method) {
+        super();
+        this.method = method;
+    }
+
+    /**
+     * Obtains the status the call is closed with, if it is closed.
+     */
+    public Optional<Status> status() {
+        return Optional.ofNullable(status);
+    }
+
+    @Override
+    public void request(int numMessages) {
+        // Ignore.
+    }
+
+    @Override
+    public void sendHeaders(Metadata headers) {
+        // Ignore.
+    }
+
+    @Override
+    public void sendMessage(R message) {
+        // Ignore.
+    }
+
+    @Override
+    public void close(Status status, Metadata trailers) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public MethodDescriptor<Q, R> getMethodDescriptor() {
+        return method;
+    }
+}
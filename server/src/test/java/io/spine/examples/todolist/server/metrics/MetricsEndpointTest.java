@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`MetricsEndpoint` should")
+class MetricsEndpointTest {
+
+    @AfterEach
+    void clearPort() {
+        System.clearProperty(MetricsEndpoint.PORT);
+    }
+
+    @Test
+    @DisplayName("use the default port if the port is not set")
+    void defaultPort() {
+        assertThat(MetricsEndpoint.portFromSystemProperties())
+                .isEqualTo(MetricsEndpoint.DEFAULT_PORT);
+    }
+
+    @Test
+    @DisplayName("read the port from the system properties")
+    void configuredPort() {
+        System.setProperty(MetricsEndpoint.PORT, "19091");
+
+        assertThat(MetricsEndpoint.portFromSystemProperties()).isEqualTo(19091);
+    }
+
+    @Test
+    @DisplayName("serve the meters until stopped")
+    void serveUntilStopped() throws IOException {
+        int port = freePort();
+        MetricsEndpoint endpoint = Metrics.newInstance()
+                                          .serve(port);
+        try {
+            assertThat(get(port)).isEqualTo(HttpURLConnection.HTTP_OK);
+        } finally {
+            endpoint.stop();
+        }
+        assertThrows(IOException.class, () -> get(port));
+    }
+
+    private static int get(int port) throws IOException {
+        URL url = new URL("http://localhost:" + port + MetricsEndpoint.PATH);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import io.spine.base.CommandMessage;
+import io.spine.base.Tests;
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.tasks.TaskPriority.HIGH;
+import static io.spine.examples.todolist.tasks.TaskPriority.LOW;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskPriorityInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+@DisplayName("Metrics should")
+class MetricsTest {
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(MetricsTest.class);
+
+    private Metrics metrics;
+    private BoundedContext context;
+
+    @BeforeEach
+    void setUp() {
+        metrics = Metrics.newInstance();
+        ServerEnvironment.when(Tests.class)
+                         .use(metrics.tracing());
+        context = metrics.instrument(TasksContextFactory.builder())
+                         .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+        ServerEnvironment.instance()
+                         .reset();
+    }
+
+    @Test
+    @DisplayName("record the command handling time per receiver")
+    void recordHandling() {
+        post(createTaskInstance(TaskId.generate(), "Write the report"));
+
+        String scraped = metrics.scrape();
+        assertThat(scraped).contains("todolist_signal_handling");
+        assertThat(scraped).contains("signal=\"CreateBasicTask\"");
+        assertThat(scraped).contains("receiver=\"Task\"");
+    }
+
+    @Test
+    @DisplayName("count the rejections by type")
+    void countRejections() {
+        TaskId task = TaskId.generate();
+        post(createTaskInstance(task, "Water the plants"));
+        post(updateTaskPriorityInstance(task, LOW, HIGH));
+
+        String scraped = metrics.scrape();
+        assertThat(scraped).contains("todolist_rejections_total{type=\"CannotUpdateTaskPriority\"");
+    }
+
+    private void post(CommandMessage command) {
+        context.commandBus()
+               .post(requests.command()
+                             .create(command), noOpObserver());
+    }
+}
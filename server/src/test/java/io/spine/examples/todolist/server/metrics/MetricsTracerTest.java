@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spine.base.Time;
+import io.spine.core.Event;
+import io.spine.core.EventContext;
+import io.spine.core.MessageId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.event.TaskCreated;
+import io.spine.examples.todolist.tasks.view.LabelView;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import io.spine.type.TypeUrl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.server.metrics.Metrics.EVENT_LAG;
+import static io.spine.examples.todolist.server.metrics.Metrics.HANDLING;
+import static io.spine.protobuf.AnyPacker.pack;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@DisplayName("MetricsTracer should")
+class MetricsTracerTest {
+
+    private static final long HANDLING_MILLIS = 200;
+    private static final long EMITTED_MILLIS_AGO = 1_000;
+
+    @Test
+    @DisplayName("time each receiver separately and take the lag once the dispatch starts")
+    void timePerReceiver() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MetricsTracer tracer = new MetricsTracer(event(), registry, null);
+
+        Thread.sleep(HANDLING_MILLIS);
+        tracer.processedBy(MessageId.getDefaultInstance(), TypeUrl.of(TaskView.class));
+        tracer.processedBy(MessageId.getDefaultInstance(), TypeUrl.of(LabelView.class));
+        tracer.close();
+
+        assertThat(handling(registry, "TaskView")).isAtLeast(HANDLING_MILLIS);
+        assertThat(handling(registry, "LabelView")).isLessThan(HANDLING_MILLIS);
+        double lag = registry.get(EVENT_LAG)
+                             .tag("receiver", "LabelView")
+                             .timer()
+                             .max(MILLISECONDS);
+        assertThat(lag).isAtLeast(EMITTED_MILLIS_AGO);
+        assertThat(lag).isLessThan(EMITTED_MILLIS_AGO + HANDLING_MILLIS);
+    }
+
+    private static double handling(MeterRegistry registry, String receiver) {
+        Timer timer = registry.get(HANDLING)
+                              .tag("receiver", receiver)
+                              .timer();
+        return timer.totalTime(MILLISECONDS);
+    }
+
+    private static Event event() {
+        TaskCreated created = TaskCreated
+                .newBuilder()
+                .setTaskId(TaskId.generate())
+                .buildPartial();
+        long emitted = Timestamps.toMillis(Time.currentTime()) - EMITTED_MILLIS_AGO;
+        Timestamp timestamp = Timestamps.fromMillis(emitted);
+        EventContext context = EventContext
+                .newBuilder()
+                .setTimestamp(timestamp)
+                .buildPartial();
+        return Event
+                .newBuilder()
+                .setMessage(pack(created))
+                .setContext(context)
+                .buildPartial();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.server.metrics.Metrics.STORAGE;
+
+@DisplayName("TimedJdbc should")
+class TimedJdbcTest {
+
+    private MeterRegistry registry;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        dataSource = TimedJdbc.timed(fake(DataSource.class), registry);
+    }
+
+    @Test
+    @DisplayName("tell the reads by the SQL")
+    void classifySql() {
+        assertThat(TimedJdbc.isRead("SELECT id FROM task")).isTrue();
+        assertThat(TimedJdbc.isRead("  (select id FROM task) UNION (SELECT id FROM label)"))
+                .isTrue();
+        assertThat(TimedJdbc.isRead("INSERT INTO task (id) VALUES (?)")).isFalse();
+        assertThat(TimedJdbc.isRead("DELETE FROM task WHERE id = ?")).isFalse();
+    }
+
+    @Test
+    @DisplayName("record a prepared `SELECT` as a read whatever method executes it")
+    void recordPreparedRead() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM task")) {
+            statement.execute();
+            statement.executeQuery();
+        }
+
+        assertThat(count("read")).isEqualTo(2L);
+        assertThat(count("write")).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("record the statements by the executed SQL")
+    void recordExecutedSql() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT id FROM task");
+            statement.executeUpdate("UPDATE task SET priority = 1");
+            statement.executeBatch();
+        }
+
+        assertThat(count("read")).isEqualTo(1L);
+        assertThat(count("write")).isEqualTo(2L);
+    }
+
+    private long count(String operation) {
+        return registry.get(STORAGE)
+                       .tag("operation", operation)
+                       .timer()
+                       .count();
+    }
+
+    /**
+     * Creates a JDBC object which returns the fakes of the JDBC interfaces and the default
+     * values of the other types.
+     */
+    private static <T> T fake(Class<T> type) {
+        Object result = Proxy.newProxyInstance(
+                TimedJdbcTest.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    }
+                    if (returnType == int.class) {
+                        return 0;
+                    }
+                    if (returnType == int[].class) {
+                        return new int[0];
+                    }
+                    if (returnType.isInterface() && returnType.getName()
+                                                              .startsWith("java.sql.")) {
+                        return fake(returnType);
+                    }
+                    return null;
+                });
+        return type.cast(result);
+    }
+}
@@ -27,6 +27,7 @@
 package io.spine.examples.todolist.server.tasks;
 
 import io.spine.examples.todolist.tasks.TasksContext;
+import io.spine.server.BoundedContext;
 import io.spine.testing.UtilityClassTest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,4 +47,14 @@ class TasksContextFactoryTest extends UtilityClassTest<TasksContextFactory> {
         assertThat(TasksContext.NAME)
                 .isNotEmpty();
     }
+
+    @Test
+    @DisplayName("create a multi-tenant context")
+    void multitenant() throws Exception {
+        BoundedContext context = TasksContextFactory.multitenantBuilder()
+                                                    .build();
+        assertThat(context.isMultitenant())
+                .isTrue();
+        context.close();
+    }
 }
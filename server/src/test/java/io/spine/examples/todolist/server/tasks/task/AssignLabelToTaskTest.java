@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.LabelIdsList;
+import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.command.AssignLabelToTask;
+import io.spine.examples.todolist.tasks.command.CreateBasicTask;
+import io.spine.examples.todolist.tasks.event.LabelAssignedToTask;
+import io.spine.examples.todolist.tasks.rejection.Rejections;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.removeLabelFromTaskInstance;
+
+@DisplayName("AssignLabelToTask command should be interpreted by TaskLabelsPart and")
+class AssignLabelToTaskTest extends TaskCommandTestBase {
+
+    @Test
+    @DisplayName("produce LabelAssignedToTask event")
+    void produceEvent() {
+        CreateBasicTask createTask = createTaskInstance(taskId());
+        AssignLabelToTask assignLabel = assignLabelToTaskInstance(taskId(), LabelId.generate());
+        context().receivesCommand(createTask)
+                 .receivesCommand(assignLabel)
+                 .assertEvents()
+                 .withType(LabelAssignedToTask.class)
+                 .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("throw CannotAssignLabelToTask rejection " +
+            "upon an attempt to assign the label which is already assigned")
+    void cannotAssignTwice() {
+        CreateBasicTask createTask = createTaskInstance(taskId());
+        AssignLabelToTask assignLabel = assignLabelToTaskInstance(taskId(), LabelId.generate());
+        context().receivesCommand(createTask)
+                 .receivesCommand(assignLabel)
+                 .receivesCommand(assignLabel)
+                 .assertEvents()
+                 .withType(Rejections.CannotAssignLabelToTask.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(LabelAssignedToTask.class)
+                 .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("keep the remaining labels after one of them is removed")
+    void keepRemainingLabels() {
+        LabelId first = LabelId.generate();
+        LabelId second = LabelId.generate();
+        LabelId third = LabelId.generate();
+        context().receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), first))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), second))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), third))
+                 .receivesCommand(removeLabelFromTaskInstance(taskId(), first));
+        LabelIdsList expectedLabels = LabelIdsList
+                .newBuilder()
+                .addIds(second)
+                .addIds(third)
+                .build();
+        TaskLabels expectedState = TaskLabels
+                .newBuilder()
+                .setTaskId(taskId())
+                .setLabelIdsList(expectedLabels)
+                .build();
+        context().assertEntity(taskId(), TaskLabelsPart.class)
+                 .hasStateThat()
+                 .ignoringRepeatedFieldOrder()
+                 .isEqualTo(expectedState);
+        TaskView expectedView = TaskView
+                .newBuilder()
+                .setId(taskId())
+                .setLabelIdsList(expectedLabels)
+                .build();
+        context().assertEntity(taskId(), TaskViewProjection.class)
+                 .hasStateThat()
+                 .ignoringRepeatedFieldOrder()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expectedView);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.PriorityChange;
+import io.spine.examples.todolist.tasks.TaskBatch;
+import io.spine.examples.todolist.tasks.TaskBatchId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskPriority;
+import io.spine.examples.todolist.tasks.TaskUpdate;
+import io.spine.examples.todolist.tasks.command.BatchUpdateTasks;
+import io.spine.examples.todolist.tasks.event.LabelAssignedToTask;
+import io.spine.examples.todolist.tasks.event.TaskBatchCompleted;
+import io.spine.examples.todolist.tasks.event.TaskBatchPartProcessed;
+import io.spine.examples.todolist.tasks.event.TaskDueDateUpdated;
+import io.spine.examples.todolist.tasks.event.TaskPriorityUpdated;
+import io.spine.examples.todolist.tasks.rejection.Rejections;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.tasks.TaskPriority.HIGH;
+import static io.spine.examples.todolist.tasks.TaskPriority.LOW;
+import static io.spine.examples.todolist.tasks.TaskPriority.NORMAL;
+import static io.spine.examples.todolist.tasks.TaskPriority.TP_UNDEFINED;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDueDateInstance;
+
+@DisplayName("BatchUpdateTasks command should")
+class BatchUpdateTasksTest extends TaskCommandTestBase {
+
+    private TaskId anotherTaskId;
+    private TaskBatchId batchId;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        anotherTaskId = TaskId.generate();
+        batchId = TaskBatchId.generate();
+        context().receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(createTaskInstance(anotherTaskId));
+    }
+
+    @Test
+    @DisplayName("apply the updates of each task in the batch order")
+    void applyUpdates() {
+        LabelId labelId = LabelId.generate();
+        BatchUpdateTasks command = batch(priority(taskId(), NORMAL, HIGH),
+                                         dueDate(anotherTaskId),
+                                         priority(taskId(), HIGH, LOW),
+                                         label(taskId(), labelId));
+        context().receivesCommand(command);
+
+        context().assertEvents()
+                 .withType(TaskPriorityUpdated.class)
+                 .hasSize(2);
+        context().assertEvents()
+                 .withType(TaskDueDateUpdated.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(LabelAssignedToTask.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(TaskBatchCompleted.class)
+                 .hasSize(1);
+        TaskView expectedView = TaskView
+                .newBuilder()
+                .setId(taskId())
+                .setPriority(LOW)
+                .build();
+        context().assertEntity(taskId(), TaskViewProjection.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expectedView);
+        assertParts(3);
+        assertCounts(4, 0);
+    }
+
+    @Test
+    @DisplayName("report the rejected updates without failing the others")
+    void reportRejected() {
+        LabelId labelId = LabelId.generate();
+        context().receivesCommand(deleteTaskInstance(anotherTaskId));
+        BatchUpdateTasks command = batch(priority(taskId(), HIGH, LOW),
+                                         priority(taskId(), NORMAL, HIGH),
+                                         label(taskId(), labelId),
+                                         label(taskId(), labelId),
+                                         dueDate(anotherTaskId));
+        context().receivesCommand(command);
+
+        context().assertEvents()
+                 .withType(TaskPriorityUpdated.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(LabelAssignedToTask.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(TaskDueDateUpdated.class)
+                 .isEmpty();
+        assertParts(3);
+        assertCounts(2, 3, taskId(), anotherTaskId);
+    }
+
+    @Test
+    @DisplayName("reject the updates of a task which does not exist")
+    void rejectMissingTask() {
+        TaskId missingTaskId = TaskId.generate();
+        BatchUpdateTasks command = batch(priority(missingTaskId, TP_UNDEFINED, HIGH),
+                                         label(missingTaskId, LabelId.generate()),
+                                         priority(taskId(), NORMAL, HIGH));
+        context().receivesCommand(command);
+
+        context().assertEvents()
+                 .withType(TaskPriorityUpdated.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(LabelAssignedToTask.class)
+                 .isEmpty();
+        assertParts(3);
+        assertCounts(1, 2, missingTaskId);
+    }
+
+    @Test
+    @DisplayName("reject a batch reusing the ID of a completed batch")
+    void rejectReusedId() {
+        context().receivesCommand(batch(priority(taskId(), NORMAL, HIGH)))
+                 .receivesCommand(batch(priority(taskId(), HIGH, LOW)));
+
+        context().assertEvents()
+                 .withType(Rejections.CannotStartTaskBatch.class)
+                 .hasSize(1);
+        context().assertEvents()
+                 .withType(TaskPriorityUpdated.class)
+                 .hasSize(1);
+        assertParts(1);
+        assertCounts(1, 0);
+    }
+
+    /**
+     * Asserts the number of the task aggregate parts which reported their share of the batch.
+     */
+    private void assertParts(int count) {
+        context().assertEvents()
+                 .withType(TaskBatchPartProcessed.class)
+                 .hasSize(count);
+    }
+
+    /**
+     * Asserts the results of the batch reported by the process state and
+     * the {@code TaskBatchCompleted} event.
+     */
+    private void assertCounts(int applied, int rejected, TaskId... rejectedTasks) {
+        ImmutableList<TaskId> rejectedTaskList = ImmutableList.copyOf(rejectedTasks);
+        TaskBatch expected = TaskBatch
+                .newBuilder()
+                .setId(batchId)
+                .setCompleted(true)
+                .setAppliedCount(applied)
+                .setRejectedCount(rejected)
+                .addAllRejectedTask(rejectedTaskList)
+                .buildPartial();
+        context().assertEntity(batchId, TaskBatchProcess.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .ignoringRepeatedFieldOrder()
+                 .isEqualTo(expected);
+        TaskBatchCompleted expectedEvent = TaskBatchCompleted
+                .newBuilder()
+                .setId(batchId)
+                .setAppliedCount(applied)
+                .setRejectedCount(rejected)
+                .addAllRejectedTask(rejectedTaskList)
+                .build();
+        context().assertEvents()
+                 .withType(TaskBatchCompleted.class)
+                 .message(0)
+                 .ignoringRepeatedFieldOrder()
+                 .isEqualTo(expectedEvent);
+    }
+
+    private BatchUpdateTasks batch(TaskUpdate... updates) {
+        return BatchUpdateTasks
+                .newBuilder()
+                .setId(batchId)
+                .addAllUpdate(ImmutableList.copyOf(updates))
+                .vBuild();
+    }
+
+    private static TaskUpdate priority(TaskId taskId, TaskPriority previous, TaskPriority next) {
+        PriorityChange change = PriorityChange
+                .newBuilder()
+                .setPreviousValue(previous)
+                .setNewValue(next)
+                .build();
+        return TaskUpdate
+                .newBuilder()
+                .setTaskId(taskId)
+                .setPriorityChange(change)
+                .vBuild();
+    }
+
+    private static TaskUpdate dueDate(TaskId taskId) {
+        return TaskUpdate
+                .newBuilder()
+                .setTaskId(taskId)
+                .setDueDateChange(updateTaskDueDateInstance(taskId).getDueDateChange())
+                .vBuild();
+    }
+
+    private static TaskUpdate label(TaskId taskId, LabelId labelId) {
+        return TaskUpdate
+                .newBuilder()
+                .setTaskId(taskId)
+                .setAssignedLabel(labelId)
+                .vBuild();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.LabelIdsList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("LabelIndex should")
+class LabelIndexTest {
+
+    private LabelIndex index;
+    private LabelIdsList.Builder labels;
+
+    @BeforeEach
+    void setUp() {
+        index = new LabelIndex();
+        labels = LabelIdsList.newBuilder();
+    }
+
+    @Test
+    @DisplayName("not add the same label twice")
+    void ignoreDuplicates() {
+        LabelId label = LabelId.generate();
+        index.add(labels, label);
+        index.add(labels, label);
+        assertThat(labels.getIdsList())
+                .containsExactly(label);
+    }
+
+    @Test
+    @DisplayName("remove a label from the middle of the list")
+    void removeFromMiddle() {
+        LabelId first = LabelId.generate();
+        LabelId second = LabelId.generate();
+        LabelId third = LabelId.generate();
+        index.add(labels, first);
+        index.add(labels, second);
+        index.add(labels, third);
+
+        index.remove(labels, first);
+
+        assertThat(labels.getIdsList())
+                .containsExactly(second, third);
+        assertThat(index.contains(labels, first))
+                .isFalse();
+        index.remove(labels, third);
+        assertThat(labels.getIdsList())
+                .containsExactly(second);
+    }
+
+    @Test
+    @DisplayName("rebuild itself for a list it did not index")
+    void rebuildForAnotherList() {
+        LabelId label = LabelId.generate();
+        index.add(labels, label);
+        LabelIdsList restored = LabelIdsList
+                .newBuilder()
+                .addIds(LabelId.generate())
+                .build();
+        assertThat(index.contains(restored, label))
+                .isFalse();
+        assertThat(index.contains(labels.build(), label))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("rebuild itself for a list changed bypassing the index")
+    void rebuildForChangedList() {
+        LabelId label = LabelId.generate();
+        index.add(labels, label);
+        LabelId replacement = LabelId.generate();
+        labels.setIds(0, replacement);
+        assertThat(index.contains(labels, label))
+                .isFalse();
+        assertThat(index.contains(labels, replacement))
+                .isTrue();
+    }
+}
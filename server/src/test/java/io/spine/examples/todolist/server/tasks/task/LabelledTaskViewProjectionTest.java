@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.EntityState;
+import io.spine.examples.todolist.tasks.LabelColor;
+import io.spine.examples.todolist.tasks.LabelDetails;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.event.TaskLabelDetailsChanged;
+import io.spine.examples.todolist.tasks.view.LabelledTaskView;
+import io.spine.examples.todolist.tasks.view.TaskLabelSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.tasks.LabelColor.DEFAULT;
+import static io.spine.examples.todolist.tasks.LabelColor.GREEN;
+import static io.spine.examples.todolist.tasks.TaskPriority.HIGH;
+import static io.spine.examples.todolist.tasks.TaskPriority.NORMAL;
+import static io.spine.examples.todolist.tasks.TaskStatus.COMPLETED;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.LABEL_TITLE;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.UPDATED_LABEL_TITLE;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.createLabelInstance;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.updateLabelDetailsInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskPriorityInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.removeLabelFromTaskInstance;
+
+@DisplayName("LabelledTaskView projection should")
+class LabelledTaskViewProjectionTest extends TaskCommandTestBase {
+
+    private LabelId labelId;
+    private TaskId anotherTaskId;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        labelId = LabelId.generate();
+        anotherTaskId = TaskId.generate();
+    }
+
+    @Test
+    @DisplayName("show the title and the default color of the assigned label")
+    void showTitle() {
+        context().receivesCommand(createLabelInstance(labelId))
+                 .receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), labelId));
+
+        assertThat(labelsOf(taskId())).containsExactly(summary(LABEL_TITLE, DEFAULT));
+    }
+
+    @Test
+    @DisplayName("update the label title and color in all the tasks")
+    void fanOutRename() {
+        context().receivesCommand(createLabelInstance(labelId))
+                 .receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(createTaskInstance(anotherTaskId))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), labelId))
+                 .receivesCommand(assignLabelToTaskInstance(anotherTaskId, labelId))
+                 .receivesCommand(updateLabelDetailsInstance(labelId));
+
+        assertThat(labelsOf(taskId())).containsExactly(summary(UPDATED_LABEL_TITLE, GREEN));
+        assertThat(labelsOf(anotherTaskId)).containsExactly(summary(UPDATED_LABEL_TITLE, GREEN));
+    }
+
+    @Test
+    @DisplayName("not update the task the label is removed from")
+    void skipRemoved() {
+        context().receivesCommand(createLabelInstance(labelId))
+                 .receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(createTaskInstance(anotherTaskId))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), labelId))
+                 .receivesCommand(assignLabelToTaskInstance(anotherTaskId, labelId))
+                 .receivesCommand(removeLabelFromTaskInstance(anotherTaskId, labelId))
+                 .receivesCommand(updateLabelDetailsInstance(labelId));
+
+        assertThat(labelsOf(taskId())).containsExactly(summary(UPDATED_LABEL_TITLE, GREEN));
+        assertThat(labelsOf(anotherTaskId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ignore the label details delivered after the label is removed")
+    void ignoreDetailsAfterRemoval() {
+        context().receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(assignLabelToTaskInstance(taskId(), labelId))
+                 .receivesCommand(removeLabelFromTaskInstance(taskId(), labelId))
+                 .receivesEvent(detailsChanged(taskId()));
+
+        assertThat(labelsOf(taskId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("follow the task data maintained by the task view")
+    void followTaskView() {
+        context().receivesCommand(createTaskInstance(taskId()))
+                 .receivesCommand(updateTaskPriorityInstance(taskId(), NORMAL, HIGH))
+                 .receivesCommand(completeTaskInstance(taskId()));
+
+        LabelledTaskView expected = LabelledTaskView
+                .newBuilder()
+                .setId(taskId())
+                .setPriority(HIGH)
+                .setStatus(COMPLETED)
+                .build();
+        context().assertEntity(taskId(), LabelledTaskViewProjection.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expected);
+    }
+
+    private TaskLabelDetailsChanged detailsChanged(TaskId taskId) {
+        LabelDetails details = LabelDetails
+                .newBuilder()
+                .setTitle(UPDATED_LABEL_TITLE)
+                .build();
+        return TaskLabelDetailsChanged
+                .newBuilder()
+                .setTaskId(taskId)
+                .setLabelId(labelId)
+                .setDetails(details)
+                .vBuild();
+    }
+
+    private ImmutableList<String> labelsOf(TaskId taskId) {
+        EntityState rawState = context().assertEntity(taskId, LabelledTaskViewProjection.class)
+                                        .actual()
+                                        .state();
+        LabelledTaskView view = (LabelledTaskView) rawState;
+        return view.getLabelList()
+                   .stream()
+                   .map(LabelledTaskViewProjectionTest::summary)
+                   .collect(toImmutableList());
+    }
+
+    private String summary(String title, LabelColor color) {
+        return labelId.getUuid() + ':' + title + ':' + color;
+    }
+
+    private static String summary(TaskLabelSummary label) {
+        return label.getId()
+                    .getUuid() + ':' + label.getTitle() + ':' + label.getColor();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import io.spine.examples.todolist.server.tasks.TasksContextFactory;
+import io.spine.examples.todolist.tasks.LabelId;
+import io.spine.examples.todolist.tasks.LabelIdsList;
+import io.spine.examples.todolist.tasks.Task;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskLabels;
+import io.spine.examples.todolist.tasks.event.TaskDescriptionUpdated;
+import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.aggregate.AggregateHistory;
+import io.spine.server.entity.Repository;
+import io.spine.testing.server.blackbox.ContextAwareTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.examples.todolist.testdata.Given.newDescription;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.removeLabelFromTaskInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Task aggregate parts should")
+class TaskSnapshotTest extends ContextAwareTest {
+
+    private static final int SNAPSHOT_TRIGGER = 3;
+
+    private TaskId taskId;
+    private TaskPartRepository taskParts;
+    private TaskLabelsPartRepository taskLabelsParts;
+
+    @Override
+    protected BoundedContextBuilder contextBuilder() {
+        BoundedContextBuilder builder = TasksContextFactory.builder(SNAPSHOT_TRIGGER);
+        for (Repository<?, ?> repository : builder.repositories()) {
+            if (repository instanceof TaskPartRepository) {
+                taskParts = (TaskPartRepository) repository;
+            } else if (repository instanceof TaskLabelsPartRepository) {
+                taskLabelsParts = (TaskLabelsPartRepository) repository;
+            }
+        }
+        return builder;
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskId = TaskId.generate();
+    }
+
+    @Test
+    @DisplayName("restore the task state from a snapshot and the events after it")
+    void restoreTask() {
+        String description = "Initial description";
+        context().receivesCommand(createTaskInstance(taskId, description));
+        int updates = SNAPSHOT_TRIGGER * 2 + 1;
+        for (int i = 0; i < updates; i++) {
+            String newDescription = "Description #" + i;
+            context().receivesCommand(
+                    updateTaskDescriptionInstance(taskId, description, newDescription));
+            description = newDescription;
+        }
+        context().assertEvents()
+                 .withType(TaskDescriptionUpdated.class)
+                 .hasSize(updates);
+        Task expected = Task
+                .newBuilder()
+                .setId(taskId)
+                .setDescription(newDescription(description))
+                .buildPartial();
+        context().assertEntity(taskId, TaskPart.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expected);
+        assertReadFromSnapshot(taskParts.history(taskId), updates + 1);
+    }
+
+    @Test
+    @DisplayName("restore the task labels from a snapshot and the events after it")
+    void restoreTaskLabels() {
+        context().receivesCommand(createTaskInstance(taskId));
+        LabelIdsList.Builder labels = LabelIdsList.newBuilder();
+        for (int i = 0; i < SNAPSHOT_TRIGGER * 2; i++) {
+            LabelId label = LabelId.generate();
+            context().receivesCommand(assignLabelToTaskInstance(taskId, label));
+            labels.addIds(label);
+        }
+        LabelId removed = labels.getIds(1);
+        context().receivesCommand(removeLabelFromTaskInstance(taskId, removed));
+        labels.removeIds(1);
+        TaskLabels expected = TaskLabels
+                .newBuilder()
+                .setTaskId(taskId)
+                .setLabelIdsList(labels)
+                .build();
+        context().assertEntity(taskId, TaskLabelsPart.class)
+                 .hasStateThat()
+                 .ignoringRepeatedFieldOrder()
+                 .isEqualTo(expected);
+        assertReadFromSnapshot(taskLabelsParts.history(taskId), SNAPSHOT_TRIGGER * 2 + 1);
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive snapshot trigger")
+    void rejectNonPositiveTrigger() {
+        BoundedContextBuilder builder = BoundedContext.singleTenant("Snapshots");
+        assertThrows(IllegalArgumentException.class, () -> TaskPackage.configure(builder, 0));
+    }
+
+    /**
+     * Checks that a snapshot is stored and that the part is loaded from it along with
+     * the events stored after it, not from the whole history.
+     *
+     * @param eventCount
+     *         the number of the events applied to the part
+     */
+    private static void assertReadFromSnapshot(Optional<AggregateHistory> read, int eventCount) {
+        assertThat(read).isPresent();
+        AggregateHistory history = read.get();
+        assertThat(history.hasSnapshot()).isTrue();
+        assertThat(history.getEventCount()).isLessThan(SNAPSHOT_TRIGGER);
+        assertThat(history.getEventCount()).isLessThan(eventCount);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.tasks.task;
+
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.tasks.TaskId;
+import io.spine.examples.todolist.tasks.TaskPriority;
+import io.spine.examples.todolist.tasks.view.TaskView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.todolist.server.tasks.task.TaskViewOrder.position;
+import static io.spine.examples.todolist.tasks.TaskPriority.HIGH;
+import static io.spine.examples.todolist.tasks.TaskPriority.LOW;
+import static io.spine.examples.todolist.tasks.TaskPriority.TP_UNDEFINED;
+
+@DisplayName("TaskViewOrder should")
+class TaskViewOrderTest {
+
+    @Test
+    @DisplayName("put the tasks of a higher priority first")
+    void orderByPriority() {
+        String high = position(task(HIGH, Timestamp.getDefaultInstance()));
+        String low = position(task(LOW, Timestamp.getDefaultInstance()));
+        String undefined = position(task(TP_UNDEFINED, Timestamp.getDefaultInstance()));
+        assertThat(high).isLessThan(low);
+        assertThat(low).isLessThan(undefined);
+    }
+
+    @Test
+    @DisplayName("put the tasks due earlier first")
+    void orderByDueDate() {
+        String earlier = position(task(HIGH, dueDate(-100)));
+        String later = position(task(HIGH, dueDate(100)));
+        String noDueDate = position(task(HIGH, Timestamp.getDefaultInstance()));
+        assertThat(earlier).isLessThan(later);
+        assertThat(later).isLessThan(noDueDate);
+    }
+
+    private static TaskView task(TaskPriority priority, Timestamp dueDate) {
+        return TaskView
+                .newBuilder()
+                .setId(TaskId.generate())
+                .setPriority(priority)
+                .setDueDate(dueDate)
+                .buildPartial();
+    }
+
+    private static Timestamp dueDate(long seconds) {
+        return Timestamp
+                .newBuilder()
+                .setSeconds(seconds)
+                .build();
+    }
+}
@@ -28,6 +28,7 @@ package io.spine.examples.todolist.server.tasks.task;
 
 import com.google.protobuf.Timestamp;
 import io.spine.base.EntityState;
+import io.spine.core.UserId;
 import io.spine.examples.todolist.server.tasks.TasksContextFactory;
 import io.spine.examples.todolist.server.tasks.task.given.TaskViewProjectionTestEnv;
 import io.spine.examples.todolist.tasks.TaskId;
@@ -43,6 +44,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.function.Predicate;
 
+import static io.spine.base.Identifier.newUuid;
 import static io.spine.examples.todolist.server.tasks.task.given.TaskViewProjectionTestEnv.theDayAfterTomorrow;
 import static org.junit.Assert.assertTrue;
 
@@ -143,6 +145,19 @@ class TaskViewProjectionTest extends ContextAwareTest {
         assertProjectionMatches(view -> view.getStatus() == TaskStatus.DRAFT);
     }
 
+    @DisplayName("set its owner to the user who created the task")
+    @Test
+    void testOwner() {
+        UserId user = UserId
+                .newBuilder()
+                .setValue(newUuid())
+                .vBuild();
+        context().withActor(user)
+                 .receivesEvent(testEnv.taskCreated());
+        assertProjectionMatches(view -> view.getOwner()
+                                            .equals(user));
+    }
+
     private void assertProjectionMatches(Predicate<TaskView> predicate) {
         boolean matches = predicate.test(projectionState());
         assertTrue(matches);
@@ -39,7 +39,7 @@ import io.spine.examples.todolist.tasks.command.UpdateLabelDetails;
 public final class TestLabelCommandFactory {
 
     public static final String LABEL_TITLE = "label title";
-    private static final String UPDATED_LABEL_TITLE = "updated label title";
+    public static final String UPDATED_LABEL_TITLE = "updated label title";
     private static final LabelId LABEL_ID = LabelId.generate();
 
     private TestLabelCommandFactory() {